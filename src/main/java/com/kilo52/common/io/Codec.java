@@ -0,0 +1,73 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.io;
+
+import java.io.IOException;
+
+/**
+ * Compression codec used by {@link DataFrameSerializer} to compress the chunks
+ * of <code>.df</code> files.<br>
+ * The id of the codec is recorded in each file so that the file can be
+ * decompressed with the same codec when it is read. The ids of the codecs
+ * provided by this library are:
+ * 
+ * <ul>
+ * <li>0: No compression</li>
+ * <li>1: {@link DeflateCodec}</li>
+ * <li>2: {@link LZCodec}</li>
+ * </ul>
+ * 
+ * Custom implementations must use an id between 16 and 127. Files written with
+ * a custom codec can only be read by a <code>DataFrameSerializer</code> which is
+ * configured to use that same codec.
+ * 
+ * <p>Implementations must be thread-safe, as chunks are compressed
+ * and decompressed concurrently.
+ * 
+ * @author Phil Gaiser
+ * @see DataFrameSerializer#useCodec(Codec)
+ * @since 2.1.0
+ *
+ */
+public interface Codec {
+	
+	/**
+	 * Returns the id of this codec, which is recorded in each file 
+	 * written with this codec
+	 * 
+	 * @return The id of this codec
+	 */
+	byte getId();
+	
+	/**
+	 * Compresses the given array of bytes
+	 * 
+	 * @param bytes The bytes to compress
+	 * @return The compressed bytes
+	 */
+	byte[] compress(byte[] bytes);
+	
+	/**
+	 * Decompresses the given array of bytes, previously compressed by this codec
+	 * 
+	 * @param bytes The bytes to decompress
+	 * @return The decompressed bytes
+	 * @throws IOException If the given bytes are not valid compressed data
+	 */
+	byte[] decompress(byte[] bytes) throws IOException;
+	
+}
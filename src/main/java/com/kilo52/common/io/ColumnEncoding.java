@@ -0,0 +1,1378 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.io;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.kilo52.common.struct.BooleanColumn;
+import com.kilo52.common.struct.ByteColumn;
+import com.kilo52.common.struct.CharColumn;
+import com.kilo52.common.struct.ChunkedColumn;
+import com.kilo52.common.struct.Column;
+import com.kilo52.common.struct.DictionaryColumn;
+import com.kilo52.common.struct.DictionaryStringColumn;
+import com.kilo52.common.struct.DoubleColumn;
+import com.kilo52.common.struct.FloatColumn;
+import com.kilo52.common.struct.IntColumn;
+import com.kilo52.common.struct.LongColumn;
+import com.kilo52.common.struct.MappedBooleanColumn;
+import com.kilo52.common.struct.MappedByteColumn;
+import com.kilo52.common.struct.MappedCharColumn;
+import com.kilo52.common.struct.MappedDoubleColumn;
+import com.kilo52.common.struct.MappedFloatColumn;
+import com.kilo52.common.struct.MappedIntColumn;
+import com.kilo52.common.struct.MappedLongColumn;
+import com.kilo52.common.struct.MappedShortColumn;
+import com.kilo52.common.struct.NullableBooleanColumn;
+import com.kilo52.common.struct.NullableByteColumn;
+import com.kilo52.common.struct.NullableCharColumn;
+import com.kilo52.common.struct.NullableColumn;
+import com.kilo52.common.struct.NullableDictionaryStringColumn;
+import com.kilo52.common.struct.NullableDoubleColumn;
+import com.kilo52.common.struct.NullableFloatColumn;
+import com.kilo52.common.struct.NullableIntColumn;
+import com.kilo52.common.struct.NullableLongColumn;
+import com.kilo52.common.struct.NullableShortColumn;
+import com.kilo52.common.struct.NullableStringColumn;
+import com.kilo52.common.struct.OffHeapColumn;
+import com.kilo52.common.struct.ShortColumn;
+import com.kilo52.common.struct.StringColumn;
+
+/**
+ * Encodes and decodes the entries of columns for the binary encoding
+ * used by {@link DataFrameSerializer}.<br>
+ * Fixed-width entries are stored as little-endian values. Booleans are stored as
+ * one byte each. Strings are stored as UTF-8 bytes prefixed by their length, or -1
+ * for null. The entries of nullable columns are preceded by a bitmap indicating which
+ * entries are not null. Null entries are stored as zero. This is the plain encoding.
+ * 
+ * <p>Columns can alternatively use a lightweight encoding chosen by
+ * {@link #selectEncoding(Column, byte, int)}: integer columns can be delta or
+ * run-length encoded, booleans can be bit-packed and strings with few distinct
+ * values can be dictionary encoded.
+ * 
+ * <p>All methods work on a range of entries so that a column can be encoded 
+ * and decoded in chunks.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ *
+ */
+final class ColumnEncoding {
+	
+	/** All column types supported by the binary encoding. The index is used as the type code **/
+	static final String[] COLUMN_TYPES = new String[]{
+			"ByteColumn", "ShortColumn", "IntColumn", "LongColumn", "StringColumn",
+			"FloatColumn", "DoubleColumn", "CharColumn", "BooleanColumn",
+			"NullableByteColumn", "NullableShortColumn", "NullableIntColumn",
+			"NullableLongColumn", "NullableStringColumn", "NullableFloatColumn",
+			"NullableDoubleColumn", "NullableCharColumn", "NullableBooleanColumn"};
+	
+	/** Entries are stored as they are **/
+	static final byte PLAIN = 0;
+	/** Integers are stored as zig-zag encoded varints of the difference to their predecessor **/
+	static final byte DELTA = 1;
+	/** Runs of equal entries are stored as the length of the run followed by the entry **/
+	static final byte RUN_LENGTH = 2;
+	/** Booleans are stored as single bits **/
+	static final byte BIT_PACKED = 3;
+	/** Distinct strings are stored once, followed by the index of the string of each entry **/
+	static final byte DICTIONARY = 4;
+	
+	/** The number of entries inspected at once when collecting column statistics **/
+	private static final int STATISTICS_CHUNK = 65536;
+	
+	private ColumnEncoding(){ }
+	
+	/**
+	 * Returns the type code of the specified column
+	 * 
+	 * @param col The Column to get the type code for
+	 * @return The type code of the specified column
+	 * @throws IOException If the column type is not supported
+	 */
+	static byte typeOf(final Column col) throws IOException{
+		Class<?> type = col.getClass();
+		while(type != null){
+			for(int i=0; i<COLUMN_TYPES.length; ++i){
+				if(COLUMN_TYPES[i].equals(type.getSimpleName())){
+					return (byte)i;
+				}
+			}
+			type = type.getSuperclass();
+		}
+		throw new IOException("Unsupported column type: "+col.getClass().getSimpleName());
+	}
+	
+	/**
+	 * Indicates whether the specified type code is valid
+	 * 
+	 * @param type The type code to check
+	 * @return True if the type code denotes a supported column type
+	 */
+	static boolean isValid(final byte type){
+		return (type >= 0 && type < COLUMN_TYPES.length);
+	}
+	
+	/**
+	 * Returns the number of bytes used by each entry of the specified column type, 
+	 * if all entries of that type are encoded with the same number of bytes
+	 * 
+	 * @param type The type code of the column
+	 * @return The number of bytes per entry, or -1 if entries of the specified
+	 *         type are not encoded with a fixed width
+	 */
+	static int width(final byte type){
+		switch(COLUMN_TYPES[type]){
+		case "ByteColumn":
+		case "BooleanColumn":
+			return 1;
+		case "ShortColumn":
+		case "CharColumn":
+			return 2;
+		case "IntColumn":
+		case "FloatColumn":
+			return 4;
+		case "LongColumn":
+		case "DoubleColumn":
+			return 8;
+		default:
+			return -1;
+		}
+	}
+	
+	/**
+	 * Returns the class of the columns created for the specified type code
+	 * and encoding
+	 * 
+	 * @param type The type code of the column
+	 * @param encoding The encoding of the column
+	 * @return The class of the column type
+	 * @see #newColumn(byte, byte, int)
+	 */
+	static Class<? extends Column> classOf(final byte type, final byte encoding){
+		return newColumn(type, encoding, 0).getClass();
+	}
+	
+	/**
+	 * Creates a new column of the specified type with the specified capacity, 
+	 * suitable for holding entries stored with the specified encoding.<br>
+	 * String columns stored with the dictionary encoding are created as
+	 * dictionary-encoded columns
+	 * 
+	 * @param type The type code of the column
+	 * @param encoding The encoding of the column
+	 * @param rows The capacity of the column
+	 * @return A new Column
+	 */
+	static Column newColumn(final byte type, final byte encoding, final int rows){
+		if(encoding == DICTIONARY){
+			switch(COLUMN_TYPES[type]){
+			case "StringColumn":
+				return new DictionaryStringColumn(rows);
+			case "NullableStringColumn":
+				return new NullableDictionaryStringColumn(rows);
+			}
+		}
+		return newColumn(type, rows);
+	}
+	
+	/**
+	 * Creates a new column of the specified type with the specified capacity
+	 * 
+	 * @param type The type code of the column
+	 * @param rows The capacity of the column
+	 * @return A new Column
+	 */
+	static Column newColumn(final byte type, final int rows){
+		switch(COLUMN_TYPES[type]){
+		case "ByteColumn":
+			return new ByteColumn(new byte[rows]);
+		case "ShortColumn":
+			return new ShortColumn(new short[rows]);
+		case "IntColumn":
+			return new IntColumn(new int[rows]);
+		case "LongColumn":
+			return new LongColumn(new long[rows]);
+		case "FloatColumn":
+			return new FloatColumn(new float[rows]);
+		case "DoubleColumn":
+			return new DoubleColumn(new double[rows]);
+		case "CharColumn":
+			return new CharColumn(new char[rows]);
+		case "BooleanColumn":
+			return new BooleanColumn(new boolean[rows]);
+		case "StringColumn":
+			return new StringColumn(new String[rows]);
+		case "NullableByteColumn":
+			return new NullableByteColumn(new Byte[rows]);
+		case "NullableShortColumn":
+			return new NullableShortColumn(new Short[rows]);
+		case "NullableIntColumn":
+			return new NullableIntColumn(new Integer[rows]);
+		case "NullableLongColumn":
+			return new NullableLongColumn(new Long[rows]);
+		case "NullableFloatColumn":
+			return new NullableFloatColumn(new Float[rows]);
+		case "NullableDoubleColumn":
+			return new NullableDoubleColumn(new Double[rows]);
+		case "NullableCharColumn":
+			return new NullableCharColumn(new Character[rows]);
+		case "NullableBooleanColumn":
+			return new NullableBooleanColumn(new Boolean[rows]);
+		case "NullableStringColumn":
+			return new NullableStringColumn(new String[rows]);
+		default:
+			throw new IllegalArgumentException("Invalid type code: "+type);
+		}
+	}
+	
+	/**
+	 * Encodes the specified range of entries of the given column with the plain encoding
+	 * 
+	 * @param col The Column to encode
+	 * @param type The type code of the column
+	 * @param from The index of the first entry to encode
+	 * @param n The number of entries to encode
+	 * @return A ByteBuffer holding the encoded entries
+	 */
+	private static ByteBuffer encodePlain(final Column col, final byte type,
+			final int from, final int n){
+		
+		if(col instanceof OffHeapColumn){
+			//off-heap entries are already laid out like plain encoded entries
+			final int width = width(type);
+			final ByteBuffer entries = ((OffHeapColumn)col).asBuffer();
+			entries.limit((from+n)*width);
+			entries.position(from*width);
+			return allocate(n*width).put(entries);
+		}
+		if(col instanceof ChunkedColumn){
+			//encode a contiguous copy of the range instead of all entries
+			return encodePlain(((ChunkedColumn)col).toHeap(from, from+n), type, 0, n);
+		}
+		ByteBuffer buffer = null;
+		switch(COLUMN_TYPES[type]){
+		case "ByteColumn":
+			buffer = allocate(n);
+			buffer.put(((ByteColumn)col).asArray(), from, n);
+			break;
+		case "ShortColumn":
+			buffer = allocate(n*2);
+			buffer.asShortBuffer().put(((ShortColumn)col).asArray(), from, n);
+			break;
+		case "IntColumn":
+			buffer = allocate(n*4);
+			buffer.asIntBuffer().put(((IntColumn)col).asArray(), from, n);
+			break;
+		case "LongColumn":
+			buffer = allocate(n*8);
+			buffer.asLongBuffer().put(((LongColumn)col).asArray(), from, n);
+			break;
+		case "FloatColumn":
+			buffer = allocate(n*4);
+			buffer.asFloatBuffer().put(((FloatColumn)col).asArray(), from, n);
+			break;
+		case "DoubleColumn":
+			buffer = allocate(n*8);
+			buffer.asDoubleBuffer().put(((DoubleColumn)col).asArray(), from, n);
+			break;
+		case "CharColumn":
+			buffer = allocate(n*2);
+			buffer.asCharBuffer().put(((CharColumn)col).asArray(), from, n);
+			break;
+		case "BooleanColumn":
+			final boolean[] booleans = ((BooleanColumn)col).asArray();
+			buffer = allocate(n);
+			for(int i=from; i<from+n; ++i){
+				buffer.put((byte)(booleans[i] ? 1 : 0));
+			}
+			break;
+		case "StringColumn":
+		case "NullableStringColumn":
+			final byte[][] strings = new byte[n][];
+			int length = n*4;
+			for(int i=0; i<n; ++i){
+				final Object value = col.getValueAt(from+i);
+				if(value != null){
+					strings[i] = ((String)value).getBytes(StandardCharsets.UTF_8);
+					length += strings[i].length;
+				}
+			}
+			buffer = allocate(length);
+			for(final byte[] s : strings){
+				if(s != null){
+					buffer.putInt(s.length);
+					buffer.put(s);
+				}else{
+					buffer.putInt(-1);
+				}
+			}
+			break;
+		case "NullableByteColumn":
+			final NullableByteColumn nullableByteColumn = (NullableByteColumn)col;
+			final byte[] nullableBytes = nullableByteColumn.asPrimitiveArray();
+			buffer = allocate(bitmapLength(n)+n*1);
+			putBitmap(buffer, nullableByteColumn, from, n);
+			for(int i=from; i<from+n; ++i){
+				buffer.put(nullableBytes[i]);
+			}
+			break;
+		case "NullableShortColumn":
+			final NullableShortColumn nullableShortColumn = (NullableShortColumn)col;
+			final short[] nullableShorts = nullableShortColumn.asPrimitiveArray();
+			buffer = allocate(bitmapLength(n)+n*2);
+			putBitmap(buffer, nullableShortColumn, from, n);
+			for(int i=from; i<from+n; ++i){
+				buffer.putShort(nullableShorts[i]);
+			}
+			break;
+		case "NullableIntColumn":
+			final NullableIntColumn nullableIntColumn = (NullableIntColumn)col;
+			final int[] nullableIntegers = nullableIntColumn.asPrimitiveArray();
+			buffer = allocate(bitmapLength(n)+n*4);
+			putBitmap(buffer, nullableIntColumn, from, n);
+			for(int i=from; i<from+n; ++i){
+				buffer.putInt(nullableIntegers[i]);
+			}
+			break;
+		case "NullableLongColumn":
+			final NullableLongColumn nullableLongColumn = (NullableLongColumn)col;
+			final long[] nullableLongs = nullableLongColumn.asPrimitiveArray();
+			buffer = allocate(bitmapLength(n)+n*8);
+			putBitmap(buffer, nullableLongColumn, from, n);
+			for(int i=from; i<from+n; ++i){
+				buffer.putLong(nullableLongs[i]);
+			}
+			break;
+		case "NullableFloatColumn":
+			final NullableFloatColumn nullableFloatColumn = (NullableFloatColumn)col;
+			final float[] nullableFloats = nullableFloatColumn.asPrimitiveArray();
+			buffer = allocate(bitmapLength(n)+n*4);
+			putBitmap(buffer, nullableFloatColumn, from, n);
+			for(int i=from; i<from+n; ++i){
+				buffer.putFloat(nullableFloats[i]);
+			}
+			break;
+		case "NullableDoubleColumn":
+			final NullableDoubleColumn nullableDoubleColumn = (NullableDoubleColumn)col;
+			final double[] nullableDoubles = nullableDoubleColumn.asPrimitiveArray();
+			buffer = allocate(bitmapLength(n)+n*8);
+			putBitmap(buffer, nullableDoubleColumn, from, n);
+			for(int i=from; i<from+n; ++i){
+				buffer.putDouble(nullableDoubles[i]);
+			}
+			break;
+		case "NullableCharColumn":
+			final NullableCharColumn nullableCharColumn = (NullableCharColumn)col;
+			final char[] nullableCharacters = nullableCharColumn.asPrimitiveArray();
+			buffer = allocate(bitmapLength(n)+n*2);
+			putBitmap(buffer, nullableCharColumn, from, n);
+			for(int i=from; i<from+n; ++i){
+				buffer.putChar(nullableCharacters[i]);
+			}
+			break;
+		case "NullableBooleanColumn":
+			final NullableBooleanColumn nullableBooleanColumn = (NullableBooleanColumn)col;
+			final boolean[] nullableBooleans = nullableBooleanColumn.asPrimitiveArray();
+			buffer = allocate(bitmapLength(n)+n);
+			putBitmap(buffer, nullableBooleanColumn, from, n);
+			for(int i=from; i<from+n; ++i){
+				buffer.put((byte)(nullableBooleans[i] ? 1 : 0));
+			}
+			break;
+		}
+		return buffer;
+	}
+	
+	/**
+	 * Decodes the specified number of entries with the plain encoding from the current
+	 * position of the given buffer and sets them in the given column, starting at 
+	 * the specified index
+	 * 
+	 * @param buffer The buffer to read from. Must use little-endian byte order
+	 * @param col The Column to set the decoded entries in
+	 * @param type The type code of the column
+	 * @param offset The index of the first entry to set
+	 * @param n The number of entries to decode
+	 * @throws BufferUnderflowException If the buffer holds less entries than specified
+	 */
+	private static void decodePlain(final ByteBuffer buffer, final Column col,
+			final byte type, final int offset, final int n){
+		
+		switch(COLUMN_TYPES[type]){
+		case "ByteColumn":
+			buffer.get(((ByteColumn)col).asArray(), offset, n);
+			break;
+		case "ShortColumn":
+			buffer.asShortBuffer().get(((ShortColumn)col).asArray(), offset, n);
+			skip(buffer, n*2);
+			break;
+		case "IntColumn":
+			buffer.asIntBuffer().get(((IntColumn)col).asArray(), offset, n);
+			skip(buffer, n*4);
+			break;
+		case "LongColumn":
+			buffer.asLongBuffer().get(((LongColumn)col).asArray(), offset, n);
+			skip(buffer, n*8);
+			break;
+		case "FloatColumn":
+			buffer.asFloatBuffer().get(((FloatColumn)col).asArray(), offset, n);
+			skip(buffer, n*4);
+			break;
+		case "DoubleColumn":
+			buffer.asDoubleBuffer().get(((DoubleColumn)col).asArray(), offset, n);
+			skip(buffer, n*8);
+			break;
+		case "CharColumn":
+			buffer.asCharBuffer().get(((CharColumn)col).asArray(), offset, n);
+			skip(buffer, n*2);
+			break;
+		case "BooleanColumn":
+			final boolean[] booleans = ((BooleanColumn)col).asArray();
+			for(int i=offset; i<offset+n; ++i){
+				booleans[i] = (buffer.get() != 0);
+			}
+			break;
+		case "StringColumn":
+		case "NullableStringColumn":
+			for(int i=offset; i<offset+n; ++i){
+				col.setValueAt(i, getString(buffer));
+			}
+			break;
+		case "NullableByteColumn":
+			final long[] byteBitmap = getBitmap(buffer, n);
+			final NullableByteColumn nullableBytes = (NullableByteColumn)col;
+			buffer.get(nullableBytes.asPrimitiveArray(), offset, n);
+			nullableBytes.setNonNull(byteBitmap, offset, n);
+			break;
+		case "NullableShortColumn":
+			final long[] shortBitmap = getBitmap(buffer, n);
+			final NullableShortColumn nullableShorts = (NullableShortColumn)col;
+			buffer.asShortBuffer().get(nullableShorts.asPrimitiveArray(), offset, n);
+			skip(buffer, n*2);
+			nullableShorts.setNonNull(shortBitmap, offset, n);
+			break;
+		case "NullableIntColumn":
+			final long[] intBitmap = getBitmap(buffer, n);
+			final NullableIntColumn nullableInts = (NullableIntColumn)col;
+			buffer.asIntBuffer().get(nullableInts.asPrimitiveArray(), offset, n);
+			skip(buffer, n*4);
+			nullableInts.setNonNull(intBitmap, offset, n);
+			break;
+		case "NullableLongColumn":
+			final long[] longBitmap = getBitmap(buffer, n);
+			final NullableLongColumn nullableLongs = (NullableLongColumn)col;
+			buffer.asLongBuffer().get(nullableLongs.asPrimitiveArray(), offset, n);
+			skip(buffer, n*8);
+			nullableLongs.setNonNull(longBitmap, offset, n);
+			break;
+		case "NullableFloatColumn":
+			final long[] floatBitmap = getBitmap(buffer, n);
+			final NullableFloatColumn nullableFloats = (NullableFloatColumn)col;
+			buffer.asFloatBuffer().get(nullableFloats.asPrimitiveArray(), offset, n);
+			skip(buffer, n*4);
+			nullableFloats.setNonNull(floatBitmap, offset, n);
+			break;
+		case "NullableDoubleColumn":
+			final long[] doubleBitmap = getBitmap(buffer, n);
+			final NullableDoubleColumn nullableDoubles = (NullableDoubleColumn)col;
+			buffer.asDoubleBuffer().get(nullableDoubles.asPrimitiveArray(), offset, n);
+			skip(buffer, n*8);
+			nullableDoubles.setNonNull(doubleBitmap, offset, n);
+			break;
+		case "NullableCharColumn":
+			final long[] charBitmap = getBitmap(buffer, n);
+			final NullableCharColumn nullableChars = (NullableCharColumn)col;
+			buffer.asCharBuffer().get(nullableChars.asPrimitiveArray(), offset, n);
+			skip(buffer, n*2);
+			nullableChars.setNonNull(charBitmap, offset, n);
+			break;
+		case "NullableBooleanColumn":
+			final long[] booleanBitmap = getBitmap(buffer, n);
+			final NullableBooleanColumn nullableBooleans = (NullableBooleanColumn)col;
+			final boolean[] nullableBooleanEntries = nullableBooleans.asPrimitiveArray();
+			for(int i=offset; i<offset+n; ++i){
+				nullableBooleanEntries[i] = (buffer.get() != 0);
+			}
+			nullableBooleans.setNonNull(booleanBitmap, offset, n);
+			break;
+		}
+	}
+	
+	/**
+	 * Selects the encoding for the specified column which is expected to produce the
+	 * smallest output, based on statistics collected over all entries of the column.<br>
+	 * Integer columns can use the delta or run-length encoding, boolean columns are
+	 * bit-packed or run-length encoded and string columns with a low number of distinct
+	 * values use the dictionary encoding. All other columns use the plain encoding
+	 * 
+	 * @param col The Column to select the encoding for
+	 * @param type The type code of the column
+	 * @param rows The number of entries of the column
+	 * @return The selected encoding
+	 */
+	static byte selectEncoding(final Column col, final byte type, final int rows){
+		if(rows == 0){
+			return PLAIN;
+		}
+		switch(COLUMN_TYPES[type]){
+		case "ByteColumn":
+		case "ShortColumn":
+		case "IntColumn":
+		case "LongColumn":
+		case "CharColumn":
+		case "BooleanColumn":
+			final int width = width(type);
+			long plain = (long)rows*width;
+			long delta = 0;
+			long runs = 0;
+			long previous = 0;
+			for(int i=0; i<rows; i+=STATISTICS_CHUNK){
+				final long[] values = toLongs(col, type, i, Math.min(STATISTICS_CHUNK, rows-i));
+				for(int j=0; j<values.length; ++j){
+					if(i+j == 0 || values[j] != previous){
+						++runs;
+					}
+					delta += varintLength(zigzag(values[j]-previous));
+					previous = values[j];
+				}
+			}
+			final long runLength = runs*(width+2);
+			if(type == typeOf("BooleanColumn")){
+				return (runLength < (rows+7)/8 ? RUN_LENGTH : BIT_PACKED);
+			}
+			if(runLength < plain && runLength <= delta){
+				return RUN_LENGTH;
+			}
+			return (delta < plain ? DELTA : PLAIN);
+		case "StringColumn":
+		case "NullableStringColumn":
+			if(col instanceof DictionaryColumn){
+				return (((DictionaryColumn)col).cardinality() < rows/2 ? DICTIONARY : PLAIN);
+			}
+			final Map<Object, Integer> distinct = new HashMap<Object, Integer>();
+			long plainStrings = 0;
+			long dictionary = 0;
+			for(int i=0; i<rows; ++i){
+				final Object value = col.getValueAt(i);
+				final int length = (value != null ? 4+((String)value).length() : 4);
+				plainStrings += length;
+				if(!distinct.containsKey(value)){
+					if(distinct.size() >= rows/2){
+						return PLAIN;
+					}
+					distinct.put(value, distinct.size());
+					dictionary += length;
+				}
+			}
+			dictionary += (long)rows*codeWidth(distinct.size());
+			return (dictionary < plainStrings ? DICTIONARY : PLAIN);
+		default:
+			return PLAIN;
+		}
+	}
+	
+	/**
+	 * Indicates whether the specified encoding can be used for the specified column type
+	 * 
+	 * @param type The type code of the column
+	 * @param encoding The encoding to check
+	 * @return True if the encoding is valid for the column type
+	 */
+	static boolean isValid(final byte type, final byte encoding){
+		switch(encoding){
+		case PLAIN:
+			return true;
+		case DELTA:
+			return isInteger(type);
+		case RUN_LENGTH:
+			return (isInteger(type) || type == typeOf("BooleanColumn"));
+		case BIT_PACKED:
+			return (type == typeOf("BooleanColumn"));
+		case DICTIONARY:
+			return (type == typeOf("StringColumn") || type == typeOf("NullableStringColumn"));
+		default:
+			return false;
+		}
+	}
+	
+	/**
+	 * Encodes the specified range of entries of the given column with 
+	 * the specified encoding
+	 * 
+	 * @param col The Column to encode
+	 * @param type The type code of the column
+	 * @param encoding The encoding to use
+	 * @param from The index of the first entry to encode
+	 * @param n The number of entries to encode
+	 * @return The encoded entries
+	 */
+	static byte[] encode(final Column col, final byte type, final byte encoding,
+			final int from, final int n){
+		
+		ByteBuffer buffer = null;
+		switch(encoding){
+		case DELTA:
+			final long[] deltas = toLongs(col, type, from, n);
+			buffer = allocate(n*10);
+			long previous = 0;
+			for(final long value : deltas){
+				putVarint(buffer, zigzag(value-previous));
+				previous = value;
+			}
+			break;
+		case RUN_LENGTH:
+			final long[] values = toLongs(col, type, from, n);
+			final int width = width(type);
+			buffer = allocate(n*(width+5));
+			for(int i=0; i<n;){
+				int run = 1;
+				while(i+run < n && values[i+run] == values[i]){
+					++run;
+				}
+				putVarint(buffer, run);
+				putFixed(buffer, width, values[i]);
+				i += run;
+			}
+			break;
+		case BIT_PACKED:
+			final BooleanColumn booleans = (BooleanColumn)col;
+			final byte[] bits = new byte[(n+7) >>> 3];
+			for(int i=0; i<n; ++i){
+				if(booleans.get(from+i)){
+					bits[i >>> 3] |= (1 << (i & 7));
+				}
+			}
+			return bits;
+		case DICTIONARY:
+			final List<String> distinct = new ArrayList<String>();
+			final int[] codes = new int[n];
+			if(col instanceof DictionaryColumn 
+					&& ((DictionaryColumn)col).cardinality() < 4*n){
+				
+				//reuse the codes of the column instead of hashing each entry
+				final DictionaryColumn dictionaryColumn = (DictionaryColumn)col;
+				final int[] columnCodes = dictionaryColumn.asCodeArray();
+				final int[] recode = new int[dictionaryColumn.cardinality()+1];
+				Arrays.fill(recode, -1);
+				for(int i=0; i<n; ++i){
+					final int code = columnCodes[from+i];
+					if(recode[code] < 0){
+						recode[code] = distinct.size();
+						distinct.add(dictionaryColumn.getDictionaryValue(code));
+					}
+					codes[i] = recode[code];
+				}
+			}else{
+				final Map<Object, Integer> dictionary = new HashMap<Object, Integer>();
+				for(int i=0; i<n; ++i){
+					final Object value = col.getValueAt(from+i);
+					Integer code = dictionary.get(value);
+					if(code == null){
+						code = distinct.size();
+						dictionary.put(value, code);
+						distinct.add((String)value);
+					}
+					codes[i] = code;
+				}
+			}
+			final byte[][] strings = new byte[distinct.size()][];
+			int length = 4+strings.length*4;
+			for(int k=0; k<strings.length; ++k){
+				final String value = distinct.get(k);
+				if(value != null){
+					strings[k] = value.getBytes(StandardCharsets.UTF_8);
+					length += strings[k].length;
+				}
+			}
+			final int codeWidth = codeWidth(strings.length);
+			buffer = allocate(length+n*codeWidth);
+			buffer.putInt(strings.length);
+			for(final byte[] string : strings){
+				if(string != null){
+					buffer.putInt(string.length);
+					buffer.put(string);
+				}else{
+					buffer.putInt(-1);
+				}
+			}
+			for(final int code : codes){
+				putFixed(buffer, codeWidth, code);
+			}
+			break;
+		default:
+			return encodePlain(col, type, from, n).array();
+		}
+		return Arrays.copyOf(buffer.array(), buffer.position());
+	}
+	
+	/**
+	 * Decodes the specified number of entries with the specified encoding from the
+	 * current position of the given buffer and sets them in the given column, 
+	 * starting at the specified index
+	 * 
+	 * @param buffer The buffer to read from. Must use little-endian byte order
+	 * @param col The Column to set the decoded entries in. Must have been 
+	 *            created by {@link #newColumn(byte, int)}
+	 * @param type The type code of the column
+	 * @param encoding The encoding of the entries
+	 * @param offset The index of the first entry to set
+	 * @param n The number of entries to decode
+	 * @throws IOException If the encoded entries are invalid
+	 * @throws BufferUnderflowException If the buffer holds less entries than specified
+	 */
+	static void decode(final ByteBuffer buffer, final Column col, final byte type,
+			final byte encoding, final int offset, final int n) throws IOException{
+		
+		switch(encoding){
+		case DELTA:
+			final long[] deltas = new long[n];
+			long previous = 0;
+			for(int i=0; i<n; ++i){
+				previous += unzigzag(getVarint(buffer));
+				deltas[i] = previous;
+			}
+			fromLongs(col, type, deltas, offset);
+			break;
+		case RUN_LENGTH:
+			final long[] values = new long[n];
+			final int width = width(type);
+			for(int i=0; i<n;){
+				final long run = getVarint(buffer);
+				if(run <= 0 || run > n-i){
+					throw new IOException("Invalid data format");
+				}
+				Arrays.fill(values, i, i+(int)run, getFixed(buffer, width));
+				i += run;
+			}
+			fromLongs(col, type, values, offset);
+			break;
+		case BIT_PACKED:
+			final boolean[] booleans = ((BooleanColumn)col).asArray();
+			final byte[] bits = new byte[(n+7) >>> 3];
+			buffer.get(bits);
+			for(int i=0; i<n; ++i){
+				booleans[offset+i] = ((bits[i >>> 3] & (1 << (i & 7))) != 0);
+			}
+			break;
+		case DICTIONARY:
+			final String[] strings = new String[buffer.getInt()];
+			for(int i=0; i<strings.length; ++i){
+				strings[i] = getString(buffer);
+			}
+			final int codeWidth = codeWidth(strings.length);
+			if(col instanceof DictionaryColumn){
+				//pages of the same column may be decoded concurrently
+				final DictionaryColumn target = (DictionaryColumn)col;
+				final int[] recode = new int[strings.length];
+				synchronized(target){
+					for(int i=0; i<strings.length; ++i){
+						recode[i] = target.encode(strings[i]);
+					}
+				}
+				final int[] codes = target.asCodeArray();
+				for(int i=0; i<n; ++i){
+					codes[offset+i] = recode[(int)getFixed(buffer, codeWidth)];
+				}
+				break;
+			}
+			for(int i=0; i<n; ++i){
+				col.setValueAt(offset+i, strings[(int)getFixed(buffer, codeWidth)]);
+			}
+			break;
+		default:
+			decodePlain(buffer, col, type, offset, n);
+		}
+	}
+	
+	/**
+	 * Indicates whether the specified column type holds integer values
+	 * 
+	 * @param type The type code of the column
+	 * @return True if the column type holds integers
+	 */
+	static boolean isInteger(final byte type){
+		switch(COLUMN_TYPES[type]){
+		case "ByteColumn":
+		case "ShortColumn":
+		case "IntColumn":
+		case "LongColumn":
+		case "CharColumn":
+			return true;
+		default:
+			return false;
+		}
+	}
+	
+	/**
+	 * Returns the type code of the column type with the specified name
+	 * 
+	 * @param name The simple name of the column type
+	 * @return The type code of the column type
+	 */
+	private static byte typeOf(final String name){
+		for(int i=0; i<COLUMN_TYPES.length; ++i){
+			if(COLUMN_TYPES[i].equals(name)){
+				return (byte)i;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Copies the specified range of entries of the given integer or boolean 
+	 * column to an array of longs
+	 * 
+	 * @param col The Column to copy the entries from
+	 * @param type The type code of the column
+	 * @param from The index of the first entry to copy
+	 * @param n The number of entries to copy
+	 * @return An array holding the copied entries
+	 */
+	static long[] toLongs(final Column col, final byte type, final int from,
+			final int n){
+		
+		final long[] values = new long[n];
+		switch(COLUMN_TYPES[type]){
+		case "ByteColumn":
+			final ByteColumn bytes = (ByteColumn)col;
+			for(int i=0; i<n; ++i){
+				values[i] = bytes.get(from+i);
+			}
+			break;
+		case "ShortColumn":
+			final ShortColumn shorts = (ShortColumn)col;
+			for(int i=0; i<n; ++i){
+				values[i] = shorts.get(from+i);
+			}
+			break;
+		case "IntColumn":
+			final IntColumn ints = (IntColumn)col;
+			for(int i=0; i<n; ++i){
+				values[i] = ints.get(from+i);
+			}
+			break;
+		case "LongColumn":
+			final LongColumn longs = (LongColumn)col;
+			for(int i=0; i<n; ++i){
+				values[i] = longs.get(from+i);
+			}
+			break;
+		case "CharColumn":
+			final CharColumn chars = (CharColumn)col;
+			for(int i=0; i<n; ++i){
+				values[i] = chars.get(from+i);
+			}
+			break;
+		case "BooleanColumn":
+			final BooleanColumn booleans = (BooleanColumn)col;
+			for(int i=0; i<n; ++i){
+				values[i] = (booleans.get(from+i) ? 1 : 0);
+			}
+			break;
+		}
+		return values;
+	}
+	
+	/**
+	 * Sets the given values in the specified integer or boolean column, 
+	 * starting at the specified index
+	 * 
+	 * @param col The Column to set the values in
+	 * @param type The type code of the column
+	 * @param values The values to set
+	 * @param offset The index of the first entry to set
+	 */
+	private static void fromLongs(final Column col, final byte type, final long[] values,
+			final int offset){
+		
+		final int n = values.length;
+		switch(COLUMN_TYPES[type]){
+		case "ByteColumn":
+			final byte[] bytes = ((ByteColumn)col).asArray();
+			for(int i=0; i<n; ++i){
+				bytes[offset+i] = (byte)values[i];
+			}
+			break;
+		case "ShortColumn":
+			final short[] shorts = ((ShortColumn)col).asArray();
+			for(int i=0; i<n; ++i){
+				shorts[offset+i] = (short)values[i];
+			}
+			break;
+		case "IntColumn":
+			final int[] ints = ((IntColumn)col).asArray();
+			for(int i=0; i<n; ++i){
+				ints[offset+i] = (int)values[i];
+			}
+			break;
+		case "LongColumn":
+			System.arraycopy(values, 0, ((LongColumn)col).asArray(), offset, n);
+			break;
+		case "CharColumn":
+			final char[] chars = ((CharColumn)col).asArray();
+			for(int i=0; i<n; ++i){
+				chars[offset+i] = (char)values[i];
+			}
+			break;
+		case "BooleanColumn":
+			final boolean[] booleans = ((BooleanColumn)col).asArray();
+			for(int i=0; i<n; ++i){
+				booleans[offset+i] = (values[i] != 0);
+			}
+			break;
+		}
+	}
+	
+	/**
+	 * Returns the number of bytes used to store each code of a dictionary
+	 * 
+	 * @param size The number of entries in the dictionary
+	 * @return The number of bytes per code
+	 */
+	private static int codeWidth(final int size){
+		return (size <= 256 ? 1 : (size <= 65536 ? 2 : 4));
+	}
+	
+	private static long zigzag(final long value){
+		return ((value << 1) ^ (value >> 63));
+	}
+	
+	private static long unzigzag(final long value){
+		return ((value >>> 1) ^ -(value & 1));
+	}
+	
+	private static int varintLength(long value){
+		int length = 1;
+		while((value & ~0x7FL) != 0){
+			value >>>= 7;
+			++length;
+		}
+		return length;
+	}
+	
+	private static void putVarint(final ByteBuffer buffer, long value){
+		while((value & ~0x7FL) != 0){
+			buffer.put((byte)((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte)value);
+	}
+	
+	private static long getVarint(final ByteBuffer buffer) throws IOException{
+		long value = 0;
+		for(int shift=0; shift<64; shift+=7){
+			final byte b = buffer.get();
+			value |= (long)(b & 0x7F) << shift;
+			if((b & 0x80) == 0){
+				return value;
+			}
+		}
+		throw new IOException("Invalid data format");
+	}
+	
+	/**
+	 * Puts the specified value into the given buffer using the specified number of bytes
+	 * 
+	 * @param buffer The buffer to put the value into
+	 * @param width The number of bytes to use. Must be 1, 2, 4 or 8
+	 * @param value The value to put
+	 */
+	private static void putFixed(final ByteBuffer buffer, final int width, final long value){
+		switch(width){
+		case 1:
+			buffer.put((byte)value);
+			break;
+		case 2:
+			buffer.putShort((short)value);
+			break;
+		case 4:
+			buffer.putInt((int)value);
+			break;
+		default:
+			buffer.putLong(value);
+		}
+	}
+	
+	/**
+	 * Gets a value stored with the specified number of bytes from the given buffer.
+	 * Values stored with 1 or 2 bytes are treated as unsigned
+	 * 
+	 * @param buffer The buffer to get the value from
+	 * @param width The number of bytes used by the value. Must be 1, 2, 4 or 8
+	 * @return The value
+	 */
+	private static long getFixed(final ByteBuffer buffer, final int width){
+		switch(width){
+		case 1:
+			return (buffer.get() & 0xFF);
+		case 2:
+			return (buffer.getShort() & 0xFFFF);
+		case 4:
+			return buffer.getInt();
+		default:
+			return buffer.getLong();
+		}
+	}
+	
+	/**
+	 * Returns the type code of the non-nullable column type holding the same kind of
+	 * values as the specified column type. Nullable column types are listed in
+	 * {@link #COLUMN_TYPES} in the same order after all non-nullable column types
+	 * 
+	 * @param type The type code of the column
+	 * @return The type code of the corresponding non-nullable column type
+	 */
+	private static byte baseType(final byte type){
+		return (byte)(type % 9);
+	}
+	
+	/**
+	 * Converts the specified value as returned by {@link #toLongs(Column, byte, int, int)}
+	 * to an object of the kind held by the specified column type
+	 * 
+	 * @param type The type code of the column. Must be an integer or boolean column type
+	 * @param value The value to convert
+	 * @return The converted value
+	 */
+	static Object valueOf(final byte type, final long value){
+		switch(COLUMN_TYPES[baseType(type)]){
+		case "ByteColumn":
+			return Byte.valueOf((byte)value);
+		case "ShortColumn":
+			return Short.valueOf((short)value);
+		case "IntColumn":
+			return Integer.valueOf((int)value);
+		case "CharColumn":
+			return Character.valueOf((char)value);
+		case "BooleanColumn":
+			return Boolean.valueOf(value != 0);
+		default:
+			return Long.valueOf(value);
+		}
+	}
+	
+	/**
+	 * Compares two values of the kind held by the specified column type. 
+	 * Values of integer columns may be compared to any number
+	 * 
+	 * @param type The type code of the column
+	 * @param a The first value to compare. Must not be null
+	 * @param b The second value to compare. Must not be null
+	 * @return A negative integer, zero, or a positive integer as the first value
+	 *         is less than, equal to, or greater than the second value
+	 * @throws ClassCastException If any value is not of the kind held by the column type
+	 */
+	static int compare(final byte type, final Object a, final Object b){
+		switch(COLUMN_TYPES[baseType(type)]){
+		case "ByteColumn":
+		case "ShortColumn":
+		case "IntColumn":
+		case "LongColumn":
+			if(a instanceof Double || a instanceof Float 
+					|| b instanceof Double || b instanceof Float){
+				
+				return Double.compare(((Number)a).doubleValue(), ((Number)b).doubleValue());
+			}
+			return Long.compare(((Number)a).longValue(), ((Number)b).longValue());
+		case "FloatColumn":
+		case "DoubleColumn":
+			return Double.compare(((Number)a).doubleValue(), ((Number)b).doubleValue());
+		case "StringColumn":
+			return ((String)a).compareTo((String)b);
+		case "CharColumn":
+			return ((Character)a).compareTo((Character)b);
+		default:
+			return ((Boolean)a).compareTo((Boolean)b);
+		}
+	}
+	
+	/**
+	 * Returns the number of bytes used by {@link #putValue(ByteBuffer, byte, Object)}
+	 * to store the specified value
+	 * 
+	 * @param type The type code of the column
+	 * @param value The value to store. Must not be null
+	 * @return The number of bytes used to store the value
+	 */
+	static int valueLength(final byte type, final Object value){
+		final int width = width(baseType(type));
+		return (width > 0 ? width : 4+((String)value).getBytes(StandardCharsets.UTF_8).length);
+	}
+	
+	/**
+	 * Puts a single value of the kind held by the specified column type into the
+	 * given buffer
+	 * 
+	 * @param buffer The buffer to put the value into
+	 * @param type The type code of the column
+	 * @param value The value to put. Must not be null
+	 */
+	static void putValue(final ByteBuffer buffer, final byte type, final Object value){
+		switch(COLUMN_TYPES[baseType(type)]){
+		case "ByteColumn":
+			buffer.put((Byte)value);
+			break;
+		case "ShortColumn":
+			buffer.putShort((Short)value);
+			break;
+		case "IntColumn":
+			buffer.putInt((Integer)value);
+			break;
+		case "LongColumn":
+			buffer.putLong((Long)value);
+			break;
+		case "StringColumn":
+			final byte[] bytes = ((String)value).getBytes(StandardCharsets.UTF_8);
+			buffer.putInt(bytes.length);
+			buffer.put(bytes);
+			break;
+		case "FloatColumn":
+			buffer.putFloat((Float)value);
+			break;
+		case "DoubleColumn":
+			buffer.putDouble((Double)value);
+			break;
+		case "CharColumn":
+			buffer.putChar((Character)value);
+			break;
+		case "BooleanColumn":
+			buffer.put((byte)((Boolean)value ? 1 : 0));
+			break;
+		}
+	}
+	
+	/**
+	 * Gets a single value of the kind held by the specified column type from the
+	 * given buffer
+	 * 
+	 * @param buffer The buffer to get the value from
+	 * @param type The type code of the column
+	 * @return The value
+	 */
+	static Object getValue(final ByteBuffer buffer, final byte type){
+		switch(COLUMN_TYPES[baseType(type)]){
+		case "ByteColumn":
+			return buffer.get();
+		case "ShortColumn":
+			return buffer.getShort();
+		case "IntColumn":
+			return buffer.getInt();
+		case "LongColumn":
+			return buffer.getLong();
+		case "StringColumn":
+			return getString(buffer);
+		case "FloatColumn":
+			return buffer.getFloat();
+		case "DoubleColumn":
+			return buffer.getDouble();
+		case "CharColumn":
+			return buffer.getChar();
+		default:
+			return (buffer.get() != 0);
+		}
+	}
+	
+	/**
+	 * Creates a column of the specified type whose entries are read directly from the
+	 * given buffers. Only fixed-width column types can be used this way
+	 * 
+	 * @param segments The buffers holding consecutive segments of the encoded entries,
+	 *                 in order. Each buffer must hold whole entries from its position to
+	 *                 its limit and must use little-endian byte order
+	 * @param type The type code of the column
+	 * @return A Column backed by the given buffers
+	 */
+	static Column map(final ByteBuffer[] segments, final byte type){
+		switch(COLUMN_TYPES[type]){
+		case "ByteColumn":
+			return new MappedByteColumn(slice(segments));
+		case "ShortColumn":
+			final ShortBuffer[] shorts = new ShortBuffer[segments.length];
+			for(int i=0; i<segments.length; ++i){
+				shorts[i] = segments[i].asShortBuffer();
+			}
+			return new MappedShortColumn(shorts);
+		case "IntColumn":
+			final IntBuffer[] ints = new IntBuffer[segments.length];
+			for(int i=0; i<segments.length; ++i){
+				ints[i] = segments[i].asIntBuffer();
+			}
+			return new MappedIntColumn(ints);
+		case "LongColumn":
+			final LongBuffer[] longs = new LongBuffer[segments.length];
+			for(int i=0; i<segments.length; ++i){
+				longs[i] = segments[i].asLongBuffer();
+			}
+			return new MappedLongColumn(longs);
+		case "FloatColumn":
+			final FloatBuffer[] floats = new FloatBuffer[segments.length];
+			for(int i=0; i<segments.length; ++i){
+				floats[i] = segments[i].asFloatBuffer();
+			}
+			return new MappedFloatColumn(floats);
+		case "DoubleColumn":
+			final DoubleBuffer[] doubles = new DoubleBuffer[segments.length];
+			for(int i=0; i<segments.length; ++i){
+				doubles[i] = segments[i].asDoubleBuffer();
+			}
+			return new MappedDoubleColumn(doubles);
+		case "CharColumn":
+			final CharBuffer[] chars = new CharBuffer[segments.length];
+			for(int i=0; i<segments.length; ++i){
+				chars[i] = segments[i].asCharBuffer();
+			}
+			return new MappedCharColumn(chars);
+		case "BooleanColumn":
+			return new MappedBooleanColumn(slice(segments));
+		default:
+			throw new IllegalArgumentException("Column type cannot be mapped: "
+					+ COLUMN_TYPES[type]);
+		}
+	}
+	
+	/**
+	 * Allocates a new heap ByteBuffer with the specified capacity 
+	 * using little-endian byte order
+	 * 
+	 * @param capacity The capacity of the buffer
+	 * @return A new ByteBuffer
+	 */
+	static ByteBuffer allocate(final int capacity){
+		return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+	}
+	
+	/**
+	 * Advances the position of the given buffer by the specified amount of bytes
+	 * 
+	 * @param buffer The buffer to advance
+	 * @param n The number of bytes to skip
+	 */
+	static void skip(final ByteBuffer buffer, final int n){
+		buffer.position(buffer.position()+n);
+	}
+	
+	/**
+	 * Creates views of the given buffers which each hold the entries from
+	 * the position to the limit of the corresponding buffer at index zero
+	 * 
+	 * @param segments The buffers to slice
+	 * @return The sliced buffers, using little-endian byte order
+	 */
+	private static ByteBuffer[] slice(final ByteBuffer[] segments){
+		final ByteBuffer[] slices = new ByteBuffer[segments.length];
+		for(int i=0; i<segments.length; ++i){
+			slices[i] = segments[i].slice().order(ByteOrder.LITTLE_ENDIAN);
+		}
+		return slices;
+	}
+	
+	/**
+	 * Returns the number of bytes needed by a bitmap for the specified number of entries
+	 * 
+	 * @param n The number of entries
+	 * @return The length of the bitmap in bytes
+	 */
+	private static int bitmapLength(final int n){
+		return ((n+7) >>> 3);
+	}
+	
+	/**
+	 * Puts a bitmap into the given buffer indicating which of the 
+	 * specified values are not null
+	 * 
+	 * @param buffer The buffer to put the bitmap into
+	 * @param col The nullable Column holding the values
+	 * @param from The index of the first value to consider
+	 * @param n The number of values to consider
+	 */
+	private static void putBitmap(final ByteBuffer buffer, final NullableColumn col,
+			final int from, final int n){
+		
+		final byte[] bitmap = new byte[bitmapLength(n)];
+		for(int i=0; i<n; ++i){
+			if(!col.isNull(from+i)){
+				bitmap[i >>> 3] |= (1 << (i & 7));
+			}
+		}
+		buffer.put(bitmap);
+	}
+	
+	/**
+	 * Gets a bitmap for the specified number of entries from the given buffer.
+	 * Bit <code>i</code> of the returned bitmap is stored in bit <code>i % 64</code>
+	 * of the long at index <code>i / 64</code>
+	 * 
+	 * @param buffer The buffer to get the bitmap from
+	 * @param n The number of entries represented by the bitmap
+	 * @return The bitmap read from the buffer
+	 */
+	private static long[] getBitmap(final ByteBuffer buffer, final int n){
+		final long[] bitmap = new long[(n+63) >>> 6];
+		final int length = bitmapLength(n);
+		for(int i=0; i<length; ++i){
+			bitmap[i >>> 3] |= ((buffer.get() & 0xFFL) << ((i & 7) << 3));
+		}
+		return bitmap;
+	}
+	
+	/**
+	 * Gets a string from the current position of the given buffer. The string
+	 * is represented by its length in bytes followed by its UTF-8 bytes. 
+	 * A length of -1 represents null
+	 * 
+	 * @param buffer The buffer to get the string from
+	 * @return The string, or null
+	 */
+	private static String getString(final ByteBuffer buffer){
+		final int length = buffer.getInt();
+		if(length < 0){
+			return null;
+		}
+		if(buffer.remaining() < length){
+			throw new BufferUnderflowException();
+		}
+		String s = null;
+		if(buffer.hasArray()){
+			s = new String(buffer.array(), buffer.arrayOffset()+buffer.position(),
+					length, StandardCharsets.UTF_8);
+			
+			skip(buffer, length);
+		}else{
+			final byte[] bytes = new byte[length];
+			buffer.get(bytes);
+			s = new String(bytes, StandardCharsets.UTF_8);
+		}
+		return s;
+	}
+}
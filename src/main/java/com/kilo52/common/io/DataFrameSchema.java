@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.io;
+
+import java.util.Arrays;
+
+import com.kilo52.common.struct.Column;
+
+/**
+ * Describes the structure of a DataFrame stored in a <code>.df</code> file
+ * without holding any of its entries.<br>
+ * Instances of this class are returned by {@link DataFrameSerializer#readSchema(java.io.File)}
+ * and are immutable.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ * 
+ */
+public final class DataFrameSchema {
+	
+	private boolean nullable;
+	private long rows;
+	private String[] names;
+	private Class<?>[] types;
+	
+	/**
+	 * Constructs a new <code>DataFrameSchema</code>
+	 * 
+	 * @param nullable Indicates whether the DataFrame is a NullableDataFrame
+	 * @param rows The number of rows
+	 * @param names The column names, or null if the DataFrame has no column names
+	 * @param types The type of each column. Each type must be a subclass of Column
+	 */
+	DataFrameSchema(final boolean nullable, final long rows, final String[] names,
+			final Class<?>[] types){
+		
+		this.nullable = nullable;
+		this.rows = rows;
+		this.names = names;
+		this.types = types;
+	}
+	
+	/**
+	 * Indicates whether the described DataFrame is a <code>NullableDataFrame</code>
+	 * 
+	 * @return True if the DataFrame is nullable, false otherwise
+	 */
+	public boolean isNullable(){
+		return this.nullable;
+	}
+	
+	/**
+	 * Returns the number of rows of the described DataFrame. Files written
+	 * from a {@link com.kilo52.common.struct.LargeDataFrame} may hold more than
+	 * <code>Integer.MAX_VALUE</code> rows
+	 * 
+	 * @return The number of rows
+	 */
+	public long rows(){
+		return this.rows;
+	}
+	
+	/**
+	 * Returns the number of columns of the described DataFrame
+	 * 
+	 * @return The number of columns
+	 */
+	public int columns(){
+		return this.types.length;
+	}
+	
+	/**
+	 * Indicates whether the described DataFrame has column names
+	 * 
+	 * @return True if the DataFrame has column names, false otherwise
+	 */
+	public boolean hasColumnNames(){
+		return (this.names != null);
+	}
+	
+	/**
+	 * Returns the column names of the described DataFrame
+	 * 
+	 * @return A copy of the column names, or null if the DataFrame has no column names
+	 */
+	public String[] getColumnNames(){
+		return (this.names != null ? Arrays.copyOf(names, names.length) : null);
+	}
+	
+	/**
+	 * Returns the type of each column of the described DataFrame
+	 * 
+	 * @return A copy of the column types. Each type is a subclass of {@link Column}
+	 */
+	public Class<?>[] getColumnTypes(){
+		return Arrays.copyOf(types, types.length);
+	}
+	
+	/**
+	 * Returns the type of the column at the specified index
+	 * 
+	 * @param index The index of the column
+	 * @return The type of the column at the specified index
+	 */
+	public Class<? extends Column> getColumnType(final int index){
+		return this.types[index].asSubclass(Column.class);
+	}
+	
+	@Override
+	public String toString(){
+		final StringBuilder sb = new StringBuilder();
+		sb.append(nullable ? "NullableDataFrame" : "DefaultDataFrame");
+		sb.append(" [rows=").append(rows).append(", columns=").append(types.length).append("]");
+		for(int i=0; i<types.length; ++i){
+			sb.append("\n").append(names != null ? names[i] : String.valueOf(i));
+			sb.append(": ").append(types[i].getSimpleName());
+		}
+		return sb.toString();
+	}
+}
@@ -23,8 +23,29 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.zip.DataFormatException;
 import java.util.zip.Deflater;
 import java.util.zip.Inflater;
@@ -35,9 +56,11 @@ import com.kilo52.common.struct.CharColumn;
 import com.kilo52.common.struct.Column;
 import com.kilo52.common.struct.DataFrame;
 import com.kilo52.common.struct.DefaultDataFrame;
+import com.kilo52.common.struct.DictionaryColumn;
 import com.kilo52.common.struct.DoubleColumn;
 import com.kilo52.common.struct.FloatColumn;
 import com.kilo52.common.struct.IntColumn;
+import com.kilo52.common.struct.LargeDataFrame;
 import com.kilo52.common.struct.LongColumn;
 import com.kilo52.common.struct.NullableBooleanColumn;
 import com.kilo52.common.struct.NullableByteColumn;
@@ -59,8 +82,18 @@ import com.kilo52.common.struct.StringColumn;
  * methods. By calling one of the <code>readFile()</code> methods you can get the original
  * <code>DataFrame</code> instance back from the file. 
  * 
+ * <p>Files are written with the binary encoding (version 2) which stores the entries of
+ * each column as fixed-width little-endian values. Files written with the original 
+ * text-based encoding (version 1) can still be read by all <code>readFile()</code> methods.
+ * Rows are stored in row groups. For each row group, the minimum, maximum and number of
+ * nulls of each column are recorded, which allows {@link #readRange(File, String, Object, Object)}
+ * to skip all row groups which cannot hold any of the requested rows.
+ * The same encoding is used by {@link #writeTo(OutputStream, DataFrame)} and 
+ * {@link #readFrom(InputStream)} to work with arbitrary streams.
+ * 
  * <p>Additionally, this class is also capable to serialize a <code>DataFrame</code> to a
- * <code>Base64</code> encoded string.
+ * <code>Base64</code> encoded string. The <code>serialize()</code>, <code>deserialize()</code>
+ * and all Base64 related methods use the text-based encoding (version 1).
  * 
  * @author Phil Gaiser
  * @see CSVFileReader
@@ -75,8 +108,61 @@ public class DataFrameSerializer {
 	
 	private static final byte DF_BYTE0 = 0x64;
 	private static final byte DF_BYTE1 = 0x66;
+	/** Marks the binary encoding. Can never start a valid deflate stream **/
+	private static final byte DF_BYTE2 = 0x76;
+	/** The version of the binary encoding **/
+	private static final byte DF_BYTE3 = 0x32;
+	
+	/** Identifies uncompressed chunks in the binary encoding **/
+	private static final byte CODEC_NONE = 0;
+	
+	/** The number of bytes of the header of each page **/
+	private static final int PAGE_HEADER_LENGTH = 12;
+	
+	/** The default number of rows of each encoded chunk **/
+	private static final int DEFAULT_CHUNK_SIZE = 65536;
+	
+	/**
+	 * The maximum number of rows of each encoded chunk. Encoding a chunk may require
+	 * up to 13 bytes per entry, which must not exceed the capacity of a ByteBuffer
+	 */
+	private static final int MAX_CHUNK_SIZE = Integer.MAX_VALUE / 16;
+	
+	/** The default number of rows of each row group **/
+	private static final int DEFAULT_ROW_GROUP_SIZE = 1048576;
+	
+	/**
+	 * The number of bytes of the header of each row group. A negative number
+	 * of rows marks the specified number of following bytes as unused
+	 */
+	private static final int ROW_GROUP_HEADER_LENGTH = 4;
+	
+	/** The maximum number of chunks processed concurrently per processor **/
+	private static final int PENDING_CHUNKS_PER_CPU = 2;
+	
+	/** Executes all tasks on the calling thread **/
+	private static final Executor CALLING_THREAD = new Executor(){
+		@Override
+		public void execute(final Runnable command){
+			command.run();
+		}
+	};
+	
+	/** Identifies the DataFrame implementation in the binary encoding **/
+	private static final byte IMPL_DEFAULT = 0;
+	private static final byte IMPL_NULLABLE = 1;
 	
 	private byte[] bytes;
+	/** The codec used to compress written chunks, or null for no compression **/
+	private Codec codec = new DeflateCodec();
+	/** The number of rows of each encoded chunk **/
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+	/** The number of rows of each row group **/
+	private int rowGroupSize = DEFAULT_ROW_GROUP_SIZE;
+	/** Used to compress and decompress chunks in parallel **/
+	private Executor executor = ForkJoinPool.commonPool();
+	/** Indicates whether compressed columns may use lightweight encodings **/
+	private boolean encodings = true;
 	
 	/** Used for concurrent write operations **/
 	private ConcurrentDFWriter parallelWrite;
@@ -120,24 +206,73 @@ public class DataFrameSerializer {
 	 * @throws IOException If any errors occur during deserialization
 	 */
 	public DataFrame readFile(final File file) throws IOException{
+		if(isBinaryEncoded(file)){
+			return read(file, null, false, null);
+		}
 		final BufferedInputStream is = new BufferedInputStream(new FileInputStream(file));
 		byte[] bytes = new byte[2048];
 		final ByteArrayOutputStream baos = new ByteArrayOutputStream(bytes.length);
 		try{
-			while((is.read(bytes, 0, bytes.length)) != -1){
-				baos.write(bytes, 0, bytes.length);
+			int n = 0;
+			while((n = is.read(bytes, 0, bytes.length)) != -1){
+				baos.write(bytes, 0, n);
 			}
 		}finally{
 			is.close();
 		}
 		bytes = baos.toByteArray();
-		if(bytes[0] != DF_BYTE0 || bytes[1] != DF_BYTE1){
+		if(bytes.length < 2 || bytes[0] != DF_BYTE0 || bytes[1] != DF_BYTE1){
 			throw new IOException(String.format("Is not a %s file. Starts with 0x%02X 0x%02X",
-					DF_FILE_EXTENSION, bytes[0], bytes[1]));
+					DF_FILE_EXTENSION, 
+					(bytes.length > 0 ? bytes[0] : 0), 
+					(bytes.length > 1 ? bytes[1] : 0)));
 		}
 		return deserialize(decompress(bytes));
 	}
 	
+	/**
+	 * Reads the specified columns from the specified file and returns a DataFrame 
+	 * constituted by these columns.<br>
+	 * Only the requested columns are read and decompressed, all other columns are skipped.
+	 * The columns of the returned DataFrame are in the order specified
+	 * 
+	 * @param file The file to read. Must be a <code>.df</code> file
+	 * @param columnNames The names of the columns to read
+	 * @return A DataFrame composed of the specified columns
+	 * @throws IOException If any errors occur during deserialization or if
+	 *                     the file does not contain any of the specified columns
+	 */
+	public DataFrame readFile(final File file, final String... columnNames) throws IOException{
+		if(!isBinaryEncoded(file)){
+			return project(readFile(file), columnNames);
+		}
+		final Header header = readHeader(file);
+		final int[] indices = new int[columnNames.length];
+		for(int i=0; i<columnNames.length; ++i){
+			indices[i] = header.indexOf(columnNames[i]);
+		}
+		return read(file, indices, false, null);
+	}
+	
+	/**
+	 * Reads the columns at the specified indices from the specified file and returns
+	 * a DataFrame constituted by these columns.<br>
+	 * Only the requested columns are read and decompressed, all other columns are skipped.
+	 * The columns of the returned DataFrame are in the order specified
+	 * 
+	 * @param file The file to read. Must be a <code>.df</code> file
+	 * @param columnIndices The indices of the columns to read
+	 * @return A DataFrame composed of the specified columns
+	 * @throws IOException If any errors occur during deserialization or if any
+	 *                     of the specified indices is out of bounds
+	 */
+	public DataFrame readFile(final File file, final int... columnIndices) throws IOException{
+		if(!isBinaryEncoded(file)){
+			return project(readFile(file), columnIndices);
+		}
+		return read(file, columnIndices, false, null);
+	}
+	
 	/**
 	 * Reads the specified file and returns a DataFrame constituted by the 
 	 * content of that file
@@ -150,6 +285,151 @@ public class DataFrameSerializer {
 		return readFile(new File(file));
 	}
 	
+	/**
+	 * Reads the specified file by mapping it into memory and returns a DataFrame 
+	 * constituted by the content of that file.<br>
+	 * The byte, short, int, long, float, double, char and boolean columns of the returned
+	 * DataFrame are views over the mapped file. Their entries are not copied to the heap
+	 * and are only paged in when they are actually read. A mapped column copies its entries
+	 * to the heap the first time it is modified, so the file itself is never written to.
+	 * All other columns are decoded as usual.
+	 * 
+	 * <p>Only files written with compression disabled can be mapped. Each row group
+	 * of such a file is mapped separately, so the mapped columns read their entries
+	 * from one segment per row group. Compressed files and files written with the
+	 * version 1 encoding are read as if by {@link #readFile(File)}
+	 * 
+	 * @param file The file to read. Must be a <code>.df</code> file
+	 * @return A DataFrame from the specified file
+	 * @throws IOException If any errors occur during deserialization
+	 * @see #useCompression(boolean)
+	 * @see #useRowGroupSize(int)
+	 */
+	public DataFrame readMapped(final File file) throws IOException{
+		if(!isBinaryEncoded(file)){
+			return readFile(file);
+		}
+		return read(file, null, true, null);
+	}
+	
+	/**
+	 * Reads the specified file by mapping it into memory and returns a DataFrame 
+	 * constituted by the content of that file
+	 * 
+	 * @param file The file to read. Must be a <code>.df</code> file
+	 * @return A DataFrame from the specified file
+	 * @throws IOException If any errors occur during deserialization
+	 * @see #readMapped(File)
+	 */
+	public DataFrame readMapped(final String file) throws IOException{
+		return readMapped(new File(file));
+	}
+	
+	/**
+	 * Reads the structure of the DataFrame stored in the specified file without
+	 * reading any of its entries.<br>
+	 * For files written with the binary encoding, only the small uncompressed header
+	 * at the start of the file is read, regardless of the size of the file. Files written
+	 * with the version 1 encoding store their header inside the compressed payload and
+	 * are therefore read completely
+	 * 
+	 * @param file The file to read. Must be a <code>.df</code> file
+	 * @return The DataFrameSchema of the DataFrame stored in the specified file
+	 * @throws IOException If any errors occur during deserialization
+	 */
+	public DataFrameSchema readSchema(final File file) throws IOException{
+		if(!isBinaryEncoded(file)){
+			final DataFrame df = readFile(file);
+			final Class<?>[] types = new Class<?>[df.columns()];
+			for(int i=0; i<types.length; ++i){
+				types[i] = df.getColumnAt(i).getClass();
+			}
+			return new DataFrameSchema(df.isNullable(), df.rows(),
+					(df.hasColumnNames() ? df.getColumnNames() : null), types);
+		}
+		final Header header = readHeader(file);
+		final Class<?>[] types = new Class<?>[header.types.length];
+		for(int i=0; i<types.length; ++i){
+			types[i] = ColumnEncoding.classOf(header.types[i], header.encodings[i]);
+		}
+		return new DataFrameSchema(header.impl == IMPL_NULLABLE, header.rows, 
+				header.names, types);
+	}
+	
+	/**
+	 * Reads the structure of the DataFrame stored in the specified file without
+	 * reading any of its entries
+	 * 
+	 * @param file The file to read. Must be a <code>.df</code> file
+	 * @return The DataFrameSchema of the DataFrame stored in the specified file
+	 * @throws IOException If any errors occur during deserialization
+	 * @see #readSchema(File)
+	 */
+	public DataFrameSchema readSchema(final String file) throws IOException{
+		return readSchema(new File(file));
+	}
+	
+	/**
+	 * Reads all rows from the specified file whose entry in the specified column lies
+	 * within the specified closed range and returns a DataFrame constituted by these rows.
+	 * Rows with a null entry in the specified column are never included.<br>
+	 * Row groups whose recorded minimum and maximum of the specified column do not
+	 * overlap with the range are skipped without being read. The bounds must be of the
+	 * type held by the specified column, except that the bounds for columns holding
+	 * integers may be any number
+	 * 
+	 * @param file The file to read. Must be a <code>.df</code> file
+	 * @param columnName The name of the column holding the entries to test
+	 * @param from The lower bound of the range (inclusive), or null for no lower bound
+	 * @param to The upper bound of the range (inclusive), or null for no upper bound
+	 * @return A DataFrame holding all rows within the specified range
+	 * @throws IOException If any errors occur during deserialization or if
+	 *                     the file does not contain the specified column
+	 * @throws IllegalArgumentException If any bound is not of the type held by
+	 *                                  the specified column
+	 * @see #useRowGroupSize(int)
+	 */
+	public DataFrame readRange(final File file, final String columnName, final Object from,
+			final Object to) throws IOException{
+		
+		if(!isBinaryEncoded(file)){
+			final DataFrame df = readFile(file);
+			final Header header = new Header();
+			header.impl = (df.isNullable() ? IMPL_NULLABLE : IMPL_DEFAULT);
+			header.names = (df.hasColumnNames() ? df.getColumnNames() : null);
+			final int index = header.indexOf(columnName);
+			final Column[] columns = new Column[df.columns()+1];
+			for(int i=0; i<df.columns(); ++i){
+				columns[i] = df.getColumnAt(i);
+			}
+			columns[df.columns()] = columns[index];
+			return header.toDataFrame(filter(columns, df.rows(), new Range(index,
+					ColumnEncoding.typeOf(columns[index]), from, to)));
+		}
+		final Header header = readHeader(file);
+		final int index = header.indexOf(columnName);
+		return read(file, null, false, new Range(index, header.types[index], from, to));
+	}
+	
+	/**
+	 * Reads all rows from the specified file whose entry in the specified column lies
+	 * within the specified closed range and returns a DataFrame constituted by these rows
+	 * 
+	 * @param file The file to read. Must be a <code>.df</code> file
+	 * @param columnName The name of the column holding the entries to test
+	 * @param from The lower bound of the range (inclusive), or null for no lower bound
+	 * @param to The upper bound of the range (inclusive), or null for no upper bound
+	 * @return A DataFrame holding all rows within the specified range
+	 * @throws IOException If any errors occur during deserialization or if
+	 *                     the file does not contain the specified column
+	 * @see #readRange(File, String, Object, Object)
+	 */
+	public DataFrame readRange(final String file, final String columnName, final Object from,
+			final Object to) throws IOException{
+		
+		return readRange(new File(file), columnName, from, to);
+	}
+	
 	/**
 	 * Creates a background thread which will read the df-file and return a 
 	 * DataFrame to the specified callback. This method can only be called once. 
@@ -206,7 +486,7 @@ public class DataFrameSerializer {
 		}
 		final BufferedOutputStream os = new BufferedOutputStream(new FileOutputStream(file));
 		try{
-			os.write(compress(serialize(df)));
+			writeTo(os, df);
 		}finally{
 			os.close();
 		}
@@ -223,6 +503,241 @@ public class DataFrameSerializer {
 		writeFile(new File(file), df);
 	}
 	
+	/**
+	 * Persists the given LargeDataFrame to the specified file.<br>
+	 * The first partition is written like an ordinary DataFrame and all other partitions
+	 * are appended to the file one after another, so only the rows of one partition
+	 * are encoded at a time. The number of rows of the written file is not limited
+	 * to <code>Integer.MAX_VALUE</code>. Files holding more rows than that can only
+	 * be read by {@link #readLarge(File)}
+	 * 
+	 * @param file The file to write the LargeDataFrame to
+	 * @param df The LargeDataFrame to persist
+	 * @throws IOException If any errors occur during serialization
+	 * @see #append(File, DataFrame)
+	 */
+	public void writeFile(File file, LargeDataFrame df) throws IOException{
+		if(!file.getName().endsWith(DF_FILE_EXTENSION)){
+			file = new File(file.getAbsolutePath()+DF_FILE_EXTENSION);
+		}
+		writeFile(file, (df.partitions() != 0 ? df.getPartition(0) : df.slice(0, 0)));
+		for(int i=1; i<df.partitions(); ++i){
+			append(file, df.getPartition(i));
+		}
+	}
+	
+	/**
+	 * Persists the given LargeDataFrame to the specified file
+	 * 
+	 * @param file The file to write the LargeDataFrame to
+	 * @param df The LargeDataFrame to persist
+	 * @throws IOException If any errors occur during serialization
+	 * @see #writeFile(File, LargeDataFrame)
+	 */
+	public void writeFile(String file, LargeDataFrame df) throws IOException{
+		writeFile(new File(file), df);
+	}
+	
+	/**
+	 * Reads the specified file into a LargeDataFrame.<br>
+	 * Unlike {@link #readFile(File)}, this method can read files holding more than
+	 * <code>Integer.MAX_VALUE</code> rows. Consecutive row groups of the file are
+	 * decoded into partitions of at most {@link LargeDataFrame#DEFAULT_PARTITION_SIZE}
+	 * rows, unless a single row group is larger than that. Files in the version 1
+	 * encoding are read into a single partition
+	 * 
+	 * @param file The file to read. Must be a <code>.df</code> file
+	 * @return A LargeDataFrame holding all rows of the specified file
+	 * @throws IOException If any errors occur during deserialization
+	 */
+	public LargeDataFrame readLarge(final File file) throws IOException{
+		if(!isBinaryEncoded(file)){
+			final DataFrame df = readFile(file);
+			final LargeDataFrame large = new LargeDataFrame(df);
+			large.addPartition(df);
+			return large;
+		}
+		final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try{
+			final ByteBuffer preamble = readBlock(channel, 4, 5);
+			final Codec compression = codecOf(preamble.get());
+			final Header header = decodeHeader(readBlock(channel, 9, preamble.getInt()));
+			if(header.types.length == 0){
+				throw new IOException("DataFrame has no columns");
+			}
+			final long size = channel.size();
+			final long position = readBlock(channel, size-8, 8).getLong();
+			final List<RowGroup> groups = decodeIndex(
+					readBlock(channel, position, size-8-position), header);
+			
+			LargeDataFrame large = null;
+			int first = 0;
+			do{
+				int last = first;
+				long rows = 0;
+				while(last < groups.size() && (last == first 
+						|| rows+groups.get(last).rows <= LargeDataFrame.DEFAULT_PARTITION_SIZE)){
+					
+					rows += groups.get(last++).rows;
+				}
+				final List<RowGroup> partition = groups.subList(first, last);
+				final Column[] columns = new Column[header.types.length];
+				final List<Future<Void>> pending = new ArrayList<Future<Void>>();
+				for(int i=0; i<columns.length; ++i){
+					columns[i] = readBlocks(channel, compression, header, i, partition,
+							(int)rows, pending);
+				}
+				for(final Future<Void> task : pending){
+					await(task);
+				}
+				final DataFrame df = header.toDataFrame(columns);
+				if(large == null){
+					large = new LargeDataFrame(df);
+				}
+				large.addPartition(df);
+				first = last;
+			}while(first < groups.size());
+			return large;
+		}catch(BufferUnderflowException | IndexOutOfBoundsException
+				| NegativeArraySizeException ex){
+			throw new IOException("Invalid data format");
+		}finally{
+			channel.close();
+		}
+	}
+	
+	/**
+	 * Reads the specified file into a LargeDataFrame
+	 * 
+	 * @param file The file to read. Must be a <code>.df</code> file
+	 * @return A LargeDataFrame holding all rows of the specified file
+	 * @throws IOException If any errors occur during deserialization
+	 * @see #readLarge(File)
+	 */
+	public LargeDataFrame readLarge(final String file) throws IOException{
+		return readLarge(new File(file));
+	}
+	
+	/**
+	 * Appends all rows of the given DataFrame to the specified file without
+	 * rewriting the rows already stored in that file.<br>
+	 * The rows are written as new row groups at the end of the file, followed by the
+	 * updated index. The number of rows in the header is only updated once the updated index
+	 * has been written completely. If this operation fails, the file is restored to its
+	 * original content, so the rows already stored in that file stay readable. The previous
+	 * index is kept in the file as unused space. The cost of this operation is therefore proportional
+	 * to the number of appended rows and the number of row groups, not to the size of the file.
+	 * The rows are compressed with the codec and encoded with the column encodings recorded
+	 * in the file.
+	 * If the specified file does not exist, it is created as if by 
+	 * {@link #writeFile(File, DataFrame)}
+	 * 
+	 * <p>Appending small DataFrames creates small row groups. Appended files may
+	 * hold more than <code>Integer.MAX_VALUE</code> rows in total, in which case they
+	 * can only be read by {@link #readLarge(File)}
+	 * 
+	 * @param file The file to append the rows to. Must be a <code>.df</code> file
+	 *             written with the binary encoding
+	 * @param df The DataFrame holding the rows to append. Must have the same column
+	 *           types as the DataFrame stored in the file and, if both have column names,
+	 *           the same column names
+	 * @throws IOException If any errors occur during serialization, if the file
+	 *                     uses the version 1 encoding or if the column types or names
+	 *                     of the given DataFrame do not match those of the file
+	 * @see #useRowGroupSize(int)
+	 */
+	public void append(File file, final DataFrame df) throws IOException{
+		if(!file.getName().endsWith(DF_FILE_EXTENSION)){
+			file = new File(file.getAbsolutePath()+DF_FILE_EXTENSION);
+		}
+		if(!file.exists()){
+			writeFile(file, df);
+			return;
+		}
+		if(!isBinaryEncoded(file)){
+			throw new IOException("Cannot append to a file in the version 1 encoding");
+		}
+		final FileChannel channel = FileChannel.open(file.toPath(), 
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		
+		try{
+			final ByteBuffer preamble = readBlock(channel, 4, 5);
+			final Codec compression = codecOf(preamble.get());
+			final Header header = decodeHeader(readBlock(channel, 9, preamble.getInt()));
+			if(df.columns() != header.types.length){
+				throw new IOException("Column count does not match: "+df.columns());
+			}
+			for(int i=0; i<header.types.length; ++i){
+				if(ColumnEncoding.typeOf(df.getColumnAt(i)) != header.types[i]){
+					throw new IOException("Column type does not match at index "+i);
+				}
+			}
+			if(header.names != null && df.hasColumnNames()
+					&& !Arrays.equals(header.names, df.getColumnNames())){
+				
+				throw new IOException("Column names do not match");
+			}
+			if(df.rows() == 0){
+				return;
+			}
+			final long size = channel.size();
+			final long position = readBlock(channel, size-8, 8).getLong();
+			final List<RowGroup> groups = decodeIndex(
+					readBlock(channel, position, size-8-position), header);
+			
+			final List<RowGroup> appended = new ArrayList<RowGroup>();
+			for(int i=0; i<df.rows(); i+=rowGroupSize){
+				appended.add(new RowGroup(i, Math.min(rowGroupSize, df.rows()-i), df.columns()));
+			}
+			final ByteBuffer original = readBlock(channel, position, ROW_GROUP_HEADER_LENGTH);
+			try{
+				final OutputStream os = new BufferedOutputStream(
+						Channels.newOutputStream(channel.position(size)));
+				
+				final long end = (compression != null
+						? writeCompressed(os, df, compression, header.encodings, appended, size)
+						: writeUncompressed(os, df, appended, size));
+				
+				groups.addAll(appended);
+				os.write(encodeIndex(df, groups, end).array());
+				os.flush();
+				//stream readers skip the previous index as unused space
+				final ByteBuffer unused = allocate(ROW_GROUP_HEADER_LENGTH);
+				unused.putInt(-(int)(size-position-ROW_GROUP_HEADER_LENGTH));
+				unused.flip();
+				channel.write(unused, position);
+				final ByteBuffer rows = allocate(8);
+				rows.putLong(header.rows+df.rows());
+				rows.flip();
+				//the number of rows directly follows the implementation in the header
+				channel.write(rows, 10);
+			}catch(IOException | RuntimeException ex){
+				//restore the file as it was before anything was appended
+				channel.write(original, position);
+				channel.truncate(size);
+				throw ex;
+			}
+		}catch(BufferUnderflowException | IndexOutOfBoundsException
+				| NegativeArraySizeException ex){
+			throw new IOException("Invalid data format");
+		}finally{
+			channel.close();
+		}
+	}
+	
+	/**
+	 * Appends all rows of the given DataFrame to the specified file without
+	 * rewriting the rows already stored in that file
+	 * 
+	 * @param file The file to append the rows to. Must be a <code>.df</code> file
+	 * @param df The DataFrame holding the rows to append
+	 * @throws IOException If any errors occur during serialization
+	 * @see #append(File, DataFrame)
+	 */
+	public void append(final String file, final DataFrame df) throws IOException{
+		append(new File(file), df);
+	}
+	
 	/**
 	 * Creates a background thread which will persist the given DataFrame to the specified
 	 * file and execute the provided callback when finished.<br> This method can only be called
@@ -267,6 +782,228 @@ public class DataFrameSerializer {
 		parallelWriteFile(new File(file), df, delegate);
 	}
 	
+	/**
+	 * Writes the given DataFrame to the specified output stream.<br>
+	 * The DataFrame is encoded column by column and chunk by chunk, so memory usage
+	 * is bounded by the size of the chunks currently being processed, regardless of
+	 * the size of the DataFrame. Chunks are compressed in parallel by the executor 
+	 * of this serializer. The stream is not closed by this method
+	 * 
+	 * @param os The OutputStream to write the DataFrame to
+	 * @param df The DataFrame to write
+	 * @throws IOException If any errors occur during serialization
+	 * @see #useChunkSize(int)
+	 * @see #useExecutor(Executor)
+	 */
+	public void writeTo(final OutputStream os, final DataFrame df) throws IOException{
+		final byte[] encodings = selectEncodings(df);
+		final byte[] header = encodeHeader(df, encodings).array();
+		final ByteBuffer preamble = allocate(9);
+		preamble.put(new byte[]{DF_BYTE0, DF_BYTE1, DF_BYTE2, DF_BYTE3,
+				(codec != null ? codec.getId() : CODEC_NONE)});
+		
+		preamble.putInt(header.length);
+		os.write(preamble.array());
+		os.write(header);
+		final long start = preamble.capacity()+header.length;
+		final List<RowGroup> groups = new ArrayList<RowGroup>();
+		for(int i=0; i<df.rows(); i+=rowGroupSize){
+			groups.add(new RowGroup(i, Math.min(rowGroupSize, df.rows()-i), df.columns()));
+		}
+		final long end = (codec != null 
+				? writeCompressed(os, df, codec, encodings, groups, start) 
+				: writeUncompressed(os, df, groups, start));
+		
+		os.write(encodeIndex(df, groups, end).array());
+		os.flush();
+	}
+	
+	/**
+	 * Reads a DataFrame from the specified input stream.<br>
+	 * The DataFrame is decoded column by column and chunk by chunk, so apart from
+	 * the DataFrame itself, memory usage is bounded by the size of the chunks currently
+	 * being processed. Chunks are decompressed in parallel by the executor of
+	 * this serializer.
+	 * When this method returns, the stream is positioned directly after the
+	 * DataFrame read. The stream is not closed by this method
+	 * 
+	 * @param is The InputStream to read the DataFrame from
+	 * @return A DataFrame from the specified input stream
+	 * @throws IOException If any errors occur during deserialization
+	 */
+	public DataFrame readFrom(final InputStream is) throws IOException{
+		final StreamSource source = new StreamSource(is);
+		try{
+			final ByteBuffer magic = source.read(2);
+			if(magic.get(0) != DF_BYTE0 || magic.get(1) != DF_BYTE1){
+				throw new IOException(String.format(
+						"Is not a %s file. Starts with 0x%02X 0x%02X",
+						DF_FILE_EXTENSION, magic.get(0), magic.get(1)));
+			}
+			final ByteBuffer version = source.read(2);
+			if(version.get(0) != DF_BYTE2){
+				//version 1 encoding is a single deflate stream of unknown length
+				final ByteArrayOutputStream baos = new ByteArrayOutputStream(2048);
+				baos.write(magic.array());
+				baos.write(version.array());
+				final byte[] buffer = new byte[8192];
+				int n = 0;
+				while((n = is.read(buffer)) != -1){
+					baos.write(buffer, 0, n);
+				}
+				return deserialize(decompress(baos.toByteArray()));
+			}
+			if(version.get(1) != DF_BYTE3){
+				throw new IOException(String.format(
+						"Unsupported encoding version: 0x%02X", version.get(1)));
+			}
+			final ByteBuffer preamble = source.read(5);
+			final Codec compression = codecOf(preamble.get());
+			final Header header = decodeHeader(source.read(preamble.getInt()));
+			final int total = Header.frameRows(header.rows);
+			final Column[] columns = new Column[header.types.length];
+			for(int i=0; i<columns.length; ++i){
+				columns[i] = ColumnEncoding.newColumn(header.types[i], header.encodings[i],
+						total);
+			}
+			final Deque<Future<Void>> pending = new ArrayDeque<Future<Void>>();
+			int filled = 0;
+			while(filled < total){
+				final int rows = source.read(ROW_GROUP_HEADER_LENGTH).getInt();
+				if(rows < 0){
+					//unused space left behind by an append
+					source.read(-rows);
+					continue;
+				}
+				if(rows == 0 || rows > total-filled){
+					throw new IOException("Invalid data format");
+				}
+				for(int i=0; i<columns.length; ++i){
+					readColumn(source, columns[i], header.types[i], header.encodings[i],
+							filled, rows, compression, pending);
+				}
+				filled += rows;
+			}
+			while(!pending.isEmpty()){
+				await(pending.poll());
+			}
+			final long length = source.read(8).getLong();
+			if(length < 0 || length > Integer.MAX_VALUE){
+				throw new IOException("Invalid data format");
+			}
+			source.read((int)length);
+			return header.toDataFrame(columns);
+		}catch(BufferUnderflowException | IndexOutOfBoundsException
+				| NegativeArraySizeException ex){
+			throw new IOException("Invalid data format");
+		}
+	}
+	
+	/**
+	 * Instructs this <code>DataFrameSerializer</code> whether to compress the chunks
+	 * of written files.<br>
+	 * Compression is enabled by default. Calling this method with true causes
+	 * chunks to be compressed by a {@link DeflateCodec} with the default compression
+	 * level. Files written with compression disabled are larger but can be read 
+	 * with {@link #readMapped(File)} without copying
+	 * 
+	 * @param value True to compress written files, false otherwise
+	 * @return This DataFrameSerializer instance
+	 * @see #useCodec(Codec)
+	 */
+	public DataFrameSerializer useCompression(final boolean value){
+		this.codec = (value ? new DeflateCodec() : null);
+		return this;
+	}
+	
+	/**
+	 * Instructs this <code>DataFrameSerializer</code> to compress the chunks of
+	 * written files with the specified codec.<br>
+	 * The id of the codec is recorded in each written file. Files compressed with
+	 * any of the codecs provided by this library can always be read. Files compressed
+	 * with a custom codec can only be read if that codec is specified here
+	 * 
+	 * @param codec The Codec to use, or null to disable compression
+	 * @return This DataFrameSerializer instance
+	 */
+	public DataFrameSerializer useCodec(final Codec codec){
+		this.codec = codec;
+		return this;
+	}
+	
+	/**
+	 * Instructs this <code>DataFrameSerializer</code> whether compressed columns may
+	 * use lightweight encodings.<br>
+	 * Encodings are enabled by default. For each column of a compressed file, the
+	 * encoding expected to produce the smallest output is chosen from statistics of the
+	 * column: integer columns may be delta or run-length encoded, boolean columns 
+	 * bit-packed and string columns with few distinct values dictionary encoded. 
+	 * The chosen encoding is recorded in the file. Uncompressed files always use
+	 * the plain encoding so that they can be mapped into memory
+	 * 
+	 * @param value True to use lightweight encodings, false otherwise
+	 * @return This DataFrameSerializer instance
+	 */
+	public DataFrameSerializer useEncodings(final boolean value){
+		this.encodings = value;
+		return this;
+	}
+	
+	/**
+	 * Instructs this <code>DataFrameSerializer</code> to encode columns in chunks of
+	 * the specified number of rows.<br>
+	 * Each chunk is compressed independently. Larger chunks may compress better but
+	 * require more memory when reading and writing. The default chunk size
+	 * is 65536 rows and the maximum chunk size is 134217727 rows
+	 * 
+	 * @param rows The number of rows of each chunk. Must be positive
+	 * @return This DataFrameSerializer instance
+	 */
+	public DataFrameSerializer useChunkSize(final int rows){
+		if(rows <= 0){
+			throw new IllegalArgumentException("Chunk size must be positive");
+		}
+		if(rows > MAX_CHUNK_SIZE){
+			throw new IllegalArgumentException("Chunk size must not exceed "+MAX_CHUNK_SIZE);
+		}
+		this.chunkSize = rows;
+		return this;
+	}
+	
+	/**
+	 * Instructs this <code>DataFrameSerializer</code> to store rows in row groups of
+	 * the specified number of rows.<br>
+	 * The minimum, maximum and number of nulls of each column are recorded for each
+	 * row group. Smaller row groups allow range reads to skip more rows but increase the
+	 * size of the index. Each row group of an uncompressed file is mapped into memory
+	 * as a separate segment. The default row group size is 1048576 rows
+	 * 
+	 * @param rows The number of rows of each row group. Must be positive
+	 * @return This DataFrameSerializer instance
+	 * @see #readRange(File, String, Object, Object)
+	 */
+	public DataFrameSerializer useRowGroupSize(final int rows){
+		if(rows <= 0){
+			throw new IllegalArgumentException("Row group size must be positive");
+		}
+		this.rowGroupSize = rows;
+		return this;
+	}
+	
+	/**
+	 * Instructs this <code>DataFrameSerializer</code> to use the specified executor to
+	 * compress and decompress chunks in parallel.<br>
+	 * By default, the common <code>ForkJoinPool</code> is used. Passing null to this
+	 * method causes all chunks to be processed on the calling thread
+	 * 
+	 * @param executor The Executor to use, or null to use the calling thread
+	 * @return This DataFrameSerializer instance
+	 */
+	public DataFrameSerializer useExecutor(final Executor executor){
+		this.executor = (executor != null ? executor : CALLING_THREAD);
+		return this;
+	}
+	
 	/**
 	 * Serializes the given <code>DataFrame</code> to an array of bytes.<br>
 	 * The returned array is not compressed
@@ -398,7 +1135,11 @@ public class DataFrameSerializer {
 		i2 += 2;
 		while((b = bytes[++i2]) != ';');
 		tmp = copyBytes(bytes, i1, i2);
-		rows = Integer.valueOf(new String(tmp));
+		final long count = Long.valueOf(new String(tmp));
+		if(count < 0 || count > Integer.MAX_VALUE){
+			throw new IOException("Invalid number of rows: "+count);
+		}
+		rows = (int)count;
 		i1 = i2+3;
 		i2 += 2;
 		while((b = bytes[++i2]) != ';');
@@ -646,39 +1387,908 @@ public class DataFrameSerializer {
 	}
 	
 	/**
-	 * Compresses the given array of bytes and modifies the first two bytes of the compressed 
-	 * instance to represent a serialized DataFrame
+	 * Writes all row groups of the given DataFrame without compression. Each row group
+	 * starts with the number of rows it holds (i32), followed by one block of pages for
+	 * each column. Each page consists of the number of entries it holds (i32), the number
+	 * of bytes it holds (i64) and the encoded entries.<br>
+	 * Fixed-width columns are written as a single page per row group, so that they can be
+	 * mapped into memory. Their entries are still encoded chunk by chunk
 	 * 
-	 * @param bytes The bytes to compress
-	 * @return The compressed array of bytes
-	 * @throws IOException If any errors occur during compression
+	 * @param os The OutputStream to write to
+	 * @param df The DataFrame to write
+	 * @param groups The row groups to write. Their blocks and zone maps are set
+	 *               by this method
+	 * @param position The position in the stream at which the first row group starts
+	 * @return The position in the stream after the last row group
+	 * @throws IOException If any errors occur during encoding
 	 */
-	private byte[] compress(byte[] bytes) throws IOException{
-		final Deflater deflater = new Deflater();
-		deflater.setInput(bytes);
-		final ByteArrayOutputStream os = new ByteArrayOutputStream(bytes.length);
-		deflater.finish();
-		byte[] buffer = new byte[2048];
-		while(!deflater.finished()){
-			os.write(buffer, 0, deflater.deflate(buffer));
+	private long writeUncompressed(final OutputStream os, final DataFrame df,
+			final List<RowGroup> groups, long position) throws IOException{
+		
+		for(final RowGroup group : groups){
+			position += writeRowGroupHeader(os, group.rows);
+			for(int c=0; c<df.columns(); ++c){
+				final Column col = df.getColumnAt(c);
+				final byte type = ColumnEncoding.typeOf(col);
+				final int width = ColumnEncoding.width(type);
+				final int end = group.from+group.rows;
+				final Block block = new Block(position);
+				if(width > 0){
+					writePageHeader(os, group.rows, (long)group.rows*width);
+					for(int i=group.from; i<end; i+=chunkSize){
+						os.write(ColumnEncoding.encode(col, type, ColumnEncoding.PLAIN, i, 
+								Math.min(chunkSize, end-i)));
+					}
+					block.add(group.rows, (long)group.rows*width);
+				}else{
+					for(int i=group.from; i<end; i+=chunkSize){
+						final int n = Math.min(chunkSize, end-i);
+						final byte[] page = ColumnEncoding.encode(col, type,
+								ColumnEncoding.PLAIN, i, n);
+						
+						writePageHeader(os, n, page.length);
+						os.write(page);
+						block.add(n, page.length);
+					}
+				}
+				group.blocks[c] = block;
+				group.zones[c] = ZoneMap.of(col, type, group.from, group.rows);
+				position += block.length;
+			}
 		}
-		bytes = os.toByteArray();
-		bytes[0] = DF_BYTE0;
-		bytes[1] = DF_BYTE1;
-		return bytes;
+		return position;
 	}
-
+	
 	/**
-	 * Decompresses the given array of bytes
+	 * Writes all row groups of the given DataFrame with compression. Each column of
+	 * a row group is written as a block of pages. Each page holds one chunk which is
+	 * compressed independently. Chunks are encoded and compressed in parallel by the
+	 * executor of this serializer while pages are written in order
 	 * 
-	 * @param bytes The bytes to decompress
-	 * @return The decompressed array of bytes
-	 * @throws IOException If any errors occur during decompression
+	 * @param os The OutputStream to write to
+	 * @param df The DataFrame to write
+	 * @param codec The Codec to compress the chunks with
+	 * @param encodings The encoding of each column
+	 * @param groups The row groups to write. Their blocks and zone maps are set
+	 *               by this method
+	 * @param position The position in the stream at which the first row group starts
+	 * @return The position in the stream after the last row group
+	 * @throws IOException If any errors occur during encoding
 	 */
-	private byte[] decompress(final byte[] bytes) throws IOException{
-		final Inflater inflater = new Inflater();
-		//set zlib compression magic numbers
-		bytes[0] = 0x78;
+	private long writeCompressed(final OutputStream os, final DataFrame df, final Codec codec,
+			final byte[] encodings, final List<RowGroup> groups, long position)
+					throws IOException{
+		
+		final int window = PENDING_CHUNKS_PER_CPU*Runtime.getRuntime().availableProcessors();
+		final Deque<PageEncoder> pending = new ArrayDeque<PageEncoder>();
+		for(int g=0; g<groups.size(); ++g){
+			final RowGroup group = groups.get(g);
+			for(int c=0; c<df.columns(); ++c){
+				final Column col = df.getColumnAt(c);
+				final byte type = ColumnEncoding.typeOf(col);
+				for(int i=0; i<group.rows; i+=chunkSize){
+					final PageEncoder page = new PageEncoder(codec, g, c, col, type,
+							encodings[c], group.from+i, Math.min(chunkSize, group.rows-i));
+					
+					pending.add(page);
+					executor.execute(page);
+					if(pending.size() >= window){
+						position = writePage(os, pending.poll(), groups, position);
+					}
+				}
+			}
+		}
+		while(!pending.isEmpty()){
+			position = writePage(os, pending.poll(), groups, position);
+		}
+		return position;
+	}
+	
+	/**
+	 * Waits for the given page to be encoded and writes it to the specified
+	 * output stream. The header of a row group is written before its first page
+	 * 
+	 * @param os The OutputStream to write to
+	 * @param page The page to write
+	 * @param groups The row groups being written
+	 * @param position The position in the stream at which the page starts
+	 * @return The position in the stream after the page
+	 * @throws IOException If any errors occur during encoding or writing
+	 */
+	private long writePage(final OutputStream os, final PageEncoder page,
+			final List<RowGroup> groups, long position) throws IOException{
+		
+		final byte[] bytes = await(page);
+		final RowGroup group = groups.get(page.group);
+		if(group.blocks[page.column] == null){
+			if(page.column == 0){
+				position += writeRowGroupHeader(os, group.rows);
+			}
+			group.blocks[page.column] = new Block(position);
+			group.zones[page.column] = page.zone[0];
+		}else{
+			group.zones[page.column].merge(page.zone[0], page.type);
+		}
+		writePageHeader(os, page.rows, bytes.length);
+		os.write(bytes);
+		group.blocks[page.column].add(page.rows, bytes.length);
+		return position+PAGE_HEADER_LENGTH+bytes.length;
+	}
+	
+	/**
+	 * Writes the header of a row group to the specified output stream
+	 * 
+	 * @param os The OutputStream to write to
+	 * @param rows The number of rows held by the row group
+	 * @return The number of bytes written
+	 * @throws IOException If any errors occur while writing
+	 */
+	private int writeRowGroupHeader(final OutputStream os, final int rows) throws IOException{
+		final ByteBuffer header = allocate(ROW_GROUP_HEADER_LENGTH);
+		header.putInt(rows);
+		os.write(header.array());
+		return header.capacity();
+	}
+	
+	/**
+	 * Writes the header of a page to the specified output stream
+	 * 
+	 * @param os The OutputStream to write to
+	 * @param rows The number of entries held by the page
+	 * @param length The number of bytes held by the page
+	 * @return The number of bytes written
+	 * @throws IOException If any errors occur while writing
+	 */
+	private int writePageHeader(final OutputStream os, final int rows, final long length)
+			throws IOException{
+		
+		final ByteBuffer header = allocate(PAGE_HEADER_LENGTH);
+		header.putInt(rows);
+		header.putLong(length);
+		os.write(header.array());
+		return header.capacity();
+	}
+	
+	/**
+	 * Reads a block of pages holding the entries of one column of a row group from 
+	 * the specified source. Pages are read on the calling thread, but decompressed and
+	 * decoded by the executor of this serializer. The entries are only fully decoded
+	 * once all pending tasks have completed
+	 * 
+	 * @param source The Source to read from
+	 * @param col The Column to set the decoded entries in
+	 * @param type The type code of the column
+	 * @param encoding The encoding of the column
+	 * @param offset The index of the first row of the row group
+	 * @param rows The number of rows of the row group
+	 * @param compression The codec used by the pages, or null if uncompressed
+	 * @param pending The queue of pending tasks. Tasks created by this method are added
+	 *                to this queue. The queue is drained up to a bounded size
+	 * @throws IOException If any errors occur during decoding
+	 */
+	private void readColumn(final Source source, final Column col, final byte type,
+			final byte encoding, final int offset, final int rows, final Codec compression,
+			final Deque<Future<Void>> pending) throws IOException{
+		
+		final int width = ColumnEncoding.width(type);
+		final int window = PENDING_CHUNKS_PER_CPU*Runtime.getRuntime().availableProcessors();
+		if(compression == null && width > 0 && encoding == ColumnEncoding.PLAIN){
+			final ByteBuffer page = source.read(PAGE_HEADER_LENGTH);
+			if(page.getInt() != rows || page.getLong() != (long)rows*width){
+				throw new IOException("Invalid data format");
+			}
+			final int n = Math.max(1, Math.min(chunkSize, Integer.MAX_VALUE/width));
+			for(int i=0; i<rows; i+=n){
+				final int m = Math.min(n, rows-i);
+				ColumnEncoding.decode(source.read(m*width), col, type, encoding, offset+i, m);
+			}
+			return;
+		}
+		int filled = 0;
+		while(filled < rows){
+			final ByteBuffer page = source.read(PAGE_HEADER_LENGTH);
+			final int n = page.getInt();
+			final long length = page.getLong();
+			if(n <= 0 || n > rows-filled || length < 0 || length > Integer.MAX_VALUE){
+				throw new IOException("Invalid data format");
+			}
+			final PageDecoder decoder = new PageDecoder(source.read((int)length),
+					compression, col, type, encoding, offset+filled, n);
+			
+			pending.add(decoder);
+			executor.execute(decoder);
+			while(pending.size() >= window){
+				await(pending.poll());
+			}
+			filled += n;
+		}
+	}
+	
+	/**
+	 * Encodes the header of the given <code>DataFrame</code> with the binary encoding.
+	 * The header holds the DataFrame implementation, the number of rows and columns,
+	 * the column names, the type code of each column and the encoding of each column
+	 * 
+	 * @param df The DataFrame to encode the header for
+	 * @param encodings The encoding of each column
+	 * @return A ByteBuffer holding the encoded header
+	 * @throws IOException If any column type is not supported
+	 */
+	private ByteBuffer encodeHeader(final DataFrame df, final byte[] encodings)
+			throws IOException{
+		
+		final int cols = df.columns();
+		final byte[][] names = new byte[cols][];
+		int size = 14+2*cols;
+		if(df.hasColumnNames()){
+			final String[] columnNames = df.getColumnNames();
+			for(int i=0; i<cols; ++i){
+				names[i] = columnNames[i].getBytes(StandardCharsets.UTF_8);
+				size += 4+names[i].length;
+			}
+		}
+		final ByteBuffer header = allocate(size);
+		header.put(df.isNullable() ? IMPL_NULLABLE : IMPL_DEFAULT);
+		header.putLong(df.rows());
+		header.putInt(cols);
+		header.put((byte)(df.hasColumnNames() ? 1 : 0));
+		if(df.hasColumnNames()){
+			for(final byte[] name : names){
+				header.putInt(name.length);
+				header.put(name);
+			}
+		}
+		for(final Column col : df){
+			header.put(ColumnEncoding.typeOf(col));
+		}
+		header.put(encodings);
+		return header;
+	}
+	
+	/**
+	 * Selects the encoding of each column of the given DataFrame. All columns use
+	 * the plain encoding if written files are not compressed or if lightweight
+	 * encodings are disabled
+	 * 
+	 * @param df The DataFrame to select the encodings for
+	 * @return The encoding of each column
+	 * @throws IOException If any column type is not supported
+	 */
+	private byte[] selectEncodings(final DataFrame df) throws IOException{
+		final byte[] encodings = new byte[df.columns()];
+		if(codec != null && this.encodings){
+			for(int i=0; i<encodings.length; ++i){
+				final Column col = df.getColumnAt(i);
+				encodings[i] = ColumnEncoding.selectEncoding(col,
+						ColumnEncoding.typeOf(col), df.rows());
+			}
+		}
+		return encodings;
+	}
+	
+	/**
+	 * Reads the columns at the specified indices from the specified file 
+	 * in the binary encoding.<br>
+	 * The header and the index are read first. Afterwards only the pages of the
+	 * requested columns are read and decoded. Pages are read, decompressed and
+	 * decoded in parallel by the executor of this serializer. If a range is specified,
+	 * row groups which cannot hold any row within the range are skipped entirely and
+	 * all other rows outside the range are removed after decoding
+	 * 
+	 * @param file The file to read
+	 * @param indices The indices of the columns to read, or null to read all columns
+	 * @param mapped Indicates whether fixed-width columns of uncompressed files
+	 *               should be mapped into memory
+	 * @param range The range the rows to read must lie within, or null to read all rows
+	 * @return A DataFrame composed of the requested columns
+	 * @throws IOException If any errors occur during decoding or if the
+	 *                     file does not constitute a DataFrame
+	 */
+	private DataFrame read(final File file, int[] indices, final boolean mapped,
+			final Range range) throws IOException{
+		
+		final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try{
+			final ByteBuffer preamble = readBlock(channel, 4, 5);
+			final Codec compression = codecOf(preamble.get());
+			final Header header = decodeHeader(readBlock(channel, 9, preamble.getInt()));
+			final int cols = header.types.length;
+			if(indices == null){
+				indices = new int[cols];
+				for(int i=0; i<cols; ++i){
+					indices[i] = i;
+				}
+			}
+			final long size = channel.size();
+			final long position = readBlock(channel, size-8, 8).getLong();
+			final List<RowGroup> groups = decodeIndex(
+					readBlock(channel, position, size-8-position), header);
+			
+			List<RowGroup> selected = groups;
+			long total = header.rows;
+			int[] required = indices;
+			if(range != null){
+				selected = new ArrayList<RowGroup>();
+				total = 0;
+				for(final RowGroup group : groups){
+					if(group.zones[range.column].mayContain(range.type, range.from, range.to)){
+						selected.add(group);
+						total += group.rows;
+					}
+				}
+				required = Arrays.copyOf(indices, indices.length+1);
+				required[indices.length] = range.column;
+			}
+			final int rows = Header.frameRows(total);
+			final Column[] columns = new Column[required.length];
+			final List<Future<Void>> pending = new ArrayList<Future<Void>>();
+			for(int i=0; i<required.length; ++i){
+				if(required[i] < 0 || required[i] >= cols){
+					throw new IOException("Invalid column index: "+required[i]);
+				}
+				final byte type = header.types[required[i]];
+				final byte encoding = header.encodings[required[i]];
+				final int width = ColumnEncoding.width(type);
+				if(mapped && compression == null && width > 0 
+						&& encoding == ColumnEncoding.PLAIN){
+					
+					final List<ByteBuffer> segments = new ArrayList<ByteBuffer>();
+					for(final RowGroup group : selected){
+						final Block block = group.blocks[required[i]];
+						if(block.pages != 1 || block.rows[0] != group.rows
+								|| block.lengths[0] != (long)group.rows*width){
+							throw new IOException("Invalid data format");
+						}
+						map(channel, block.offset+PAGE_HEADER_LENGTH, group.rows, width, segments);
+					}
+					columns[i] = ColumnEncoding.map(
+							segments.toArray(new ByteBuffer[segments.size()]), type);
+					
+					continue;
+				}
+				columns[i] = readBlocks(channel, compression, header, required[i],
+						selected, rows, pending);
+			}
+			for(final Future<Void> task : pending){
+				await(task);
+			}
+			final Header result = header.project(indices);
+			if(range != null){
+				return result.toDataFrame(filter(columns, rows, range));
+			}
+			return result.toDataFrame(columns);
+		}catch(BufferUnderflowException | IndexOutOfBoundsException
+				| NegativeArraySizeException ex){
+			throw new IOException("Invalid data format");
+		}finally{
+			channel.close();
+		}
+	}
+	
+	/**
+	 * Reads all entries of one column of the specified row groups from the
+	 * specified file channel
+	 * 
+	 * @param channel The channel to read from
+	 * @param compression The codec used by the pages, or null if uncompressed
+	 * @param header The Header of the file
+	 * @param index The index of the column to read
+	 * @param groups The row groups to read, in file order
+	 * @param rows The total number of rows of the specified row groups
+	 * @param pending The list of pending tasks. Tasks created by this method are added
+	 *                to this list
+	 * @return The Column the decoded entries are set in once all pending tasks are done
+	 * @throws IOException If any block is invalid
+	 */
+	private Column readBlocks(final FileChannel channel, final Codec compression,
+			final Header header, final int index, final List<RowGroup> groups,
+			final int rows, final List<Future<Void>> pending) throws IOException{
+		
+		final byte type = header.types[index];
+		final byte encoding = header.encodings[index];
+		final Column col = ColumnEncoding.newColumn(type, encoding, rows);
+		int offset = 0;
+		for(final RowGroup group : groups){
+			readColumn(channel, group.blocks[index], compression, col,
+					type, encoding, offset, group.rows, pending);
+			
+			offset += group.rows;
+		}
+		return col;
+	}
+	
+	/**
+	 * Reads the block of pages holding the entries of one column of a row group from
+	 * the specified file channel. The pages are read, decompressed and decoded by the
+	 * executor of this serializer
+	 * 
+	 * @param channel The channel to read from
+	 * @param block The Block to read
+	 * @param compression The codec used by the pages, or null if uncompressed
+	 * @param col The Column to set the decoded entries in
+	 * @param type The type code of the column
+	 * @param encoding The encoding of the column
+	 * @param offset The index in the column of the first row of the row group
+	 * @param rows The number of rows of the row group
+	 * @param pending The list of pending tasks. Tasks created by this method are added
+	 *                to this list
+	 * @throws IOException If the block is invalid
+	 */
+	private void readColumn(final FileChannel channel, final Block block,
+			final Codec compression, final Column col, final byte type, final byte encoding,
+			final int offset, final int rows, final List<Future<Void>> pending)
+					throws IOException{
+		
+		final int width = ColumnEncoding.width(type);
+		if(compression == null && width > 0 && encoding == ColumnEncoding.PLAIN){
+			if(block.pages != 1 || block.rows[0] != rows 
+					|| block.lengths[0] != (long)rows*width){
+				
+				throw new IOException("Invalid data format");
+			}
+			final int n = Math.max(1, Math.min(chunkSize, Integer.MAX_VALUE/width));
+			for(int i=0; i<rows; i+=n){
+				final int m = Math.min(n, rows-i);
+				pending.add(submit(new PageDecoder(channel, 
+						block.offset+PAGE_HEADER_LENGTH+(long)i*width, m*width,
+						compression, col, type, encoding, offset+i, m)));
+			}
+			return;
+		}
+		long position = block.offset;
+		int filled = 0;
+		for(int i=0; i<block.pages; ++i){
+			if(block.rows[i] <= 0 || block.rows[i] > rows-filled 
+					|| block.lengths[i] < 0 || block.lengths[i] > Integer.MAX_VALUE){
+				
+				throw new IOException("Invalid data format");
+			}
+			pending.add(submit(new PageDecoder(channel, position+PAGE_HEADER_LENGTH,
+					(int)block.lengths[i], compression, col, type, encoding,
+					offset+filled, block.rows[i])));
+			
+			position += PAGE_HEADER_LENGTH+block.lengths[i];
+			filled += block.rows[i];
+		}
+		if(filled != rows){
+			throw new IOException("Invalid data format");
+		}
+	}
+	
+	/**
+	 * Removes all rows whose entry in the last of the specified columns does not lie
+	 * within the specified range
+	 * 
+	 * @param columns The columns to filter. The last column holds the entries to test
+	 *                against the range and is not included in the result
+	 * @param length The number of rows of the columns
+	 * @param range The range the tested entries must lie within
+	 * @return All but the last column, holding only the rows within the range
+	 * @throws IOException If any column type is not supported
+	 */
+	private Column[] filter(final Column[] columns, final int length, final Range range)
+			throws IOException{
+		
+		final int n = columns.length-1;
+		final Column key = columns[n];
+		final int[] rows = new int[length];
+		int count = 0;
+		for(int i=0; i<length; ++i){
+			final Object value = key.getValueAt(i);
+			if(value != null 
+					&& (range.from == null || ColumnEncoding.compare(range.type, value, range.from) >= 0)
+					&& (range.to == null || ColumnEncoding.compare(range.type, value, range.to) <= 0)){
+				
+				rows[count++] = i;
+			}
+		}
+		final Column[] filtered = new Column[n];
+		for(int i=0; i<n; ++i){
+			if(count == rows.length){
+				filtered[i] = columns[i];
+				continue;
+			}
+			final Column col = columns[i];
+			filtered[i] = ColumnEncoding.newColumn(ColumnEncoding.typeOf(col), 
+					(col instanceof DictionaryColumn ? ColumnEncoding.DICTIONARY
+							: ColumnEncoding.PLAIN), count);
+			for(int j=0; j<count; ++j){
+				filtered[i].setValueAt(j, col.getValueAt(rows[j]));
+			}
+		}
+		return filtered;
+	}
+	
+	/**
+	 * Encodes the index of all row groups. The index starts with the number of bytes
+	 * following that number (i64) and the number of row groups (i32). For each row group,
+	 * the index holds the number of rows (i32) and, for each column, the offset of its
+	 * block (i64), the length of its block (i64), the number of pages of its block (i32)
+	 * and its zone map. Afterwards, for each page of each column of each row group, the
+	 * index holds the number of entries (i32) and the number of bytes (i64) of that page.
+	 * The index ends with the position of the index itself (i64)
+	 * 
+	 * @param df The DataFrame the row groups belong to
+	 * @param groups The row groups to encode the index for
+	 * @param position The position of the index
+	 * @return A ByteBuffer holding the encoded index
+	 * @throws IOException If any column type is not supported
+	 */
+	private ByteBuffer encodeIndex(final DataFrame df, final List<RowGroup> groups,
+			final long position) throws IOException{
+		
+		final byte[] types = new byte[df.columns()];
+		for(int i=0; i<types.length; ++i){
+			types[i] = ColumnEncoding.typeOf(df.getColumnAt(i));
+		}
+		long size = 20;
+		for(final RowGroup group : groups){
+			size += 4;
+			for(int i=0; i<types.length; ++i){
+				size += 20+group.zones[i].length(types[i])+group.blocks[i].pages*12;
+			}
+		}
+		if(size > Integer.MAX_VALUE){
+			throw new IOException("Index too large");
+		}
+		final ByteBuffer index = allocate((int)size);
+		index.putLong(size-8);
+		index.putInt(groups.size());
+		for(final RowGroup group : groups){
+			index.putInt(group.rows);
+			for(int i=0; i<types.length; ++i){
+				final Block block = group.blocks[i];
+				index.putLong(block.offset);
+				index.putLong(block.length);
+				index.putInt(block.pages);
+				group.zones[i].encode(index, types[i]);
+			}
+		}
+		for(final RowGroup group : groups){
+			for(final Block block : group.blocks){
+				for(int i=0; i<block.pages; ++i){
+					index.putInt(block.rows[i]);
+					index.putLong(block.lengths[i]);
+				}
+			}
+		}
+		index.putLong(position);
+		return index;
+	}
+	
+	/**
+	 * Decodes the index of all row groups
+	 * 
+	 * @param index The buffer holding the encoded index
+	 * @param header The Header of the file
+	 * @return All row groups of the file
+	 * @throws IOException If the index is invalid
+	 */
+	private List<RowGroup> decodeIndex(final ByteBuffer index, final Header header)
+			throws IOException{
+		
+		final int cols = header.types.length;
+		if(index.getLong() != index.capacity()){
+			throw new IOException("Invalid data format");
+		}
+		final int count = index.getInt();
+		if(count < 0){
+			throw new IOException("Invalid data format");
+		}
+		final List<RowGroup> groups = new ArrayList<RowGroup>(count);
+		long from = 0;
+		for(int i=0; i<count; ++i){
+			final int rows = index.getInt();
+			if(rows <= 0 || rows > header.rows-from){
+				throw new IOException("Invalid data format");
+			}
+			//decoded row groups are located by their blocks, the row offset is only used when writing
+			final RowGroup group = new RowGroup(0, rows, cols);
+			for(int j=0; j<cols; ++j){
+				final Block block = new Block(index.getLong());
+				block.length = index.getLong();
+				final int pages = index.getInt();
+				if(pages < 0){
+					throw new IOException("Invalid data format");
+				}
+				block.rows = new int[pages];
+				block.lengths = new long[pages];
+				group.blocks[j] = block;
+				group.zones[j] = ZoneMap.decode(index, header.types[j]);
+			}
+			groups.add(group);
+			from += rows;
+		}
+		if(from != header.rows){
+			throw new IOException("Invalid data format");
+		}
+		for(final RowGroup group : groups){
+			for(final Block block : group.blocks){
+				for(int i=0; i<block.rows.length; ++i){
+					block.rows[i] = index.getInt();
+					block.lengths[i] = index.getLong();
+				}
+				block.pages = block.rows.length;
+			}
+		}
+		return groups;
+	}
+	
+	/**
+	 * Submits the given task to the executor of this serializer
+	 * 
+	 * @param task The task to submit
+	 * @return The given task
+	 */
+	private <T extends Runnable> T submit(final T task){
+		executor.execute(task);
+		return task;
+	}
+	
+	/**
+	 * Waits for the given task to complete and returns its result.<br>
+	 * The calling thread blocks through <code>ForkJoinPool.managedBlock()</code>, so
+	 * when it is a worker of a ForkJoinPool, for example when this serializer is used
+	 * from within a parallel stream, the pool can activate a spare worker to run the
+	 * awaited task instead of deadlocking
+	 * 
+	 * @param task The task to wait for
+	 * @return The result of the task
+	 * @throws IOException If the task has failed
+	 */
+	private <T> T await(final Future<T> task) throws IOException{
+		try{
+			ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker(){
+				@Override
+				public boolean block() throws InterruptedException{
+					try{
+						task.get();
+					}catch(ExecutionException ex){
+						//rethrown when the result is retrieved below
+					}
+					return true;
+				}
+				
+				@Override
+				public boolean isReleasable(){
+					return task.isDone();
+				}
+			});
+			return task.get();
+		}catch(InterruptedException ex){
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for chunk");
+		}catch(ExecutionException ex){
+			final Throwable cause = ex.getCause();
+			if(cause instanceof IOException){
+				throw (IOException)cause;
+			}
+			if(cause instanceof BufferUnderflowException 
+					|| cause instanceof IndexOutOfBoundsException
+					|| cause instanceof NegativeArraySizeException){
+				
+				throw new IOException("Invalid data format");
+			}
+			throw new IOException(cause);
+		}
+	}
+	
+	/**
+	 * Reads and decodes the header of the specified file in the binary encoding
+	 * 
+	 * @param file The file to read the header from
+	 * @return The decoded Header
+	 * @throws IOException If any errors occur during decoding
+	 */
+	private Header readHeader(final File file) throws IOException{
+		final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try{
+			return decodeHeader(readBlock(channel, 9, readBlock(channel, 5, 4).getInt()));
+		}catch(BufferUnderflowException | IndexOutOfBoundsException
+				| NegativeArraySizeException ex){
+			throw new IOException("Invalid data format");
+		}finally{
+			channel.close();
+		}
+	}
+	
+	/**
+	 * Returns the codec identified by the specified id
+	 * 
+	 * @param id The id of the codec
+	 * @return The Codec with the specified id, or null if the id
+	 *         denotes uncompressed chunks
+	 * @throws IOException If the codec is not supported
+	 */
+	private Codec codecOf(final byte id) throws IOException{
+		if(codec != null && codec.getId() == id){
+			return codec;
+		}
+		switch(id){
+		case CODEC_NONE:
+			return null;
+		case DeflateCodec.ID:
+			return new DeflateCodec();
+		case LZCodec.ID:
+			return new LZCodec();
+		default:
+			throw new IOException(String.format("Unsupported codec: 0x%02X", id));
+		}
+	}
+	
+	/**
+	 * Indicates whether the specified file uses the binary encoding
+	 * 
+	 * @param file The file to check
+	 * @return True if the file uses the binary encoding, false if 
+	 *         it uses the version 1 encoding
+	 * @throws IOException If the file cannot be read or uses an unsupported version
+	 */
+	private boolean isBinaryEncoded(final File file) throws IOException{
+		final FileInputStream is = new FileInputStream(file);
+		final byte[] magic = new byte[4];
+		int n = 0;
+		try{
+			while(n < magic.length){
+				final int read = is.read(magic, n, magic.length-n);
+				if(read == -1){
+					break;
+				}
+				n += read;
+			}
+		}finally{
+			is.close();
+		}
+		if(n < 4 || magic[0] != DF_BYTE0 || magic[1] != DF_BYTE1 || magic[2] != DF_BYTE2){
+			return false;
+		}
+		if(magic[3] != DF_BYTE3){
+			throw new IOException(String.format(
+					"Unsupported encoding version: 0x%02X", magic[3]));
+		}
+		return true;
+	}
+	
+	/**
+	 * Reads the specified number of bytes from the given channel, starting at
+	 * the specified position
+	 * 
+	 * @param channel The channel to read from
+	 * @param position The position of the first byte to read
+	 * @param length The number of bytes to read
+	 * @return A little-endian heap ByteBuffer holding the bytes read
+	 * @throws IOException If the channel ends before all bytes are read
+	 */
+	private ByteBuffer readBlock(final FileChannel channel, final long position,
+			final long length) throws IOException{
+		
+		if(position < 0 || length < 0 || length > Integer.MAX_VALUE){
+			throw new IOException("Invalid data format");
+		}
+		return new ChannelSource(channel, position).read((int)length);
+	}
+	
+	/**
+	 * Creates a DataFrame composed of the specified columns of the given DataFrame
+	 * 
+	 * @param df The DataFrame to take the columns from
+	 * @param indices The indices of the columns to take
+	 * @return A DataFrame composed of the specified columns
+	 * @throws IOException If any of the specified indices is out of bounds
+	 */
+	private DataFrame project(final DataFrame df, final int[] indices) throws IOException{
+		final Header header = new Header();
+		header.impl = (df.isNullable() ? IMPL_NULLABLE : IMPL_DEFAULT);
+		header.names = (df.hasColumnNames() ? df.getColumnNames() : null);
+		final Column[] columns = new Column[indices.length];
+		for(int i=0; i<indices.length; ++i){
+			if(indices[i] < 0 || indices[i] >= df.columns()){
+				throw new IOException("Invalid column index: "+indices[i]);
+			}
+			columns[i] = df.getColumnAt(indices[i]);
+		}
+		return header.project(indices).toDataFrame(columns);
+	}
+	
+	/**
+	 * Creates a DataFrame composed of the specified columns of the given DataFrame
+	 * 
+	 * @param df The DataFrame to take the columns from
+	 * @param columnNames The names of the columns to take
+	 * @return A DataFrame composed of the specified columns
+	 * @throws IOException If the DataFrame does not contain any of the specified columns
+	 */
+	private DataFrame project(final DataFrame df, final String[] columnNames)
+			throws IOException{
+		
+		final Header header = new Header();
+		header.names = (df.hasColumnNames() ? df.getColumnNames() : null);
+		final int[] indices = new int[columnNames.length];
+		for(int i=0; i<columnNames.length; ++i){
+			indices[i] = header.indexOf(columnNames[i]);
+		}
+		return project(df, indices);
+	}
+	
+	/**
+	 * Decodes the header of a DataFrame in the binary encoding from the current
+	 * position of the given buffer
+	 * 
+	 * @param buffer The buffer to read from. Must use little-endian byte order
+	 * @return The decoded Header
+	 * @throws IOException If the header is invalid
+	 */
+	private Header decodeHeader(final ByteBuffer buffer) throws IOException{
+		final Header header = new Header();
+		header.impl = buffer.get();
+		if(header.impl != IMPL_DEFAULT && header.impl != IMPL_NULLABLE){
+			throw new IOException("Unsupported DataFrame implementation");
+		}
+		header.rows = buffer.getLong();
+		if(header.rows < 0){
+			throw new IOException("Invalid number of rows: "+header.rows);
+		}
+		final int cols = buffer.getInt();
+		if(buffer.get() != 0){
+			header.names = new String[cols];
+			for(int i=0; i<cols; ++i){
+				final byte[] name = new byte[buffer.getInt()];
+				buffer.get(name);
+				header.names[i] = new String(name, StandardCharsets.UTF_8);
+			}
+		}
+		header.types = new byte[cols];
+		buffer.get(header.types);
+		for(final byte type : header.types){
+			if(!ColumnEncoding.isValid(type)){
+				throw new IOException(String.format("Unsupported column type: 0x%02X", type));
+			}
+		}
+		header.encodings = new byte[cols];
+		buffer.get(header.encodings);
+		for(int i=0; i<cols; ++i){
+			if(!ColumnEncoding.isValid(header.types[i], header.encodings[i])){
+				throw new IOException(String.format(
+						"Unsupported column encoding: 0x%02X", header.encodings[i]));
+			}
+		}
+		return header;
+	}
+	
+	/**
+	 * Compresses the given array of bytes and modifies the first two bytes of the compressed 
+	 * instance to represent a serialized DataFrame
+	 * 
+	 * @param bytes The bytes to compress
+	 * @return The compressed array of bytes
+	 * @throws IOException If any errors occur during compression
+	 */
+	private byte[] compress(byte[] bytes) throws IOException{
+		final Deflater deflater = new Deflater();
+		deflater.setInput(bytes);
+		final ByteArrayOutputStream os = new ByteArrayOutputStream(bytes.length);
+		deflater.finish();
+		byte[] buffer = new byte[2048];
+		while(!deflater.finished()){
+			os.write(buffer, 0, deflater.deflate(buffer));
+		}
+		bytes = os.toByteArray();
+		bytes[0] = DF_BYTE0;
+		bytes[1] = DF_BYTE1;
+		return bytes;
+	}
+
+	/**
+	 * Decompresses the given array of bytes
+	 * 
+	 * @param bytes The bytes to decompress
+	 * @return The decompressed array of bytes
+	 * @throws IOException If any errors occur during decompression
+	 */
+	private byte[] decompress(final byte[] bytes) throws IOException{
+		final Inflater inflater = new Inflater();
+		//set zlib compression magic numbers
+		bytes[0] = 0x78;
 		bytes[1] = (byte)0x9C;
 		inflater.setInput(bytes);
 		final ByteArrayOutputStream os = new ByteArrayOutputStream(bytes.length);
@@ -694,6 +2304,46 @@ public class DataFrameSerializer {
 	}
 
 
+	/**
+	 * Maps the specified region of a file into memory. The region holds the specified
+	 * number of fixed-width entries. Since a single mapping cannot address more than
+	 * <code>Integer.MAX_VALUE</code> bytes, larger regions are mapped in several
+	 * consecutive segments, each of which holds whole entries only
+	 * 
+	 * @param channel The channel of the file to map
+	 * @param position The position within the file at which the region starts
+	 * @param rows The number of entries within the region
+	 * @param width The number of bytes of each entry
+	 * @param segments The list to add the little-endian buffers over the mapped
+	 *                 segments to
+	 * @throws IOException If any errors occur during mapping
+	 */
+	private void map(final FileChannel channel, long position, int rows, final int width,
+			final List<ByteBuffer> segments) throws IOException{
+		
+		final int max = Integer.MAX_VALUE / width;
+		while(rows > 0){
+			final int n = Math.min(rows, max);
+			segments.add(channel.map(MapMode.READ_ONLY, position, (long)n*width)
+					.order(ByteOrder.LITTLE_ENDIAN));
+			
+			position += (long)n*width;
+			rows -= n;
+		}
+	}
+	
+
+	/**
+	 * Allocates a new heap ByteBuffer with the specified capacity 
+	 * using little-endian byte order
+	 * 
+	 * @param capacity The capacity of the buffer
+	 * @return A new ByteBuffer
+	 */
+	private ByteBuffer allocate(final int capacity){
+		return ColumnEncoding.allocate(capacity);
+	}
+	
 	/**
 	 * Escapes special characters in all given column names
 	 * 
@@ -767,6 +2417,347 @@ public class DataFrameSerializer {
 		return b;
 	}
 	
+	/**
+	 * Holds the information stored in the header of the binary encoding
+	 *
+	 */
+	private static class Header {
+		
+		private byte impl;
+		private long rows;
+		private String[] names;
+		private byte[] types;
+		private byte[] encodings;
+		
+		/**
+		 * Returns the specified number of rows as the number of rows of a DataFrame
+		 * 
+		 * @param rows The number of rows to check
+		 * @return The specified number of rows
+		 * @throws IOException If the number of rows exceeds the capacity of a DataFrame
+		 */
+		static int frameRows(final long rows) throws IOException{
+			if(rows > Integer.MAX_VALUE){
+				throw new IOException("Too many rows for a DataFrame: "+rows
+						+ ". Use readLarge() instead");
+			}
+			return (int)rows;
+		}
+		
+		/**
+		 * Returns the index of the column with the specified name
+		 * 
+		 * @param name The name of the column
+		 * @return The index of the column with the specified name
+		 * @throws IOException If no column with the specified name exists
+		 */
+		int indexOf(final String name) throws IOException{
+			if(names != null){
+				for(int i=0; i<names.length; ++i){
+					if(names[i].equals(name)){
+						return i;
+					}
+				}
+			}
+			throw new IOException("Invalid column name: "+name);
+		}
+		
+		/**
+		 * Returns a header describing only the columns at the specified indices
+		 * 
+		 * @param indices The indices of the columns to keep
+		 * @return A Header describing the specified columns
+		 */
+		Header project(final int[] indices){
+			final Header header = new Header();
+			header.impl = impl;
+			header.rows = rows;
+			if(names != null){
+				header.names = new String[indices.length];
+				for(int i=0; i<indices.length; ++i){
+					header.names[i] = names[indices[i]];
+				}
+			}
+			return header;
+		}
+		
+		/**
+		 * Constructs a DataFrame of the implementation described by this header
+		 * from the specified columns
+		 * 
+		 * @param columns The decoded columns of the DataFrame
+		 * @return A DataFrame composed of the specified columns
+		 */
+		DataFrame toDataFrame(final Column[] columns){
+			if(impl == IMPL_DEFAULT){
+				if(columns.length == 0){
+					return new DefaultDataFrame();
+				}
+				return (names == null 
+						? new DefaultDataFrame(columns) 
+						: new DefaultDataFrame(names, columns));
+			}
+			if(columns.length == 0){
+				return new NullableDataFrame();
+			}
+			return (names == null 
+					? new NullableDataFrame(columns) 
+					: new NullableDataFrame(names, columns));
+		}
+	}
+	
+	/**
+	 * Sequential source of bytes used when decoding pages
+	 *
+	 */
+	private abstract static class Source {
+		
+		/**
+		 * Reads exactly the specified number of bytes
+		 * 
+		 * @param length The number of bytes to read
+		 * @return A little-endian heap ByteBuffer holding the bytes read
+		 * @throws IOException If the source ends before all bytes are read
+		 */
+		abstract ByteBuffer read(int length) throws IOException;
+	}
+	
+	/**
+	 * Source reading from a file channel, starting at a given position
+	 *
+	 */
+	private static class ChannelSource extends Source {
+		
+		private FileChannel channel;
+		private long position;
+		
+		ChannelSource(final FileChannel channel, final long position){
+			this.channel = channel;
+			this.position = position;
+		}
+		
+		@Override
+		ByteBuffer read(final int length) throws IOException{
+			final ByteBuffer buffer = ColumnEncoding.allocate(length);
+			while(buffer.hasRemaining()){
+				if(channel.read(buffer, position+buffer.position()) == -1){
+					throw new IOException("Unexpected end of file");
+				}
+			}
+			buffer.flip();
+			position += length;
+			return buffer;
+		}
+	}
+	
+	/**
+	 * Source reading from an input stream
+	 *
+	 */
+	private static class StreamSource extends Source {
+		
+		private InputStream is;
+		
+		StreamSource(final InputStream is){
+			this.is = is;
+		}
+		
+		@Override
+		ByteBuffer read(final int length) throws IOException{
+			final ByteBuffer buffer = ColumnEncoding.allocate(length);
+			final byte[] bytes = buffer.array();
+			int n = 0;
+			while(n < length){
+				final int read = is.read(bytes, n, length-n);
+				if(read == -1){
+					throw new IOException("Unexpected end of stream");
+				}
+				n += read;
+			}
+			return buffer;
+		}
+	}
+	
+	/**
+	 * Location and layout of the block holding all pages of a column of a row group
+	 *
+	 */
+	private static class Block {
+		
+		private long offset;
+		private long length;
+		private int pages;
+		private int[] rows = new int[4];
+		private long[] lengths = new long[4];
+		
+		Block(final long offset){
+			this.offset = offset;
+		}
+		
+		/**
+		 * Adds a page to this block
+		 * 
+		 * @param rows The number of entries held by the page
+		 * @param length The number of bytes held by the page
+		 */
+		void add(final int rows, final long length){
+			if(pages == this.rows.length){
+				this.rows = Arrays.copyOf(this.rows, pages*2);
+				this.lengths = Arrays.copyOf(this.lengths, pages*2);
+			}
+			this.rows[pages] = rows;
+			this.lengths[pages] = length;
+			this.length += PAGE_HEADER_LENGTH+length;
+			++pages;
+		}
+	}
+	
+	/**
+	 * Range of rows of a DataFrame together with the location of its blocks
+	 * and the zone map of each column
+	 *
+	 */
+	private static class RowGroup {
+		
+		private int from;
+		private int rows;
+		private Block[] blocks;
+		private ZoneMap[] zones;
+		
+		RowGroup(final int from, final int rows, final int cols){
+			this.from = from;
+			this.rows = rows;
+			this.blocks = new Block[cols];
+			this.zones = new ZoneMap[cols];
+		}
+	}
+	
+	/**
+	 * Closed range the entries of a column must lie within
+	 *
+	 */
+	private static class Range {
+		
+		private int column;
+		private byte type;
+		private Object from;
+		private Object to;
+		
+		Range(final int column, final byte type, final Object from, final Object to){
+			try{
+				if(from != null){
+					ColumnEncoding.compare(type, from, from);
+				}
+				if(to != null){
+					ColumnEncoding.compare(type, to, to);
+				}
+			}catch(ClassCastException ex){
+				throw new IllegalArgumentException("Bounds do not match the column type");
+			}
+			this.column = column;
+			this.type = type;
+			this.from = from;
+			this.to = to;
+		}
+	}
+	
+	/**
+	 * Task encoding and compressing one chunk of a column
+	 *
+	 */
+	private static class PageEncoder extends FutureTask<byte[]> {
+		
+		private int group;
+		private int column;
+		private byte type;
+		private int rows;
+		/** Holds the zone map of the chunk once the task has completed **/
+		private ZoneMap[] zone;
+		
+		PageEncoder(final Codec codec, final int group, final int column, final Column col,
+				final byte type, final byte encoding, final int from, final int rows){
+			
+			this(new ZoneMap[1], codec, group, column, col, type, encoding, from, rows);
+		}
+		
+		private PageEncoder(final ZoneMap[] zone, final Codec codec, final int group,
+				final int column, final Column col, final byte type, final byte encoding,
+				final int from, final int rows){
+			
+			super(new Callable<byte[]>(){
+				@Override
+				public byte[] call(){
+					zone[0] = ZoneMap.of(col, type, from, rows);
+					return codec.compress(ColumnEncoding.encode(col, type, encoding, from, rows));
+				}
+			});
+			this.zone = zone;
+			this.group = group;
+			this.column = column;
+			this.type = type;
+			this.rows = rows;
+		}
+	}
+	
+	/**
+	 * Task decompressing and decoding one page of a column. The page is 
+	 * either read from a file channel or given directly
+	 *
+	 */
+	private static class PageDecoder extends FutureTask<Void> {
+		
+		PageDecoder(final ByteBuffer page, final Codec compression, final Column col,
+				final byte type, final byte encoding, final int offset, final int rows){
+			
+			super(new Callable<Void>(){
+				@Override
+				public Void call() throws IOException{
+					decodePage(page, compression, col, type, encoding, offset, rows);
+					return null;
+				}
+			});
+		}
+		
+		PageDecoder(final FileChannel channel, final long position, final int length,
+				final Codec compression, final Column col, final byte type,
+				final byte encoding, final int offset, final int rows){
+			
+			super(new Callable<Void>(){
+				@Override
+				public Void call() throws IOException{
+					decodePage(new ChannelSource(channel, position).read(length), 
+							compression, col, type, encoding, offset, rows);
+					
+					return null;
+				}
+			});
+		}
+		
+		/**
+		 * Decompresses the given page if necessary and decodes its entries
+		 * into the specified column
+		 * 
+		 * @param page The content of the page
+		 * @param compression The codec used by the page, or null if uncompressed
+		 * @param col The Column to set the decoded entries in
+		 * @param type The type code of the column
+		 * @param encoding The encoding of the column
+		 * @param offset The index of the first entry held by the page
+		 * @param rows The number of entries held by the page
+		 * @throws IOException If any errors occur during decompression
+		 */
+		private static void decodePage(ByteBuffer page, final Codec compression,
+				final Column col, final byte type, final byte encoding, final int offset,
+				final int rows) throws IOException{
+			
+			if(compression != null){
+				page = ByteBuffer.wrap(compression.decompress(page.array()))
+						.order(ByteOrder.LITTLE_ENDIAN);
+			}
+			ColumnEncoding.decode(page, col, type, encoding, offset, rows);
+		}
+	}
+	
 	/**
 	 * Background thread for concurrent write operations of DataFrames files.
 	 *
@@ -0,0 +1,117 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Codec compressing data with the zlib deflate algorithm.<br>
+ * The compression level can be chosen from 0 (no compression) to 9 
+ * (best compression). The level only affects compression. Data compressed at
+ * any level can be decompressed by any <code>DeflateCodec</code>.
+ * 
+ * @author Phil Gaiser
+ * @see Deflater
+ * @since 2.1.0
+ *
+ */
+public class DeflateCodec implements Codec {
+	
+	/** The id of this codec **/
+	public static final byte ID = 1;
+	
+	private int level;
+	
+	/**
+	 * Constructs a new <code>DeflateCodec</code> using the default compression level
+	 */
+	public DeflateCodec(){
+		this(Deflater.DEFAULT_COMPRESSION);
+	}
+	
+	/**
+	 * Constructs a new <code>DeflateCodec</code> using the specified compression level
+	 * 
+	 * @param level The compression level to use. Must be between 0 and 9, 
+	 *              or -1 for the default level
+	 */
+	public DeflateCodec(final int level){
+		if((level < 0 || level > 9) && (level != Deflater.DEFAULT_COMPRESSION)){
+			throw new IllegalArgumentException("Invalid compression level: "+level);
+		}
+		this.level = level;
+	}
+	
+	/**
+	 * Returns the compression level used by this codec
+	 * 
+	 * @return The compression level
+	 */
+	public int getLevel(){
+		return this.level;
+	}
+
+	@Override
+	public byte getId(){
+		return ID;
+	}
+
+	@Override
+	public byte[] compress(final byte[] bytes){
+		final Deflater deflater = new Deflater(level);
+		deflater.setInput(bytes);
+		deflater.finish();
+		final ByteArrayOutputStream os = new ByteArrayOutputStream(bytes.length/2+64);
+		final byte[] buffer = new byte[8192];
+		try{
+			while(!deflater.finished()){
+				os.write(buffer, 0, deflater.deflate(buffer));
+			}
+		}finally{
+			deflater.end();
+		}
+		return os.toByteArray();
+	}
+
+	@Override
+	public byte[] decompress(final byte[] bytes) throws IOException{
+		final Inflater inflater = new Inflater();
+		inflater.setInput(bytes);
+		final ByteArrayOutputStream os = new ByteArrayOutputStream(bytes.length*2);
+		final byte[] buffer = new byte[8192];
+		try{
+			while(!inflater.finished()){
+				final int n = inflater.inflate(buffer);
+				if(n == 0 && !inflater.finished()
+						&& (inflater.needsInput() || inflater.needsDictionary())){
+					
+					throw new IOException("Unexpected end of data");
+				}
+				os.write(buffer, 0, n);
+			}
+		}catch(DataFormatException ex){
+			throw new IOException("Invalid data format");
+		}finally{
+			inflater.end();
+		}
+		return os.toByteArray();
+	}
+}
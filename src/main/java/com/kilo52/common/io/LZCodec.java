@@ -0,0 +1,208 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.io;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Fast codec implementing a byte-oriented LZ77 compression scheme in pure Java.<br>
+ * This codec compresses considerably faster than {@link DeflateCodec} and 
+ * decompresses even faster, at the cost of a lower compression ratio. It is 
+ * suited for intermediate files which are written and read frequently.
+ * 
+ * <p>The compressed data starts with the length of the uncompressed data (i32,
+ * little-endian), followed by a sequence of literal runs and back-references.
+ * Each sequence starts with a token whose upper 4 bits hold the number of literals
+ * and whose lower 4 bits hold the length of the match minus 4. A value of 15 in
+ * either field is followed by additional length bytes, each adding up to 255.
+ * The literals are followed by the offset of the match (u16, little-endian) and
+ * any additional match length bytes. The last sequence only holds literals.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ *
+ */
+public class LZCodec implements Codec {
+	
+	/** The id of this codec **/
+	public static final byte ID = 2;
+	
+	private static final int MIN_MATCH = 4;
+	private static final int MAX_OFFSET = 65535;
+	private static final int HASH_BITS = 14;
+	/** The number of trailing bytes that are always encoded as literals **/
+	private static final int LAST_LITERALS = 5;
+	
+	/**
+	 * Constructs a new <code>LZCodec</code>
+	 */
+	public LZCodec(){ }
+
+	@Override
+	public byte getId(){
+		return ID;
+	}
+
+	@Override
+	public byte[] compress(final byte[] src){
+		final int n = src.length;
+		final byte[] dst = new byte[n+(n/255)+16];
+		writeInt(dst, 0, n);
+		int d = 4;
+		int anchor = 0;
+		final int limit = n-LAST_LITERALS-MIN_MATCH;
+		final int[] table = new int[1 << HASH_BITS];
+		Arrays.fill(table, -1);
+		int i = 0;
+		while(i < limit){
+			final int sequence = readInt(src, i);
+			final int h = (sequence*-1640531535) >>> (32-HASH_BITS);
+			final int ref = table[h];
+			table[h] = i;
+			if(ref < 0 || (i-ref) > MAX_OFFSET || readInt(src, ref) != sequence){
+				++i;
+				continue;
+			}
+			int length = MIN_MATCH;
+			while(i+length < n-LAST_LITERALS && src[ref+length] == src[i+length]){
+				++length;
+			}
+			d = writeSequence(src, anchor, i-anchor, dst, d, i-ref, length);
+			i += length;
+			anchor = i;
+		}
+		d = writeSequence(src, anchor, n-anchor, dst, d, 0, 0);
+		return Arrays.copyOf(dst, d);
+	}
+
+	@Override
+	public byte[] decompress(final byte[] src) throws IOException{
+		try{
+			final int n = readInt(src, 0);
+			//a single sequence byte can expand to at most 255 bytes, so larger
+			//lengths can only originate from a corrupt header
+			if((n < 0) || (n > (long)(src.length-4)*255)){
+				throw new IOException("Invalid data format");
+			}
+			final byte[] dst = new byte[n];
+			int s = 4;
+			int d = 0;
+			while(s < src.length){
+				final int token = src[s++] & 0xFF;
+				int literals = token >>> 4;
+				if(literals == 15){
+					int b;
+					do{
+						b = src[s++] & 0xFF;
+						literals += b;
+					}while(b == 255);
+				}
+				System.arraycopy(src, s, dst, d, literals);
+				s += literals;
+				d += literals;
+				if(s == src.length){
+					break;
+				}
+				final int offset = (src[s] & 0xFF) | ((src[s+1] & 0xFF) << 8);
+				s += 2;
+				int length = token & 0x0F;
+				if(length == 15){
+					int b;
+					do{
+						b = src[s++] & 0xFF;
+						length += b;
+					}while(b == 255);
+				}
+				length += MIN_MATCH;
+				if(offset == 0 || offset > d || d+length > n){
+					throw new IOException("Invalid data format");
+				}
+				for(int i=0, from=d-offset; i<length; ++i){
+					dst[d++] = dst[from+i];
+				}
+			}
+			if(d != n){
+				throw new IOException("Invalid data format");
+			}
+			return dst;
+		}catch(IndexOutOfBoundsException ex){
+			throw new IOException("Invalid data format");
+		}
+	}
+	
+	/**
+	 * Writes one sequence of literals, optionally followed by a match
+	 * 
+	 * @param src The source array holding the literals
+	 * @param from The index of the first literal
+	 * @param literals The number of literals
+	 * @param dst The destination array
+	 * @param d The index within the destination array to write to
+	 * @param offset The offset of the match
+	 * @param length The length of the match, or 0 for the last sequence
+	 * @return The index within the destination array after the sequence
+	 */
+	private static int writeSequence(final byte[] src, final int from, final int literals,
+			final byte[] dst, int d, final int offset, final int length){
+		
+		final int matchLength = (length > 0 ? length-MIN_MATCH : 0);
+		dst[d++] = (byte)((Math.min(literals, 15) << 4) | Math.min(matchLength, 15));
+		if(literals >= 15){
+			d = writeLength(dst, d, literals-15);
+		}
+		System.arraycopy(src, from, dst, d, literals);
+		d += literals;
+		if(length > 0){
+			dst[d++] = (byte)offset;
+			dst[d++] = (byte)(offset >>> 8);
+			if(matchLength >= 15){
+				d = writeLength(dst, d, matchLength-15);
+			}
+		}
+		return d;
+	}
+	
+	/**
+	 * Writes the additional bytes of a length field
+	 * 
+	 * @param dst The destination array
+	 * @param d The index within the destination array to write to
+	 * @param length The remaining length to write
+	 * @return The index within the destination array after the length bytes
+	 */
+	private static int writeLength(final byte[] dst, int d, int length){
+		while(length >= 255){
+			dst[d++] = (byte)255;
+			length -= 255;
+		}
+		dst[d++] = (byte)length;
+		return d;
+	}
+	
+	private static int readInt(final byte[] bytes, final int i){
+		return (bytes[i] & 0xFF) | ((bytes[i+1] & 0xFF) << 8)
+				| ((bytes[i+2] & 0xFF) << 16) | ((bytes[i+3] & 0xFF) << 24);
+	}
+	
+	private static void writeInt(final byte[] bytes, final int i, final int value){
+		bytes[i] = (byte)value;
+		bytes[i+1] = (byte)(value >>> 8);
+		bytes[i+2] = (byte)(value >>> 16);
+		bytes[i+3] = (byte)(value >>> 24);
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.io;
+
+import java.nio.ByteBuffer;
+
+import com.kilo52.common.struct.Column;
+
+/**
+ * Statistics of a range of entries of a column, used by {@link DataFrameSerializer}
+ * to skip row groups which cannot match a range predicate.<br>
+ * A zone map holds the number of null entries as well as the minimum and maximum
+ * of all non-null entries. Minimum and maximum are null if all entries are null.
+ * 
+ * <p>In the binary encoding, a zone map consists of the number of null entries (i64),
+ * a flag indicating whether minimum and maximum are present (u8) and, if present,
+ * the minimum and the maximum as single values of the column type.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ * 
+ */
+final class ZoneMap {
+	
+	/** The number of entries inspected at once by the fast path **/
+	private static final int CHUNK = 8192;
+	
+	private long nulls;
+	private Object min;
+	private Object max;
+	
+	private ZoneMap(){ }
+	
+	/**
+	 * Computes the zone map of the specified range of entries of the given column
+	 * 
+	 * @param col The Column to compute the zone map for
+	 * @param type The type code of the column
+	 * @param from The index of the first entry to include
+	 * @param n The number of entries to include
+	 * @return The ZoneMap of the specified entries
+	 */
+	static ZoneMap of(final Column col, final byte type, final int from, final int n){
+		final ZoneMap zone = new ZoneMap();
+		if(n == 0){
+			return zone;
+		}
+		//non-nullable integer and boolean columns
+		if(ColumnEncoding.isValid(type, ColumnEncoding.RUN_LENGTH)){
+			long min = Long.MAX_VALUE;
+			long max = Long.MIN_VALUE;
+			for(int i=0; i<n; i+=CHUNK){
+				for(final long value : ColumnEncoding.toLongs(col, type, from+i,
+						Math.min(CHUNK, n-i))){
+					
+					if(value < min){
+						min = value;
+					}
+					if(value > max){
+						max = value;
+					}
+				}
+			}
+			zone.min = ColumnEncoding.valueOf(type, min);
+			zone.max = ColumnEncoding.valueOf(type, max);
+			return zone;
+		}
+		for(int i=from; i<from+n; ++i){
+			zone.add(type, col.getValueAt(i));
+		}
+		return zone;
+	}
+	
+	/**
+	 * Decodes a zone map from the current position of the given buffer
+	 * 
+	 * @param buffer The buffer to read from. Must use little-endian byte order
+	 * @param type The type code of the column
+	 * @return The decoded ZoneMap
+	 */
+	static ZoneMap decode(final ByteBuffer buffer, final byte type){
+		final ZoneMap zone = new ZoneMap();
+		zone.nulls = buffer.getLong();
+		if(buffer.get() != 0){
+			zone.min = ColumnEncoding.getValue(buffer, type);
+			zone.max = ColumnEncoding.getValue(buffer, type);
+		}
+		return zone;
+	}
+	
+	/**
+	 * Returns the number of null entries
+	 * 
+	 * @return The number of null entries
+	 */
+	long nulls(){
+		return nulls;
+	}
+	
+	/**
+	 * Returns the minimum of all non-null entries
+	 * 
+	 * @return The minimum, or null if all entries are null
+	 */
+	Object min(){
+		return min;
+	}
+	
+	/**
+	 * Returns the maximum of all non-null entries
+	 * 
+	 * @return The maximum, or null if all entries are null
+	 */
+	Object max(){
+		return max;
+	}
+	
+	/**
+	 * Merges the given zone map into this zone map
+	 * 
+	 * @param zone The ZoneMap to merge
+	 * @param type The type code of the column
+	 */
+	void merge(final ZoneMap zone, final byte type){
+		nulls += zone.nulls;
+		if(zone.min != null){
+			add(type, zone.min);
+			add(type, zone.max);
+		}
+	}
+	
+	/**
+	 * Indicates whether any entry described by this zone map may lie within the
+	 * specified closed range
+	 * 
+	 * @param type The type code of the column
+	 * @param from The lower bound of the range, or null if unbounded
+	 * @param to The upper bound of the range, or null if unbounded
+	 * @return False if no entry can lie within the range, true otherwise
+	 */
+	boolean mayContain(final byte type, final Object from, final Object to){
+		if(min == null){
+			return false;
+		}
+		return ((from == null || ColumnEncoding.compare(type, max, from) >= 0)
+				&& (to == null || ColumnEncoding.compare(type, min, to) <= 0));
+	}
+	
+	/**
+	 * Returns the number of bytes of the binary encoding of this zone map
+	 * 
+	 * @param type The type code of the column
+	 * @return The number of bytes of the encoded zone map
+	 */
+	int length(final byte type){
+		return (min != null
+				? 9+ColumnEncoding.valueLength(type, min)+ColumnEncoding.valueLength(type, max)
+				: 9);
+	}
+	
+	/**
+	 * Puts the binary encoding of this zone map into the given buffer
+	 * 
+	 * @param buffer The buffer to put the zone map into
+	 * @param type The type code of the column
+	 */
+	void encode(final ByteBuffer buffer, final byte type){
+		buffer.putLong(nulls);
+		buffer.put((byte)(min != null ? 1 : 0));
+		if(min != null){
+			ColumnEncoding.putValue(buffer, type, min);
+			ColumnEncoding.putValue(buffer, type, max);
+		}
+	}
+	
+	/**
+	 * Includes the specified value in this zone map
+	 * 
+	 * @param type The type code of the column
+	 * @param value The value to include. May be null
+	 */
+	private void add(final byte type, final Object value){
+		if(value == null){
+			++nulls;
+			return;
+		}
+		if(min == null || ColumnEncoding.compare(type, value, min) < 0){
+			min = value;
+		}
+		if(max == null || ColumnEncoding.compare(type, value, max) > 0){
+			max = value;
+		}
+	}
+}
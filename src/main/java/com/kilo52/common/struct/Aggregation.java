@@ -0,0 +1,294 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.struct;
+
+/**
+ * Aggregate function computed for each group of a {@link GroupBy}.<br>
+ * Aggregations are created by the static factory methods of this class and
+ * refer to the column they aggregate either by index or by name, for example
+ * <code>Aggregation.sum("amount")</code>. Each aggregation produces one column
+ * in the DataFrame returned by {@link GroupBy#aggregate(Aggregation...)}.
+ * 
+ * <p>The type of the produced column depends on the function. A count produces
+ * an int column. A sum produces a long column for byte, short, int and long columns
+ * and a double column for float and double columns. A mean always produces a double
+ * column. Minimum, maximum, first and last entries produce a column of the same type
+ * as the aggregated column. Null entries are ignored by all functions except count,
+ * first and last. If all entries of a group are null, the aggregated value is null.
+ * 
+ * <p>If the grouped DataFrame has column names, the produced column is named after
+ * the function and the aggregated column, for example <code>"sum(amount)"</code>.
+ * A different name can be specified with {@link #as(String)}.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ * @see DataFrame#groupBy(String...)
+ * 
+ */
+public final class Aggregation {
+	
+	static final int COUNT = 0;
+	static final int SUM = 1;
+	static final int MIN = 2;
+	static final int MAX = 3;
+	static final int MEAN = 4;
+	static final int FIRST = 5;
+	static final int LAST = 6;
+	
+	private static final String[] FUNCTIONS = {"count", "sum", "min", "max", "mean", "first", "last"};
+	
+	private final int function;
+	private final int col;
+	private final String colName;
+	private final String name;
+	
+	private Aggregation(final int function, final int col, final String colName, final String name){
+		this.function = function;
+		this.col = col;
+		this.colName = colName;
+		this.name = name;
+	}
+	
+	/**
+	 * Returns an aggregation counting the rows of each group
+	 * 
+	 * @return An Aggregation counting the rows of each group
+	 */
+	public static Aggregation count(){
+		return new Aggregation(COUNT, -1, null, null);
+	}
+	
+	/**
+	 * Returns an aggregation computing the sum of all entries of each group in
+	 * the column at the specified index. The column must hold numbers
+	 * 
+	 * @param col The index of the column to aggregate
+	 * @return An Aggregation computing the sum of the specified column
+	 */
+	public static Aggregation sum(final int col){
+		return of(SUM, col);
+	}
+	
+	/**
+	 * Returns an aggregation computing the sum of all entries of each group in
+	 * the column with the specified name. The column must hold numbers
+	 * 
+	 * @param colName The name of the column to aggregate
+	 * @return An Aggregation computing the sum of the specified column
+	 */
+	public static Aggregation sum(final String colName){
+		return of(SUM, colName);
+	}
+	
+	/**
+	 * Returns an aggregation computing the minimum of all entries of each group in
+	 * the column at the specified index
+	 * 
+	 * @param col The index of the column to aggregate
+	 * @return An Aggregation computing the minimum of the specified column
+	 */
+	public static Aggregation min(final int col){
+		return of(MIN, col);
+	}
+	
+	/**
+	 * Returns an aggregation computing the minimum of all entries of each group in
+	 * the column with the specified name
+	 * 
+	 * @param colName The name of the column to aggregate
+	 * @return An Aggregation computing the minimum of the specified column
+	 */
+	public static Aggregation min(final String colName){
+		return of(MIN, colName);
+	}
+	
+	/**
+	 * Returns an aggregation computing the maximum of all entries of each group in
+	 * the column at the specified index
+	 * 
+	 * @param col The index of the column to aggregate
+	 * @return An Aggregation computing the maximum of the specified column
+	 */
+	public static Aggregation max(final int col){
+		return of(MAX, col);
+	}
+	
+	/**
+	 * Returns an aggregation computing the maximum of all entries of each group in
+	 * the column with the specified name
+	 * 
+	 * @param colName The name of the column to aggregate
+	 * @return An Aggregation computing the maximum of the specified column
+	 */
+	public static Aggregation max(final String colName){
+		return of(MAX, colName);
+	}
+	
+	/**
+	 * Returns an aggregation computing the average of all entries of each group in
+	 * the column at the specified index. The column must hold numbers
+	 * 
+	 * @param col The index of the column to aggregate
+	 * @return An Aggregation computing the average of the specified column
+	 */
+	public static Aggregation mean(final int col){
+		return of(MEAN, col);
+	}
+	
+	/**
+	 * Returns an aggregation computing the average of all entries of each group in
+	 * the column with the specified name. The column must hold numbers
+	 * 
+	 * @param colName The name of the column to aggregate
+	 * @return An Aggregation computing the average of the specified column
+	 */
+	public static Aggregation mean(final String colName){
+		return of(MEAN, colName);
+	}
+	
+	/**
+	 * Returns an aggregation selecting the entry of the first row of each group in
+	 * the column at the specified index
+	 * 
+	 * @param col The index of the column to aggregate
+	 * @return An Aggregation selecting the first entry of the specified column
+	 */
+	public static Aggregation first(final int col){
+		return of(FIRST, col);
+	}
+	
+	/**
+	 * Returns an aggregation selecting the entry of the first row of each group in
+	 * the column with the specified name
+	 * 
+	 * @param colName The name of the column to aggregate
+	 * @return An Aggregation selecting the first entry of the specified column
+	 */
+	public static Aggregation first(final String colName){
+		return of(FIRST, colName);
+	}
+	
+	/**
+	 * Returns an aggregation selecting the entry of the last row of each group in
+	 * the column at the specified index
+	 * 
+	 * @param col The index of the column to aggregate
+	 * @return An Aggregation selecting the last entry of the specified column
+	 */
+	public static Aggregation last(final int col){
+		return of(LAST, col);
+	}
+	
+	/**
+	 * Returns an aggregation selecting the entry of the last row of each group in
+	 * the column with the specified name
+	 * 
+	 * @param colName The name of the column to aggregate
+	 * @return An Aggregation selecting the last entry of the specified column
+	 */
+	public static Aggregation last(final String colName){
+		return of(LAST, colName);
+	}
+	
+	/**
+	 * Returns a copy of this aggregation which produces a column with the specified name.
+	 * The name is only used if the grouped DataFrame has column names
+	 * 
+	 * @param name The name of the produced column
+	 * @return An Aggregation producing a column with the specified name
+	 */
+	public Aggregation as(final String name){
+		if((name == null) || (name.isEmpty())){
+			throw new DataFrameException("Column name must not be null or empty");
+		}
+		return new Aggregation(function, col, colName, name);
+	}
+	
+	/**
+	 * Returns the aggregate function of this aggregation
+	 * 
+	 * @return The aggregate function as one of the constants of this class
+	 */
+	int function(){
+		return this.function;
+	}
+	
+	/**
+	 * Returns the index of the aggregated column within the specified DataFrame
+	 * 
+	 * @param df The grouped DataFrame
+	 * @return The index of the aggregated column, or -1 for a count
+	 */
+	int column(final DataFrame df){
+		if(function == COUNT){
+			return -1;
+		}
+		final int index = (colName != null ? df.getColumnIndex(colName) : col);
+		if((index < 0) || (index >= df.columns())){
+			throw new DataFrameException("Invalid column index: "+index);
+		}
+		return index;
+	}
+	
+	/**
+	 * Returns the name of the column produced by this aggregation
+	 * 
+	 * @param names The column names of the grouped DataFrame
+	 * @param index The index of the aggregated column
+	 * @return The name of the produced column
+	 */
+	String name(final String[] names, final int index){
+		if(name != null){
+			return name;
+		}
+		if(function == COUNT){
+			return FUNCTIONS[COUNT];
+		}
+		return FUNCTIONS[function]+"("+names[index]+")";
+	}
+	
+	@Override
+	public String toString(){
+		final String arg = (function == COUNT ? "" : (colName != null ? colName : String.valueOf(col)));
+		return FUNCTIONS[function]+"("+arg+")"+(name != null ? " as "+name : "");
+	}
+	
+	/**
+	 * Creates an aggregation of the column at the specified index
+	 * 
+	 * @param function The aggregate function
+	 * @param col The index of the column to aggregate
+	 * @return A new Aggregation
+	 */
+	private static Aggregation of(final int function, final int col){
+		return new Aggregation(function, col, null, null);
+	}
+	
+	/**
+	 * Creates an aggregation of the column with the specified name
+	 * 
+	 * @param function The aggregate function
+	 * @param colName The name of the column to aggregate
+	 * @return A new Aggregation
+	 */
+	private static Aggregation of(final int function, final String colName){
+		if((colName == null) || (colName.isEmpty())){
+			throw new DataFrameException("Arg must not be null or empty");
+		}
+		return new Aggregation(function, -1, colName, null);
+	}
+}
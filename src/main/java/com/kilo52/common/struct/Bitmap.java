@@ -0,0 +1,289 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.struct;
+
+import java.util.Arrays;
+
+/**
+ * Static helper methods for bitmaps stored in long arrays, used by nullable
+ * columns to indicate which of their entries are not null and by
+ * {@link ColumnPredicate} to indicate which entries match.<br>
+ * Bit <code>i</code> of a bitmap is stored in bit <code>i % 64</code> of the long
+ * at index <code>i / 64</code>. In nullable columns, a set bit denotes an entry
+ * which is not null.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ *
+ */
+final class Bitmap {
+	
+	private Bitmap(){ }
+	
+	/**
+	 * Creates a new bitmap able to hold the specified number of bits.
+	 * All bits are cleared
+	 * 
+	 * @param n The number of bits
+	 * @return A new bitmap
+	 */
+	static long[] create(final int n){
+		return new long[(n+63) >>> 6];
+	}
+	
+	/**
+	 * Creates a new bitmap able to hold the specified number of bits.
+	 * All bits are set
+	 * 
+	 * @param n The number of bits
+	 * @return A new bitmap
+	 */
+	static long[] filled(final int n){
+		final long[] bitmap = create(n);
+		Arrays.fill(bitmap, -1L);
+		return copyOf(bitmap, n);
+	}
+	
+	/**
+	 * Copies the given bitmap into a new bitmap able to hold the specified number 
+	 * of bits. Bits not present in the given bitmap are cleared
+	 * 
+	 * @param bitmap The bitmap to copy
+	 * @param n The number of bits of the new bitmap
+	 * @return A new bitmap
+	 */
+	static long[] copyOf(final long[] bitmap, final int n){
+		final long[] copy = Arrays.copyOf(bitmap, (n+63) >>> 6);
+		if((n & 63) != 0 && copy.length > 0){
+			//clear bits beyond the new length so they are not revived on growth
+			copy[copy.length-1] &= (-1L >>> (64-(n & 63)));
+		}
+		return copy;
+	}
+	
+	/**
+	 * Indicates whether the specified bit is set
+	 * 
+	 * @param bitmap The bitmap to query
+	 * @param index The index of the bit
+	 * @return True if the bit is set
+	 */
+	static boolean get(final long[] bitmap, final int index){
+		return ((bitmap[index >>> 6] & (1L << index)) != 0);
+	}
+	
+	/**
+	 * Sets or clears the specified bit
+	 * 
+	 * @param bitmap The bitmap to modify
+	 * @param index The index of the bit
+	 * @param value True to set the bit, false to clear it
+	 */
+	static void set(final long[] bitmap, final int index, final boolean value){
+		if(value){
+			bitmap[index >>> 6] |= (1L << index);
+		}else{
+			bitmap[index >>> 6] &= ~(1L << index);
+		}
+	}
+	
+	/**
+	 * Moves the specified range of bits by one position towards the end of the bitmap,
+	 * i.e. bit <code>i</code> is moved to <code>i+1</code> for all bits in the range
+	 * 
+	 * @param bitmap The bitmap to modify
+	 * @param from The index of the first bit to move
+	 * @param to The index after the last bit to move
+	 */
+	static void shiftUp(final long[] bitmap, final int from, final int to){
+		copy(bitmap, from, bitmap, from+1, to-from);
+	}
+	
+	/**
+	 * Moves the specified range of bits by the specified distance towards the start
+	 * of the bitmap, i.e. bit <code>i</code> is moved to <code>i-distance</code> for
+	 * all bits in the range. Afterwards, the last <code>distance</code> bits before
+	 * the end of the range are cleared
+	 * 
+	 * @param bitmap The bitmap to modify
+	 * @param from The index of the first bit to move
+	 * @param to The index after the last bit to move
+	 * @param distance The number of positions to move each bit by
+	 */
+	static void shiftDown(final long[] bitmap, final int from, final int to,
+			final int distance){
+		
+		copy(bitmap, from, bitmap, from-distance, to-from);
+		int i = to-distance;
+		while(i < to){
+			final int n = Math.min(to-i, 64-(i & 63));
+			write(bitmap, i, n, 0L);
+			i += n;
+		}
+	}
+	
+	/**
+	 * Copies the specified range of bits from the source bitmap into the
+	 * destination bitmap. Both bitmaps may be the same array, in which case
+	 * the ranges may overlap.<br>
+	 * Bits are copied one word at a time. If both ranges start at a word
+	 * boundary, all full words are copied by <code>System.arraycopy()</code>
+	 * 
+	 * @param src The bitmap to copy the bits from
+	 * @param from The index of the first bit to copy from the source bitmap
+	 * @param dst The bitmap to copy the bits to
+	 * @param index The index in the destination bitmap to copy the first bit to
+	 * @param length The number of bits to copy
+	 */
+	static void copy(final long[] src, final int from, final long[] dst, final int index,
+			final int length){
+		
+		if(length <= 0){
+			return;
+		}
+		if(((from | index) & 63) == 0){
+			final int words = length >>> 6;
+			final int rest = length & 63;
+			//read the last partial word before it can be overwritten by an overlapping copy
+			final long last = (rest != 0 ? src[(from >>> 6)+words] : 0L);
+			System.arraycopy(src, from >>> 6, dst, index >>> 6, words);
+			if(rest != 0){
+				write(dst, index+(words << 6), rest, last);
+			}
+			return;
+		}
+		if((src == dst) && (from < index)){
+			//copy backwards so that no bit is overwritten before it is read
+			int end = length;
+			while(end > 0){
+				final int n = Math.min(end, ((index+end-1) & 63)+1);
+				end -= n;
+				write(dst, index+end, n, read(src, from+end, n));
+			}
+		}else{
+			int i = 0;
+			while(i < length){
+				final int n = Math.min(length-i, 64-((index+i) & 63));
+				write(dst, index+i, n, read(src, from+i, n));
+				i += n;
+			}
+		}
+	}
+	
+	/**
+	 * Sets the specified range of bits of the destination bitmap to the first
+	 * <code>length</code> bits of the source bitmap.<br>
+	 * This method may be called concurrently for disjoint ranges of the same
+	 * destination bitmap. Words which are only partially covered by the range
+	 * may be shared with another range and are therefore modified while holding
+	 * the lock of the destination bitmap. All other words are written directly
+	 * 
+	 * @param dst The bitmap to modify
+	 * @param index The index of the first bit to set in the destination bitmap
+	 * @param src The bitmap holding the bits to set, starting at index zero
+	 * @param length The number of bits to set
+	 */
+	static void merge(final long[] dst, final int index, final long[] src, final int length){
+		final int end = index+length;
+		int i = index;
+		while(i < end){
+			final int n = Math.min(end-i, 64-(i & 63));
+			final long bits = read(src, i-index, n);
+			if(n == 64){
+				dst[i >>> 6] = bits;
+			}else{
+				synchronized(dst){
+					write(dst, i, n, bits);
+				}
+			}
+			i += n;
+		}
+	}
+	
+	/**
+	 * Counts the number of set bits among the first n bits
+	 * 
+	 * @param bitmap The bitmap to query
+	 * @param n The number of bits to consider
+	 * @return The number of set bits
+	 */
+	static int count(final long[] bitmap, final int n){
+		int count = 0;
+		final int words = n >>> 6;
+		for(int i=0; i<words; ++i){
+			count += Long.bitCount(bitmap[i]);
+		}
+		if((n & 63) != 0){
+			count += Long.bitCount(bitmap[words] & (-1L >>> (64-(n & 63))));
+		}
+		return count;
+	}
+	
+	/**
+	 * Returns the indices of all set bits among the first n bits in ascending order
+	 * 
+	 * @param bitmap The bitmap to query
+	 * @param n The number of bits to consider
+	 * @return The indices of all set bits
+	 */
+	static int[] indices(final long[] bitmap, final int n){
+		final int[] indices = new int[count(bitmap, n)];
+		int k = 0;
+		for(int i=0; k<indices.length; ++i){
+			long word = bitmap[i];
+			while((word != 0) && (k < indices.length)){
+				indices[k++] = (i << 6)+Long.numberOfTrailingZeros(word);
+				word &= (word-1);
+			}
+		}
+		return indices;
+	}
+	
+	/**
+	 * Reads up to 64 consecutive bits starting at the specified index
+	 * 
+	 * @param bitmap The bitmap to read from
+	 * @param index The index of the first bit to read
+	 * @param n The number of bits to read. Must be between 1 and 64
+	 * @return The read bits in the lowest <code>n</code> bits of a long. The higher
+	 *         bits are undefined
+	 */
+	private static long read(final long[] bitmap, final int index, final int n){
+		final int shift = index & 63;
+		long bits = (bitmap[index >>> 6] >>> shift);
+		if(shift+n > 64){
+			bits |= (bitmap[(index >>> 6)+1] << (64-shift));
+		}
+		return bits;
+	}
+	
+	/**
+	 * Writes up to 64 consecutive bits starting at the specified index. All
+	 * written bits must lie within the same word
+	 * 
+	 * @param bitmap The bitmap to write to
+	 * @param index The index of the first bit to write
+	 * @param n The number of bits to write. Must be between 1 and 64
+	 * @param bits The bits to write in the lowest <code>n</code> bits of a long
+	 */
+	private static void write(final long[] bitmap, final int index, final int n,
+			final long bits){
+		
+		final long mask = ((-1L >>> (64-n)) << index);
+		bitmap[index >>> 6] = (bitmap[index >>> 6] & ~mask) | ((bits << index) & mask);
+	}
+}
@@ -17,6 +17,7 @@
 package com.kilo52.common.struct;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -103,11 +104,7 @@ public class CharColumn extends Column implements Cloneable, Serializable {
 	}
 	
 	public Object clone(){
-		final char[] clone = new char[entries.length];
-		for(int i=0; i<entries.length; ++i){
-			clone[i] = entries[i];
-		}
-		return new CharColumn(clone);
+		return new CharColumn(Arrays.copyOf(entries, entries.length));
 	}
 
 	public Object getValueAt(int index){
@@ -123,9 +120,7 @@ public class CharColumn extends Column implements Cloneable, Serializable {
 	}
 	
 	protected void insertValueAt(int index, int next, Object value){
-		for(int i=next; i>index; --i){
-			entries[i] = entries[i-1];
-		}
+		System.arraycopy(entries, index, entries, index+1, next-index);
 		entries[index] = (Character)value;
 	}
 
@@ -134,33 +129,28 @@ public class CharColumn extends Column implements Cloneable, Serializable {
 	}
 
 	protected void resize(){
-		char[] newEntries = new char[(entries.length > 0 ? entries.length*2 : 2)];
-		for(int i=0; i<entries.length; ++i){
-			newEntries[i] = entries[i];
-		}
-		this.entries = newEntries;
+		this.entries = Arrays.copyOf(entries, (entries.length > 0 ? entries.length*2 : 2));
 	}
 	
 	protected void remove(int from, int to, int next){
-		for(int i=from, j=0; j<(next-to); ++i, ++j){
-			entries[i] = entries[(to-from)+i];
-		}
-		for(int i=next-1, j=0; j<(to-from); --i, ++j){
-			entries[i] = '\u0000';
-		}
+		System.arraycopy(entries, to, entries, from, next-to);
+		Arrays.fill(entries, next-(to-from), next, '\u0000');
 	}
 
-	protected void matchLength(int length){
-		if(length != entries.length){
-			final char[] tmp = new char[length];
+	protected void copyFrom(Column source, int from, int index, int length){
+		if(source.getClass() == CharColumn.class){
+			System.arraycopy(((CharColumn)source).entries, from, entries, index, length);
+		}else{
+			final CharColumn column = (CharColumn)source;
 			for(int i=0; i<length; ++i){
-				if(i < entries.length){
-					tmp[i] = entries[i];
-				}else{
-					break;
-				}
+				entries[index+i] = column.get(from+i);
 			}
-			this.entries = tmp;
+		}
+	}
+	
+	protected void matchLength(int length){
+		if(length != entries.length){
+			this.entries = Arrays.copyOf(entries, length);
 		}
 	}
 }
@@ -0,0 +1,186 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.struct;
+
+/**
+ * ByteColumn whose entries are stored in a sequence of fixed-size chunks.<br>
+ * Growing this column only allocates new chunks and never copies the entries of full
+ * chunks, so it never needs a single byte array holding all entries. This makes it
+ * suitable for very large columns, which would otherwise require allocating and copying
+ * huge contiguous arrays whenever they grow. Inserting and removing entries only shifts
+ * the entries of the affected chunks.<br>
+ * Since the entries are not held by a byte array, {@link #asArray()} returns
+ * a copy of all entries.<br>
+ * This implementation <b>DOES NOT</b> support null values.
+ * 
+ * @author Phil Gaiser
+ * @see ByteColumn
+ * @since 2.1.0
+ * 
+ */
+public class ChunkedByteColumn extends ByteColumn implements ChunkedColumn {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private byte[][] chunks;
+	
+	/**
+	 * Constructs an empty <code>ChunkedByteColumn</code>.
+	 */
+	public ChunkedByteColumn(){
+		this(0);
+	}
+	
+	/**
+	 * Constructs a new <code>ChunkedByteColumn</code> with the specified capacity.
+	 * All entries are initialized to 0
+	 * 
+	 * @param capacity The capacity of the column to be constructed
+	 */
+	public ChunkedByteColumn(final int capacity){
+		super(new byte[0]);
+		if(capacity < 0){
+			throw new IllegalArgumentException("Capacity must not be negative");
+		}
+		this.chunks = Chunks.resize(new byte[0][], capacity);
+	}
+	
+	/**
+	 * Constructs a new <code>ChunkedByteColumn</code> composed of a copy of 
+	 * the content of the specified byte array 
+	 * 
+	 * @param column The entries of the column to be constructed. Must not be null
+	 */
+	public ChunkedByteColumn(final byte[] column){
+		super(new byte[0]);
+		if(column == null){
+			throw new IllegalArgumentException("Arg must not be null");
+		}
+		this.chunks = Chunks.resize(new byte[0][], column.length);
+		Chunks.copyFromArray(column, 0, chunks, 0, column.length);
+	}
+	
+	private ChunkedByteColumn(final byte[][] chunks){
+		super(new byte[0]);
+		this.chunks = chunks;
+	}
+	
+	@Override
+	public byte get(final int index){
+		return chunks[index >>> Chunks.SHIFT][index & Chunks.MASK];
+	}
+	
+	@Override
+	public void set(final int index, final byte value){
+		chunks[index >>> Chunks.SHIFT][index & Chunks.MASK] = value;
+	}
+	
+	/**
+	 * Returns a copy of all entries of this column. Changes to the returned 
+	 * array are not reflected by this column
+	 * 
+	 * @return A byte array holding all entries of this column
+	 */
+	@Override
+	public byte[] asArray(){
+		final byte[] array = new byte[capacity()];
+		Chunks.copyToArray(chunks, 0, array, 0, array.length);
+		return array;
+	}
+	
+	@Override
+	public int chunkSize(){
+		return Chunks.SIZE;
+	}
+	
+	@Override
+	public ByteColumn toHeap(){
+		return new ByteColumn(asArray());
+	}
+	
+	@Override
+	public ByteColumn toHeap(final int from, final int to){
+		if((from < 0) || (to > capacity()) || (from > to)){
+			throw new IndexOutOfBoundsException("Invalid range: "+from+" to "+to);
+		}
+		final byte[] array = new byte[to-from];
+		Chunks.copyToArray(chunks, from, array, 0, array.length);
+		return new ByteColumn(array);
+	}
+	
+	@Override
+	public Object clone(){
+		return new ChunkedByteColumn(Chunks.copyOf(chunks));
+	}
+	
+	@Override
+	public Object getValueAt(int index){
+		return get(index);
+	}
+	
+	@Override
+	public void setValueAt(int index, Object value){
+		set(index, (Byte)value);
+	}
+	
+	@Override
+	protected int capacity(){
+		return (chunks.length > 0
+				? ((chunks.length-1) << Chunks.SHIFT)+chunks[chunks.length-1].length
+				: 0);
+	}
+	
+	@Override
+	protected void insertValueAt(int index, int next, Object value){
+		Chunks.shiftUp(chunks, index, next);
+		set(index, (Byte)value);
+	}
+	
+	@Override
+	protected void resize(){
+		final int capacity = capacity();
+		this.chunks = Chunks.resize(chunks,
+				(capacity > 0 ? (int)Math.min(capacity*2L, Integer.MAX_VALUE) : 2));
+	}
+	
+	@Override
+	protected void remove(int from, int to, int next){
+		Chunks.copy(chunks, to, chunks, from, next-to);
+		Chunks.clear(chunks, next-(to-from), next);
+	}
+	
+	@Override
+	protected void copyFrom(Column source, int from, int index, int length){
+		if(source.getClass() == ByteColumn.class){
+			Chunks.copyFromArray(((ByteColumn)source).asArray(), from, chunks, index, length);
+		}else if(source instanceof ChunkedByteColumn){
+			Chunks.copy(((ChunkedByteColumn)source).chunks, from, chunks, index, length);
+		}else{
+			final ByteColumn column = (ByteColumn)source;
+			for(int i=0; i<length; ++i){
+				set(index+i, column.get(from+i));
+			}
+		}
+	}
+	
+	@Override
+	protected void matchLength(int length){
+		if(length != capacity()){
+			this.chunks = Chunks.resize(chunks, length);
+		}
+	}
+}
@@ -0,0 +1,60 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kilo52.common.struct;
+
+/**
+ * Interface implemented by all columns whose entries are stored in a sequence of
+ * fixed-size chunks instead of a single contiguous array.<br>
+ * Growing a chunked column only allocates new chunks and never copies the entries
+ * of full chunks. Inserting or removing entries only shifts entries within the chunks
+ * from the affected index to the end of the column. Chunked columns therefore avoid
+ * allocating very large arrays, which would require twice the memory of the column
+ * while being resized.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ * 
+ */
+public interface ChunkedColumn {
+	
+	/**
+	 * Returns the number of entries each chunk of this column can hold
+	 * 
+	 * @return The chunk size of this column
+	 */
+	public int chunkSize();
+	
+	/**
+	 * Returns a Column whose entries are held by a contiguous array on the heap
+	 * and are a copy of all entries of this column
+	 * 
+	 * @return A Column holding a copy of all entries of this column
+	 */
+	public Column toHeap();
+	
+	/**
+	 * Returns a Column whose entries are held by a contiguous array on the heap
+	 * and are a copy of the specified range of entries of this column
+	 * 
+	 * @param from The index of the first entry to copy, inclusive
+	 * @param to The index of the last entry to copy, exclusive
+	 * @return A Column holding a copy of the specified entries of this column
+	 */
+	public Column toHeap(int from, int to);
+	
+}
@@ -0,0 +1,186 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.struct;
+
+/**
+ * FloatColumn whose entries are stored in a sequence of fixed-size chunks.<br>
+ * Growing this column only allocates new chunks and never copies the entries of full
+ * chunks, so it never needs a single float array holding all entries. This makes it
+ * suitable for very large columns, which would otherwise require allocating and copying
+ * huge contiguous arrays whenever they grow. Inserting and removing entries only shifts
+ * the entries of the affected chunks.<br>
+ * Since the entries are not held by a float array, {@link #asArray()} returns
+ * a copy of all entries.<br>
+ * This implementation <b>DOES NOT</b> support null values.
+ * 
+ * @author Phil Gaiser
+ * @see FloatColumn
+ * @since 2.1.0
+ * 
+ */
+public class ChunkedFloatColumn extends FloatColumn implements ChunkedColumn {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private float[][] chunks;
+	
+	/**
+	 * Constructs an empty <code>ChunkedFloatColumn</code>.
+	 */
+	public ChunkedFloatColumn(){
+		this(0);
+	}
+	
+	/**
+	 * Constructs a new <code>ChunkedFloatColumn</code> with the specified capacity.
+	 * All entries are initialized to 0
+	 * 
+	 * @param capacity The capacity of the column to be constructed
+	 */
+	public ChunkedFloatColumn(final int capacity){
+		super(new float[0]);
+		if(capacity < 0){
+			throw new IllegalArgumentException("Capacity must not be negative");
+		}
+		this.chunks = Chunks.resize(new float[0][], capacity);
+	}
+	
+	/**
+	 * Constructs a new <code>ChunkedFloatColumn</code> composed of a copy of 
+	 * the content of the specified float array 
+	 * 
+	 * @param column The entries of the column to be constructed. Must not be null
+	 */
+	public ChunkedFloatColumn(final float[] column){
+		super(new float[0]);
+		if(column == null){
+			throw new IllegalArgumentException("Arg must not be null");
+		}
+		this.chunks = Chunks.resize(new float[0][], column.length);
+		Chunks.copyFromArray(column, 0, chunks, 0, column.length);
+	}
+	
+	private ChunkedFloatColumn(final float[][] chunks){
+		super(new float[0]);
+		this.chunks = chunks;
+	}
+	
+	@Override
+	public float get(final int index){
+		return chunks[index >>> Chunks.SHIFT][index & Chunks.MASK];
+	}
+	
+	@Override
+	public void set(final int index, final float value){
+		chunks[index >>> Chunks.SHIFT][index & Chunks.MASK] = value;
+	}
+	
+	/**
+	 * Returns a copy of all entries of this column. Changes to the returned 
+	 * array are not reflected by this column
+	 * 
+	 * @return A float array holding all entries of this column
+	 */
+	@Override
+	public float[] asArray(){
+		final float[] array = new float[capacity()];
+		Chunks.copyToArray(chunks, 0, array, 0, array.length);
+		return array;
+	}
+	
+	@Override
+	public int chunkSize(){
+		return Chunks.SIZE;
+	}
+	
+	@Override
+	public FloatColumn toHeap(){
+		return new FloatColumn(asArray());
+	}
+	
+	@Override
+	public FloatColumn toHeap(final int from, final int to){
+		if((from < 0) || (to > capacity()) || (from > to)){
+			throw new IndexOutOfBoundsException("Invalid range: "+from+" to "+to);
+		}
+		final float[] array = new float[to-from];
+		Chunks.copyToArray(chunks, from, array, 0, array.length);
+		return new FloatColumn(array);
+	}
+	
+	@Override
+	public Object clone(){
+		return new ChunkedFloatColumn(Chunks.copyOf(chunks));
+	}
+	
+	@Override
+	public Object getValueAt(int index){
+		return get(index);
+	}
+	
+	@Override
+	public void setValueAt(int index, Object value){
+		set(index, (Float)value);
+	}
+	
+	@Override
+	protected int capacity(){
+		return (chunks.length > 0
+				? ((chunks.length-1) << Chunks.SHIFT)+chunks[chunks.length-1].length
+				: 0);
+	}
+	
+	@Override
+	protected void insertValueAt(int index, int next, Object value){
+		Chunks.shiftUp(chunks, index, next);
+		set(index, (Float)value);
+	}
+	
+	@Override
+	protected void resize(){
+		final int capacity = capacity();
+		this.chunks = Chunks.resize(chunks,
+				(capacity > 0 ? (int)Math.min(capacity*2L, Integer.MAX_VALUE) : 2));
+	}
+	
+	@Override
+	protected void remove(int from, int to, int next){
+		Chunks.copy(chunks, to, chunks, from, next-to);
+		Chunks.clear(chunks, next-(to-from), next);
+	}
+	
+	@Override
+	protected void copyFrom(Column source, int from, int index, int length){
+		if(source.getClass() == FloatColumn.class){
+			Chunks.copyFromArray(((FloatColumn)source).asArray(), from, chunks, index, length);
+		}else if(source instanceof ChunkedFloatColumn){
+			Chunks.copy(((ChunkedFloatColumn)source).chunks, from, chunks, index, length);
+		}else{
+			final FloatColumn column = (FloatColumn)source;
+			for(int i=0; i<length; ++i){
+				set(index+i, column.get(from+i));
+			}
+		}
+	}
+	
+	@Override
+	protected void matchLength(int length){
+		if(length != capacity()){
+			this.chunks = Chunks.resize(chunks, length);
+		}
+	}
+}
@@ -0,0 +1,211 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kilo52.common.struct;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+/**
+ * Utility methods for managing the chunks of all chunked column implementations.<br>
+ * The chunks of a column are represented by an array of primitive arrays. All chunks
+ * hold {@link #SIZE} entries except the last chunk, which only holds as many entries as
+ * are needed to reach the capacity of the column. Since all methods operate on the
+ * chunks through <code>System.arraycopy()</code>, they work for any primitive type.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ * 
+ */
+final class Chunks {
+	
+	/** The number of bits of an index addressing an entry within a chunk **/
+	static final int SHIFT = 16;
+	
+	/** The number of entries of a full chunk **/
+	static final int SIZE = 1 << SHIFT;
+	
+	/** The mask to apply to an index to get the index within its chunk **/
+	static final int MASK = SIZE-1;
+	
+	private Chunks(){ }
+	
+	/**
+	 * Resizes the given chunks to the specified capacity. Only new chunks and the
+	 * last chunk, if it is not full, are allocated. All full chunks which are kept
+	 * are reused without being copied
+	 * 
+	 * @param chunks The chunks to resize
+	 * @param capacity The new capacity
+	 * @return The resized chunks
+	 */
+	static <T> T[] resize(final T[] chunks, final int capacity){
+		final Class<?> type = chunks.getClass().getComponentType().getComponentType();
+		final T[] resized = Arrays.copyOf(chunks, (int)(((long)capacity+MASK) >>> SHIFT));
+		for(int i=0; i<resized.length; ++i){
+			final int size = Math.min(SIZE, capacity-(i << SHIFT));
+			if(resized[i] == null){
+				resized[i] = newChunk(type, size);
+			}else if(Array.getLength(resized[i]) != size){
+				final T chunk = newChunk(type, size);
+				System.arraycopy(resized[i], 0, chunk, 0,
+						Math.min(size, Array.getLength(resized[i])));
+				
+				resized[i] = chunk;
+			}
+		}
+		return resized;
+	}
+	
+	/**
+	 * Creates a deep copy of the given chunks
+	 * 
+	 * @param chunks The chunks to copy
+	 * @return A copy of the given chunks
+	 */
+	static <T> T[] copyOf(final T[] chunks){
+		final Class<?> type = chunks.getClass().getComponentType().getComponentType();
+		final T[] copy = Arrays.copyOf(chunks, chunks.length);
+		for(int i=0; i<copy.length; ++i){
+			final int size = Array.getLength(chunks[i]);
+			copy[i] = newChunk(type, size);
+			System.arraycopy(chunks[i], 0, copy[i], 0, size);
+		}
+		return copy;
+	}
+	
+	/**
+	 * Copies the specified range of entries between the given chunks. If both
+	 * ranges overlap within the same chunks, the target index must not be greater
+	 * than the source index
+	 * 
+	 * @param src The chunks to copy from
+	 * @param from The index of the first entry to copy
+	 * @param dst The chunks to copy to
+	 * @param index The index to copy the first entry to
+	 * @param length The number of entries to copy
+	 */
+	static void copy(final Object[] src, int from, final Object[] dst, int index, int length){
+		while(length > 0){
+			final int n = Math.min(length, Math.min(SIZE-(from & MASK), SIZE-(index & MASK)));
+			System.arraycopy(src[from >>> SHIFT], from & MASK, dst[index >>> SHIFT], index & MASK, n);
+			from += n;
+			index += n;
+			length -= n;
+		}
+	}
+	
+	/**
+	 * Copies the specified range of entries from the given array into the given chunks
+	 * 
+	 * @param src The primitive array to copy from
+	 * @param from The index of the first entry to copy
+	 * @param dst The chunks to copy to
+	 * @param index The index to copy the first entry to
+	 * @param length The number of entries to copy
+	 */
+	static void copyFromArray(final Object src, int from, final Object[] dst, int index,
+			int length){
+		
+		while(length > 0){
+			final int n = Math.min(length, SIZE-(index & MASK));
+			System.arraycopy(src, from, dst[index >>> SHIFT], index & MASK, n);
+			from += n;
+			index += n;
+			length -= n;
+		}
+	}
+	
+	/**
+	 * Copies the specified range of entries from the given chunks into the given array
+	 * 
+	 * @param src The chunks to copy from
+	 * @param from The index of the first entry to copy
+	 * @param dst The primitive array to copy to
+	 * @param index The index to copy the first entry to
+	 * @param length The number of entries to copy
+	 */
+	static void copyToArray(final Object[] src, int from, final Object dst, int index,
+			int length){
+		
+		while(length > 0){
+			final int n = Math.min(length, SIZE-(from & MASK));
+			System.arraycopy(src[from >>> SHIFT], from & MASK, dst, index, n);
+			from += n;
+			index += n;
+			length -= n;
+		}
+	}
+	
+	/**
+	 * Moves all entries from the specified index up to the specified end by one
+	 * position towards the end of the given chunks. Only the chunks holding the
+	 * moved entries are modified
+	 * 
+	 * @param chunks The chunks to modify
+	 * @param index The index of the first entry to move
+	 * @param next The index after the last entry to move. Must be less than the capacity
+	 */
+	static void shiftUp(final Object[] chunks, final int index, final int next){
+		final int first = index >>> SHIFT;
+		int last = next >>> SHIFT;
+		if(first == last){
+			System.arraycopy(chunks[first], index & MASK, chunks[first], (index & MASK)+1,
+					next-index);
+			
+			return;
+		}
+		//move the entries of the last chunk and carry over the last entry of its predecessor
+		System.arraycopy(chunks[last], 0, chunks[last], 1, next & MASK);
+		System.arraycopy(chunks[last-1], MASK, chunks[last], 0, 1);
+		for(--last; last>first; --last){
+			System.arraycopy(chunks[last], 0, chunks[last], 1, MASK);
+			System.arraycopy(chunks[last-1], MASK, chunks[last], 0, 1);
+		}
+		System.arraycopy(chunks[first], index & MASK, chunks[first], (index & MASK)+1,
+				MASK-(index & MASK));
+	}
+	
+	/**
+	 * Resets the specified range of entries of the given chunks to their default value
+	 * 
+	 * @param chunks The chunks to modify
+	 * @param from The index of the first entry to reset
+	 * @param to The index after the last entry to reset
+	 */
+	static void clear(final Object[] chunks, final int from, final int to){
+		if(from < to){
+			final Class<?> type = chunks.getClass().getComponentType().getComponentType();
+			final Object defaults = newChunk(type, Math.min(to-from, SIZE));
+			for(int i=from; i<to; i+=SIZE){
+				copyFromArray(defaults, 0, chunks, i, Math.min(to-i, SIZE));
+			}
+		}
+	}
+	
+	/**
+	 * Allocates a new chunk of the specified type and size
+	 * 
+	 * @param type The primitive component type of the chunk
+	 * @param size The number of entries of the chunk
+	 * @return A new primitive array
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T newChunk(final Class<?> type, final int size){
+		return (T)Array.newInstance(type, size);
+	}
+}
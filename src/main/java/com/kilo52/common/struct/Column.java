@@ -106,5 +106,22 @@ public abstract class Column implements Cloneable, Serializable {
 	 * @param length The length to resize the column to
 	 */
 	protected abstract void matchLength(int length);
+	
+	/**
+	 * Copies the specified range of entries from the given column into this column.<br>
+	 * The source column must hold entries of the same type as this column and this
+	 * column must have enough capacity to hold all copied entries. Subclasses should
+	 * override this method to copy the entries in bulk
+	 * 
+	 * @param source The Column to copy the entries from
+	 * @param from The index of the first entry to copy from the source column
+	 * @param index The index in this column to copy the first entry to
+	 * @param length The number of entries to copy
+	 */
+	protected void copyFrom(Column source, int from, int index, int length){
+		for(int i=0; i<length; ++i){
+			setValueAt(index+i, source.getValueAt(from+i));
+		}
+	}
 
 }
@@ -0,0 +1,823 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.struct;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Condition on the entries of a single column, used to search and filter
+ * DataFrames without matching regular expressions against string representations.<br>
+ * Predicates are created by the static factory methods of this class, either as a
+ * comparison with constant values, for example <code>ColumnPredicate.gt(100)</code>,
+ * or from a primitive functional interface, for example
+ * <code>ColumnPredicate.ofDouble(x -&gt; x &gt; 100.0)</code>. Predicates can be
+ * combined with {@link #and(ColumnPredicate)}, {@link #or(ColumnPredicate)}
+ * and {@link #negate()}.
+ * 
+ * <p>A predicate is evaluated directly on the primitive entries of numeric columns
+ * without boxing them. Byte, short, int, long and char columns are tested as integral
+ * values, float and double columns as floating point values. Columns holding strings
+ * or booleans are tested by their values. For dictionary encoded columns, a predicate
+ * is evaluated only once per distinct value. Null entries only match
+ * {@link #isNull()}, <code>eq(null)</code> and <code>in(...)</code> with a null argument.
+ * 
+ * <p>Applying a predicate to a column of a type it cannot test, for example
+ * <code>lt("abc")</code> to an int column, results in a <code>DataFrameException</code>.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ * @see DataFrame#filter(int, ColumnPredicate)
+ * @see DataFrame#indexOfAll(int, ColumnPredicate)
+ * 
+ */
+public abstract class ColumnPredicate {
+	
+	/** The number of entries evaluated at once when searching for the first match **/
+	private static final int BLOCK = 4096;
+	
+	ColumnPredicate(){ }
+	
+	/**
+	 * Returns a predicate matching all entries equal to the specified value
+	 * 
+	 * @param value The value to compare to. May be null
+	 * @return A ColumnPredicate matching all entries equal to the specified value
+	 */
+	public static ColumnPredicate eq(final Object value){
+		if(value == null){
+			return isNull();
+		}
+		return new Comparison(Comparison.EQ, value);
+	}
+	
+	/**
+	 * Returns a predicate matching all entries less than the specified value
+	 * 
+	 * @param value The value to compare to
+	 * @return A ColumnPredicate matching all entries less than the specified value
+	 */
+	public static ColumnPredicate lt(final Object value){
+		return new Comparison(Comparison.LT, value);
+	}
+	
+	/**
+	 * Returns a predicate matching all entries less than or equal to the specified value
+	 * 
+	 * @param value The value to compare to
+	 * @return A ColumnPredicate matching all entries less than or equal
+	 *         to the specified value
+	 */
+	public static ColumnPredicate le(final Object value){
+		return new Comparison(Comparison.LE, value);
+	}
+	
+	/**
+	 * Returns a predicate matching all entries greater than the specified value
+	 * 
+	 * @param value The value to compare to
+	 * @return A ColumnPredicate matching all entries greater than the specified value
+	 */
+	public static ColumnPredicate gt(final Object value){
+		return new Comparison(Comparison.GT, value);
+	}
+	
+	/**
+	 * Returns a predicate matching all entries greater than or equal to the specified value
+	 * 
+	 * @param value The value to compare to
+	 * @return A ColumnPredicate matching all entries greater than or equal
+	 *         to the specified value
+	 */
+	public static ColumnPredicate ge(final Object value){
+		return new Comparison(Comparison.GE, value);
+	}
+	
+	/**
+	 * Returns a predicate matching all entries within the specified closed range
+	 * 
+	 * @param from The lower bound of the range, inclusive
+	 * @param to The upper bound of the range, inclusive
+	 * @return A ColumnPredicate matching all entries within the specified range
+	 */
+	public static ColumnPredicate between(final Object from, final Object to){
+		return ge(from).and(le(to));
+	}
+	
+	/**
+	 * Returns a predicate matching all entries equal to any of the specified values
+	 * 
+	 * @param values The values to compare to. May contain null
+	 * @return A ColumnPredicate matching all entries equal to any of the specified values
+	 */
+	public static ColumnPredicate in(final Object... values){
+		if(values == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		return new In(values);
+	}
+	
+	/**
+	 * Returns a predicate matching all null entries
+	 * 
+	 * @return A ColumnPredicate matching all null entries
+	 */
+	public static ColumnPredicate isNull(){
+		return new In(new Object[]{null});
+	}
+	
+	/**
+	 * Returns a predicate testing the entries of byte, short, int and char columns
+	 * with the specified function
+	 * 
+	 * @param predicate The function to test each entry with
+	 * @return A ColumnPredicate using the specified function
+	 */
+	public static ColumnPredicate ofInt(final IntPredicate predicate){
+		if(predicate == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		return new ColumnPredicate(){
+			@Override
+			boolean testInt(final int value){
+				return predicate.test(value);
+			}
+		};
+	}
+	
+	/**
+	 * Returns a predicate testing the entries of byte, short, int, char and long columns
+	 * with the specified function
+	 * 
+	 * @param predicate The function to test each entry with
+	 * @return A ColumnPredicate using the specified function
+	 */
+	public static ColumnPredicate ofLong(final LongPredicate predicate){
+		if(predicate == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		return new ColumnPredicate(){
+			@Override
+			boolean testLong(final long value){
+				return predicate.test(value);
+			}
+		};
+	}
+	
+	/**
+	 * Returns a predicate testing the entries of all numeric columns with the specified
+	 * function. Entries of integral columns are converted to double values
+	 * 
+	 * @param predicate The function to test each entry with
+	 * @return A ColumnPredicate using the specified function
+	 */
+	public static ColumnPredicate ofDouble(final DoublePredicate predicate){
+		if(predicate == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		return new ColumnPredicate(){
+			@Override
+			boolean testLong(final long value){
+				return predicate.test(value);
+			}
+			
+			@Override
+			boolean testDouble(final double value){
+				return predicate.test(value);
+			}
+		};
+	}
+	
+	/**
+	 * Returns a predicate testing the boxed entries of columns of any type with the
+	 * specified function. The function is also called for null entries.<br>
+	 * This is the most flexible but also the slowest kind of predicate
+	 * 
+	 * @param predicate The function to test each entry with
+	 * @return A ColumnPredicate using the specified function
+	 */
+	public static ColumnPredicate of(final Predicate<Object> predicate){
+		if(predicate == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		return new ColumnPredicate(){
+			@Override
+			boolean boxed(){
+				return true;
+			}
+			
+			@Override
+			boolean testObject(final Object value){
+				return predicate.test(value);
+			}
+			
+			@Override
+			boolean testNull(){
+				return predicate.test(null);
+			}
+		};
+	}
+	
+	/**
+	 * Returns a predicate matching all entries which match both this predicate
+	 * and the specified predicate
+	 * 
+	 * @param other The other predicate
+	 * @return A ColumnPredicate representing the conjunction of both predicates
+	 */
+	public ColumnPredicate and(final ColumnPredicate other){
+		if(other == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		return new Composite(this, other, true);
+	}
+	
+	/**
+	 * Returns a predicate matching all entries which match this predicate
+	 * or the specified predicate
+	 * 
+	 * @param other The other predicate
+	 * @return A ColumnPredicate representing the disjunction of both predicates
+	 */
+	public ColumnPredicate or(final ColumnPredicate other){
+		if(other == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		return new Composite(this, other, false);
+	}
+	
+	/**
+	 * Returns a predicate matching all entries which do not match this predicate,
+	 * including null entries unless this predicate matches them
+	 * 
+	 * @return A ColumnPredicate representing the negation of this predicate
+	 */
+	public ColumnPredicate negate(){
+		final ColumnPredicate self = this;
+		return new ColumnPredicate(){
+			@Override
+			boolean boxed(){
+				return self.boxed();
+			}
+			
+			@Override
+			boolean testInt(final int value){
+				return !self.testInt(value);
+			}
+			
+			@Override
+			boolean testLong(final long value){
+				return !self.testLong(value);
+			}
+			
+			@Override
+			boolean testDouble(final double value){
+				return !self.testDouble(value);
+			}
+			
+			@Override
+			boolean testObject(final Object value){
+				return !self.testObject(value);
+			}
+			
+			@Override
+			boolean testNull(){
+				return !self.testNull();
+			}
+		};
+	}
+	
+	/**
+	 * Indicates whether this predicate must be evaluated on boxed entries
+	 * 
+	 * @return True if all entries must be passed to {@link #testObject(Object)}
+	 */
+	boolean boxed(){
+		return false;
+	}
+	
+	/**
+	 * Tests an entry of a byte, short, int or char column
+	 * 
+	 * @param value The entry to test
+	 * @return True if the entry matches
+	 */
+	boolean testInt(final int value){
+		return testLong(value);
+	}
+	
+	/**
+	 * Tests an entry of a long column
+	 * 
+	 * @param value The entry to test
+	 * @return True if the entry matches
+	 */
+	boolean testLong(final long value){
+		throw new DataFrameException("Predicate cannot be applied to long columns");
+	}
+	
+	/**
+	 * Tests an entry of a float or double column
+	 * 
+	 * @param value The entry to test
+	 * @return True if the entry matches
+	 */
+	boolean testDouble(final double value){
+		throw new DataFrameException("Predicate cannot be applied to floating point columns");
+	}
+	
+	/**
+	 * Tests a non-null entry of a column which is not tested by its primitive value
+	 * 
+	 * @param value The entry to test
+	 * @return True if the entry matches
+	 */
+	boolean testObject(final Object value){
+		if((value instanceof Double) || (value instanceof Float)){
+			return testDouble(((Number)value).doubleValue());
+		}else if(value instanceof Long){
+			return testLong((Long)value);
+		}else if(value instanceof Number){
+			return testInt(((Number)value).intValue());
+		}else if(value instanceof Character){
+			return testInt((Character)value);
+		}
+		throw new DataFrameException("Predicate cannot be applied to "
+				+ value.getClass().getSimpleName()+" columns");
+	}
+	
+	/**
+	 * Tests a null entry
+	 * 
+	 * @return True if null entries match
+	 */
+	boolean testNull(){
+		return false;
+	}
+	
+	/**
+	 * Evaluates this predicate for the specified range of entries of the given column
+	 * 
+	 * @param c The Column to evaluate this predicate for
+	 * @param from The index of the first entry to test, inclusive
+	 * @param to The index of the last entry to test, exclusive
+	 * @return A bitmap of <code>to-from</code> bits in which bit <code>i</code> is set
+	 *         if the entry at index <code>from+i</code> matches
+	 */
+	final long[] evaluate(final Column c, final int from, final int to){
+		final long[] bitmap = Bitmap.create(to-from);
+		if(boxed()){
+			for(int i=from; i<to; ++i){
+				final Object value = c.getValueAt(i);
+				if((value == null) ? testNull() : testObject(value)){
+					Bitmap.set(bitmap, i-from, true);
+				}
+			}
+			return bitmap;
+		}
+		if(c instanceof DictionaryColumn){
+			final DictionaryColumn dc = (DictionaryColumn)c;
+			final boolean[] matches = new boolean[dc.cardinality()+1];
+			for(int i=0; i<matches.length; ++i){
+				final String value = dc.getDictionaryValue(i);
+				matches[i] = ((value == null) ? testNull() : testObject(value));
+			}
+			final int[] codes = dc.asCodeArray();
+			for(int i=from; i<to; ++i){
+				if(matches[codes[i]]){
+					Bitmap.set(bitmap, i-from, true);
+				}
+			}
+			return bitmap;
+		}
+		final boolean nullable = (c instanceof NullableColumn);
+		switch(c.memberClass().getSimpleName()){
+		case "Byte":
+			if(nullable){
+				final NullableByteColumn col = (NullableByteColumn)c;
+				final byte[] values = col.asPrimitiveArray();
+				for(int i=from; i<to; ++i){
+					if(col.isNull(i) ? testNull() : testInt(values[i])){
+						Bitmap.set(bitmap, i-from, true);
+					}
+				}
+			}else{
+				final ByteColumn col = (ByteColumn)c;
+				for(int i=from; i<to; ++i){
+					if(testInt(col.get(i))){
+						Bitmap.set(bitmap, i-from, true);
+					}
+				}
+			}
+			break;
+		case "Short":
+			if(nullable){
+				final NullableShortColumn col = (NullableShortColumn)c;
+				final short[] values = col.asPrimitiveArray();
+				for(int i=from; i<to; ++i){
+					if(col.isNull(i) ? testNull() : testInt(values[i])){
+						Bitmap.set(bitmap, i-from, true);
+					}
+				}
+			}else{
+				final ShortColumn col = (ShortColumn)c;
+				for(int i=from; i<to; ++i){
+					if(testInt(col.get(i))){
+						Bitmap.set(bitmap, i-from, true);
+					}
+				}
+			}
+			break;
+		case "Integer":
+			if(nullable){
+				final NullableIntColumn col = (NullableIntColumn)c;
+				final int[] values = col.asPrimitiveArray();
+				for(int i=from; i<to; ++i){
+					if(col.isNull(i) ? testNull() : testInt(values[i])){
+						Bitmap.set(bitmap, i-from, true);
+					}
+				}
+			}else{
+				final IntColumn col = (IntColumn)c;
+				for(int i=from; i<to; ++i){
+					if(testInt(col.get(i))){
+						Bitmap.set(bitmap, i-from, true);
+					}
+				}
+			}
+			break;
+		case "Long":
+			if(nullable){
+				final NullableLongColumn col = (NullableLongColumn)c;
+				final long[] values = col.asPrimitiveArray();
+				for(int i=from; i<to; ++i){
+					if(col.isNull(i) ? testNull() : testLong(values[i])){
+						Bitmap.set(bitmap, i-from, true);
+					}
+				}
+			}else{
+				final LongColumn col = (LongColumn)c;
+				for(int i=from; i<to; ++i){
+					if(testLong(col.get(i))){
+						Bitmap.set(bitmap, i-from, true);
+					}
+				}
+			}
+			break;
+		case "Character":
+			if(nullable){
+				final NullableCharColumn col = (NullableCharColumn)c;
+				final char[] values = col.asPrimitiveArray();
+				for(int i=from; i<to; ++i){
+					if(col.isNull(i) ? testNull() : testInt(values[i])){
+						Bitmap.set(bitmap, i-from, true);
+					}
+				}
+			}else{
+				final CharColumn col = (CharColumn)c;
+				for(int i=from; i<to; ++i){
+					if(testInt(col.get(i))){
+						Bitmap.set(bitmap, i-from, true);
+					}
+				}
+			}
+			break;
+		case "Float":
+			if(nullable){
+				final NullableFloatColumn col = (NullableFloatColumn)c;
+				final float[] values = col.asPrimitiveArray();
+				for(int i=from; i<to; ++i){
+					if(col.isNull(i) ? testNull() : testDouble(values[i])){
+						Bitmap.set(bitmap, i-from, true);
+					}
+				}
+			}else{
+				final FloatColumn col = (FloatColumn)c;
+				for(int i=from; i<to; ++i){
+					if(testDouble(col.get(i))){
+						Bitmap.set(bitmap, i-from, true);
+					}
+				}
+			}
+			break;
+		case "Double":
+			if(nullable){
+				final NullableDoubleColumn col = (NullableDoubleColumn)c;
+				final double[] values = col.asPrimitiveArray();
+				for(int i=from; i<to; ++i){
+					if(col.isNull(i) ? testNull() : testDouble(values[i])){
+						Bitmap.set(bitmap, i-from, true);
+					}
+				}
+			}else{
+				final DoubleColumn col = (DoubleColumn)c;
+				for(int i=from; i<to; ++i){
+					if(testDouble(col.get(i))){
+						Bitmap.set(bitmap, i-from, true);
+					}
+				}
+			}
+			break;
+		default:
+			//strings and booleans are tested by their values
+			for(int i=from; i<to; ++i){
+				final Object value = c.getValueAt(i);
+				if((value == null) ? testNull() : testObject(value)){
+					Bitmap.set(bitmap, i-from, true);
+				}
+			}
+		}
+		return bitmap;
+	}
+	
+	/**
+	 * Returns the index of the first entry within the specified range of the given column
+	 * which matches this predicate
+	 * 
+	 * @param c The Column to search
+	 * @param from The index to start searching from, inclusive
+	 * @param to The index to search to, exclusive
+	 * @return The index of the first matching entry, or -1 if no entry matches
+	 */
+	final int indexOf(final Column c, final int from, final int to){
+		for(int i=from; i<to; i+=BLOCK){
+			final int n = Math.min(BLOCK, to-i);
+			final long[] bitmap = evaluate(c, i, i+n);
+			for(int j=0; j<bitmap.length; ++j){
+				if(bitmap[j] != 0){
+					return i+(j << 6)+Long.numberOfTrailingZeros(bitmap[j]);
+				}
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Returns the indices of all entries within the specified range of the given column
+	 * which match this predicate
+	 * 
+	 * @param c The Column to search
+	 * @param from The index of the first entry to test, inclusive
+	 * @param to The index of the last entry to test, exclusive
+	 * @return The indices of all matching entries, relative to <code>from</code>,
+	 *         or null if no entry matches
+	 */
+	final int[] indexOfAll(final Column c, final int from, final int to){
+		final int[] indices = Bitmap.indices(evaluate(c, from, to), to-from);
+		return (indices.length == 0 ? null : indices);
+	}
+	
+	/**
+	 * Comparison of entries with a constant value
+	 * 
+	 */
+	private static final class Comparison extends ColumnPredicate {
+		
+		static final int EQ = 0;
+		static final int LT = 1;
+		static final int LE = 2;
+		static final int GT = 3;
+		static final int GE = 4;
+		
+		private final int op;
+		private final Object value;
+		private final boolean integral;
+		private final boolean numeric;
+		private final long longValue;
+		private final double doubleValue;
+		
+		Comparison(final int op, final Object value){
+			if(value == null){
+				throw new DataFrameException("Arg must not be null");
+			}
+			this.op = op;
+			this.value = value;
+			if(value instanceof Character){
+				this.integral = true;
+				this.numeric = true;
+				this.longValue = (Character)value;
+				this.doubleValue = longValue;
+			}else if(value instanceof Number){
+				this.integral = !((value instanceof Double) || (value instanceof Float));
+				this.numeric = true;
+				this.longValue = ((Number)value).longValue();
+				this.doubleValue = ((Number)value).doubleValue();
+			}else{
+				this.integral = false;
+				this.numeric = false;
+				this.longValue = 0;
+				this.doubleValue = 0;
+			}
+		}
+		
+		@Override
+		boolean testLong(final long value){
+			if(integral){
+				return matches(Long.compare(value, longValue));
+			}
+			return testDouble(value);
+		}
+		
+		@Override
+		boolean testDouble(final double value){
+			if(!numeric){
+				throw new DataFrameException("Cannot compare numbers to "
+						+ this.value.getClass().getSimpleName());
+			}
+			switch(op){
+			case EQ:
+				return (value == doubleValue);
+			case LT:
+				return (value < doubleValue);
+			case LE:
+				return (value <= doubleValue);
+			case GT:
+				return (value > doubleValue);
+			default:
+				return (value >= doubleValue);
+			}
+		}
+		
+		@Override
+		@SuppressWarnings("unchecked")
+		boolean testObject(final Object value){
+			if((value instanceof Number) || (value instanceof Character)){
+				return super.testObject(value);
+			}
+			if(value.getClass() != this.value.getClass()){
+				throw new DataFrameException("Cannot compare "+value.getClass().getSimpleName()
+						+ " to "+this.value.getClass().getSimpleName());
+			}
+			return matches(((Comparable<Object>)value).compareTo(this.value));
+		}
+		
+		/**
+		 * Indicates whether the specified result of a comparison satisfies
+		 * the operator of this comparison
+		 * 
+		 * @param cmp The result of comparing an entry to the value of this comparison
+		 * @return True if the entry matches
+		 */
+		private boolean matches(final int cmp){
+			switch(op){
+			case EQ:
+				return (cmp == 0);
+			case LT:
+				return (cmp < 0);
+			case LE:
+				return (cmp <= 0);
+			case GT:
+				return (cmp > 0);
+			default:
+				return (cmp >= 0);
+			}
+		}
+	}
+	
+	/**
+	 * Membership test of entries in a set of constant values
+	 * 
+	 */
+	private static final class In extends ColumnPredicate {
+		
+		private final long[] longs;
+		private final double[] doubles;
+		private final Set<Object> objects;
+		private final boolean nulls;
+		
+		In(final Object[] values){
+			long[] longs = new long[values.length];
+			double[] doubles = new double[values.length];
+			int nLongs = 0;
+			int nDoubles = 0;
+			boolean nulls = false;
+			this.objects = new HashSet<Object>(values.length*2);
+			for(final Object value : values){
+				if(value == null){
+					nulls = true;
+				}else if(value instanceof Character){
+					longs[nLongs++] = (Character)value;
+					doubles[nDoubles++] = (Character)value;
+				}else if(value instanceof Number){
+					final Number number = (Number)value;
+					doubles[nDoubles++] = number.doubleValue();
+					if(number.doubleValue() == number.longValue()
+							|| !((value instanceof Double) || (value instanceof Float))){
+						
+						longs[nLongs++] = number.longValue();
+					}
+				}else{
+					objects.add(value);
+				}
+			}
+			longs = Arrays.copyOf(longs, nLongs);
+			doubles = Arrays.copyOf(doubles, nDoubles);
+			Arrays.sort(longs);
+			Arrays.sort(doubles);
+			this.longs = longs;
+			this.doubles = doubles;
+			this.nulls = nulls;
+		}
+		
+		@Override
+		boolean testLong(final long value){
+			return (Arrays.binarySearch(longs, value) >= 0);
+		}
+		
+		@Override
+		boolean testDouble(final double value){
+			return (Arrays.binarySearch(doubles, value) >= 0);
+		}
+		
+		@Override
+		boolean testObject(final Object value){
+			if((value instanceof Number) || (value instanceof Character)){
+				return super.testObject(value);
+			}
+			return objects.contains(value);
+		}
+		
+		@Override
+		boolean testNull(){
+			return nulls;
+		}
+	}
+	
+	/**
+	 * Conjunction or disjunction of two predicates
+	 * 
+	 */
+	private static final class Composite extends ColumnPredicate {
+		
+		private final ColumnPredicate first;
+		private final ColumnPredicate second;
+		private final boolean and;
+		
+		Composite(final ColumnPredicate first, final ColumnPredicate second,
+				final boolean and){
+			
+			this.first = first;
+			this.second = second;
+			this.and = and;
+		}
+		
+		@Override
+		boolean boxed(){
+			return (first.boxed() || second.boxed());
+		}
+		
+		@Override
+		boolean testInt(final int value){
+			return (and
+					? first.testInt(value) && second.testInt(value)
+					: first.testInt(value) || second.testInt(value));
+		}
+		
+		@Override
+		boolean testLong(final long value){
+			return (and
+					? first.testLong(value) && second.testLong(value)
+					: first.testLong(value) || second.testLong(value));
+		}
+		
+		@Override
+		boolean testDouble(final double value){
+			return (and
+					? first.testDouble(value) && second.testDouble(value)
+					: first.testDouble(value) || second.testDouble(value));
+		}
+		
+		@Override
+		boolean testObject(final Object value){
+			return (and
+					? first.testObject(value) && second.testObject(value)
+					: first.testObject(value) || second.testObject(value));
+		}
+		
+		@Override
+		boolean testNull(){
+			return (and
+					? first.testNull() && second.testNull()
+					: first.testNull() || second.testNull());
+		}
+	}
+}
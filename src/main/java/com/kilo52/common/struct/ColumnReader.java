@@ -0,0 +1,184 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.struct;
+
+/**
+ * Reads the entries of a column as primitive long or double values without boxing them,
+ * used by aggregations which have to treat all numeric column types alike.<br>
+ * Integral readers override <code>getLong()</code>, floating point readers override
+ * <code>getDouble()</code>. The internal arrays of nullable columns are read directly.
+ * A reader does not change the column it reads, so several threads may use the same
+ * reader concurrently.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ * 
+ */
+abstract class ColumnReader {
+	
+	private final NullableColumn nulls;
+	
+	/** Indicates whether this reader reads floating point values **/
+	final boolean floating;
+	
+	/**
+	 * Constructs a new <code>ColumnReader</code> for the specified column
+	 * 
+	 * @param c The Column to read
+	 * @param floating Indicates whether the column holds floating point values
+	 */
+	ColumnReader(final Column c, final boolean floating){
+		this.nulls = (c instanceof NullableColumn ? (NullableColumn)c : null);
+		this.floating = floating;
+	}
+	
+	/**
+	 * Returns a reader for the primitive entries of the specified column.
+	 * The internal arrays of nullable columns are read directly
+	 * 
+	 * @param c The Column to read. Must not hold strings
+	 * @return A ColumnReader for the specified column
+	 */
+	static ColumnReader of(final Column c){
+		final boolean nullable = (c instanceof NullableColumn);
+		switch(c.memberClass().getSimpleName()){
+		case "Byte":
+			final ByteColumn bytes = (nullable
+					? new ByteColumn(((NullableByteColumn)c).asPrimitiveArray()) : (ByteColumn)c);
+			
+			return new ColumnReader(c, false){
+				@Override
+				long getLong(final int index){
+					return bytes.get(index);
+				}
+			};
+		case "Short":
+			final ShortColumn shorts = (nullable
+					? new ShortColumn(((NullableShortColumn)c).asPrimitiveArray()) : (ShortColumn)c);
+			
+			return new ColumnReader(c, false){
+				@Override
+				long getLong(final int index){
+					return shorts.get(index);
+				}
+			};
+		case "Integer":
+			final IntColumn ints = (nullable
+					? new IntColumn(((NullableIntColumn)c).asPrimitiveArray()) : (IntColumn)c);
+			
+			return new ColumnReader(c, false){
+				@Override
+				long getLong(final int index){
+					return ints.get(index);
+				}
+			};
+		case "Long":
+			final LongColumn longs = (nullable
+					? new LongColumn(((NullableLongColumn)c).asPrimitiveArray()) : (LongColumn)c);
+			
+			return new ColumnReader(c, false){
+				@Override
+				long getLong(final int index){
+					return longs.get(index);
+				}
+			};
+		case "Float":
+			final FloatColumn floats = (nullable
+					? new FloatColumn(((NullableFloatColumn)c).asPrimitiveArray()) : (FloatColumn)c);
+			
+			return new ColumnReader(c, true){
+				@Override
+				double getDouble(final int index){
+					return floats.get(index);
+				}
+			};
+		case "Double":
+			final DoubleColumn doubles = (nullable
+					? new DoubleColumn(((NullableDoubleColumn)c).asPrimitiveArray()) : (DoubleColumn)c);
+			
+			return new ColumnReader(c, true){
+				@Override
+				double getDouble(final int index){
+					return doubles.get(index);
+				}
+			};
+		case "Character":
+			final CharColumn chars = (nullable
+					? new CharColumn(((NullableCharColumn)c).asPrimitiveArray()) : (CharColumn)c);
+			
+			return new ColumnReader(c, false){
+				@Override
+				long getLong(final int index){
+					return chars.get(index);
+				}
+			};
+		case "Boolean":
+			final BooleanColumn booleans = (nullable
+					? new BooleanColumn(((NullableBooleanColumn)c).asPrimitiveArray())
+					: (BooleanColumn)c);
+			
+			return new ColumnReader(c, false){
+				@Override
+				long getLong(final int index){
+					return (booleans.get(index) ? 1 : 0);
+				}
+			};
+		default:
+			throw new DataFrameException("Unrecognized column type");
+		}
+	}
+	
+	/**
+	 * Indicates whether the entry at the specified index is null
+	 * 
+	 * @param index The index of the entry
+	 * @return True if the entry is null, false otherwise
+	 */
+	boolean isNull(final int index){
+		return ((nulls != null) && nulls.isNull(index));
+	}
+	
+	/**
+	 * Returns the entry at the specified index as a long
+	 * 
+	 * @param index The index of a non-null entry
+	 * @return The entry at the specified index
+	 */
+	long getLong(final int index){
+		return (long)getDouble(index);
+	}
+	
+	/**
+	 * Returns the entry at the specified index as a double
+	 * 
+	 * @param index The index of a non-null entry
+	 * @return The entry at the specified index
+	 */
+	double getDouble(final int index){
+		return getLong(index);
+	}
+	
+	/**
+	 * Returns the entry at the specified index as a key within a GroupTable
+	 * 
+	 * @param index The index of a non-null entry
+	 * @return The value of an integral entry or the bits of a floating point entry
+	 */
+	long getBits(final int index){
+		return (floating ? Double.doubleToLongBits(getDouble(index)) : getLong(index));
+	}
+}
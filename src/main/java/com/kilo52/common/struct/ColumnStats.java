@@ -0,0 +1,109 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.struct;
+
+/**
+ * Number, sum, minimum and maximum of the non-null entries of a numeric column,
+ * used by the <code>average()</code>, <code>minimum()</code> and <code>maximum()</code>
+ * operations of all DataFrame implementations.<br>
+ * The statistics of large columns are computed in parallel as described by {@link Parallelism}.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ * 
+ */
+final class ColumnStats {
+	
+	private long count;
+	private double sum;
+	private double min = Double.MAX_VALUE;
+	private double max = -Double.MAX_VALUE;
+	
+	private ColumnStats(){ }
+	
+	/**
+	 * Computes the statistics of the specified range of entries of the given column
+	 * 
+	 * @param c The Column to compute the statistics for. Must hold numbers
+	 * @param from The index of the first entry to include
+	 * @param to The index of the last entry to include, exclusive
+	 * @return The ColumnStats of the specified entries
+	 */
+	static ColumnStats of(final Column c, final int from, final int to){
+		final ColumnReader reader = ColumnReader.of(c);
+		return Parallelism.execute(new Parallelism.Partial<ColumnStats>(){
+			@Override
+			ColumnStats compute(final int from, final int to){
+				final ColumnStats stats = new ColumnStats();
+				for(int i=from; i<to; ++i){
+					if(!reader.isNull(i)){
+						final double value = reader.getDouble(i);
+						stats.sum += value;
+						if(value < stats.min){
+							stats.min = value;
+						}
+						if(value > stats.max){
+							stats.max = value;
+						}
+						++stats.count;
+					}
+				}
+				return stats;
+			}
+			
+			@Override
+			ColumnStats merge(final ColumnStats left, final ColumnStats right){
+				left.count += right.count;
+				left.sum += right.sum;
+				if(right.min < left.min){
+					left.min = right.min;
+				}
+				if(right.max > left.max){
+					left.max = right.max;
+				}
+				return left;
+			}
+		}, from, to);
+	}
+	
+	/**
+	 * Returns the average of all non-null entries
+	 * 
+	 * @return The average, or NaN if all entries are null
+	 */
+	double average(){
+		return (sum/count);
+	}
+	
+	/**
+	 * Returns the minimum of all non-null entries
+	 * 
+	 * @return The minimum, or <code>Double.MAX_VALUE</code> if all entries are null
+	 */
+	double minimum(){
+		return min;
+	}
+	
+	/**
+	 * Returns the maximum of all non-null entries
+	 * 
+	 * @return The maximum, or <code>-Double.MAX_VALUE</code> if all entries are null
+	 */
+	double maximum(){
+		return max;
+	}
+}
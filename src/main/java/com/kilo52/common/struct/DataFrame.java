@@ -450,6 +450,350 @@ public interface DataFrame extends Cloneable, Serializable, Iterable<Column> {
 	 */
 	public void setBoolean(String colName, int row, Boolean value);
 	
+	/**
+	 * Gets the byte at the specified column and row index as a primitive value.
+	 * No wrapper object is created. If the underlying DataFrame implementation supports
+	 * null values, then null entries are returned as zero
+	 * 
+	 * @param col The column index of the value to get
+	 * @param row The row index of the value to get
+	 * @return The byte value at the specified position
+	 */
+	public byte byteAt(int col, int row);
+	
+	/**
+	 * Gets the byte from the specified column at the specified row index as a primitive
+	 * value. The column must be specified by name. No wrapper object is created. If the
+	 * underlying DataFrame implementation supports null values, then null entries are
+	 * returned as zero
+	 * 
+	 * @param colName The name of the column to get the value from
+	 * @param row The row index of the value to get
+	 * @return The byte value at the specified position
+	 */
+	public byte byteAt(String colName, int row);
+	
+	/**
+	 * Sets the byte at the specified column and row index to the given primitive value.
+	 * No wrapper object is created
+	 * 
+	 * @param col The column index of the value to set
+	 * @param row The row index of the value to set
+	 * @param value The byte value to set
+	 */
+	public void setByteAt(int col, int row, byte value);
+	
+	/**
+	 * Sets the byte at the specified column at the specified row index to the given
+	 * primitive value. The column must be specified by name. No wrapper object is created
+	 * 
+	 * @param colName The name of the column to set the value at
+	 * @param row The row index of the value to set
+	 * @param value The byte value to set
+	 */
+	public void setByteAt(String colName, int row, byte value);
+	
+	/**
+	 * Gets the short at the specified column and row index as a primitive value.
+	 * No wrapper object is created. If the underlying DataFrame implementation supports
+	 * null values, then null entries are returned as zero
+	 * 
+	 * @param col The column index of the value to get
+	 * @param row The row index of the value to get
+	 * @return The short value at the specified position
+	 */
+	public short shortAt(int col, int row);
+	
+	/**
+	 * Gets the short from the specified column at the specified row index as a primitive
+	 * value. The column must be specified by name. No wrapper object is created. If the
+	 * underlying DataFrame implementation supports null values, then null entries are
+	 * returned as zero
+	 * 
+	 * @param colName The name of the column to get the value from
+	 * @param row The row index of the value to get
+	 * @return The short value at the specified position
+	 */
+	public short shortAt(String colName, int row);
+	
+	/**
+	 * Sets the short at the specified column and row index to the given primitive value.
+	 * No wrapper object is created
+	 * 
+	 * @param col The column index of the value to set
+	 * @param row The row index of the value to set
+	 * @param value The short value to set
+	 */
+	public void setShortAt(int col, int row, short value);
+	
+	/**
+	 * Sets the short at the specified column at the specified row index to the given
+	 * primitive value. The column must be specified by name. No wrapper object is created
+	 * 
+	 * @param colName The name of the column to set the value at
+	 * @param row The row index of the value to set
+	 * @param value The short value to set
+	 */
+	public void setShortAt(String colName, int row, short value);
+	
+	/**
+	 * Gets the int at the specified column and row index as a primitive value.
+	 * No wrapper object is created. If the underlying DataFrame implementation supports
+	 * null values, then null entries are returned as zero
+	 * 
+	 * @param col The column index of the value to get
+	 * @param row The row index of the value to get
+	 * @return The int value at the specified position
+	 */
+	public int intAt(int col, int row);
+	
+	/**
+	 * Gets the int from the specified column at the specified row index as a primitive
+	 * value. The column must be specified by name. No wrapper object is created. If the
+	 * underlying DataFrame implementation supports null values, then null entries are
+	 * returned as zero
+	 * 
+	 * @param colName The name of the column to get the value from
+	 * @param row The row index of the value to get
+	 * @return The int value at the specified position
+	 */
+	public int intAt(String colName, int row);
+	
+	/**
+	 * Sets the int at the specified column and row index to the given primitive value.
+	 * No wrapper object is created
+	 * 
+	 * @param col The column index of the value to set
+	 * @param row The row index of the value to set
+	 * @param value The int value to set
+	 */
+	public void setIntAt(int col, int row, int value);
+	
+	/**
+	 * Sets the int at the specified column at the specified row index to the given
+	 * primitive value. The column must be specified by name. No wrapper object is created
+	 * 
+	 * @param colName The name of the column to set the value at
+	 * @param row The row index of the value to set
+	 * @param value The int value to set
+	 */
+	public void setIntAt(String colName, int row, int value);
+	
+	/**
+	 * Gets the long at the specified column and row index as a primitive value.
+	 * No wrapper object is created. If the underlying DataFrame implementation supports
+	 * null values, then null entries are returned as zero
+	 * 
+	 * @param col The column index of the value to get
+	 * @param row The row index of the value to get
+	 * @return The long value at the specified position
+	 */
+	public long longAt(int col, int row);
+	
+	/**
+	 * Gets the long from the specified column at the specified row index as a primitive
+	 * value. The column must be specified by name. No wrapper object is created. If the
+	 * underlying DataFrame implementation supports null values, then null entries are
+	 * returned as zero
+	 * 
+	 * @param colName The name of the column to get the value from
+	 * @param row The row index of the value to get
+	 * @return The long value at the specified position
+	 */
+	public long longAt(String colName, int row);
+	
+	/**
+	 * Sets the long at the specified column and row index to the given primitive value.
+	 * No wrapper object is created
+	 * 
+	 * @param col The column index of the value to set
+	 * @param row The row index of the value to set
+	 * @param value The long value to set
+	 */
+	public void setLongAt(int col, int row, long value);
+	
+	/**
+	 * Sets the long at the specified column at the specified row index to the given
+	 * primitive value. The column must be specified by name. No wrapper object is created
+	 * 
+	 * @param colName The name of the column to set the value at
+	 * @param row The row index of the value to set
+	 * @param value The long value to set
+	 */
+	public void setLongAt(String colName, int row, long value);
+	
+	/**
+	 * Gets the float at the specified column and row index as a primitive value.
+	 * No wrapper object is created. If the underlying DataFrame implementation supports
+	 * null values, then null entries are returned as zero
+	 * 
+	 * @param col The column index of the value to get
+	 * @param row The row index of the value to get
+	 * @return The float value at the specified position
+	 */
+	public float floatAt(int col, int row);
+	
+	/**
+	 * Gets the float from the specified column at the specified row index as a primitive
+	 * value. The column must be specified by name. No wrapper object is created. If the
+	 * underlying DataFrame implementation supports null values, then null entries are
+	 * returned as zero
+	 * 
+	 * @param colName The name of the column to get the value from
+	 * @param row The row index of the value to get
+	 * @return The float value at the specified position
+	 */
+	public float floatAt(String colName, int row);
+	
+	/**
+	 * Sets the float at the specified column and row index to the given primitive value.
+	 * No wrapper object is created
+	 * 
+	 * @param col The column index of the value to set
+	 * @param row The row index of the value to set
+	 * @param value The float value to set
+	 */
+	public void setFloatAt(int col, int row, float value);
+	
+	/**
+	 * Sets the float at the specified column at the specified row index to the given
+	 * primitive value. The column must be specified by name. No wrapper object is created
+	 * 
+	 * @param colName The name of the column to set the value at
+	 * @param row The row index of the value to set
+	 * @param value The float value to set
+	 */
+	public void setFloatAt(String colName, int row, float value);
+	
+	/**
+	 * Gets the double at the specified column and row index as a primitive value.
+	 * No wrapper object is created. If the underlying DataFrame implementation supports
+	 * null values, then null entries are returned as zero
+	 * 
+	 * @param col The column index of the value to get
+	 * @param row The row index of the value to get
+	 * @return The double value at the specified position
+	 */
+	public double doubleAt(int col, int row);
+	
+	/**
+	 * Gets the double from the specified column at the specified row index as a primitive
+	 * value. The column must be specified by name. No wrapper object is created. If the
+	 * underlying DataFrame implementation supports null values, then null entries are
+	 * returned as zero
+	 * 
+	 * @param colName The name of the column to get the value from
+	 * @param row The row index of the value to get
+	 * @return The double value at the specified position
+	 */
+	public double doubleAt(String colName, int row);
+	
+	/**
+	 * Sets the double at the specified column and row index to the given primitive value.
+	 * No wrapper object is created
+	 * 
+	 * @param col The column index of the value to set
+	 * @param row The row index of the value to set
+	 * @param value The double value to set
+	 */
+	public void setDoubleAt(int col, int row, double value);
+	
+	/**
+	 * Sets the double at the specified column at the specified row index to the given
+	 * primitive value. The column must be specified by name. No wrapper object is created
+	 * 
+	 * @param colName The name of the column to set the value at
+	 * @param row The row index of the value to set
+	 * @param value The double value to set
+	 */
+	public void setDoubleAt(String colName, int row, double value);
+	
+	/**
+	 * Gets the char at the specified column and row index as a primitive value.
+	 * No wrapper object is created. If the underlying DataFrame implementation supports
+	 * null values, then null entries are returned as the null character
+	 * 
+	 * @param col The column index of the value to get
+	 * @param row The row index of the value to get
+	 * @return The char value at the specified position
+	 */
+	public char charAt(int col, int row);
+	
+	/**
+	 * Gets the char from the specified column at the specified row index as a primitive
+	 * value. The column must be specified by name. No wrapper object is created. If the
+	 * underlying DataFrame implementation supports null values, then null entries are
+	 * returned as the null character
+	 * 
+	 * @param colName The name of the column to get the value from
+	 * @param row The row index of the value to get
+	 * @return The char value at the specified position
+	 */
+	public char charAt(String colName, int row);
+	
+	/**
+	 * Sets the char at the specified column and row index to the given primitive value.
+	 * No wrapper object is created
+	 * 
+	 * @param col The column index of the value to set
+	 * @param row The row index of the value to set
+	 * @param value The char value to set
+	 */
+	public void setCharAt(int col, int row, char value);
+	
+	/**
+	 * Sets the char at the specified column at the specified row index to the given
+	 * primitive value. The column must be specified by name. No wrapper object is created
+	 * 
+	 * @param colName The name of the column to set the value at
+	 * @param row The row index of the value to set
+	 * @param value The char value to set
+	 */
+	public void setCharAt(String colName, int row, char value);
+	
+	/**
+	 * Gets the boolean at the specified column and row index as a primitive value.
+	 * No wrapper object is created. If the underlying DataFrame implementation supports
+	 * null values, then null entries are returned as false
+	 * 
+	 * @param col The column index of the value to get
+	 * @param row The row index of the value to get
+	 * @return The boolean value at the specified position
+	 */
+	public boolean booleanAt(int col, int row);
+	
+	/**
+	 * Gets the boolean from the specified column at the specified row index as a primitive
+	 * value. The column must be specified by name. No wrapper object is created. If the
+	 * underlying DataFrame implementation supports null values, then null entries are
+	 * returned as false
+	 * 
+	 * @param colName The name of the column to get the value from
+	 * @param row The row index of the value to get
+	 * @return The boolean value at the specified position
+	 */
+	public boolean booleanAt(String colName, int row);
+	
+	/**
+	 * Sets the boolean at the specified column and row index to the given primitive value.
+	 * No wrapper object is created
+	 * 
+	 * @param col The column index of the value to set
+	 * @param row The row index of the value to set
+	 * @param value The boolean value to set
+	 */
+	public void setBooleanAt(int col, int row, boolean value);
+	
+	/**
+	 * Sets the boolean at the specified column at the specified row index to the given
+	 * primitive value. The column must be specified by name. No wrapper object is created
+	 * 
+	 * @param colName The name of the column to set the value at
+	 * @param row The row index of the value to set
+	 * @param value The boolean value to set
+	 */
+	public void setBooleanAt(String colName, int row, boolean value);
+	
 	/**
 	 * Gets the name of all columns of this DataFrame in proper order. Columns which have not been
 	 * named will be represented as their index within the DataFrame
@@ -592,6 +936,37 @@ public interface DataFrame extends Cloneable, Serializable, Iterable<Column> {
 	 */
 	public void addRow(Row row);
 	
+	/**
+	 * Adds the first <code>rows</code> entries of each of the provided columns to the
+	 * end of this DataFrame.
+	 * <p>One column must be provided for each column in this DataFrame and each provided
+	 * column must hold at least the specified number of entries. Since the columns of a
+	 * DataFrame may hold spare capacity, the number of rows is never derived from the
+	 * columns themselves. The type of each column must be equal to the type
+	 * of the column in this DataFrame whose entries it is appended to. If the underlying
+	 * DataFrame implementation doesn't support null values, then passing a
+	 * {@link NullableColumn} will result in a {@link DataFrameException} and vice versa.<br>
+	 * The entries are copied in bulk and this DataFrame is resized at most once, which makes
+	 * this method considerably faster than adding the same rows one at a time. Columns
+	 * constructed from an array, e.g. by <code>new IntColumn(int[])</code>, use that array
+	 * directly, so appending primitive arrays does not require any intermediary copy.
+	 * 
+	 * @param rows The number of rows to add. Must not be negative
+	 * @param cols The columns holding the rows to add
+	 */
+	public void addRows(int rows, Column... cols);
+	
+	/**
+	 * Adds all rows of the provided DataFrame to the end of this DataFrame.
+	 * <p>The provided DataFrame must have the same number of columns as this DataFrame
+	 * and the type of each column must be equal to the type of the corresponding column
+	 * in this DataFrame. Column names are ignored.<br>
+	 * The entries are copied in bulk and this DataFrame is resized at most once.
+	 * 
+	 * @param df The DataFrame holding the rows to add
+	 */
+	public void addRows(DataFrame df);
+	
 	/**
 	 * Inserts the provided row into this DataFrame at the specified index. Shifts all rows currently
 	 * at that position and any subsequent rows down (adds one to their indices). 
@@ -761,6 +1136,32 @@ public interface DataFrame extends Cloneable, Serializable, Iterable<Column> {
 	 */
 	public void flush();
 	
+	/**
+	 * Increases the capacity of each column within this DataFrame, if necessary, to ensure
+	 * that it can hold at least the specified number of rows without the need of resizing.
+	 * <p>This method can be called before adding a known number of rows to avoid repeated
+	 * resizing. It has no effect if this DataFrame has no columns
+	 * 
+	 * @param rows The desired minimum capacity
+	 */
+	public void ensureCapacity(int rows);
+	
+	/**
+	 * Returns the {@link GrowthPolicy} which determines how the capacity of this
+	 * DataFrame changes as rows are added and removed
+	 * 
+	 * @return The GrowthPolicy of this DataFrame
+	 */
+	public GrowthPolicy getGrowthPolicy();
+	
+	/**
+	 * Sets the {@link GrowthPolicy} which determines how the capacity of this
+	 * DataFrame changes as rows are added and removed
+	 * 
+	 * @param policy The GrowthPolicy to use. Must not be null
+	 */
+	public void setGrowthPolicy(GrowthPolicy policy);
+	
 	/**
 	 * Gets a reference of the {@link Column} instance at the specified index. Any changes to that column
 	 * are reflected in the DataFrame, and vice-versa
@@ -885,6 +1286,156 @@ public interface DataFrame extends Cloneable, Serializable, Iterable<Column> {
 	 */
 	public DataFrame filter(String colName, String regex);
 	
+	/**
+	 * Computes and returns the index of the first entry in the column at the specified
+	 * index which matches the specified predicate. The predicate is evaluated directly on
+	 * the entries of the column without converting them to strings
+	 * 
+	 * @param col The index of the column to search
+	 * @param predicate The ColumnPredicate to test the entries with
+	 * @return The index of the first row which matches the given predicate in the specified
+	 *         column.<br><b>-1</b> if nothing in the column matches the given predicate
+	 */
+	public int indexOf(int col, ColumnPredicate predicate);
+	
+	/**
+	 * Computes and returns the index of the first entry in the column with the specified
+	 * name which matches the specified predicate
+	 * 
+	 * @param colName The name of the Column to search
+	 * @param predicate The ColumnPredicate to test the entries with
+	 * @return The index of the first row which matches the given predicate in the specified
+	 *         column.<br><b>-1</b> if nothing in the column matches the given predicate
+	 */
+	public int indexOf(String colName, ColumnPredicate predicate);
+	
+	/**
+	 * Computes and returns the index of the first entry in the column at the specified
+	 * index which matches the specified predicate, while starting to search from the
+	 * given row index to the end of the DataFrame
+	 * 
+	 * @param col The index of the column to search
+	 * @param startFrom The row index from which to start searching
+	 * @param predicate The ColumnPredicate to test the entries with
+	 * @return The index of the first row which matches the given predicate in the specified
+	 *         column.<br><b>-1</b> if nothing in the column matches the given predicate
+	 */
+	public int indexOf(int col, int startFrom, ColumnPredicate predicate);
+	
+	/**
+	 * Computes and returns the index of the first entry in the column with the specified
+	 * name which matches the specified predicate, while starting to search from the
+	 * given row index to the end of the DataFrame
+	 * 
+	 * @param colName The name of the Column to search
+	 * @param startFrom The row index from which to start searching
+	 * @param predicate The ColumnPredicate to test the entries with
+	 * @return The index of the first row which matches the given predicate in the specified
+	 *         column.<br><b>-1</b> if nothing in the column matches the given predicate
+	 */
+	public int indexOf(String colName, int startFrom, ColumnPredicate predicate);
+	
+	/**
+	 * Computes and returns the indices of all entries in the column at the specified index
+	 * which match the specified predicate. The predicate is evaluated directly on the
+	 * entries of the column without converting them to strings
+	 * 
+	 * @param col The index of the column to search
+	 * @param predicate The ColumnPredicate to test the entries with
+	 * @return An array containing all indices in proper order of all entries that match
+	 *         the given predicate. Returns Null if nothing in the column matches the
+	 *         given predicate
+	 */
+	public int[] indexOfAll(int col, ColumnPredicate predicate);
+	
+	/**
+	 * Computes and returns the indices of all entries in the column with the specified name
+	 * which match the specified predicate
+	 * 
+	 * @param colName The name of the Column to search
+	 * @param predicate The ColumnPredicate to test the entries with
+	 * @return An array containing all indices in proper order of all entries that match
+	 *         the given predicate. Returns Null if nothing in the column matches the
+	 *         given predicate
+	 */
+	public int[] indexOfAll(String colName, ColumnPredicate predicate);
+	
+	/**
+	 * Computes and returns a {@link DataFrame} containing all rows whose entry in the column
+	 * at the specified index matches the specified predicate. All rows in the returned
+	 * DataFrame are copies of the original rows
+	 * 
+	 * @param col The index of the Column to test
+	 * @param predicate The ColumnPredicate to test the entries with
+	 * @return A sub-DataFrame containing all rows that match the given predicate.
+	 *         <br>Returns an empty DataFrame if nothing in the column matches the given predicate
+	 */
+	public DataFrame filter(int col, ColumnPredicate predicate);
+	
+	/**
+	 * Computes and returns a {@link DataFrame} containing all rows whose entry in the column
+	 * with the specified name matches the specified predicate. All rows in the returned
+	 * DataFrame are copies of the original rows
+	 * 
+	 * @param colName The name of the Column to test
+	 * @param predicate The ColumnPredicate to test the entries with
+	 * @return A sub-DataFrame containing all rows that match the given predicate.
+	 *         <br>Returns an empty DataFrame if nothing in the column matches the given predicate
+	 */
+	public DataFrame filter(String colName, ColumnPredicate predicate);
+	
+	/**
+	 * Evaluates the specified predicate for all entries in the column at the specified index
+	 * and returns the result as a {@link RowSelection}. Selections of several columns can be
+	 * combined and passed to {@link #filter(RowSelection)} to copy the selected rows
+	 * 
+	 * @param col The index of the Column to test
+	 * @param predicate The ColumnPredicate to test the entries with
+	 * @return A RowSelection of all rows that match the given predicate
+	 */
+	public RowSelection where(int col, ColumnPredicate predicate);
+	
+	/**
+	 * Evaluates the specified predicate for all entries in the column with the specified name
+	 * and returns the result as a {@link RowSelection}
+	 * 
+	 * @param colName The name of the Column to test
+	 * @param predicate The ColumnPredicate to test the entries with
+	 * @return A RowSelection of all rows that match the given predicate
+	 */
+	public RowSelection where(String colName, ColumnPredicate predicate);
+	
+	/**
+	 * Computes and returns a {@link DataFrame} containing all rows selected by the specified
+	 * {@link RowSelection}. The selected rows are copied column by column, so the returned
+	 * DataFrame does not share any entries with this DataFrame
+	 * 
+	 * @param selection The RowSelection denoting the rows to copy. Must refer to
+	 *                  the number of rows of this DataFrame
+	 * @return A sub-DataFrame containing all selected rows
+	 */
+	public DataFrame filter(RowSelection selection);
+	
+	/**
+	 * Groups all rows of this DataFrame by the entries of the columns at the specified
+	 * indices. Aggregate functions can be computed for each group of the returned
+	 * {@link GroupBy} by calling {@link GroupBy#aggregate(Aggregation...)}
+	 * 
+	 * @param cols The indices of the key columns to group by
+	 * @return A GroupBy holding the groups of all rows of this DataFrame
+	 */
+	public GroupBy groupBy(int... cols);
+	
+	/**
+	 * Groups all rows of this DataFrame by the entries of the columns with the specified
+	 * names. Aggregate functions can be computed for each group of the returned
+	 * {@link GroupBy} by calling {@link GroupBy#aggregate(Aggregation...)}
+	 * 
+	 * @param colNames The names of the key columns to group by
+	 * @return A GroupBy holding the groups of all rows of this DataFrame
+	 */
+	public GroupBy groupBy(String... colNames);
+	
 	/**
 	 * Computes the average of all entries in the specified column. If the underlying DataFrame
 	 * implementation supports null values, then null values are excluded from the computation
@@ -961,6 +1512,60 @@ public interface DataFrame extends Cloneable, Serializable, Iterable<Column> {
 	 */
 	public void sortBy(String colName);
 	
+	/**
+	 * Returns a read-only view of the specified range of rows of this DataFrame.<br>
+	 * The returned DataFrame does not copy any entries. It reads all entries from this
+	 * DataFrame, so changes to this DataFrame within the specified range are reflected in
+	 * the view. The range of the view is fixed at the time it is created, thus removing
+	 * rows from this DataFrame can make the view refer to rows which do not exist anymore.
+	 * <p>Any attempt to modify the returned view results in a {@link DataFrameException}.
+	 * Methods returning a {@link Column} or an array of the returned view, as well as
+	 * <code>filter()</code> and <code>clone()</code>, return copies of the viewed entries.
+	 * Use {@link DataFrame#copyOf(DataFrame)} to obtain a modifiable DataFrame holding
+	 * all rows of a view
+	 * 
+	 * @param from The index of the first row of the view, inclusive
+	 * @param to The index of the last row of the view, exclusive
+	 * @return A read-only view of the specified rows
+	 */
+	public DataFrame slice(int from, int to);
+	
+	/**
+	 * Returns a read-only view of the specified columns of this DataFrame.<br>
+	 * The columns of the returned view are ordered as specified. The returned DataFrame
+	 * does not copy any entries and has the same properties as a view returned
+	 * by {@link #slice(int, int)}
+	 * 
+	 * @param cols The indices of the columns of the view
+	 * @return A read-only view of the specified columns
+	 */
+	public DataFrame select(int... cols);
+	
+	/**
+	 * Returns a read-only view of the specified columns of this DataFrame.<br>
+	 * The columns of the returned view are ordered as specified. The returned DataFrame
+	 * does not copy any entries and has the same properties as a view returned
+	 * by {@link #slice(int, int)}
+	 * 
+	 * @param colNames The names of the columns of the view
+	 * @return A read-only view of the specified columns
+	 */
+	public DataFrame select(String... colNames);
+	
+	/**
+	 * Returns an immutable copy of this DataFrame.<br>
+	 * The returned {@link ImmutableDataFrame} holds a copy of all entries of this DataFrame
+	 * without any spare capacity. It rejects any modification by throwing a
+	 * {@link DataFrameException} and can therefore be shared between threads without any
+	 * further synchronization or copying. Views created from the returned DataFrame by
+	 * {@link #slice(int, int)} or {@link #select(int...)} share its entries.
+	 * <p>This DataFrame is not affected by subsequent changes of the returned DataFrame
+	 * and vice versa. Calling this method on an ImmutableDataFrame returns that instance
+	 * 
+	 * @return An immutable copy of this DataFrame
+	 */
+	public DataFrame freeze();
+	
 	/**
 	 * Returns this DataFrame as an array of Objects. The first dimension contains the
 	 * columns of the DataFrame and the second dimension contains the entries of each
@@ -1004,7 +1609,7 @@ public interface DataFrame extends Cloneable, Serializable, Iterable<Column> {
      */
     public static DataFrame copyOf(final DataFrame df){
     	DataFrame copy = null;
-    	if(df instanceof DefaultDataFrame){
+    	if(!df.isNullable()){
     		copy = new DefaultDataFrame();
     	}else{
     		copy = new NullableDataFrame();
@@ -1016,6 +1621,7 @@ public interface DataFrame extends Cloneable, Serializable, Iterable<Column> {
     	if(df.hasColumnNames()){
     		copy.setColumnNames(df.getColumnNames());
     	}
+    	copy.setGrowthPolicy(df.getGrowthPolicy());
     	return copy;
     }
 	
@@ -1060,7 +1666,7 @@ public interface DataFrame extends Cloneable, Serializable, Iterable<Column> {
 			}
 		}
 		DataFrame merged = null;
-		if(dataFrames[0] instanceof DefaultDataFrame){
+		if(!dataFrames[0].isNullable()){
 			merged = new DefaultDataFrame();
 		}else{
 			merged = new NullableDataFrame();
@@ -1092,6 +1698,29 @@ public interface DataFrame extends Cloneable, Serializable, Iterable<Column> {
 		return merged;
 	}
 	
+	/**
+	 * Joins the given {@link DataFrame} instances on the key columns of the specified
+	 * {@link Join}. The right DataFrame is hashed on its keys and the left DataFrame
+	 * is probed row by row. Both DataFrames must be of the same type. The rows of the
+	 * returned DataFrame are copies of the joined rows.
+	 * <p>Example:<br>
+	 * <code>
+	 * DataFrame enriched = DataFrame.join(events, customers, Join.left("customer"));
+	 * </code>
+	 * 
+	 * @param left The left DataFrame
+	 * @param right The right DataFrame
+	 * @param join The Join specifying the type of the join and the key columns
+	 * @return A DataFrame holding the joined rows
+	 * @see Join
+	 */
+	public static DataFrame join(final DataFrame left, final DataFrame right, final Join join){
+		if(join == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		return join.execute(left, right);
+	}
+	
 	/**
 	 * Converts the given {@link DataFrame} from a {@link DefaultDataFrame} to a 
 	 * {@link NullableDataFrame} or vice-versa.<br>
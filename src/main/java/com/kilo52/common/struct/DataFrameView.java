@@ -0,0 +1,900 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.struct;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Read-only view of a range of rows and a selection of columns of another DataFrame.<br>
+ * A view does not hold any entries itself but reads them from its source DataFrame
+ * by translating all row and column indices. Therefore, creating a view is a constant
+ * time operation regardless of the number of rows it covers. Views are created by
+ * {@link DataFrame#slice(int, int)} and {@link DataFrame#select(int...)}.
+ * 
+ * <p>Any attempt to modify a view results in a <code>DataFrameException</code>.
+ * Methods which have to return a {@link Column} copy the viewed entries of that column.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ * 
+ */
+class DataFrameView implements DataFrame {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private final DataFrame source;
+	private final int offset;
+	private final int rows;
+	private final int[] columns;
+	private final String[] names;
+	private final Map<String, Integer> index;
+	
+	/**
+	 * Constructs a new <code>DataFrameView</code> of all rows and columns of the
+	 * specified DataFrame
+	 * 
+	 * @param source The DataFrame to read all entries from
+	 */
+	DataFrameView(final DataFrame source){
+		this(source, 0, source.rows(), identity(source.columns()), source.getColumnNames());
+	}
+	
+	/**
+	 * Constructs a new <code>DataFrameView</code>
+	 * 
+	 * @param source The DataFrame to read all entries from
+	 * @param offset The index of the first viewed row within the source DataFrame
+	 * @param rows The number of viewed rows
+	 * @param columns The indices of the viewed columns within the source DataFrame
+	 * @param names The names of the viewed columns, or null if the columns have no names
+	 */
+	private DataFrameView(final DataFrame source, final int offset, final int rows,
+			final int[] columns, final String[] names){
+		
+		this.source = source;
+		this.offset = offset;
+		this.rows = rows;
+		this.columns = columns;
+		this.names = names;
+		if(names != null){
+			this.index = new HashMap<String, Integer>(names.length*2);
+			for(int i=0; i<names.length; ++i){
+				index.put(names[i], i);
+			}
+		}else{
+			this.index = null;
+		}
+	}
+	
+	public Byte getByte(final int col, final int row){
+		return source.getByte(col(col), row(row));
+	}
+	
+	public Byte getByte(final String colName, final int row){
+		return getByte(enforceName(colName), row);
+	}
+	
+	public Short getShort(final int col, final int row){
+		return source.getShort(col(col), row(row));
+	}
+	
+	public Short getShort(final String colName, final int row){
+		return getShort(enforceName(colName), row);
+	}
+	
+	public Integer getInt(final int col, final int row){
+		return source.getInt(col(col), row(row));
+	}
+	
+	public Integer getInt(final String colName, final int row){
+		return getInt(enforceName(colName), row);
+	}
+	
+	public Long getLong(final int col, final int row){
+		return source.getLong(col(col), row(row));
+	}
+	
+	public Long getLong(final String colName, final int row){
+		return getLong(enforceName(colName), row);
+	}
+	
+	public String getString(final int col, final int row){
+		return source.getString(col(col), row(row));
+	}
+	
+	public String getString(final String colName, final int row){
+		return getString(enforceName(colName), row);
+	}
+	
+	public Float getFloat(final int col, final int row){
+		return source.getFloat(col(col), row(row));
+	}
+	
+	public Float getFloat(final String colName, final int row){
+		return getFloat(enforceName(colName), row);
+	}
+	
+	public Double getDouble(final int col, final int row){
+		return source.getDouble(col(col), row(row));
+	}
+	
+	public Double getDouble(final String colName, final int row){
+		return getDouble(enforceName(colName), row);
+	}
+	
+	public Character getChar(final int col, final int row){
+		return source.getChar(col(col), row(row));
+	}
+	
+	public Character getChar(final String colName, final int row){
+		return getChar(enforceName(colName), row);
+	}
+	
+	public Boolean getBoolean(final int col, final int row){
+		return source.getBoolean(col(col), row(row));
+	}
+	
+	public Boolean getBoolean(final String colName, final int row){
+		return getBoolean(enforceName(colName), row);
+	}
+	
+	public void setByte(final int col, final int row, final Byte value){
+		throw readOnly();
+	}
+	
+	public void setByte(final String colName, final int row, final Byte value){
+		throw readOnly();
+	}
+	
+	public void setShort(final int col, final int row, final Short value){
+		throw readOnly();
+	}
+	
+	public void setShort(final String colName, final int row, final Short value){
+		throw readOnly();
+	}
+	
+	public void setInt(final int col, final int row, final Integer value){
+		throw readOnly();
+	}
+	
+	public void setInt(final String colName, final int row, final Integer value){
+		throw readOnly();
+	}
+	
+	public void setLong(final int col, final int row, final Long value){
+		throw readOnly();
+	}
+	
+	public void setLong(final String colName, final int row, final Long value){
+		throw readOnly();
+	}
+	
+	public void setString(final int col, final int row, final String value){
+		throw readOnly();
+	}
+	
+	public void setString(final String colName, final int row, final String value){
+		throw readOnly();
+	}
+	
+	public void setFloat(final int col, final int row, final Float value){
+		throw readOnly();
+	}
+	
+	public void setFloat(final String colName, final int row, final Float value){
+		throw readOnly();
+	}
+	
+	public void setDouble(final int col, final int row, final Double value){
+		throw readOnly();
+	}
+	
+	public void setDouble(final String colName, final int row, final Double value){
+		throw readOnly();
+	}
+	
+	public void setChar(final int col, final int row, final Character value){
+		throw readOnly();
+	}
+	
+	public void setChar(final String colName, final int row, final Character value){
+		throw readOnly();
+	}
+	
+	public void setBoolean(final int col, final int row, final Boolean value){
+		throw readOnly();
+	}
+	
+	public void setBoolean(final String colName, final int row, final Boolean value){
+		throw readOnly();
+	}
+	
+	public byte byteAt(final int col, final int row){
+		return source.byteAt(col(col), row(row));
+	}
+	
+	public byte byteAt(final String colName, final int row){
+		return byteAt(enforceName(colName), row);
+	}
+	
+	public void setByteAt(final int col, final int row, final byte value){
+		throw readOnly();
+	}
+	
+	public void setByteAt(final String colName, final int row, final byte value){
+		throw readOnly();
+	}
+	
+	public short shortAt(final int col, final int row){
+		return source.shortAt(col(col), row(row));
+	}
+	
+	public short shortAt(final String colName, final int row){
+		return shortAt(enforceName(colName), row);
+	}
+	
+	public void setShortAt(final int col, final int row, final short value){
+		throw readOnly();
+	}
+	
+	public void setShortAt(final String colName, final int row, final short value){
+		throw readOnly();
+	}
+	
+	public int intAt(final int col, final int row){
+		return source.intAt(col(col), row(row));
+	}
+	
+	public int intAt(final String colName, final int row){
+		return intAt(enforceName(colName), row);
+	}
+	
+	public void setIntAt(final int col, final int row, final int value){
+		throw readOnly();
+	}
+	
+	public void setIntAt(final String colName, final int row, final int value){
+		throw readOnly();
+	}
+	
+	public long longAt(final int col, final int row){
+		return source.longAt(col(col), row(row));
+	}
+	
+	public long longAt(final String colName, final int row){
+		return longAt(enforceName(colName), row);
+	}
+	
+	public void setLongAt(final int col, final int row, final long value){
+		throw readOnly();
+	}
+	
+	public void setLongAt(final String colName, final int row, final long value){
+		throw readOnly();
+	}
+	
+	public float floatAt(final int col, final int row){
+		return source.floatAt(col(col), row(row));
+	}
+	
+	public float floatAt(final String colName, final int row){
+		return floatAt(enforceName(colName), row);
+	}
+	
+	public void setFloatAt(final int col, final int row, final float value){
+		throw readOnly();
+	}
+	
+	public void setFloatAt(final String colName, final int row, final float value){
+		throw readOnly();
+	}
+	
+	public double doubleAt(final int col, final int row){
+		return source.doubleAt(col(col), row(row));
+	}
+	
+	public double doubleAt(final String colName, final int row){
+		return doubleAt(enforceName(colName), row);
+	}
+	
+	public void setDoubleAt(final int col, final int row, final double value){
+		throw readOnly();
+	}
+	
+	public void setDoubleAt(final String colName, final int row, final double value){
+		throw readOnly();
+	}
+	
+	public char charAt(final int col, final int row){
+		return source.charAt(col(col), row(row));
+	}
+	
+	public char charAt(final String colName, final int row){
+		return charAt(enforceName(colName), row);
+	}
+	
+	public void setCharAt(final int col, final int row, final char value){
+		throw readOnly();
+	}
+	
+	public void setCharAt(final String colName, final int row, final char value){
+		throw readOnly();
+	}
+	
+	public boolean booleanAt(final int col, final int row){
+		return source.booleanAt(col(col), row(row));
+	}
+	
+	public boolean booleanAt(final String colName, final int row){
+		return booleanAt(enforceName(colName), row);
+	}
+	
+	public void setBooleanAt(final int col, final int row, final boolean value){
+		throw readOnly();
+	}
+	
+	public void setBooleanAt(final String colName, final int row, final boolean value){
+		throw readOnly();
+	}
+	
+	public String[] getColumnNames(){
+		return (names != null ? Arrays.copyOf(names, names.length) : null);
+	}
+	
+	public String getColumnName(final int col){
+		col(col);
+		return (names != null ? names[col] : null);
+	}
+	
+	public int getColumnIndex(final String colName){
+		return enforceName(colName);
+	}
+	
+	public void setColumnNames(final String... names){
+		throw readOnly();
+	}
+	
+	public boolean setColumnName(final int col, final String name){
+		throw readOnly();
+	}
+	
+	public void removeColumnNames(){
+		throw readOnly();
+	}
+	
+	public boolean hasColumnNames(){
+		return (names != null);
+	}
+	
+	public Object[] getRowAt(final int index){
+		final int row = row(index);
+		final Object[] items = new Object[columns.length];
+		for(int i=0; i<columns.length; ++i){
+			items[i] = source.getColumnAt(columns[i]).getValueAt(row);
+		}
+		return items;
+	}
+	
+	public <T extends Row> T getRowAt(final int index, final Class<T> classOfT){
+		return source.getRowAt(row(index), classOfT);
+	}
+	
+	public void setRowAt(final int index, final Object[] row){
+		throw readOnly();
+	}
+	
+	public void setRowAt(final int index, final Row row){
+		throw readOnly();
+	}
+	
+	public void addRow(final Object[] row){
+		throw readOnly();
+	}
+	
+	public void addRow(final Row row){
+		throw readOnly();
+	}
+	
+	public void addRows(final int rows, final Column... cols){
+		throw readOnly();
+	}
+	
+	public void addRows(final DataFrame df){
+		throw readOnly();
+	}
+	
+	public void insertRowAt(final int index, final Object[] row){
+		throw readOnly();
+	}
+	
+	public void insertRowAt(final int index, final Row row){
+		throw readOnly();
+	}
+	
+	public void removeRow(final int index){
+		throw readOnly();
+	}
+	
+	public void removeRows(final int from, final int to){
+		throw readOnly();
+	}
+	
+	public void addColumn(final Column col){
+		throw readOnly();
+	}
+	
+	public void addColumn(final String colName, final Column col){
+		throw readOnly();
+	}
+	
+	public void removeColumn(final int col){
+		throw readOnly();
+	}
+	
+	public void removeColumn(final String colName){
+		throw readOnly();
+	}
+	
+	public void insertColumnAt(final int index, final Column col){
+		throw readOnly();
+	}
+	
+	public void insertColumnAt(final int index, final String colName, final Column col){
+		throw readOnly();
+	}
+	
+	public int columns(){
+		return columns.length;
+	}
+	
+	public int capacity(){
+		return rows;
+	}
+	
+	public int rows(){
+		return rows;
+	}
+	
+	public boolean isEmpty(){
+		return (rows == 0);
+	}
+	
+	public boolean isNullable(){
+		return source.isNullable();
+	}
+	
+	public void clear(){
+		throw readOnly();
+	}
+	
+	public void flush(){
+		//a view does not allocate any space
+	}
+	
+	public void ensureCapacity(final int rows){
+		throw readOnly();
+	}
+	
+	public GrowthPolicy getGrowthPolicy(){
+		return source.getGrowthPolicy();
+	}
+	
+	public void setGrowthPolicy(final GrowthPolicy policy){
+		throw readOnly();
+	}
+	
+	/**
+	 * Returns a copy of the viewed entries of the column at the specified index
+	 * 
+	 * @param col The index of the column
+	 * @return A Column holding a copy of all viewed entries of the specified column
+	 */
+	public Column getColumnAt(final int col){
+		final Column copy = (Column)source.getColumnAt(col(col)).clone();
+		copy.remove(0, offset, offset+rows);
+		copy.matchLength(rows);
+		return copy;
+	}
+	
+	/**
+	 * Returns a copy of the viewed entries of the column with the specified name
+	 * 
+	 * @param colName The name of the column
+	 * @return A Column holding a copy of all viewed entries of the specified column
+	 */
+	public Column getColumn(final String colName){
+		return getColumnAt(enforceName(colName));
+	}
+	
+	public void setColumnAt(final int index, final Column col){
+		throw readOnly();
+	}
+	
+	public int indexOf(final int col, final String regex){
+		return indexOf(col, 0, regex);
+	}
+	
+	public int indexOf(final String colName, final String regex){
+		return indexOf(enforceName(colName), 0, regex);
+	}
+	
+	public int indexOf(final int col, final int startFrom, final String regex){
+		final Column c = source.getColumnAt(col(col));
+		if(regex == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		if((startFrom < 0) || (startFrom >= rows)){
+			throw new DataFrameException("Invalid start argument: "+startFrom);
+		}
+		final Pattern p = Pattern.compile(regex);
+		if(c instanceof DictionaryColumn){
+			final int i = StringDictionary.indexOf((DictionaryColumn)c, p,
+					offset+startFrom, offset+rows);
+			
+			return (i != -1 ? i-offset : -1);
+		}
+		for(int i=startFrom; i<rows; ++i){
+			if(p.matcher(String.valueOf(c.getValueAt(offset+i))).matches()){
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	public int indexOf(final String colName, final int startFrom, final String regex){
+		return indexOf(enforceName(colName), startFrom, regex);
+	}
+	
+	public int[] indexOfAll(final int col, final String regex){
+		final Column c = source.getColumnAt(col(col));
+		if((regex == null) || (regex.isEmpty())){
+			throw new DataFrameException("Arg must not be null or empty");
+		}
+		final Pattern p = Pattern.compile(regex);
+		int[] res = new int[16];
+		int hits = 0;
+		if(c instanceof DictionaryColumn){
+			final DictionaryColumn dc = (DictionaryColumn)c;
+			final boolean[] matches = StringDictionary.matches(dc, p);
+			final int[] codes = dc.asCodeArray();
+			for(int i=0; i<rows; ++i){
+				if(matches[codes[offset+i]]){
+					if(hits == res.length){
+						res = Arrays.copyOf(res, res.length*2);
+					}
+					res[hits++] = i;
+				}
+			}
+		}else{
+			for(int i=0; i<rows; ++i){
+				if(p.matcher(String.valueOf(c.getValueAt(offset+i))).matches()){
+					if(hits == res.length){
+						res = Arrays.copyOf(res, res.length*2);
+					}
+					res[hits++] = i;
+				}
+			}
+		}
+		return (hits != 0 ? Arrays.copyOf(res, hits) : null);
+	}
+	
+	public int[] indexOfAll(final String colName, final String regex){
+		return indexOfAll(enforceName(colName), regex);
+	}
+	
+	public DataFrame filter(final int col, final String regex){
+		return copyRows(indexOfAll(col, regex));
+	}
+	
+	public DataFrame filter(final String colName, final String regex){
+		return filter(enforceName(colName), regex);
+	}
+	
+	public int indexOf(final int col, final ColumnPredicate predicate){
+		return indexOf(col, 0, predicate);
+	}
+	
+	public int indexOf(final String colName, final ColumnPredicate predicate){
+		return indexOf(enforceName(colName), 0, predicate);
+	}
+	
+	public int indexOf(final int col, final int startFrom, final ColumnPredicate predicate){
+		final Column c = source.getColumnAt(col(col));
+		if(predicate == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		if((startFrom < 0) || (startFrom >= rows)){
+			throw new DataFrameException("Invalid start argument: "+startFrom);
+		}
+		final int i = predicate.indexOf(c, offset+startFrom, offset+rows);
+		return (i != -1 ? i-offset : -1);
+	}
+	
+	public int indexOf(final String colName, final int startFrom, final ColumnPredicate predicate){
+		return indexOf(enforceName(colName), startFrom, predicate);
+	}
+	
+	public int[] indexOfAll(final int col, final ColumnPredicate predicate){
+		final Column c = source.getColumnAt(col(col));
+		if(predicate == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		return predicate.indexOfAll(c, offset, offset+rows);
+	}
+	
+	public int[] indexOfAll(final String colName, final ColumnPredicate predicate){
+		return indexOfAll(enforceName(colName), predicate);
+	}
+	
+	public DataFrame filter(final int col, final ColumnPredicate predicate){
+		return filter(where(col, predicate));
+	}
+	
+	public DataFrame filter(final String colName, final ColumnPredicate predicate){
+		return filter(enforceName(colName), predicate);
+	}
+	
+	public RowSelection where(final int col, final ColumnPredicate predicate){
+		final Column c = source.getColumnAt(col(col));
+		if(predicate == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		return new RowSelection(predicate.evaluate(c, offset, offset+rows), rows);
+	}
+	
+	public RowSelection where(final String colName, final ColumnPredicate predicate){
+		return where(enforceName(colName), predicate);
+	}
+	
+	public DataFrame filter(final RowSelection selection){
+		if(selection == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		if(selection.rows() != rows()){
+			throw new DataFrameException("Selection does not match the number of rows: "
+					+ selection.rows());
+		}
+		return copyRows(selection.indices());
+	}
+	
+	public GroupBy groupBy(final int... cols){
+		return new GroupBy(this, cols);
+	}
+	
+	public GroupBy groupBy(final String... colNames){
+		if((colNames == null) || (colNames.length == 0)){
+			throw new DataFrameException("Arg must not be null or empty");
+		}
+		final int[] cols = new int[colNames.length];
+		for(int i=0; i<cols.length; ++i){
+			cols[i] = enforceName(colNames[i]);
+		}
+		return groupBy(cols);
+	}
+	
+	public double average(final int col){
+		return ColumnStats.of(numeric(col, "average"), offset, offset+rows).average();
+	}
+	
+	public double average(final String colName){
+		return average(enforceName(colName));
+	}
+	
+	public double minimum(final int col){
+		return ColumnStats.of(numeric(col, "minimum"), offset, offset+rows).minimum();
+	}
+	
+	public double minimum(final String colName){
+		return minimum(enforceName(colName));
+	}
+	
+	public double maximum(final int col){
+		return ColumnStats.of(numeric(col, "maximum"), offset, offset+rows).maximum();
+	}
+	
+	public double maximum(final String colName){
+		return maximum(enforceName(colName));
+	}
+	
+	public void sortBy(final int col){
+		throw readOnly();
+	}
+	
+	public void sortBy(final String colName){
+		throw readOnly();
+	}
+	
+	public DataFrame slice(final int from, final int to){
+		if((from < 0) || (to > rows) || (from > to)){
+			throw new DataFrameException(String.format("Invalid row range: [%s, %s)", from, to));
+		}
+		return new DataFrameView(source, offset+from, to-from, columns, names);
+	}
+	
+	public DataFrame select(final int... cols){
+		if((cols == null) || (cols.length == 0)){
+			throw new DataFrameException("Arg must not be null or empty");
+		}
+		final int[] selected = new int[cols.length];
+		final String[] selectedNames = (names != null ? new String[cols.length] : null);
+		for(int i=0; i<cols.length; ++i){
+			selected[i] = col(cols[i]);
+			if(names != null){
+				selectedNames[i] = names[cols[i]];
+			}
+		}
+		return new DataFrameView(source, offset, rows, selected, selectedNames);
+	}
+	
+	public DataFrame select(final String... colNames){
+		if((colNames == null) || (colNames.length == 0)){
+			throw new DataFrameException("Arg must not be null or empty");
+		}
+		final int[] cols = new int[colNames.length];
+		for(int i=0; i<colNames.length; ++i){
+			cols[i] = enforceName(colNames[i]);
+		}
+		return select(cols);
+	}
+	
+	public DataFrame freeze(){
+		return new ImmutableDataFrame(DataFrame.copyOf(this));
+	}
+	
+	public Object[][] asArray(){
+		final Object[][] a = new Object[columns.length][rows];
+		for(int i=0; i<columns.length; ++i){
+			final Column c = source.getColumnAt(columns[i]);
+			for(int j=0; j<rows; ++j){
+				a[i][j] = c.getValueAt(offset+j);
+			}
+		}
+		return a;
+	}
+	
+	@Override
+	public String toString(){
+		return DataFrame.copyOf(this).toString();
+	}
+	
+	public Object clone(){
+		return DataFrame.copyOf(this);
+	}
+	
+	public Iterator<Column> iterator(){
+		return new ColumnIterator(this);
+	}
+	
+	/**
+	 * Creates a new DataFrame holding copies of the viewed rows at the specified indices.
+	 * The entries are gathered column by column into typed arrays
+	 * 
+	 * @param indices The indices of the rows within this view to copy, in the order
+	 *                to copy them in. May be null
+	 * @return A DataFrame holding copies of the specified rows
+	 */
+	private DataFrame copyRows(final int[] indices){
+		if(columns.length == 0){
+			return (isNullable() ? new NullableDataFrame() : new DefaultDataFrame());
+		}
+		final int[] selected = (indices != null ? indices : new int[0]);
+		final Column[] cols = new Column[columns.length];
+		for(int i=0; i<cols.length; ++i){
+			cols[i] = RowSelection.gather(source.getColumnAt(columns[i]), selected, offset);
+		}
+		final DataFrame df = (isNullable() ? new NullableDataFrame(cols) : new DefaultDataFrame(cols));
+		if(names != null){
+			df.setColumnNames(getColumnNames());
+		}
+		return df;
+	}
+	
+	/**
+	 * Translates the specified column index of this view into the corresponding
+	 * column index of the source DataFrame
+	 * 
+	 * @param col The index of the column within this view
+	 * @return The index of the column within the source DataFrame
+	 */
+	private int col(final int col){
+		if((col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		return columns[col];
+	}
+	
+	/**
+	 * Translates the specified row index of this view into the corresponding
+	 * row index of the source DataFrame
+	 * 
+	 * @param row The index of the row within this view
+	 * @return The index of the row within the source DataFrame
+	 */
+	private int row(final int row){
+		if((row < 0) || (row >= rows)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		return offset+row;
+	}
+	
+	/**
+	 * Returns the index of the column with the specified name within this view
+	 * 
+	 * @param colName The name of the column
+	 * @return The index of the column with the specified name
+	 */
+	private int enforceName(final String colName){
+		if((colName == null) || (colName.isEmpty())){
+			throw new DataFrameException("Arg must not be null or empty");
+		}
+		if(index == null){
+			throw new DataFrameException("Column names not set");
+		}
+		final Integer col = index.get(colName);
+		if(col == null){
+			throw new DataFrameException("Invalid column name: "+colName);
+		}
+		return col;
+	}
+	
+	/**
+	 * Returns the source column of the specified numeric column of this view
+	 * 
+	 * @param col The index of the column within this view
+	 * @param operation The name of the operation to compute, used in error messages
+	 * @return The column of the source DataFrame
+	 */
+	private Column numeric(final int col, final String operation){
+		final Column c = source.getColumnAt(col(col));
+		final String type = c.memberClass().getSimpleName();
+		if(type.equals("String") || type.equals("Character") || type.equals("Boolean")
+				|| (rows == 0)){
+			
+			throw new DataFrameException("Unable to compute "+operation
+					+". Column consists of NaNs");
+		}
+		return c;
+	}
+	
+	/**
+	 * Creates an array holding all indices from 0 (zero) to n-1
+	 * 
+	 * @param n The length of the array
+	 * @return An array of consecutive column indices
+	 */
+	private static int[] identity(final int n){
+		final int[] indices = new int[n];
+		for(int i=0; i<n; ++i){
+			indices[i] = i;
+		}
+		return indices;
+	}
+	
+	/**
+	 * Creates the exception thrown by all methods which would modify this view
+	 * 
+	 * @return A DataFrameException indicating that this view is read-only
+	 */
+	private static DataFrameException readOnly(){
+		return new DataFrameException("DataFrame is read-only");
+	}
+}
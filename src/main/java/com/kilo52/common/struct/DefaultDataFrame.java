@@ -17,6 +17,7 @@
 package com.kilo52.common.struct;
 
 import java.lang.reflect.Field;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -52,6 +53,7 @@ public class DefaultDataFrame implements DataFrame {
 	private Column[] columns;
 	private Map<String, Integer> names;
 	private int next;
+	private GrowthPolicy policy = GrowthPolicy.DEFAULT;
 
 	/**
 	 * Constructs an empty <code>DefaultDataFrame</code> without any columns set.
@@ -643,6 +645,390 @@ public class DefaultDataFrame implements DataFrame {
 		}
 		((BooleanColumn)columns[col]).set(row, value);
 	}
+	
+	public byte byteAt(final int col, final int row){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof ByteColumn)){
+			throw new DataFrameException("Is not ByteColumn");
+		}
+		return ((ByteColumn)columns[col]).get(row);
+	}
+	
+	public byte byteAt(final String colName, final int row){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof ByteColumn)){
+			throw new DataFrameException("Is not ByteColumn");
+		}
+		return ((ByteColumn)columns[col]).get(row);
+	}
+	
+	public void setByteAt(final int col, final int row, final byte value){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof ByteColumn)){
+			throw new DataFrameException("Is not ByteColumn");
+		}
+		((ByteColumn)columns[col]).set(row, value);
+	}
+	
+	public void setByteAt(final String colName, final int row, final byte value){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof ByteColumn)){
+			throw new DataFrameException("Is not ByteColumn");
+		}
+		((ByteColumn)columns[col]).set(row, value);
+	}
+	
+	public short shortAt(final int col, final int row){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof ShortColumn)){
+			throw new DataFrameException("Is not ShortColumn");
+		}
+		return ((ShortColumn)columns[col]).get(row);
+	}
+	
+	public short shortAt(final String colName, final int row){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof ShortColumn)){
+			throw new DataFrameException("Is not ShortColumn");
+		}
+		return ((ShortColumn)columns[col]).get(row);
+	}
+	
+	public void setShortAt(final int col, final int row, final short value){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof ShortColumn)){
+			throw new DataFrameException("Is not ShortColumn");
+		}
+		((ShortColumn)columns[col]).set(row, value);
+	}
+	
+	public void setShortAt(final String colName, final int row, final short value){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof ShortColumn)){
+			throw new DataFrameException("Is not ShortColumn");
+		}
+		((ShortColumn)columns[col]).set(row, value);
+	}
+	
+	public int intAt(final int col, final int row){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof IntColumn)){
+			throw new DataFrameException("Is not IntColumn");
+		}
+		return ((IntColumn)columns[col]).get(row);
+	}
+	
+	public int intAt(final String colName, final int row){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof IntColumn)){
+			throw new DataFrameException("Is not IntColumn");
+		}
+		return ((IntColumn)columns[col]).get(row);
+	}
+	
+	public void setIntAt(final int col, final int row, final int value){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof IntColumn)){
+			throw new DataFrameException("Is not IntColumn");
+		}
+		((IntColumn)columns[col]).set(row, value);
+	}
+	
+	public void setIntAt(final String colName, final int row, final int value){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof IntColumn)){
+			throw new DataFrameException("Is not IntColumn");
+		}
+		((IntColumn)columns[col]).set(row, value);
+	}
+	
+	public long longAt(final int col, final int row){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof LongColumn)){
+			throw new DataFrameException("Is not LongColumn");
+		}
+		return ((LongColumn)columns[col]).get(row);
+	}
+	
+	public long longAt(final String colName, final int row){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof LongColumn)){
+			throw new DataFrameException("Is not LongColumn");
+		}
+		return ((LongColumn)columns[col]).get(row);
+	}
+	
+	public void setLongAt(final int col, final int row, final long value){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof LongColumn)){
+			throw new DataFrameException("Is not LongColumn");
+		}
+		((LongColumn)columns[col]).set(row, value);
+	}
+	
+	public void setLongAt(final String colName, final int row, final long value){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof LongColumn)){
+			throw new DataFrameException("Is not LongColumn");
+		}
+		((LongColumn)columns[col]).set(row, value);
+	}
+	
+	public float floatAt(final int col, final int row){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof FloatColumn)){
+			throw new DataFrameException("Is not FloatColumn");
+		}
+		return ((FloatColumn)columns[col]).get(row);
+	}
+	
+	public float floatAt(final String colName, final int row){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof FloatColumn)){
+			throw new DataFrameException("Is not FloatColumn");
+		}
+		return ((FloatColumn)columns[col]).get(row);
+	}
+	
+	public void setFloatAt(final int col, final int row, final float value){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof FloatColumn)){
+			throw new DataFrameException("Is not FloatColumn");
+		}
+		((FloatColumn)columns[col]).set(row, value);
+	}
+	
+	public void setFloatAt(final String colName, final int row, final float value){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof FloatColumn)){
+			throw new DataFrameException("Is not FloatColumn");
+		}
+		((FloatColumn)columns[col]).set(row, value);
+	}
+	
+	public double doubleAt(final int col, final int row){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof DoubleColumn)){
+			throw new DataFrameException("Is not DoubleColumn");
+		}
+		return ((DoubleColumn)columns[col]).get(row);
+	}
+	
+	public double doubleAt(final String colName, final int row){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof DoubleColumn)){
+			throw new DataFrameException("Is not DoubleColumn");
+		}
+		return ((DoubleColumn)columns[col]).get(row);
+	}
+	
+	public void setDoubleAt(final int col, final int row, final double value){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof DoubleColumn)){
+			throw new DataFrameException("Is not DoubleColumn");
+		}
+		((DoubleColumn)columns[col]).set(row, value);
+	}
+	
+	public void setDoubleAt(final String colName, final int row, final double value){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof DoubleColumn)){
+			throw new DataFrameException("Is not DoubleColumn");
+		}
+		((DoubleColumn)columns[col]).set(row, value);
+	}
+	
+	public char charAt(final int col, final int row){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof CharColumn)){
+			throw new DataFrameException("Is not CharColumn");
+		}
+		return ((CharColumn)columns[col]).get(row);
+	}
+	
+	public char charAt(final String colName, final int row){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof CharColumn)){
+			throw new DataFrameException("Is not CharColumn");
+		}
+		return ((CharColumn)columns[col]).get(row);
+	}
+	
+	public void setCharAt(final int col, final int row, final char value){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof CharColumn)){
+			throw new DataFrameException("Is not CharColumn");
+		}
+		((CharColumn)columns[col]).set(row, value);
+	}
+	
+	public void setCharAt(final String colName, final int row, final char value){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof CharColumn)){
+			throw new DataFrameException("Is not CharColumn");
+		}
+		((CharColumn)columns[col]).set(row, value);
+	}
+	
+	public boolean booleanAt(final int col, final int row){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof BooleanColumn)){
+			throw new DataFrameException("Is not BooleanColumn");
+		}
+		return ((BooleanColumn)columns[col]).get(row);
+	}
+	
+	public boolean booleanAt(final String colName, final int row){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof BooleanColumn)){
+			throw new DataFrameException("Is not BooleanColumn");
+		}
+		return ((BooleanColumn)columns[col]).get(row);
+	}
+	
+	public void setBooleanAt(final int col, final int row, final boolean value){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof BooleanColumn)){
+			throw new DataFrameException("Is not BooleanColumn");
+		}
+		((BooleanColumn)columns[col]).set(row, value);
+	}
+	
+	public void setBooleanAt(final String colName, final int row, final boolean value){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof BooleanColumn)){
+			throw new DataFrameException("Is not BooleanColumn");
+		}
+		((BooleanColumn)columns[col]).set(row, value);
+	}
 
 	public String[] getColumnNames(){
 		if(names != null){
@@ -792,7 +1178,7 @@ public class DefaultDataFrame implements DataFrame {
 	public void addRow(final Object[] row){
 		enforceTypes(row);
 		if(next >= columns[0].capacity()){
-			resize();
+			resize(next+1);
 		}
 		for(int i=0; i<columns.length; ++i){
 			columns[i].setValueAt(next, row[i]);
@@ -806,7 +1192,7 @@ public class DefaultDataFrame implements DataFrame {
 					+ "to use row annotation feature");
 		}
 		if(next >= columns[0].capacity()){
-			resize();
+			resize(next+1);
 		}
 		final Object[] items = itemsByAnnotations(row);
 		for(int i=0; i<items.length; ++i){
@@ -814,6 +1200,27 @@ public class DefaultDataFrame implements DataFrame {
 		}
 		++next;
 	}
+	
+	public void addRows(final int rows, final Column... cols){
+		if(cols == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		if(rows < 0){
+			throw new DataFrameException("Invalid number of rows: "+rows);
+		}
+		appendAll(cols, rows);
+	}
+	
+	public void addRows(final DataFrame df){
+		if(df == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		final Column[] cols = new Column[df.columns()];
+		for(int i=0; i<cols.length; ++i){
+			cols[i] = df.getColumnAt(i);
+		}
+		appendAll(cols, df.rows());
+	}
 
 	public void insertRowAt(final int index, final Object[] row){
 		if((index > next) || (index < 0)){
@@ -825,7 +1232,7 @@ public class DefaultDataFrame implements DataFrame {
 		}
 		enforceTypes(row);
 		if(next >= columns[0].capacity()){
-			resize();
+			resize(next+1);
 		}
 		for(int i=0; i<columns.length; ++i){
 			columns[i].insertValueAt(index, next, row[i]);
@@ -847,7 +1254,7 @@ public class DefaultDataFrame implements DataFrame {
 		}
 		final Object[] items = itemsByAnnotations(row);
 		if(next >= columns[0].capacity()){
-			resize();
+			resize(next+1);
 		}
 		for(int i=0; i<items.length; ++i){
 			columns[i].insertValueAt(index, next, items[i]);
@@ -863,9 +1270,7 @@ public class DefaultDataFrame implements DataFrame {
 			col.remove(index, index+1, next);
 		}
 		--next;
-		if((next*3) < columns[0].capacity()){
-			flushAll(4);
-		}
+		shrink();
 	}
 
 	public void removeRows(final int from, final int to){
@@ -880,9 +1285,7 @@ public class DefaultDataFrame implements DataFrame {
 			col.remove(from, to, next);
 		}
 		next-=(to-from);
-		if((next*3) < columns[0].capacity()){
-			flushAll(4);
-		}
+		shrink();
 	}
 
 	public void addColumn(final Column col){
@@ -1113,6 +1516,25 @@ public class DefaultDataFrame implements DataFrame {
 			flushAll(0);
 		}
 	}
+	
+	public void ensureCapacity(final int rows){
+		if((next != -1) && (rows > columns[0].capacity())){
+			for(final Column col : columns){
+				col.matchLength(rows);
+			}
+		}
+	}
+	
+	public GrowthPolicy getGrowthPolicy(){
+		return (policy != null ? policy : GrowthPolicy.DEFAULT);
+	}
+	
+	public void setGrowthPolicy(final GrowthPolicy policy){
+		if(policy == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		this.policy = policy;
+	}
 
 	public Column getColumnAt(final int col){
 		if((next == -1) || (col < 0) || (col >= columns.length)){
@@ -1151,6 +1573,9 @@ public class DefaultDataFrame implements DataFrame {
 		}
 		final Column c = columns[col];
 		final Pattern p = Pattern.compile(regex);//cache
+		if(c instanceof DictionaryColumn){
+			return StringDictionary.indexOf((DictionaryColumn)c, p, 0, next);
+		}
 		for(int i=0; i<next; ++i){
 			if(p.matcher(String.valueOf(c.getValueAt(i))).matches()){
 				return i;
@@ -1175,6 +1600,9 @@ public class DefaultDataFrame implements DataFrame {
 		}
 		final Column c = columns[col];
 		final Pattern p = Pattern.compile(regex);//cache
+		if(c instanceof DictionaryColumn){
+			return StringDictionary.indexOf((DictionaryColumn)c, p, startFrom, next);
+		}
 		for(int i=startFrom; i<next; ++i){
 			if(p.matcher(String.valueOf(c.getValueAt(i))).matches()){
 				return i;
@@ -1196,6 +1624,9 @@ public class DefaultDataFrame implements DataFrame {
 		}
 		final Column c = columns[col];
 		final Pattern p = Pattern.compile(regex);//cache
+		if(c instanceof DictionaryColumn){
+			return StringDictionary.indexOfAll((DictionaryColumn)c, p, next);
+		}
 		int[] res = new int[16];
 		int hits = 0;
 		for(int i=0; i<next; ++i){
@@ -1231,28 +1662,98 @@ public class DefaultDataFrame implements DataFrame {
 		if((regex == null) || (regex.isEmpty())){
 			throw new DataFrameException("Arg must not be null or empty");
 		}
-		final int[] indices = indexOfAll(col, regex);
-		final DataFrame df = new DefaultDataFrame();
-		try{
-			for(final Column c : columns){
-				df.addColumn(c.getClass().newInstance());
-			}
-		}catch(InstantiationException | IllegalAccessException ex){
-			throw new DataFrameException("Unable to instantiate columns");
+		return copyRows(indexOfAll(col, regex));
+	}
+	
+	public DataFrame filter(final String colName, final String regex){
+		return filter(enforceName(colName), regex);
+	}
+	
+	public int indexOf(final int col, final ColumnPredicate predicate){
+		return indexOf(col, 0, predicate);
+	}
+	
+	public int indexOf(final String colName, final ColumnPredicate predicate){
+		return indexOf(enforceName(colName), 0, predicate);
+	}
+	
+	public int indexOf(final int col, final int startFrom, final ColumnPredicate predicate){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
 		}
-		if(indices != null){
-			for(int i=0; i<indices.length; ++i){
-				df.addRow(getRowAt(indices[i]));
-			}
+		if(predicate == null){
+			throw new DataFrameException("Arg must not be null");
 		}
-		if(names != null){
-			df.setColumnNames(getColumnNames());
+		if((startFrom < 0) || (startFrom >= next)){
+			throw new DataFrameException("Invalid start argument: "+startFrom);
 		}
-		return df;
+		return predicate.indexOf(columns[col], startFrom, next);
 	}
 	
-	public DataFrame filter(final String colName, final String regex){
-		return filter(enforceName(colName), regex);
+	public int indexOf(final String colName, final int startFrom, final ColumnPredicate predicate){
+		return indexOf(enforceName(colName), startFrom, predicate);
+	}
+	
+	public int[] indexOfAll(final int col, final ColumnPredicate predicate){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if(predicate == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		return predicate.indexOfAll(columns[col], 0, next);
+	}
+	
+	public int[] indexOfAll(final String colName, final ColumnPredicate predicate){
+		return indexOfAll(enforceName(colName), predicate);
+	}
+	
+	public DataFrame filter(final int col, final ColumnPredicate predicate){
+		return filter(where(col, predicate));
+	}
+	
+	public DataFrame filter(final String colName, final ColumnPredicate predicate){
+		return filter(enforceName(colName), predicate);
+	}
+	
+	public RowSelection where(final int col, final ColumnPredicate predicate){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if(predicate == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		return new RowSelection(predicate.evaluate(columns[col], 0, next), next);
+	}
+	
+	public RowSelection where(final String colName, final ColumnPredicate predicate){
+		return where(enforceName(colName), predicate);
+	}
+	
+	public DataFrame filter(final RowSelection selection){
+		if(selection == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		if(selection.rows() != rows()){
+			throw new DataFrameException("Selection does not match the number of rows: "
+					+ selection.rows());
+		}
+		return copyRows(selection.indices());
+	}
+	
+	public GroupBy groupBy(final int... cols){
+		return new GroupBy(this, cols);
+	}
+	
+	public GroupBy groupBy(final String... colNames){
+		if((colNames == null) || (colNames.length == 0)){
+			throw new DataFrameException("Arg must not be null or empty");
+		}
+		final int[] cols = new int[colNames.length];
+		for(int i=0; i<cols.length; ++i){
+			cols[i] = enforceName(colNames[i]);
+		}
+		return groupBy(cols);
 	}
 	
 	public double average(final int col){
@@ -1263,48 +1764,7 @@ public class DefaultDataFrame implements DataFrame {
 		if(isNaN(c) || (next == 0)){
 			throw new DataFrameException("Unable to compute average. Column consists of NaNs");
 		}
-		double avg = 0;
-		switch(c.memberClass().getSimpleName()){
-		case "Float":
-			final FloatColumn columnFloat = ((FloatColumn)c);
-			for(int i=0; i<next; ++i){
-				avg+=columnFloat.get(i);
-			}
-			break;
-		case "Double":
-			final DoubleColumn columnDouble = ((DoubleColumn)c);
-			for(int i=0; i<next; ++i){
-				avg+=columnDouble.get(i);
-			}
-			break;
-		case "Byte":
-			final ByteColumn columnByte = ((ByteColumn)c);
-			for(int i=0; i<next; ++i){
-				avg+=columnByte.get(i);
-			}
-			break;
-		case "Short":
-			final ShortColumn columnShort = ((ShortColumn)c);
-			for(int i=0; i<next; ++i){
-				avg+=columnShort.get(i);
-			}
-			break;
-		case "Integer":
-			final IntColumn columnInt = ((IntColumn)c);
-			for(int i=0; i<next; ++i){
-				avg+=columnInt.get(i);
-			}
-			break;
-		case "Long":
-			final LongColumn columnLong = ((LongColumn)c);
-			for(int i=0; i<next; ++i){
-				avg+=columnLong.get(i);
-			}
-			break;
-		default:
-			throw new DataFrameException("Unrecognized column type");
-		}
-		return (avg/next);
+		return ColumnStats.of(c, 0, next).average();
 	}
 	
 	public double average(final String colName){
@@ -1319,72 +1779,7 @@ public class DefaultDataFrame implements DataFrame {
 		if(isNaN(c) || (next == 0)){
 			throw new DataFrameException("Unable to compute minimum. Column consists of NaNs");
 		}
-		Double min = 0.0;
-		switch(c.memberClass().getSimpleName()){
-		case "Float":
-			float minFloat = Float.MAX_VALUE;
-			final FloatColumn columnFloat = ((FloatColumn)c);
-			for(int i=0; i<next; ++i){
-				if(columnFloat.get(i)<minFloat){
-					minFloat = columnFloat.get(i);
-				}
-			}
-			min = (double)minFloat;
-			break;
-		case "Double":
-			double minDouble = Double.MAX_VALUE;
-			final DoubleColumn columnDouble = ((DoubleColumn)c);
-			for(int i=0; i<next; ++i){
-				if(columnDouble.get(i)<minDouble){
-					minDouble = columnDouble.get(i);
-				}
-			}
-			min = minDouble;
-			break;
-		case "Byte":
-			byte minByte = Byte.MAX_VALUE;
-			final ByteColumn columnByte = ((ByteColumn)c);
-			for(int i=0; i<next; ++i){
-				if(columnByte.get(i)<minByte){
-					minByte = columnByte.get(i);
-				}
-			}
-			min = (double)minByte;
-			break;
-		case "Short":
-			short minShort = Short.MAX_VALUE;
-			final ShortColumn columnShort = ((ShortColumn)c);
-			for(int i=0; i<next; ++i){
-				if(columnShort.get(i)<minShort){
-					minShort = columnShort.get(i);
-				}
-			}
-			min = (double)minShort;
-			break;
-		case "Integer":
-			int minInt = Integer.MAX_VALUE;
-			final IntColumn columnInt = ((IntColumn)c);
-			for(int i=0; i<next; ++i){
-				if(columnInt.get(i)<minInt){
-					minInt = columnInt.get(i);
-				}
-			}
-			min = (double)minInt;
-			break;
-		case "Long":
-			long minLong = Long.MAX_VALUE;
-			final LongColumn columnLong = ((LongColumn)c);
-			for(int i=0; i<next; ++i){
-				if(columnLong.get(i)<minLong){
-					minLong = columnLong.get(i);
-				}
-			}
-			min = (double)minLong;
-			break;
-		default:
-			throw new DataFrameException("Unrecognized column type");
-		}
-		return min;
+		return ColumnStats.of(c, 0, next).minimum();
 	}
 	
 	public double minimum(final String colName){
@@ -1399,72 +1794,7 @@ public class DefaultDataFrame implements DataFrame {
 		if(isNaN(c) || (next == 0)){
 			throw new DataFrameException("Unable to compute maximum. Column consists of NaNs");
 		}
-		Double max = 0.0;
-		switch(c.memberClass().getSimpleName()){
-		case "Float":
-			float maxFloat = Float.MIN_VALUE;
-			final FloatColumn columnFloat = ((FloatColumn)c);
-			for(int i=0; i<next; ++i){
-				if(columnFloat.get(i)>maxFloat){
-					maxFloat = columnFloat.get(i);
-				}
-			}
-			max = (double)maxFloat;
-			break;
-		case "Double":
-			double maxDouble = Double.MIN_VALUE;
-			final DoubleColumn columnDouble = ((DoubleColumn)c);
-			for(int i=0; i<next; ++i){
-				if(columnDouble.get(i)>maxDouble){
-					maxDouble = columnDouble.get(i);
-				}
-			}
-			max = maxDouble;
-			break;
-		case "Byte":
-			byte maxByte = Byte.MIN_VALUE;
-			final ByteColumn columnByte = ((ByteColumn)c);
-			for(int i=0; i<next; ++i){
-				if(columnByte.get(i)>maxByte){
-					maxByte = columnByte.get(i);
-				}
-			}
-			max = (double)maxByte;
-			break;
-		case "Short":
-			short maxShort = Short.MIN_VALUE;
-			final ShortColumn columnShort = ((ShortColumn)c);
-			for(int i=0; i<next; ++i){
-				if(columnShort.get(i)>maxShort){
-					maxShort = columnShort.get(i);
-				}
-			}
-			max = (double)maxShort;
-			break;
-		case "Integer":
-			int maxInt = Integer.MIN_VALUE;
-			final IntColumn columnInt = ((IntColumn)c);
-			for(int i=0; i<next; ++i){
-				if(columnInt.get(i)>maxInt){
-					maxInt = columnInt.get(i);
-				}
-			}
-			max = (double)maxInt;
-			break;
-		case "Long":
-			long maxLong = Long.MIN_VALUE;
-			final LongColumn columnLong = ((LongColumn)c);
-			for(int i=0; i<next; ++i){
-				if(columnLong.get(i)>maxLong){
-					maxLong = columnLong.get(i);
-				}
-			}
-			max = (double)maxLong;
-			break;
-		default:
-			throw new DataFrameException("Unrecognized column type");
-		}
-		return max;
+		return ColumnStats.of(c, 0, next).maximum();
 	}
 	
 	public double maximum(final String colName){
@@ -1483,6 +1813,22 @@ public class DefaultDataFrame implements DataFrame {
 		DefaultDataFrame.QuickSort.sort(columns[col], columns, next);
 	}
 	
+	public DataFrame slice(final int from, final int to){
+		return new DataFrameView(this).slice(from, to);
+	}
+	
+	public DataFrame select(final int... cols){
+		return new DataFrameView(this).select(cols);
+	}
+	
+	public DataFrame select(final String... colNames){
+		return new DataFrameView(this).select(colNames);
+	}
+	
+	public DataFrame freeze(){
+		return new ImmutableDataFrame(DataFrame.copyOf(this));
+	}
+	
 	public Object[][] asArray(){
 		if(next == -1){
 			return null;
@@ -1577,12 +1923,75 @@ public class DefaultDataFrame implements DataFrame {
 	}
 	
 	/**
-	 * Resizes all columns sequentially
+	 * Resizes all columns sequentially according to the growth policy of this DataFrame
+	 * 
+	 * @param rows The number of rows the resized columns must be able to hold
+	 * @throws DataFrameException If the growth policy does not grow the capacity
+	 *                            to at least the specified number of rows
 	 */
-	private void resize(){
+	private void resize(final int rows){
+		final int capacity = columns[0].capacity();
+		final int length = getGrowthPolicy().grow(capacity, rows);
+		if((length < rows) || (length <= capacity)){
+			throw new DataFrameException("Invalid capacity returned by growth policy: "+length);
+		}
 		for(final Column col : columns){
-			col.resize();
+			col.matchLength(length);
+		}
+	}
+	
+	/**
+	 * Shrinks all columns sequentially if the growth policy of this DataFrame
+	 * demands it after rows have been removed
+	 * 
+	 * @throws DataFrameException If the growth policy shrinks the capacity
+	 *                            below the number of rows
+	 */
+	private void shrink(){
+		final int length = getGrowthPolicy().shrink(columns[0].capacity(), next);
+		if(length < next){
+			throw new DataFrameException("Invalid capacity returned by growth policy: "+length);
+		}
+		if(length != columns[0].capacity()){
+			flushAll(length-next);
+		}
+	}
+	
+	/**
+	 * Appends the first <code>rows</code> entries of each of the provided columns
+	 * to the corresponding column in this DataFrame
+	 * 
+	 * @param cols The columns holding the entries to append
+	 * @param rows The number of entries to append from each column
+	 */
+	private void appendAll(final Column[] cols, final int rows){
+		if((next == -1) || (cols.length != columns.length)){
+			throw new DataFrameException("Length does not match number of columns: "+cols.length);
+		}
+		for(int i=0; i<columns.length; ++i){
+			if(cols[i] == null){
+				throw new DataFrameException("Arg must not be null");
+			}
+			if(cols[i] instanceof NullableColumn){
+				throw new DataFrameException("DefaultDataFrame cannot use NullableColumn instance");
+			}
+			if(cols[i].capacity() < rows){
+				throw new DataFrameException("Invalid column length. Must be of length "+rows);
+			}
+			if(!columns[i].memberClass().equals(cols[i].memberClass())){
+				throw new DataFrameException(String.format(
+						"Type missmatch at column %s. Expected %s but found %s",
+						i, columns[i].memberClass().getSimpleName(),
+						cols[i].memberClass().getSimpleName()));
+			}
 		}
+		if(next+rows > columns[0].capacity()){
+			resize(next+rows);
+		}
+		for(int i=0; i<columns.length; ++i){
+			columns[i].copyFrom(cols[i], 0, next, rows);
+		}
+		next += rows;
 	}
 	
 	/**
@@ -1608,6 +2017,30 @@ public class DefaultDataFrame implements DataFrame {
 		}
 	}
 	
+	/**
+	 * Creates a new DataFrame holding copies of the rows at the specified indices.
+	 * The entries are gathered column by column into typed arrays
+	 * 
+	 * @param indices The indices of the rows to copy, in the order to copy them in.
+	 *                May be null
+	 * @return A DataFrame holding copies of the specified rows
+	 */
+	private DataFrame copyRows(final int[] indices){
+		if(next == -1){
+			return new DefaultDataFrame();
+		}
+		final int[] selected = (indices != null ? indices : new int[0]);
+		final Column[] cols = new Column[columns.length];
+		for(int i=0; i<cols.length; ++i){
+			cols[i] = RowSelection.gather(columns[i], selected, 0);
+		}
+		final DataFrame df = new DefaultDataFrame(cols);
+		if(names != null){
+			df.setColumnNames(getColumnNames());
+		}
+		return df;
+	}
+	
 	/**
 	 * Enforces that all requirements are met in order to access a column by its name.
 	 * Throws an exception in the case of failure or returns the index of the column in
@@ -1753,6 +2186,21 @@ public class DefaultDataFrame implements DataFrame {
 	private static class QuickSort {
 
 		private static void sort(Column col, Column[] cols, int next){
+			if((col instanceof OffHeapColumn) || (col instanceof ChunkedColumn)){
+				//sort by a heap copy of the key which is swapped along with all columns
+				final Column key = (col instanceof OffHeapColumn
+						? ((OffHeapColumn)col).toHeap() : ((ChunkedColumn)col).toHeap());
+				final Column[] all = Arrays.copyOf(cols, cols.length+1);
+				all[cols.length] = key;
+				sort(key, all, next);
+				return;
+			}
+			if(col instanceof DictionaryColumn){
+				//sort by codes once they follow the order of their values
+				((DictionaryColumn)col).sortDictionary();
+				sort(((DictionaryColumn)col).asCodeArray(), cols, 0, next-1);
+				return;
+			}
 			switch(col.memberClass().getSimpleName()){
 			case "Byte":
 				sort(((ByteColumn)col).asArray(), cols, 0, next-1);
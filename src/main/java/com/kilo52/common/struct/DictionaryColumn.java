@@ -0,0 +1,92 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kilo52.common.struct;
+
+/**
+ * Interface implemented by all columns which store their entries as integer codes
+ * referring to a dictionary of distinct values.<br>
+ * Code 0 always represents null. All other codes refer to a distinct value of
+ * the dictionary and lie within the range [1, cardinality]. Values are never 
+ * removed from the dictionary, even if no entry refers to them anymore.
+ * 
+ * <p>DataFrame operations like <code>indexOf()</code>, <code>filter()</code> and
+ * <code>sortBy()</code> operate on the codes of such columns. Regular expressions
+ * are only evaluated once per distinct value and comparisons are done on integers.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ * 
+ */
+public interface DictionaryColumn {
+	
+	/**
+	 * Gets the code of the entry at the specified index
+	 * 
+	 * @param index The index of the entry
+	 * @return The code of the entry at the specified index. Returns 0 for null
+	 */
+	public int getCode(int index);
+	
+	/**
+	 * Returns a reference to the internal array holding the codes of all entries
+	 * 
+	 * @return The internal int array
+	 */
+	public int[] asCodeArray();
+	
+	/**
+	 * Returns the number of distinct values in the dictionary of this column
+	 * 
+	 * @return The number of distinct values
+	 */
+	public int cardinality();
+	
+	/**
+	 * Returns the value the specified code refers to
+	 * 
+	 * @param code The code to get the value for
+	 * @return The value of the specified code. Returns null for code 0
+	 * @throws ArrayIndexOutOfBoundsException If the code is not within the dictionary
+	 */
+	public String getDictionaryValue(int code);
+	
+	/**
+	 * Returns the code of the specified value without adding it to the dictionary
+	 * 
+	 * @param value The value to get the code for
+	 * @return The code of the specified value, or -1 if the value is not
+	 *         in the dictionary
+	 */
+	public int getDictionaryCode(String value);
+	
+	/**
+	 * Returns the code of the specified value, adding the value to the dictionary 
+	 * if necessary
+	 * 
+	 * @param value The value to get the code for
+	 * @return The code of the specified value
+	 */
+	public int encode(String value);
+	
+	/**
+	 * Reorders the dictionary of this column so that the order of all codes matches
+	 * the lexicographic order of their values. All entries are recoded accordingly
+	 */
+	public void sortDictionary();
+
+}
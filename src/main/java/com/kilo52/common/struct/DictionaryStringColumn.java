@@ -0,0 +1,249 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kilo52.common.struct;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * StringColumn which stores its entries as codes referring to a dictionary
+ * of distinct strings.<br>
+ * Each distinct string is only held once, regardless of how many entries hold it.
+ * This makes this column suitable for strings with few distinct values.<br>
+ * Since the entries are not held by a String array, {@link #asArray()} returns
+ * a copy of all entries.<br>
+ * This implementation <b>DOES NOT</b> support null values or empty strings.
+ * 
+ * @author Phil Gaiser
+ * @see StringColumn
+ * @see DictionaryColumn
+ * @since 2.1.0
+ *
+ */
+public class DictionaryStringColumn extends StringColumn implements DictionaryColumn {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private int[] codes;
+	private StringDictionary dictionary;
+	
+	/**
+	 * Constructs an empty <code>DictionaryStringColumn</code>.
+	 */
+	public DictionaryStringColumn(){
+		this(0);
+	}
+	
+	/**
+	 * Constructs a new <code>DictionaryStringColumn</code> with the specified capacity.
+	 * All entries are initialized to null
+	 * 
+	 * @param capacity The capacity of the column to be constructed
+	 */
+	public DictionaryStringColumn(final int capacity){
+		super(new String[0]);
+		if(capacity < 0){
+			throw new IllegalArgumentException("Capacity must not be negative");
+		}
+		this.codes = new int[capacity];
+		this.dictionary = new StringDictionary();
+	}
+	
+	/**
+	 * Constructs a new <code>DictionaryStringColumn</code> composed of the content of 
+	 * the specified string array
+	 * 
+	 * @param column The entries of the column to be constructed. Must not be null
+	 */
+	public DictionaryStringColumn(final String[] column){
+		this(0);
+		if(column == null){
+			throw new IllegalArgumentException("Arg must not be null");
+		}
+		this.codes = new int[column.length];
+		for(int i=0; i<column.length; ++i){
+			set(i, column[i]);
+		}
+	}
+	
+	/**
+	 * Constructs a new <code>DictionaryStringColumn</code> composed of the content of 
+	 * the specified list
+	 * 
+	 * @param list The list representing the entries of the column to be constructed
+	 */
+	public DictionaryStringColumn(final List<String> list){
+		this(0);
+		if((list == null) || (list.isEmpty())){
+			throw new IllegalArgumentException("Arg must not be null or empty");
+		}
+		this.codes = new int[list.size()];
+		int i=0;
+		for(final String value : list){
+			set(i++, value);
+		}
+	}
+	
+	/**
+	 * Gets the entry of this column at the specified index
+	 * 
+	 * @param index The index of the entry to get
+	 * @return The string value at the specified index
+	 */
+	@Override
+	public String get(final int index){
+		return dictionary.valueOf(codes[index]);
+	}
+	
+	/**
+	 * Sets the entry of this column at the specified index
+	 * to the given value
+	 * 
+	 * @param index The index of the entry to set
+	 * @param value The string value to set the entry to
+	 */
+	@Override
+	public void set(final int index, final String value){
+		codes[index] = dictionary.encode((((value == null) || (value.isEmpty())) ? "n/a" : value));
+	}
+	
+	/**
+	 * Returns a copy of all entries of this column. Changes to the returned 
+	 * array are not reflected by this column
+	 * 
+	 * @return A String array holding all entries of this column
+	 */
+	@Override
+	public String[] asArray(){
+		final String[] array = new String[codes.length];
+		for(int i=0; i<codes.length; ++i){
+			array[i] = dictionary.valueOf(codes[i]);
+		}
+		return array;
+	}
+	
+	@Override
+	public int getCode(final int index){
+		return codes[index];
+	}
+	
+	@Override
+	public int[] asCodeArray(){
+		return this.codes;
+	}
+	
+	@Override
+	public int cardinality(){
+		return dictionary.cardinality();
+	}
+	
+	@Override
+	public String getDictionaryValue(final int code){
+		return dictionary.valueOf(code);
+	}
+	
+	@Override
+	public int getDictionaryCode(final String value){
+		return dictionary.codeOf(value);
+	}
+	
+	@Override
+	public int encode(final String value){
+		return dictionary.encode(value);
+	}
+	
+	@Override
+	public void sortDictionary(){
+		final int[] recode = dictionary.sort();
+		if(recode != null){
+			for(int i=0; i<codes.length; ++i){
+				codes[i] = recode[codes[i]];
+			}
+		}
+	}
+	
+	@Override
+	public Object clone(){
+		final DictionaryStringColumn clone = new DictionaryStringColumn();
+		clone.codes = Arrays.copyOf(codes, codes.length);
+		clone.dictionary = dictionary.clone();
+		return clone;
+	}
+	
+	@Override
+	public Object getValueAt(int index){
+		return get(index);
+	}
+	
+	@Override
+	public void setValueAt(int index, Object value){
+		set(index, (String)value);
+	}
+	
+	@Override
+	protected int capacity(){
+		return codes.length;
+	}
+	
+	@Override
+	protected void insertValueAt(int index, int next, Object value){
+		System.arraycopy(codes, index, codes, index+1, next-index);
+		set(index, (String)value);
+	}
+	
+	@Override
+	protected void resize(){
+		this.codes = Arrays.copyOf(codes, (codes.length > 0 ? codes.length*2 : 2));
+	}
+	
+	@Override
+	protected void remove(int from, int to, int next){
+		System.arraycopy(codes, to, codes, from, next-to);
+		Arrays.fill(codes, next-(to-from), next, 0);
+	}
+	
+	@Override
+	protected void copyFrom(Column source, int from, int index, int length){
+		if(source instanceof DictionaryColumn){
+			//add each distinct value of the source once
+			final DictionaryColumn column = (DictionaryColumn)source;
+			final int[] recode = new int[column.cardinality()+1];
+			Arrays.fill(recode, -1);
+			recode[0] = 0;
+			for(int i=0; i<length; ++i){
+				final int code = column.getCode(from+i);
+				if(recode[code] < 0){
+					recode[code] = dictionary.encode(column.getDictionaryValue(code));
+				}
+				codes[index+i] = recode[code];
+			}
+		}else{
+			final StringColumn column = (StringColumn)source;
+			for(int i=0; i<length; ++i){
+				set(index+i, column.get(from+i));
+			}
+		}
+	}
+	
+	@Override
+	protected void matchLength(int length){
+		if(length != codes.length){
+			this.codes = Arrays.copyOf(codes, length);
+		}
+	}
+}
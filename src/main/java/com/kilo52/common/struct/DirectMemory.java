@@ -0,0 +1,184 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kilo52.common.struct;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Utility methods for allocating and releasing the direct buffers used by 
+ * off-heap columns.<br>
+ * All buffers allocated by this class use little-endian byte order. Their position
+ * is always zero as all entries are accessed by absolute indices.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ * 
+ */
+final class DirectMemory {
+	
+	/** Used to zero out ranges of memory in bulk **/
+	private static final byte[] ZEROS = new byte[4096];
+	
+	/** The Unsafe instance, or null if it is not accessible **/
+	private static final Object UNSAFE;
+	
+	/** Unsafe.invokeCleaner(ByteBuffer), or null if not available (Java 8) **/
+	private static final Method INVOKE_CLEANER;
+	
+	static{
+		Object unsafe = null;
+		Method invokeCleaner = null;
+		try{
+			final Class<?> c = Class.forName("sun.misc.Unsafe");
+			invokeCleaner = c.getMethod("invokeCleaner", ByteBuffer.class);
+			final Field field = c.getDeclaredField("theUnsafe");
+			field.setAccessible(true);
+			unsafe = field.get(null);
+		}catch(Exception ex){
+			unsafe = null;
+			invokeCleaner = null;
+		}
+		UNSAFE = unsafe;
+		INVOKE_CLEANER = invokeCleaner;
+	}
+	
+	private DirectMemory(){ }
+	
+	/**
+	 * Allocates a new direct buffer which can hold the specified number of entries.
+	 * All bytes are initialized to zero
+	 * 
+	 * @param capacity The number of entries the buffer must hold
+	 * @param width The number of bytes of each entry
+	 * @return A direct ByteBuffer with little-endian byte order
+	 * @throws DataFrameException If the number of bytes exceeds the maximum size
+	 *                            of a ByteBuffer
+	 */
+	static ByteBuffer allocate(final int capacity, final int width){
+		if(((long)capacity*width) > Integer.MAX_VALUE){
+			throw new DataFrameException("Column capacity too large: "+capacity);
+		}
+		return ByteBuffer.allocateDirect(capacity*width).order(ByteOrder.LITTLE_ENDIAN);
+	}
+	
+	/**
+	 * Allocates a new direct buffer with the specified capacity and copies as many
+	 * entries from the given buffer as fit into it
+	 * 
+	 * @param memory The buffer to copy
+	 * @param capacity The number of entries the new buffer must hold
+	 * @param width The number of bytes of each entry
+	 * @return A direct ByteBuffer holding a copy of the given buffer
+	 */
+	static ByteBuffer copy(final ByteBuffer memory, final int capacity, final int width){
+		final ByteBuffer copy = allocate(capacity, width);
+		final ByteBuffer source = memory.duplicate();
+		source.clear();
+		source.limit(Math.min(source.capacity(), copy.capacity()));
+		copy.duplicate().put(source);
+		return copy;
+	}
+	
+	/**
+	 * Computes the capacity a column should be resized to when it is full
+	 * 
+	 * @param capacity The current capacity of the column
+	 * @param width The number of bytes of each entry
+	 * @return The new capacity of the column
+	 * @throws DataFrameException If the column already has the maximum capacity
+	 */
+	static int grow(final int capacity, final int width){
+		final int max = Integer.MAX_VALUE/width;
+		if(capacity >= max){
+			throw new DataFrameException("Column has reached its maximum capacity");
+		}
+		return (int)Math.min((capacity > 0 ? capacity*2L : 2), max);
+	}
+	
+	/**
+	 * Copies the bytes within the specified range to another position within
+	 * the same buffer. The source and target range may overlap, since bulk
+	 * copies between direct buffers behave like <code>memmove()</code>
+	 * 
+	 * @param memory The direct buffer to move the bytes in
+	 * @param from The position of the first byte to move (inclusive)
+	 * @param to The position of the last byte to move (exclusive)
+	 * @param target The position to move the first byte to
+	 */
+	static void move(final ByteBuffer memory, final int from, final int to, final int target){
+		final ByteBuffer source = memory.duplicate();
+		source.limit(to);
+		source.position(from);
+		final ByteBuffer destination = memory.duplicate();
+		destination.position(target);
+		destination.put(source);
+	}
+	
+	/**
+	 * Sets all bytes within the specified range to zero
+	 * 
+	 * @param memory The buffer to clear
+	 * @param from The position of the first byte to clear (inclusive)
+	 * @param to The position of the last byte to clear (exclusive)
+	 */
+	static void clear(final ByteBuffer memory, final int from, final int to){
+		final ByteBuffer destination = memory.duplicate();
+		destination.position(from);
+		while(destination.position() < to){
+			destination.put(ZEROS, 0, Math.min(ZEROS.length, to-destination.position()));
+		}
+	}
+	
+	/**
+	 * Returns a read-only view of the given buffer with little-endian byte order
+	 * 
+	 * @param memory The buffer to return a view of
+	 * @return A read-only ByteBuffer sharing the content of the given buffer
+	 */
+	static ByteBuffer view(final ByteBuffer memory){
+		return memory.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+	}
+	
+	/**
+	 * Releases the native memory of the given direct buffer immediately.<br>
+	 * If the running JVM does not allow to release the memory explicitly, it is
+	 * released after the buffer has been garbage collected. The given buffer and
+	 * all its views must not be used after this method has been called
+	 * 
+	 * @param memory The direct buffer to release
+	 */
+	static void free(final ByteBuffer memory){
+		try{
+			if(INVOKE_CLEANER != null){
+				INVOKE_CLEANER.invoke(UNSAFE, memory);
+			}else{
+				final Method cleaner = memory.getClass().getMethod("cleaner");
+				cleaner.setAccessible(true);
+				final Object c = cleaner.invoke(memory);
+				if(c != null){
+					c.getClass().getMethod("clean").invoke(c);
+				}
+			}
+		}catch(Exception ex){
+			//memory is released by the garbage collector
+		}
+	}
+}
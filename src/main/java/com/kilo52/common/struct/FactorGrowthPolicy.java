@@ -0,0 +1,81 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kilo52.common.struct;
+
+/**
+ * GrowthPolicy which grows the capacity by a constant factor and shrinks it
+ * once the number of rows falls below a fraction of the capacity.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ * 
+ */
+final class FactorGrowthPolicy implements GrowthPolicy {
+	
+	private static final long serialVersionUID = 1L;
+	
+	/** The largest capacity a column array can safely be allocated with **/
+	private static final int MAX_CAPACITY = Integer.MAX_VALUE-8;
+	
+	private double factor;
+	private int threshold;
+	private int buffer;
+	
+	/**
+	 * Constructs a new <code>FactorGrowthPolicy</code>
+	 * 
+	 * @param factor The factor to grow the capacity by. Must be greater than 1
+	 * @param threshold The threshold below which the capacity is shrunk, or 0 (zero)
+	 *                  to never shrink the capacity
+	 * @param buffer The number of additional rows to keep when shrinking the capacity
+	 */
+	FactorGrowthPolicy(final double factor, final int threshold, final int buffer){
+		if(!(factor > 1.0) || Double.isInfinite(factor)){
+			throw new DataFrameException("Growth factor must be greater than 1: "+factor);
+		}
+		if((threshold < 0) || (threshold == 1)){
+			throw new DataFrameException("Invalid shrink threshold: "+threshold);
+		}
+		if(buffer < 0){
+			throw new DataFrameException("Buffer must not be negative: "+buffer);
+		}
+		this.factor = factor;
+		this.threshold = threshold;
+		this.buffer = buffer;
+	}
+	
+	@Override
+	public int grow(final int capacity, final int rows){
+		final double length = (capacity > 0 ? Math.ceil(capacity*factor) : 2);
+		return (int)Math.max(rows, Math.min(length, MAX_CAPACITY));
+	}
+	
+	@Override
+	public int shrink(final int capacity, final int rows){
+		if((threshold == 0) || (((long)rows*threshold) >= capacity)){
+			return capacity;
+		}
+		return (int)Math.min((long)rows+buffer, capacity);
+	}
+	
+	@Override
+	public String toString(){
+		return "GrowthPolicy [factor=" + factor + ", threshold=" + threshold
+				+ ", buffer=" + buffer + "]";
+	}
+}
@@ -0,0 +1,658 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.struct;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Grouping of the rows of a DataFrame by the entries of one or more key columns.<br>
+ * A <code>GroupBy</code> is created by {@link DataFrame#groupBy(String...)} and
+ * computes aggregate functions for each group with {@link #aggregate(Aggregation...)},
+ * for example:<br>
+ * <code>df.groupBy("customer").aggregate(Aggregation.count(), Aggregation.sum("amount"))</code>
+ * 
+ * <p>All rows are assigned to their group once when the <code>GroupBy</code> is
+ * created. Entries of byte, short, int, long, float, double, char and boolean columns
+ * are grouped by their primitive value in an open addressing hash table, so that no
+ * object is created for any row. Dictionary encoded columns are grouped by the codes
+ * of their entries and all other string columns are grouped by a hash map of distinct
+ * values. Null entries form a group of their own. When grouping by several columns,
+ * the groups of each column are combined into a single group number per row.
+ * 
+ * <p>DataFrames holding at least {@link Parallelism#getThreshold()} rows are grouped and
+ * aggregated in parallel. Each partition of rows is grouped by a hash table of its own
+ * and the group numbers of all partitions are unified afterwards. Aggregations compute
+ * partial results for each partition which are merged group by group.
+ * 
+ * <p>Groups are ordered by the first row in which they appear. The DataFrame returned
+ * by <code>aggregate()</code> holds one row per group, with the key columns first,
+ * followed by one column per aggregation. It is of the same type as the grouped
+ * DataFrame and has column names only if the grouped DataFrame has column names.
+ * 
+ * <p>The grouped DataFrame must not be changed in size while a <code>GroupBy</code>
+ * refers to it.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ * @see Aggregation
+ * 
+ */
+public final class GroupBy {
+	
+	private final DataFrame source;
+	private final int[] keys;
+	private final int[] groups;
+	private final int[] firstRows;
+	
+	/**
+	 * Constructs a new <code>GroupBy</code> grouping the rows of the specified
+	 * DataFrame by the columns at the specified indices
+	 * 
+	 * @param source The DataFrame to group
+	 * @param keys The indices of the key columns
+	 */
+	GroupBy(final DataFrame source, final int[] keys){
+		if((keys == null) || (keys.length == 0)){
+			throw new DataFrameException("Arg must not be null or empty");
+		}
+		for(final int key : keys){
+			if((key < 0) || (key >= source.columns())){
+				throw new DataFrameException("Invalid column index: "+key);
+			}
+		}
+		this.source = source;
+		this.keys = keys.clone();
+		final int rows = source.rows();
+		int[] ids = null;
+		int n = 0;
+		for(final int key : keys){
+			final int[] next = new int[rows];
+			final int m = assign(keyOf(source.getColumnAt(key)), next);
+			if(ids == null){
+				ids = next;
+				n = m;
+			}else{
+				//combine the groups of the previous columns with the groups of this column
+				final int[] combined = new int[rows];
+				n = assign(combine(ids, next, m), combined);
+				ids = combined;
+			}
+		}
+		this.groups = ids;
+		this.firstRows = new int[n];
+		//group numbers are assigned in order of first appearance
+		for(int i=0, g=0; g<n; ++i){
+			if(ids[i] == g){
+				firstRows[g++] = i;
+			}
+		}
+	}
+	
+	/**
+	 * Returns the number of groups
+	 * 
+	 * @return The number of distinct combinations of key entries
+	 */
+	public int groups(){
+		return this.firstRows.length;
+	}
+	
+	/**
+	 * Computes the specified aggregations for each group and returns the result
+	 * as a new DataFrame
+	 * 
+	 * @param aggregations The Aggregations to compute
+	 * @return A DataFrame holding the key entries of each group, followed by
+	 *         the result of each aggregation
+	 */
+	public DataFrame aggregate(final Aggregation... aggregations){
+		if((aggregations == null) || (aggregations.length == 0)){
+			throw new DataFrameException("Arg must not be null or empty");
+		}
+		if(source.rows() != groups.length){
+			throw new DataFrameException("DataFrame was changed in size after grouping");
+		}
+		final boolean nullable = source.isNullable();
+		final String[] names = (source.hasColumnNames() ? source.getColumnNames() : null);
+		final Column[] cols = new Column[keys.length+aggregations.length];
+		final String[] resultNames = new String[cols.length];
+		for(int i=0; i<keys.length; ++i){
+			cols[i] = RowSelection.gather(source.getColumnAt(keys[i]), firstRows, 0);
+			if(names != null){
+				resultNames[i] = names[keys[i]];
+			}
+		}
+		for(int i=0; i<aggregations.length; ++i){
+			final Aggregation agg = aggregations[i];
+			if(agg == null){
+				throw new DataFrameException("Arg must not be null");
+			}
+			final int col = agg.column(source);
+			cols[keys.length+i] = aggregate(agg.function(),
+					(col != -1 ? source.getColumnAt(col) : null), nullable);
+			
+			if(names != null){
+				resultNames[keys.length+i] = agg.name(names, col);
+			}
+		}
+		final DataFrame df = (nullable ? new NullableDataFrame(cols) : new DefaultDataFrame(cols));
+		if(names != null){
+			df.setColumnNames(resultNames);
+		}
+		return df;
+	}
+	
+	@Override
+	public String toString(){
+		return "GroupBy [keys="+Arrays.toString(keys)+", groups="+groups()+"]";
+	}
+	
+	/**
+	 * Computes the specified aggregate function for each group
+	 * 
+	 * @param function The aggregate function as one of the constants of {@link Aggregation}
+	 * @param c The Column to aggregate, or null for a count
+	 * @param nullable Indicates whether the produced column must be nullable
+	 * @return A Column holding the result of each group
+	 */
+	private Column aggregate(final int function, final Column c, final boolean nullable){
+		final int n = firstRows.length;
+		switch(function){
+		case Aggregation.COUNT:
+			final int[] counts = Parallelism.execute(new Parallelism.Partial<int[]>(){
+				@Override
+				int[] compute(final int from, final int to){
+					final int[] counts = new int[n];
+					for(int i=from; i<to; ++i){
+						++counts[groups[i]];
+					}
+					return counts;
+				}
+				
+				@Override
+				int[] merge(final int[] left, final int[] right){
+					for(int i=0; i<n; ++i){
+						left[i] += right[i];
+					}
+					return left;
+				}
+			}, 0, groups.length);
+			return (nullable ? new NullableIntColumn(counts) : new IntColumn(counts));
+		case Aggregation.SUM:
+			return sum(c, nullable);
+		case Aggregation.MEAN:
+			return mean(c, nullable);
+		case Aggregation.MIN:
+			return extreme(c, true);
+		case Aggregation.MAX:
+			return extreme(c, false);
+		case Aggregation.FIRST:
+			return RowSelection.gather(c, firstRows, 0);
+		case Aggregation.LAST:
+			final int[] lastRows = Parallelism.execute(new Parallelism.Partial<int[]>(){
+				@Override
+				int[] compute(final int from, final int to){
+					final int[] rows = new int[n];
+					Arrays.fill(rows, -1);
+					for(int i=from; i<to; ++i){
+						rows[groups[i]] = i;
+					}
+					return rows;
+				}
+				
+				@Override
+				int[] merge(final int[] left, final int[] right){
+					for(int i=0; i<n; ++i){
+						if(right[i] != -1){
+							left[i] = right[i];
+						}
+					}
+					return left;
+				}
+			}, 0, groups.length);
+			return RowSelection.gather(c, lastRows, 0);
+		default:
+			throw new DataFrameException("Unrecognized aggregate function: "+function);
+		}
+	}
+	
+	/**
+	 * Computes the sum of all non-null entries of each group
+	 * 
+	 * @param c The Column to aggregate
+	 * @param nullable Indicates whether the produced column must be nullable
+	 * @return A long column for integral types or a double column for floating
+	 *         point types, holding the sum of each group
+	 */
+	private Column sum(final Column c, final boolean nullable){
+		final ColumnReader reader = numeric(c, "sum");
+		final Totals totals = totals(reader, !reader.floating);
+		final Column res;
+		if(reader.floating){
+			res = (nullable ? new NullableDoubleColumn(totals.doubles) : new DoubleColumn(totals.doubles));
+		}else{
+			res = (nullable ? new NullableLongColumn(totals.longs) : new LongColumn(totals.longs));
+		}
+		setNulls(res, totals.counts);
+		return res;
+	}
+	
+	/**
+	 * Computes the average of all non-null entries of each group
+	 * 
+	 * @param c The Column to aggregate
+	 * @param nullable Indicates whether the produced column must be nullable
+	 * @return A double column holding the average of each group
+	 */
+	private Column mean(final Column c, final boolean nullable){
+		final Totals totals = totals(numeric(c, "mean"), false);
+		final double[] sums = totals.doubles;
+		for(int i=0; i<sums.length; ++i){
+			sums[i] /= totals.counts[i];
+		}
+		final Column res = (nullable ? new NullableDoubleColumn(sums) : new DoubleColumn(sums));
+		setNulls(res, totals.counts);
+		return res;
+	}
+	
+	/**
+	 * Computes the number and the sum of all non-null entries of each group
+	 * 
+	 * @param reader The ColumnReader of the column to aggregate
+	 * @param integral Indicates whether to sum up the entries as long values
+	 * @return The Totals of each group
+	 */
+	private Totals totals(final ColumnReader reader, final boolean integral){
+		final int n = firstRows.length;
+		return Parallelism.execute(new Parallelism.Partial<Totals>(){
+			@Override
+			Totals compute(final int from, final int to){
+				final Totals totals = new Totals(n, integral);
+				if(integral){
+					for(int i=from; i<to; ++i){
+						if(!reader.isNull(i)){
+							totals.longs[groups[i]] += reader.getLong(i);
+							++totals.counts[groups[i]];
+						}
+					}
+				}else{
+					for(int i=from; i<to; ++i){
+						if(!reader.isNull(i)){
+							totals.doubles[groups[i]] += reader.getDouble(i);
+							++totals.counts[groups[i]];
+						}
+					}
+				}
+				return totals;
+			}
+			
+			@Override
+			Totals merge(final Totals left, final Totals right){
+				return left.merge(right);
+			}
+		}, 0, groups.length);
+	}
+	
+	/**
+	 * Computes the minimum or maximum of all non-null entries of each group. The
+	 * row holding the extreme value is determined for each group and its entry is
+	 * copied, so that the produced column has the same type as the aggregated column
+	 * 
+	 * @param c The Column to aggregate
+	 * @param min Indicates whether to compute the minimum or the maximum
+	 * @return A Column holding the minimum or maximum of each group
+	 */
+	private Column extreme(final Column c, final boolean min){
+		final int n = firstRows.length;
+		final boolean strings = (c.memberClass() == String.class);
+		final ColumnReader reader = (strings ? null : ColumnReader.of(c));
+		final Extremes extremes = Parallelism.execute(new Parallelism.Partial<Extremes>(){
+			@Override
+			Extremes compute(final int from, final int to){
+				final Extremes e = new Extremes(n, strings, (!strings && reader.floating));
+				if(strings){
+					for(int i=from; i<to; ++i){
+						final String value = (String)c.getValueAt(i);
+						if(value != null){
+							e.accept(value, groups[i], i, min);
+						}
+					}
+				}else if(reader.floating){
+					for(int i=from; i<to; ++i){
+						if(!reader.isNull(i)){
+							e.accept(reader.getDouble(i), groups[i], i, min);
+						}
+					}
+				}else{
+					for(int i=from; i<to; ++i){
+						if(!reader.isNull(i)){
+							e.accept(reader.getLong(i), groups[i], i, min);
+						}
+					}
+				}
+				return e;
+			}
+			
+			@Override
+			Extremes merge(final Extremes left, final Extremes right){
+				return left.merge(right, min);
+			}
+		}, 0, groups.length);
+		//groups consisting of null entries only
+		final int[] rows = extremes.rows;
+		final int[] counts = new int[n];
+		for(int i=0; i<n; ++i){
+			if(rows[i] != -1){
+				counts[i] = 1;
+			}else{
+				rows[i] = firstRows[i];
+			}
+		}
+		final Column res = RowSelection.gather(c, rows, 0);
+		setNulls(res, counts);
+		return res;
+	}
+	
+	/**
+	 * Sets all entries of the specified column to null for which no
+	 * non-null entry was aggregated
+	 * 
+	 * @param c The Column to set the null entries of
+	 * @param counts The number of aggregated non-null entries of each group
+	 */
+	private static void setNulls(final Column c, final int[] counts){
+		for(int i=0; i<counts.length; ++i){
+			if(counts[i] == 0){
+				c.setValueAt(i, null);
+			}
+		}
+	}
+	
+	/**
+	 * Assigns a group number to each row by the specified key. The rows of large
+	 * DataFrames are grouped in partitions, whose group numbers are unified afterwards
+	 * 
+	 * @param key The Key of each row
+	 * @param ids The array to put the group number of each row into. Must
+	 *            not be read by the specified key
+	 * @return The number of groups
+	 */
+	private static int assign(final Key key, final int[] ids){
+		final List<Segment> segments = Parallelism.execute(new Parallelism.Partial<List<Segment>>(){
+			@Override
+			List<Segment> compute(final int from, final int to){
+				final GroupTable table = new GroupTable();
+				int[] first = new int[16];
+				int n = 0;
+				for(int i=from; i<to; ++i){
+					final int group = key.groupOf(table, i);
+					if(group == n){
+						if(n == first.length){
+							first = Arrays.copyOf(first, n*2);
+						}
+						first[n++] = i;
+					}
+					ids[i] = group;
+				}
+				final List<Segment> list = new ArrayList<Segment>(8);
+				list.add(new Segment(from, to, first, n));
+				return list;
+			}
+			
+			@Override
+			List<Segment> merge(final List<Segment> left, final List<Segment> right){
+				left.addAll(right);
+				return left;
+			}
+		}, 0, ids.length);
+		if(segments.size() == 1){
+			return segments.get(0).groups;
+		}
+		//number the groups of all partitions in order of first appearance
+		final GroupTable table = new GroupTable();
+		final int[] starts = new int[segments.size()];
+		for(int k=0; k<starts.length; ++k){
+			final Segment s = segments.get(k);
+			s.map = new int[s.groups];
+			for(int g=0; g<s.groups; ++g){
+				s.map[g] = key.groupOf(table, s.firstRows[g]);
+			}
+			starts[k] = s.from;
+		}
+		Parallelism.execute(new Parallelism.Partial<Void>(){
+			@Override
+			Void compute(final int from, final int to){
+				int k = Arrays.binarySearch(starts, from);
+				if(k < 0){
+					k = -k-2;
+				}
+				int i = from;
+				while(i < to){
+					final Segment s = segments.get(k++);
+					final int end = Math.min(to, s.to);
+					for(; i<end; ++i){
+						ids[i] = s.map[ids[i]];
+					}
+				}
+				return null;
+			}
+			
+			@Override
+			Void merge(final Void left, final Void right){
+				return null;
+			}
+		}, 0, ids.length);
+		return table.size();
+	}
+	
+	/**
+	 * Returns the key of the entries of the specified column
+	 * 
+	 * @param c The key Column
+	 * @return The Key of the specified column
+	 */
+	private static Key keyOf(final Column c){
+		if(c instanceof DictionaryColumn){
+			//codes identify distinct values already
+			final int[] codes = ((DictionaryColumn)c).asCodeArray();
+			return new Key(){
+				@Override
+				int groupOf(final GroupTable table, final int row){
+					return table.groupOf(codes[row]);
+				}
+			};
+		}
+		if(c.memberClass() == String.class){
+			return new Key(){
+				@Override
+				int groupOf(final GroupTable table, final int row){
+					return table.groupOf((String)c.getValueAt(row));
+				}
+			};
+		}
+		final ColumnReader reader = ColumnReader.of(c);
+		return new Key(){
+			@Override
+			int groupOf(final GroupTable table, final int row){
+				return (reader.isNull(row) ? table.nullGroup() : table.groupOf(reader.getBits(row)));
+			}
+		};
+	}
+	
+	/**
+	 * Returns the key of the combination of two group numbers of each row
+	 * 
+	 * @param ids The group number of each row by the previous key columns
+	 * @param next The group number of each row by the next key column
+	 * @param m The number of groups of the next key column
+	 * @return The Key of the combined group numbers
+	 */
+	private static Key combine(final int[] ids, final int[] next, final long m){
+		return new Key(){
+			@Override
+			int groupOf(final GroupTable table, final int row){
+				return table.groupOf(ids[row]*m+next[row]);
+			}
+		};
+	}
+	
+	/**
+	 * Returns a ColumnReader for the specified column, throwing an exception if the
+	 * column does not hold numbers
+	 * 
+	 * @param c The Column to read
+	 * @param function The name of the aggregate function, used in the exception message
+	 * @return A ColumnReader for the specified column
+	 */
+	private static ColumnReader numeric(final Column c, final String function){
+		if(!Number.class.isAssignableFrom(c.memberClass())){
+			throw new DataFrameException("Unable to compute "+function+". Column consists of NaNs");
+		}
+		return ColumnReader.of(c);
+	}
+	
+	/**
+	 * Key of the rows of a DataFrame, looked up in a GroupTable
+	 * 
+	 */
+	private abstract static class Key {
+		
+		/**
+		 * Returns the group number of the key of the specified row
+		 * 
+		 * @param table The GroupTable to look up the key in
+		 * @param row The index of the row
+		 * @return The group number of the specified row
+		 */
+		abstract int groupOf(GroupTable table, int row);
+	}
+	
+	/**
+	 * Range of rows grouped independently of all other rows
+	 * 
+	 */
+	private static final class Segment {
+		
+		private final int from;
+		private final int to;
+		private final int[] firstRows;
+		private final int groups;
+		private int[] map;
+		
+		Segment(final int from, final int to, final int[] firstRows, final int groups){
+			this.from = from;
+			this.to = to;
+			this.firstRows = firstRows;
+			this.groups = groups;
+		}
+	}
+	
+	/**
+	 * Number and sum of the non-null entries of each group
+	 * 
+	 */
+	private static final class Totals {
+		
+		private final int[] counts;
+		private final long[] longs;
+		private final double[] doubles;
+		
+		Totals(final int n, final boolean integral){
+			this.counts = new int[n];
+			this.longs = (integral ? new long[n] : null);
+			this.doubles = (integral ? null : new double[n]);
+		}
+		
+		Totals merge(final Totals other){
+			for(int i=0; i<counts.length; ++i){
+				counts[i] += other.counts[i];
+			}
+			if(longs != null){
+				for(int i=0; i<longs.length; ++i){
+					longs[i] += other.longs[i];
+				}
+			}else{
+				for(int i=0; i<doubles.length; ++i){
+					doubles[i] += other.doubles[i];
+				}
+			}
+			return this;
+		}
+	}
+	
+	/**
+	 * Minimum or maximum non-null entry of each group and the row holding it.
+	 * If several rows hold the extreme value, the first of them is kept
+	 * 
+	 */
+	private static final class Extremes {
+		
+		private final int[] rows;
+		private final long[] longs;
+		private final double[] doubles;
+		private final String[] strings;
+		
+		Extremes(final int n, final boolean strings, final boolean floating){
+			this.rows = new int[n];
+			this.strings = (strings ? new String[n] : null);
+			this.doubles = (floating ? new double[n] : null);
+			this.longs = ((strings || floating) ? null : new long[n]);
+			Arrays.fill(rows, -1);
+		}
+		
+		void accept(final long value, final int group, final int row, final boolean min){
+			if((rows[group] == -1) || (min ? value < longs[group] : value > longs[group])){
+				longs[group] = value;
+				rows[group] = row;
+			}
+		}
+		
+		void accept(final double value, final int group, final int row, final boolean min){
+			if((rows[group] == -1) || (min ? value < doubles[group] : value > doubles[group])){
+				doubles[group] = value;
+				rows[group] = row;
+			}
+		}
+		
+		void accept(final String value, final int group, final int row, final boolean min){
+			if((rows[group] == -1) || (min ? value.compareTo(strings[group]) < 0
+					: value.compareTo(strings[group]) > 0)){
+				
+				strings[group] = value;
+				rows[group] = row;
+			}
+		}
+		
+		Extremes merge(final Extremes other, final boolean min){
+			for(int i=0; i<rows.length; ++i){
+				final int row = other.rows[i];
+				if(row != -1){
+					if(longs != null){
+						accept(other.longs[i], i, row, min);
+					}else if(doubles != null){
+						accept(other.doubles[i], i, row, min);
+					}else{
+						accept(other.strings[i], i, row, min);
+					}
+				}
+			}
+			return this;
+		}
+	}
+}
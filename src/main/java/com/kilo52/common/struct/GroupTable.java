@@ -0,0 +1,187 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.struct;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Open addressing hash table which assigns consecutive group numbers to
+ * primitive long keys, used by {@link GroupBy} and {@link Join}.<br>
+ * Keys and group numbers are stored in two parallel arrays and collisions are
+ * resolved by linear probing, so no objects are created per key. String keys
+ * are mapped by a hash map instead. Group numbers
+ * are assigned in the order in which keys are first encountered.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ * 
+ */
+final class GroupTable {
+	
+	/** The initial number of slots. Must be a power of two **/
+	private static final int INITIAL_CAPACITY = 1024;
+	
+	private long[] keys;
+	private int[] groups;
+	private int mask;
+	private int used;
+	private int size;
+	private int nullGroup = -1;
+	private Map<String, Integer> strings;
+	
+	/**
+	 * Constructs a new empty <code>GroupTable</code>
+	 */
+	GroupTable(){
+		this.keys = new long[INITIAL_CAPACITY];
+		this.groups = new int[INITIAL_CAPACITY];
+		this.mask = INITIAL_CAPACITY-1;
+		Arrays.fill(groups, -1);
+	}
+	
+	/**
+	 * Returns the group number of the specified key, assigning the next
+	 * group number if the key has not been encountered yet
+	 * 
+	 * @param key The key to look up
+	 * @return The group number of the specified key
+	 */
+	int groupOf(final long key){
+		int i = hash(key) & mask;
+		while(true){
+			final int group = groups[i];
+			if(group == -1){
+				keys[i] = key;
+				groups[i] = size;
+				if(++used*2 > groups.length){
+					rehash();
+				}
+				return size++;
+			}
+			if(keys[i] == key){
+				return group;
+			}
+			i = (i+1) & mask;
+		}
+	}
+	
+	/**
+	 * Returns the group number of the specified string, assigning the next
+	 * group number if the string has not been encountered yet
+	 * 
+	 * @param key The string to look up. May be null
+	 * @return The group number of the specified string
+	 */
+	int groupOf(final String key){
+		if(strings == null){
+			this.strings = new HashMap<String, Integer>(64);
+		}
+		Integer group = strings.get(key);
+		if(group == null){
+			group = size++;
+			strings.put(key, group);
+		}
+		return group;
+	}
+	
+	/**
+	 * Returns the group number of null entries, assigning the next
+	 * group number if no null entry has been encountered yet
+	 * 
+	 * @return The group number of null entries
+	 */
+	int nullGroup(){
+		if(nullGroup == -1){
+			this.nullGroup = size++;
+		}
+		return nullGroup;
+	}
+	
+	/**
+	 * Returns the group number of the specified key without assigning one
+	 * 
+	 * @param key The key to look up
+	 * @return The group number of the specified key, or -1 if the key
+	 *         has not been encountered yet
+	 */
+	int find(final long key){
+		int i = hash(key) & mask;
+		while(groups[i] != -1){
+			if(keys[i] == key){
+				return groups[i];
+			}
+			i = (i+1) & mask;
+		}
+		return -1;
+	}
+	
+	/**
+	 * Returns the group number of the specified string without assigning one
+	 * 
+	 * @param key The string to look up. May be null
+	 * @return The group number of the specified string, or -1 if the string
+	 *         has not been encountered yet
+	 */
+	int find(final String key){
+		final Integer group = (strings != null ? strings.get(key) : null);
+		return (group != null ? group : -1);
+	}
+	
+	/**
+	 * Returns the number of assigned group numbers
+	 * 
+	 * @return The number of groups
+	 */
+	int size(){
+		return this.size;
+	}
+	
+	/**
+	 * Doubles the number of slots and reinserts all keys
+	 */
+	private void rehash(){
+		final long[] oldKeys = keys;
+		final int[] oldGroups = groups;
+		this.keys = new long[oldKeys.length*2];
+		this.groups = new int[oldGroups.length*2];
+		this.mask = groups.length-1;
+		Arrays.fill(groups, -1);
+		for(int j=0; j<oldGroups.length; ++j){
+			if(oldGroups[j] != -1){
+				int i = hash(oldKeys[j]) & mask;
+				while(groups[i] != -1){
+					i = (i+1) & mask;
+				}
+				keys[i] = oldKeys[j];
+				groups[i] = oldGroups[j];
+			}
+		}
+	}
+	
+	/**
+	 * Spreads the bits of the specified key
+	 * 
+	 * @param key The key to hash
+	 * @return The hash code of the specified key
+	 */
+	private static int hash(final long key){
+		final long h = key*0x9E3779B97F4A7C15L;
+		return (int)(h ^ (h >>> 32));
+	}
+}
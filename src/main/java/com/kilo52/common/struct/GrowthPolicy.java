@@ -0,0 +1,99 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kilo52.common.struct;
+
+import java.io.Serializable;
+
+/**
+ * Policy determining how the capacity of all columns of a {@link DataFrame} changes
+ * as rows are added and removed.<br>
+ * A DataFrame consults its policy whenever a row does not fit into its current
+ * capacity and after rows have been removed. The policy of a DataFrame can be set
+ * by {@link DataFrame#setGrowthPolicy(GrowthPolicy)}.
+ * 
+ * <p>Policies with a growth factor and an optional shrink threshold can be obtained
+ * through {@link #of(double, int, int)} and {@link #noShrink(double)}. Custom policies
+ * can be provided by implementing this interface. Implementations should be
+ * serializable if the DataFrames using them are serialized.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ * 
+ */
+public interface GrowthPolicy extends Serializable {
+	
+	/**
+	 * The policy used by all DataFrames by default.<br>
+	 * Doubles the capacity when it is exhausted and shrinks the capacity to the number
+	 * of rows plus 4 when less than a third of the capacity is used
+	 */
+	public static final GrowthPolicy DEFAULT = new FactorGrowthPolicy(2.0, 3, 4);
+	
+	/**
+	 * Computes the new capacity of a DataFrame which needs to hold more rows than
+	 * its current capacity allows
+	 * 
+	 * @param capacity The current capacity
+	 * @param rows The number of rows which must fit into the new capacity
+	 * @return The new capacity. Must be at least <code>rows</code> and greater than
+	 *         <code>capacity</code>. Otherwise, the DataFrame throws a 
+	 *         {@link DataFrameException}
+	 */
+	public int grow(int capacity, int rows);
+	
+	/**
+	 * Computes the new capacity of a DataFrame after rows have been removed
+	 * 
+	 * @param capacity The current capacity
+	 * @param rows The number of rows the DataFrame holds
+	 * @return The new capacity. Must be at least <code>rows</code>, otherwise the
+	 *         DataFrame throws a {@link DataFrameException}. Returning
+	 *         <code>capacity</code> keeps the current capacity
+	 */
+	public int shrink(int capacity, int rows);
+	
+	/**
+	 * Returns a policy which grows the capacity by the specified factor and shrinks it
+	 * when the number of rows multiplied by the specified threshold is less than the
+	 * capacity. The gap between the growth factor and the shrink threshold acts as a
+	 * hysteresis which prevents repeated resizing when rows are added and removed
+	 * alternately
+	 * 
+	 * @param factor The factor to grow the capacity by. Must be greater than 1
+	 * @param threshold The threshold below which the capacity is shrunk, or 0 (zero)
+	 *                  to never shrink the capacity automatically. Must be greater
+	 *                  than 1 if not zero
+	 * @param buffer The number of additional rows to keep when shrinking the capacity
+	 * @return A GrowthPolicy with the specified parameters
+	 */
+	public static GrowthPolicy of(final double factor, final int threshold, final int buffer){
+		return new FactorGrowthPolicy(factor, threshold, buffer);
+	}
+	
+	/**
+	 * Returns a policy which grows the capacity by the specified factor and never
+	 * shrinks it automatically.<br>
+	 * The capacity can still be shrunk explicitly by calling {@link DataFrame#flush()}
+	 * 
+	 * @param factor The factor to grow the capacity by. Must be greater than 1
+	 * @return A GrowthPolicy which never shrinks the capacity
+	 */
+	public static GrowthPolicy noShrink(final double factor){
+		return new FactorGrowthPolicy(factor, 0, 0);
+	}
+}
@@ -0,0 +1,65 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kilo52.common.struct;
+
+/**
+ * DataFrame which cannot be modified after it has been created.<br>
+ * Instances of this class are created by {@link DataFrame#freeze()}, which copies all
+ * entries of a DataFrame and drops any spare capacity. No other object holds a reference
+ * to the copied entries, so the content of an <code>ImmutableDataFrame</code> never
+ * changes. Any attempt to modify it results in a {@link DataFrameException}.
+ * 
+ * <p>All fields of this class are final and the copied entries are only ever read after
+ * construction. Therefore, an <code>ImmutableDataFrame</code> can be safely published to
+ * and shared between any number of threads without synchronization. Views created by
+ * {@link #slice(int, int)} and {@link #select(int...)} share the entries of the frozen
+ * DataFrame and are equally safe to share. Methods returning a {@link Column} return
+ * a copy of that column. A modifiable copy of the entire DataFrame can be obtained
+ * by {@link DataFrame#copyOf(DataFrame)}.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ * 
+ */
+public final class ImmutableDataFrame extends DataFrameView {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private final DataFrame frozen;
+	
+	/**
+	 * Constructs a new <code>ImmutableDataFrame</code> from the specified DataFrame.
+	 * The specified DataFrame must not be referenced by any other object
+	 * 
+	 * @param frozen The DataFrame holding all entries. Must not have any spare capacity
+	 */
+	ImmutableDataFrame(final DataFrame frozen){
+		super(frozen);
+		this.frozen = frozen;
+	}
+	
+	@Override
+	public DataFrame freeze(){
+		return this;
+	}
+	
+	@Override
+	public String toString(){
+		return frozen.toString();
+	}
+}
@@ -0,0 +1,595 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.struct;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Hash join of two DataFrames on one or more key columns, performed by
+ * {@link DataFrame#join(DataFrame, DataFrame, Join)}.<br>
+ * Joins are created by the static factory methods of this class, which specify the
+ * type of the join and the key columns, for example <code>Join.inner("customer")</code>.
+ * The following types of joins are supported:
+ * <ul>
+ * <li><b>inner</b> joins every row of the left DataFrame with every row of the right
+ * DataFrame with equal keys</li>
+ * <li><b>left</b> additionally keeps all rows of the left DataFrame without a match.
+ * Their entries in the columns of the right DataFrame are null, or the default value
+ * of the column type if the DataFrames are not nullable</li>
+ * <li><b>semi</b> keeps all rows of the left DataFrame with at least one match</li>
+ * <li><b>anti</b> keeps all rows of the left DataFrame without a match</li>
+ * </ul>
+ * 
+ * <p>The right DataFrame is the build side. The keys of all its rows are put into
+ * open addressing hash tables, so that primitive keys are never boxed. Integral
+ * keys match regardless of their column type, for example an int column and a long
+ * column, as do floating point keys. String keys are matched by their values, which
+ * for dictionary encoded columns are looked up only once per distinct value. Null
+ * keys never match.
+ * 
+ * <p>The joined DataFrame is of the same type as the left DataFrame. Its rows are
+ * ordered by the rows of the left DataFrame and, for each of them, by the matching
+ * rows of the right DataFrame. Inner and left joins produce all columns of the left
+ * DataFrame followed by all non-key columns of the right DataFrame, semi and anti
+ * joins produce the columns of the left DataFrame only. All entries are gathered
+ * column by column. If any of the two DataFrames has column names, then so does the
+ * joined DataFrame. Names of right columns which are already taken are extended
+ * by <code>"_right"</code>.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ * 
+ */
+public final class Join {
+	
+	static final int INNER = 0;
+	static final int LEFT = 1;
+	static final int SEMI = 2;
+	static final int ANTI = 3;
+	
+	private static final String[] TYPES = {"inner", "left", "semi", "anti"};
+	
+	/** Appended to names of right columns which are already taken **/
+	private static final String SUFFIX = "_right";
+	
+	private final int type;
+	private final int[] cols;
+	private final int[] otherCols;
+	private final String[] colNames;
+	
+	private Join(final int type, final int[] cols, final int[] otherCols, final String[] colNames){
+		this.type = type;
+		this.cols = cols;
+		this.otherCols = otherCols;
+		this.colNames = colNames;
+	}
+	
+	/**
+	 * Returns an inner join on the columns with the specified names.
+	 * Both DataFrames must have key columns with these names
+	 * 
+	 * @param colNames The names of the key columns
+	 * @return An inner Join on the specified columns
+	 */
+	public static Join inner(final String... colNames){
+		return of(INNER, colNames);
+	}
+	
+	/**
+	 * Returns an inner join on the columns at the specified indices
+	 * 
+	 * @param cols The indices of the key columns of the left DataFrame
+	 * @param otherCols The indices of the key columns of the right DataFrame
+	 * @return An inner Join on the specified columns
+	 */
+	public static Join inner(final int[] cols, final int[] otherCols){
+		return of(INNER, cols, otherCols);
+	}
+	
+	/**
+	 * Returns a left join on the columns with the specified names.
+	 * Both DataFrames must have key columns with these names
+	 * 
+	 * @param colNames The names of the key columns
+	 * @return A left Join on the specified columns
+	 */
+	public static Join left(final String... colNames){
+		return of(LEFT, colNames);
+	}
+	
+	/**
+	 * Returns a left join on the columns at the specified indices
+	 * 
+	 * @param cols The indices of the key columns of the left DataFrame
+	 * @param otherCols The indices of the key columns of the right DataFrame
+	 * @return A left Join on the specified columns
+	 */
+	public static Join left(final int[] cols, final int[] otherCols){
+		return of(LEFT, cols, otherCols);
+	}
+	
+	/**
+	 * Returns a semi join on the columns with the specified names.
+	 * Both DataFrames must have key columns with these names
+	 * 
+	 * @param colNames The names of the key columns
+	 * @return A semi Join on the specified columns
+	 */
+	public static Join semi(final String... colNames){
+		return of(SEMI, colNames);
+	}
+	
+	/**
+	 * Returns a semi join on the columns at the specified indices
+	 * 
+	 * @param cols The indices of the key columns of the left DataFrame
+	 * @param otherCols The indices of the key columns of the right DataFrame
+	 * @return A semi Join on the specified columns
+	 */
+	public static Join semi(final int[] cols, final int[] otherCols){
+		return of(SEMI, cols, otherCols);
+	}
+	
+	/**
+	 * Returns an anti join on the columns with the specified names.
+	 * Both DataFrames must have key columns with these names
+	 * 
+	 * @param colNames The names of the key columns
+	 * @return An anti Join on the specified columns
+	 */
+	public static Join anti(final String... colNames){
+		return of(ANTI, colNames);
+	}
+	
+	/**
+	 * Returns an anti join on the columns at the specified indices
+	 * 
+	 * @param cols The indices of the key columns of the left DataFrame
+	 * @param otherCols The indices of the key columns of the right DataFrame
+	 * @return An anti Join on the specified columns
+	 */
+	public static Join anti(final int[] cols, final int[] otherCols){
+		return of(ANTI, cols, otherCols);
+	}
+	
+	@Override
+	public String toString(){
+		return TYPES[type]+" join on "+(colNames != null ? Arrays.toString(colNames)
+				: Arrays.toString(cols)+" = "+Arrays.toString(otherCols));
+	}
+	
+	/**
+	 * Joins the specified DataFrames
+	 * 
+	 * @param left The left DataFrame, which is probed
+	 * @param right The right DataFrame, which is hashed
+	 * @return The joined DataFrame
+	 */
+	DataFrame execute(final DataFrame left, final DataFrame right){
+		if((left == null) || (right == null)){
+			throw new DataFrameException("Arg must not be null");
+		}
+		if(left.isNullable() != right.isNullable()){
+			throw new DataFrameException("DataFrames must be of the same type");
+		}
+		final int[] leftKeys = keys(left, cols);
+		final int[] rightKeys = keys(right, otherCols);
+		final int k = leftKeys.length;
+		final Column[] leftKeyCols = new Column[k];
+		final Column[] rightKeyCols = new Column[k];
+		for(int j=0; j<k; ++j){
+			leftKeyCols[j] = left.getColumnAt(leftKeys[j]);
+			rightKeyCols[j] = right.getColumnAt(rightKeys[j]);
+			if(!kindOf(leftKeyCols[j]).equals(kindOf(rightKeyCols[j]))){
+				throw new DataFrameException(String.format(
+						"Type missmatch of key %s. Unable to match %s with %s", j,
+						leftKeyCols[j].memberClass().getSimpleName(),
+						rightKeyCols[j].memberClass().getSimpleName()));
+			}
+		}
+		//build side
+		final int rightRows = right.rows();
+		final GroupTable[] tables = new GroupTable[k];
+		final GroupTable[] combined = new GroupTable[k];
+		final long[] sizes = new long[k];
+		int[] ids = null;
+		for(int j=0; j<k; ++j){
+			tables[j] = new GroupTable();
+			final Key key = keyOf(rightKeyCols[j], tables[j]);
+			final int[] next = new int[rightRows];
+			for(int i=0; i<rightRows; ++i){
+				next[i] = key.insert(i);
+			}
+			sizes[j] = tables[j].size();
+			if(ids == null){
+				ids = next;
+			}else{
+				//combine the keys of the previous columns with the keys of this column
+				combined[j] = new GroupTable();
+				for(int i=0; i<rightRows; ++i){
+					ids[i] = (((ids[i] == -1) || (next[i] == -1))
+							? -1 : combined[j].groupOf(ids[i]*sizes[j]+next[i]));
+				}
+			}
+		}
+		final int n = (k == 1 ? tables[0].size() : combined[k-1].size());
+		//rows of the right DataFrame ordered by key and row index
+		final int[] start = new int[n+1];
+		for(int i=0; i<rightRows; ++i){
+			if(ids[i] != -1){
+				++start[ids[i]+1];
+			}
+		}
+		for(int g=0; g<n; ++g){
+			start[g+1] += start[g];
+		}
+		final int[] matches = new int[start[n]];
+		final int[] pos = Arrays.copyOf(start, n);
+		for(int i=0; i<rightRows; ++i){
+			if(ids[i] != -1){
+				matches[pos[ids[i]]++] = i;
+			}
+		}
+		//probe side
+		final Key[] probes = new Key[k];
+		for(int j=0; j<k; ++j){
+			probes[j] = keyOf(leftKeyCols[j], tables[j]);
+		}
+		final int leftRows = left.rows();
+		final boolean pairs = ((type == INNER) || (type == LEFT));
+		int[] leftSel = new int[Math.max(16, leftRows)];
+		int[] rightSel = (pairs ? new int[leftSel.length] : null);
+		int size = 0;
+		for(int i=0; i<leftRows; ++i){
+			int g = probes[0].find(i);
+			for(int j=1; (j<k) && (g != -1); ++j){
+				final int next = probes[j].find(i);
+				g = (next != -1 ? combined[j].find(g*sizes[j]+next) : -1);
+			}
+			if(pairs){
+				final int from = (g != -1 ? start[g] : 0);
+				final int to = (g != -1 ? start[g+1] : ((type == LEFT) ? 1 : 0));
+				for(int m=from; m<to; ++m){
+					if(size == leftSel.length){
+						leftSel = grow(leftSel);
+						rightSel = grow(rightSel);
+					}
+					leftSel[size] = i;
+					rightSel[size++] = (g != -1 ? matches[m] : -1);
+				}
+			}else if((g != -1) == (type == SEMI)){
+				leftSel[size++] = i;
+			}
+		}
+		return result(left, right, rightKeys, Arrays.copyOf(leftSel, size),
+				(pairs ? Arrays.copyOf(rightSel, size) : null));
+	}
+	
+	/**
+	 * Gathers the selected rows of both DataFrames into a new DataFrame
+	 * 
+	 * @param left The left DataFrame
+	 * @param right The right DataFrame
+	 * @param rightKeys The indices of the key columns of the right DataFrame
+	 * @param leftSel The indices of the selected rows of the left DataFrame
+	 * @param rightSel The indices of the selected rows of the right DataFrame, with
+	 *                 -1 denoting a missing row, or null to only gather left columns
+	 * @return The joined DataFrame
+	 */
+	private static DataFrame result(final DataFrame left, final DataFrame right,
+			final int[] rightKeys, final int[] leftSel, final int[] rightSel){
+		
+		final int leftCols = left.columns();
+		final int rightCols = (rightSel != null ? right.columns()-rightKeys.length : 0);
+		final Column[] cols = new Column[leftCols+rightCols];
+		for(int i=0; i<leftCols; ++i){
+			cols[i] = RowSelection.gather(left.getColumnAt(i), leftSel, 0);
+		}
+		if(rightSel != null){
+			boolean missing = false;
+			final int[] rows = new int[rightSel.length];
+			for(int i=0; i<rows.length; ++i){
+				if(rightSel[i] != -1){
+					rows[i] = rightSel[i];
+				}else{
+					missing = true;
+				}
+			}
+			final boolean empty = (right.rows() == 0);
+			int idx = leftCols;
+			for(int c=0; c<right.columns(); ++c){
+				if(contains(rightKeys, c)){
+					continue;
+				}
+				final Column col = RowSelection.gather(right.getColumnAt(c),
+						(empty ? new int[0] : rows), 0);
+				
+				if(empty){
+					col.matchLength(rows.length);
+				}
+				if(missing){
+					final Object value = missingValue(col);
+					for(int i=0; i<rightSel.length; ++i){
+						if(rightSel[i] == -1){
+							col.setValueAt(i, value);
+						}
+					}
+				}
+				cols[idx++] = col;
+			}
+		}
+		final DataFrame df = (left.isNullable() ? new NullableDataFrame(cols) : new DefaultDataFrame(cols));
+		if(left.hasColumnNames() || right.hasColumnNames()){
+			final String[] names = new String[cols.length];
+			final Set<String> taken = new HashSet<String>(cols.length*2);
+			for(int i=0; i<leftCols; ++i){
+				final String s = (left.hasColumnNames() ? left.getColumnName(i) : null);
+				names[i] = (s != null ? s : String.valueOf(i));
+				taken.add(names[i]);
+			}
+			int idx = leftCols;
+			for(int c=0; (rightSel != null) && (c<right.columns()); ++c){
+				if(!contains(rightKeys, c)){
+					final String s = (right.hasColumnNames() ? right.getColumnName(c) : null);
+					String name = (s != null ? s : String.valueOf(idx));
+					while(!taken.add(name)){
+						name = name+SUFFIX;
+					}
+					names[idx++] = name;
+				}
+			}
+			df.setColumnNames(names);
+		}
+		return df;
+	}
+	
+	/**
+	 * Resolves the key columns of this join within the specified DataFrame
+	 * 
+	 * @param df The DataFrame to resolve the key columns in
+	 * @param indices The indices of the key columns, or null if the key
+	 *                columns are specified by name
+	 * @return The indices of the key columns
+	 */
+	private int[] keys(final DataFrame df, final int[] indices){
+		final int[] keys = new int[(colNames != null ? colNames.length : indices.length)];
+		for(int i=0; i<keys.length; ++i){
+			keys[i] = (colNames != null ? df.getColumnIndex(colNames[i]) : indices[i]);
+			if((keys[i] < 0) || (keys[i] >= df.columns())){
+				throw new DataFrameException("Invalid column index: "+keys[i]);
+			}
+		}
+		return keys;
+	}
+	
+	/**
+	 * Returns the kind of keys held by the specified column. Keys of the same
+	 * kind can be matched with each other
+	 * 
+	 * @param c The key Column
+	 * @return The kind of the keys of the specified column
+	 */
+	private static String kindOf(final Column c){
+		final String type = c.memberClass().getSimpleName();
+		switch(type){
+		case "Byte":
+		case "Short":
+		case "Integer":
+		case "Long":
+			return "Integral";
+		case "Float":
+		case "Double":
+			return "Floating";
+		default:
+			return type;
+		}
+	}
+	
+	/**
+	 * Returns the value of entries of the specified column which have no
+	 * matching row in the right DataFrame
+	 * 
+	 * @param c The Column to get the value for
+	 * @return Null for nullable columns, otherwise the default value of the column type
+	 */
+	private static Object missingValue(final Column c){
+		if(c instanceof NullableColumn){
+			return null;
+		}
+		switch(c.memberClass().getSimpleName()){
+		case "Byte":
+			return (byte)0;
+		case "Short":
+			return (short)0;
+		case "Integer":
+			return 0;
+		case "Long":
+			return 0l;
+		case "Float":
+			return 0f;
+		case "Double":
+			return 0d;
+		case "Character":
+			return '\u0000';
+		case "Boolean":
+			return false;
+		case "String":
+			return "n/a";
+		default:
+			throw new DataFrameException("Unrecognized column type");
+		}
+	}
+	
+	/**
+	 * Returns the key of the entries of the specified column within the given table
+	 * 
+	 * @param c The key Column
+	 * @param table The GroupTable holding the keys of the right DataFrame
+	 * @return The Key of the specified column
+	 */
+	private static Key keyOf(final Column c, final GroupTable table){
+		if(c instanceof DictionaryColumn){
+			final DictionaryColumn dict = (DictionaryColumn)c;
+			final int[] codes = dict.asCodeArray();
+			//each distinct value is only looked up once
+			final int[] cache = new int[dict.cardinality()+1];
+			Arrays.fill(cache, -2);
+			cache[0] = -1;
+			return new Key(){
+				@Override
+				int insert(final int row){
+					final int code = codes[row];
+					if(cache[code] == -2){
+						cache[code] = table.groupOf(dict.getDictionaryValue(code));
+					}
+					return cache[code];
+				}
+				
+				@Override
+				int find(final int row){
+					final int code = codes[row];
+					if(cache[code] == -2){
+						cache[code] = table.find(dict.getDictionaryValue(code));
+					}
+					return cache[code];
+				}
+			};
+		}
+		if(c.memberClass() == String.class){
+			return new Key(){
+				@Override
+				int insert(final int row){
+					final String value = (String)c.getValueAt(row);
+					return (value != null ? table.groupOf(value) : -1);
+				}
+				
+				@Override
+				int find(final int row){
+					final String value = (String)c.getValueAt(row);
+					return (value != null ? table.find(value) : -1);
+				}
+			};
+		}
+		final ColumnReader reader = ColumnReader.of(c);
+		return new Key(){
+			@Override
+			int insert(final int row){
+				return (reader.isNull(row) ? -1 : table.groupOf(reader.getBits(row)));
+			}
+			
+			@Override
+			int find(final int row){
+				return (reader.isNull(row) ? -1 : table.find(reader.getBits(row)));
+			}
+		};
+	}
+	
+	/**
+	 * Indicates whether the specified array contains the given value
+	 * 
+	 * @param array The array to search
+	 * @param value The value to search for
+	 * @return True if the array contains the value, false otherwise
+	 */
+	private static boolean contains(final int[] array, final int value){
+		for(final int i : array){
+			if(i == value){
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Doubles the length of the specified array
+	 * 
+	 * @param array The array to grow
+	 * @return A copy of the specified array with twice its length
+	 */
+	private static int[] grow(final int[] array){
+		if(array.length >= (Integer.MAX_VALUE/2)){
+			throw new DataFrameException("Joined DataFrame exceeds the maximum number of rows");
+		}
+		return Arrays.copyOf(array, array.length*2);
+	}
+	
+	/**
+	 * Creates a join of the specified type on the columns with the specified names
+	 * 
+	 * @param type The type of the join
+	 * @param colNames The names of the key columns
+	 * @return A new Join
+	 */
+	private static Join of(final int type, final String[] colNames){
+		if((colNames == null) || (colNames.length == 0)){
+			throw new DataFrameException("Arg must not be null or empty");
+		}
+		for(final String name : colNames){
+			if((name == null) || (name.isEmpty())){
+				throw new DataFrameException("Arg must not be null or empty");
+			}
+		}
+		return new Join(type, null, null, colNames.clone());
+	}
+	
+	/**
+	 * Creates a join of the specified type on the columns at the specified indices
+	 * 
+	 * @param type The type of the join
+	 * @param cols The indices of the key columns of the left DataFrame
+	 * @param otherCols The indices of the key columns of the right DataFrame
+	 * @return A new Join
+	 */
+	private static Join of(final int type, final int[] cols, final int[] otherCols){
+		if((cols == null) || (otherCols == null) || (cols.length == 0)){
+			throw new DataFrameException("Arg must not be null or empty");
+		}
+		if(cols.length != otherCols.length){
+			throw new DataFrameException("Number of key columns does not match: "
+					+cols.length+" and "+otherCols.length);
+		}
+		return new Join(type, cols.clone(), otherCols.clone(), null);
+	}
+	
+	/**
+	 * Key of the rows of a DataFrame, looked up in the GroupTable of a key column
+	 * of the right DataFrame
+	 * 
+	 */
+	private abstract static class Key {
+		
+		/**
+		 * Returns the group number of the key of the specified row, assigning
+		 * the next group number if the key has not been encountered yet
+		 * 
+		 * @param row The index of the row
+		 * @return The group number of the specified row, or -1 if the key is null
+		 */
+		abstract int insert(int row);
+		
+		/**
+		 * Returns the group number of the key of the specified row
+		 * 
+		 * @param row The index of the row
+		 * @return The group number of the specified row, or -1 if the key is null
+		 *         or has not been encountered
+		 */
+		abstract int find(int row);
+	}
+}
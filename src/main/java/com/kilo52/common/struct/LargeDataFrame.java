@@ -0,0 +1,638 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.struct;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Table whose rows are addressed by <code>long</code> indices and which may therefore
+ * hold more than <code>Integer.MAX_VALUE</code> rows.<br>
+ * A <code>LargeDataFrame</code> is composed of an ordered sequence of ordinary
+ * {@link DataFrame} partitions which all share the same column structure. Each partition
+ * holds a consecutive range of rows. A row index is translated into the partition holding
+ * that row and the index of the row within that partition, so accessing an individual
+ * entry only adds a binary search over the partition offsets.
+ * 
+ * <p>Rows added by {@link #addRow(Object[])} and {@link #addRows(DataFrame)} are appended
+ * to the last partition until it holds the number of rows specified as the partition size,
+ * after which a new partition is started. New partitions use the same column types as the
+ * DataFrame passed to the constructor. For example, using {@link ChunkedColumn} instances
+ * in that DataFrame avoids copying entire partitions when they grow.
+ * 
+ * <p>Partitions can be processed individually by {@link #getPartition(int)} or by
+ * iterating over this <code>LargeDataFrame</code>. Both provide read-only views of the
+ * underlying partitions, so all methods of the <code>DataFrame</code> interface which do
+ * not modify a DataFrame can be used on each partition.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ * 
+ */
+public final class LargeDataFrame implements Iterable<DataFrame>, Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	/** The number of rows at which a new partition is started by default **/
+	public static final int DEFAULT_PARTITION_SIZE = 1 << 26;
+	
+	private final int partitionSize;
+	private final DataFrame structure;
+	private final List<DataFrame> partitions;
+	private long[] offsets;
+	private long rows;
+	private boolean appendable;
+	
+	/**
+	 * Constructs a new empty <code>LargeDataFrame</code> with the column structure of
+	 * the specified DataFrame and the default partition size. The rows of the specified
+	 * DataFrame are not added
+	 * 
+	 * @param structure The DataFrame defining the column types, column names and
+	 *                  nullability of all partitions
+	 */
+	public LargeDataFrame(final DataFrame structure){
+		this(DEFAULT_PARTITION_SIZE, structure);
+	}
+	
+	/**
+	 * Constructs a new empty <code>LargeDataFrame</code> with the column structure of
+	 * the specified DataFrame. The rows of the specified DataFrame are not added
+	 * 
+	 * @param partitionSize The maximum number of rows added to a partition by this
+	 *                      LargeDataFrame. Must be positive
+	 * @param structure The DataFrame defining the column types, column names and
+	 *                  nullability of all partitions
+	 */
+	public LargeDataFrame(final int partitionSize, final DataFrame structure){
+		if(partitionSize <= 0){
+			throw new DataFrameException("Invalid partition size: "+partitionSize);
+		}
+		if((structure == null) || (structure.columns() == 0)){
+			throw new DataFrameException("Arg must not be null or empty");
+		}
+		final Column[] cols = new Column[structure.columns()];
+		for(int i=0; i<cols.length; ++i){
+			cols[i] = emptyColumn(structure.getColumnAt(i).getClass());
+		}
+		this.structure = (structure.isNullable()
+				? new NullableDataFrame(cols)
+				: new DefaultDataFrame(cols));
+		
+		if(structure.hasColumnNames()){
+			this.structure.setColumnNames(structure.getColumnNames());
+		}
+		this.partitionSize = partitionSize;
+		this.partitions = new ArrayList<DataFrame>();
+		this.offsets = new long[8];
+	}
+	
+	/**
+	 * Returns the number of rows in this LargeDataFrame
+	 * 
+	 * @return The number of rows
+	 */
+	public long rows(){
+		return this.rows;
+	}
+	
+	/**
+	 * Returns the number of columns in this LargeDataFrame
+	 * 
+	 * @return The number of columns
+	 */
+	public int columns(){
+		return structure.columns();
+	}
+	
+	/**
+	 * Indicates whether this LargeDataFrame has any rows
+	 * 
+	 * @return True if this LargeDataFrame has no rows
+	 */
+	public boolean isEmpty(){
+		return (rows == 0);
+	}
+	
+	/**
+	 * Indicates whether the partitions of this LargeDataFrame can hold null values
+	 * 
+	 * @return True if all partitions are NullableDataFrames
+	 */
+	public boolean isNullable(){
+		return structure.isNullable();
+	}
+	
+	/**
+	 * Indicates whether the columns of this LargeDataFrame have names
+	 * 
+	 * @return True if all columns have names
+	 */
+	public boolean hasColumnNames(){
+		return structure.hasColumnNames();
+	}
+	
+	/**
+	 * Returns the names of all columns of this LargeDataFrame
+	 * 
+	 * @return The column names, or null if the columns have no names
+	 */
+	public String[] getColumnNames(){
+		return structure.getColumnNames();
+	}
+	
+	/**
+	 * Returns the index of the column with the specified name
+	 * 
+	 * @param colName The name of the column
+	 * @return The index of the column with the specified name
+	 */
+	public int getColumnIndex(final String colName){
+		return structure.getColumnIndex(colName);
+	}
+	
+	/**
+	 * Returns the maximum number of rows added to a partition by this LargeDataFrame
+	 * 
+	 * @return The partition size
+	 */
+	public int getPartitionSize(){
+		return this.partitionSize;
+	}
+	
+	/**
+	 * Returns the number of partitions of this LargeDataFrame
+	 * 
+	 * @return The number of partitions
+	 */
+	public int partitions(){
+		return partitions.size();
+	}
+	
+	/**
+	 * Returns a read-only view of the partition at the specified index
+	 * 
+	 * @param index The index of the partition
+	 * @return A DataFrame providing read-only access to all rows of the specified partition
+	 */
+	public DataFrame getPartition(final int index){
+		if((index < 0) || (index >= partitions.size())){
+			throw new DataFrameException("Invalid partition index: "+index);
+		}
+		final DataFrame partition = partitions.get(index);
+		return partition.slice(0, partition.rows());
+	}
+	
+	/**
+	 * Returns the index of the first row of the partition at the specified index
+	 * 
+	 * @param index The index of the partition
+	 * @return The index of the first row of the specified partition within this
+	 *         LargeDataFrame
+	 */
+	public long getPartitionOffset(final int index){
+		if((index < 0) || (index >= partitions.size())){
+			throw new DataFrameException("Invalid partition index: "+index);
+		}
+		return offsets[index];
+	}
+	
+	/**
+	 * Adds the specified DataFrame as a new partition to the end of this LargeDataFrame.<br>
+	 * The DataFrame is not copied. It must have the same number of columns, the same
+	 * column names, nullability and element types as this LargeDataFrame. The caller must
+	 * not add or remove any rows of the specified DataFrame afterwards. Rows subsequently
+	 * added to this LargeDataFrame are never added to the specified DataFrame but to
+	 * a new partition instead
+	 * 
+	 * @param df The DataFrame to add as a partition
+	 */
+	public void addPartition(final DataFrame df){
+		if(df == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		if(df.columns() != structure.columns()){
+			throw new DataFrameException("Invalid number of columns: "+df.columns());
+		}
+		if(df.isNullable() != structure.isNullable()){
+			throw new DataFrameException("Nullability does not match");
+		}
+		if(!Arrays.equals(df.getColumnNames(), structure.getColumnNames())){
+			throw new DataFrameException("Column names do not match");
+		}
+		for(int i=0; i<df.columns(); ++i){
+			if(df.getColumnAt(i).memberClass() != structure.getColumnAt(i).memberClass()){
+				throw new DataFrameException("Column type does not match at index "+i);
+			}
+		}
+		if(df.rows() > 0){
+			append(df);
+			this.appendable = false;
+		}
+	}
+	
+	/**
+	 * Adds the specified row to the end of this LargeDataFrame
+	 * 
+	 * @param row The row to add
+	 */
+	public void addRow(final Object[] row){
+		last().addRow(row);
+		++rows;
+	}
+	
+	/**
+	 * Adds all rows of the specified DataFrame to the end of this LargeDataFrame.<br>
+	 * The rows are copied into the last partition and as many new partitions as required
+	 * 
+	 * @param df The DataFrame holding the rows to add
+	 */
+	public void addRows(final DataFrame df){
+		if(df == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		int from = 0;
+		while(from < df.rows()){
+			final DataFrame partition = last();
+			final int n = Math.min(df.rows()-from, partitionSize-partition.rows());
+			partition.addRows(n == df.rows() ? df : df.slice(from, from+n));
+			rows += n;
+			from += n;
+		}
+	}
+	
+	/**
+	 * Returns the row at the specified index
+	 * 
+	 * @param index The index of the row
+	 * @return The row at the specified index
+	 */
+	public Object[] getRowAt(final long index){
+		final int p = partitionOf(index);
+		return partitions.get(p).getRowAt((int)(index-offsets[p]));
+	}
+	
+	/**
+	 * Sets the row at the specified index
+	 * 
+	 * @param index The index of the row
+	 * @param row The row to set
+	 */
+	public void setRowAt(final long index, final Object[] row){
+		final int p = partitionOf(index);
+		partitions.get(p).setRowAt((int)(index-offsets[p]), row);
+	}
+	
+	/**
+	 * Returns the value of the entry at the specified position
+	 * 
+	 * @param col The index of the column
+	 * @param row The index of the row
+	 * @return The entry at the specified position
+	 */
+	public Byte getByte(final int col, final long row){
+		final int p = partitionOf(row);
+		return partitions.get(p).getByte(col, (int)(row-offsets[p]));
+	}
+	
+	/**
+	 * Returns the value of the entry at the specified position
+	 * 
+	 * @param col The index of the column
+	 * @param row The index of the row
+	 * @return The entry at the specified position
+	 */
+	public Short getShort(final int col, final long row){
+		final int p = partitionOf(row);
+		return partitions.get(p).getShort(col, (int)(row-offsets[p]));
+	}
+	
+	/**
+	 * Returns the value of the entry at the specified position
+	 * 
+	 * @param col The index of the column
+	 * @param row The index of the row
+	 * @return The entry at the specified position
+	 */
+	public Integer getInt(final int col, final long row){
+		final int p = partitionOf(row);
+		return partitions.get(p).getInt(col, (int)(row-offsets[p]));
+	}
+	
+	/**
+	 * Returns the value of the entry at the specified position
+	 * 
+	 * @param col The index of the column
+	 * @param row The index of the row
+	 * @return The entry at the specified position
+	 */
+	public Long getLong(final int col, final long row){
+		final int p = partitionOf(row);
+		return partitions.get(p).getLong(col, (int)(row-offsets[p]));
+	}
+	
+	/**
+	 * Returns the value of the entry at the specified position
+	 * 
+	 * @param col The index of the column
+	 * @param row The index of the row
+	 * @return The entry at the specified position
+	 */
+	public String getString(final int col, final long row){
+		final int p = partitionOf(row);
+		return partitions.get(p).getString(col, (int)(row-offsets[p]));
+	}
+	
+	/**
+	 * Returns the value of the entry at the specified position
+	 * 
+	 * @param col The index of the column
+	 * @param row The index of the row
+	 * @return The entry at the specified position
+	 */
+	public Float getFloat(final int col, final long row){
+		final int p = partitionOf(row);
+		return partitions.get(p).getFloat(col, (int)(row-offsets[p]));
+	}
+	
+	/**
+	 * Returns the value of the entry at the specified position
+	 * 
+	 * @param col The index of the column
+	 * @param row The index of the row
+	 * @return The entry at the specified position
+	 */
+	public Double getDouble(final int col, final long row){
+		final int p = partitionOf(row);
+		return partitions.get(p).getDouble(col, (int)(row-offsets[p]));
+	}
+	
+	/**
+	 * Returns the value of the entry at the specified position
+	 * 
+	 * @param col The index of the column
+	 * @param row The index of the row
+	 * @return The entry at the specified position
+	 */
+	public Character getChar(final int col, final long row){
+		final int p = partitionOf(row);
+		return partitions.get(p).getChar(col, (int)(row-offsets[p]));
+	}
+	
+	/**
+	 * Returns the value of the entry at the specified position
+	 * 
+	 * @param col The index of the column
+	 * @param row The index of the row
+	 * @return The entry at the specified position
+	 */
+	public Boolean getBoolean(final int col, final long row){
+		final int p = partitionOf(row);
+		return partitions.get(p).getBoolean(col, (int)(row-offsets[p]));
+	}
+	
+	/**
+	 * Returns the primitive value of the entry at the specified position
+	 * 
+	 * @param col The index of the column
+	 * @param row The index of the row
+	 * @return The entry at the specified position
+	 * @see DataFrame#byteAt(int, int)
+	 */
+	public byte byteAt(final int col, final long row){
+		final int p = partitionOf(row);
+		return partitions.get(p).byteAt(col, (int)(row-offsets[p]));
+	}
+	
+	/**
+	 * Returns the primitive value of the entry at the specified position
+	 * 
+	 * @param col The index of the column
+	 * @param row The index of the row
+	 * @return The entry at the specified position
+	 * @see DataFrame#shortAt(int, int)
+	 */
+	public short shortAt(final int col, final long row){
+		final int p = partitionOf(row);
+		return partitions.get(p).shortAt(col, (int)(row-offsets[p]));
+	}
+	
+	/**
+	 * Returns the primitive value of the entry at the specified position
+	 * 
+	 * @param col The index of the column
+	 * @param row The index of the row
+	 * @return The entry at the specified position
+	 * @see DataFrame#intAt(int, int)
+	 */
+	public int intAt(final int col, final long row){
+		final int p = partitionOf(row);
+		return partitions.get(p).intAt(col, (int)(row-offsets[p]));
+	}
+	
+	/**
+	 * Returns the primitive value of the entry at the specified position
+	 * 
+	 * @param col The index of the column
+	 * @param row The index of the row
+	 * @return The entry at the specified position
+	 * @see DataFrame#longAt(int, int)
+	 */
+	public long longAt(final int col, final long row){
+		final int p = partitionOf(row);
+		return partitions.get(p).longAt(col, (int)(row-offsets[p]));
+	}
+	
+	/**
+	 * Returns the primitive value of the entry at the specified position
+	 * 
+	 * @param col The index of the column
+	 * @param row The index of the row
+	 * @return The entry at the specified position
+	 * @see DataFrame#floatAt(int, int)
+	 */
+	public float floatAt(final int col, final long row){
+		final int p = partitionOf(row);
+		return partitions.get(p).floatAt(col, (int)(row-offsets[p]));
+	}
+	
+	/**
+	 * Returns the primitive value of the entry at the specified position
+	 * 
+	 * @param col The index of the column
+	 * @param row The index of the row
+	 * @return The entry at the specified position
+	 * @see DataFrame#doubleAt(int, int)
+	 */
+	public double doubleAt(final int col, final long row){
+		final int p = partitionOf(row);
+		return partitions.get(p).doubleAt(col, (int)(row-offsets[p]));
+	}
+	
+	/**
+	 * Returns the primitive value of the entry at the specified position
+	 * 
+	 * @param col The index of the column
+	 * @param row The index of the row
+	 * @return The entry at the specified position
+	 * @see DataFrame#charAt(int, int)
+	 */
+	public char charAt(final int col, final long row){
+		final int p = partitionOf(row);
+		return partitions.get(p).charAt(col, (int)(row-offsets[p]));
+	}
+	
+	/**
+	 * Returns the primitive value of the entry at the specified position
+	 * 
+	 * @param col The index of the column
+	 * @param row The index of the row
+	 * @return The entry at the specified position
+	 * @see DataFrame#booleanAt(int, int)
+	 */
+	public boolean booleanAt(final int col, final long row){
+		final int p = partitionOf(row);
+		return partitions.get(p).booleanAt(col, (int)(row-offsets[p]));
+	}
+	
+	/**
+	 * Returns a DataFrame holding the rows within the specified range.<br>
+	 * If all rows of the range lie within a single partition, the returned DataFrame
+	 * is a read-only view of that partition. Otherwise the rows are copied into a new
+	 * DataFrame. The range must not span more than <code>Integer.MAX_VALUE</code> rows
+	 * 
+	 * @param from The index of the first row to include, inclusive
+	 * @param to The index of the last row to include, exclusive
+	 * @return A DataFrame holding the rows within the specified range
+	 */
+	public DataFrame slice(final long from, final long to){
+		if((from < 0) || (to > rows) || (from > to) || (to-from > Integer.MAX_VALUE)){
+			throw new DataFrameException(String.format("Invalid row range: [%s, %s)", from, to));
+		}
+		if(from == to){
+			return structure.slice(0, 0);
+		}
+		final int first = partitionOf(from);
+		final int last = partitionOf(to-1);
+		if(first == last){
+			return partitions.get(first).slice((int)(from-offsets[first]),
+					(int)(to-offsets[first]));
+		}
+		final DataFrame df = DataFrame.copyOf(structure);
+		df.ensureCapacity((int)(to-from));
+		for(int i=first; i<=last; ++i){
+			final DataFrame partition = partitions.get(i);
+			df.addRows(partition.slice((int)(Math.max(from, offsets[i])-offsets[i]),
+					(int)(Math.min(to, offsets[i]+partition.rows())-offsets[i])));
+		}
+		return df;
+	}
+	
+	/**
+	 * Returns an iterator over read-only views of all partitions of this LargeDataFrame
+	 * 
+	 * @return An iterator over all partitions
+	 */
+	@Override
+	public Iterator<DataFrame> iterator(){
+		final List<DataFrame> views = new ArrayList<DataFrame>(partitions.size());
+		for(int i=0; i<partitions.size(); ++i){
+			views.add(getPartition(i));
+		}
+		return Collections.unmodifiableList(views).iterator();
+	}
+	
+	@Override
+	public String toString(){
+		return "LargeDataFrame [rows=" + rows + ", columns=" + structure.columns()
+				+ ", partitions=" + partitions.size() + "]";
+	}
+	
+	/**
+	 * Returns the index of the partition holding the row at the specified index
+	 * 
+	 * @param row The index of the row
+	 * @return The index of the partition holding the specified row
+	 */
+	private int partitionOf(final long row){
+		if((row < 0) || (row >= rows)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		final int index = Arrays.binarySearch(offsets, 0, partitions.size(), row);
+		return (index >= 0 ? index : -index-2);
+	}
+	
+	/**
+	 * Returns the partition rows are added to, starting a new partition if the
+	 * last partition is full or was not created by this LargeDataFrame
+	 * 
+	 * @return The partition to add rows to
+	 */
+	private DataFrame last(){
+		if(appendable){
+			final DataFrame partition = partitions.get(partitions.size()-1);
+			if(partition.rows() < partitionSize){
+				return partition;
+			}
+		}
+		final DataFrame partition = DataFrame.copyOf(structure);
+		append(partition);
+		this.appendable = true;
+		return partition;
+	}
+	
+	/**
+	 * Adds the specified DataFrame to the end of the list of partitions
+	 * 
+	 * @param partition The DataFrame to add as a partition
+	 */
+	private void append(final DataFrame partition){
+		if(partitions.size() == offsets.length){
+			this.offsets = Arrays.copyOf(offsets, offsets.length*2);
+		}
+		offsets[partitions.size()] = rows;
+		partitions.add(partition);
+		rows += partition.rows();
+	}
+	
+	/**
+	 * Creates an empty column of the specified type. Column types which cannot be
+	 * created empty, for example memory-mapped columns, are substituted by the
+	 * nearest superclass which can
+	 * 
+	 * @param type The type of the column to create
+	 * @return An empty Column of the specified type
+	 */
+	private static Column emptyColumn(Class<?> type){
+		while(type != Column.class){
+			try{
+				final Column col = (Column)type.getConstructor().newInstance();
+				col.matchLength(0);
+				return col;
+			}catch(NoSuchMethodException ex){
+				type = type.getSuperclass();
+			}catch(ReflectiveOperationException ex){
+				throw new DataFrameException("Unable to create column: "+type.getSimpleName());
+			}
+		}
+		throw new DataFrameException("Unsupported column type");
+	}
+}
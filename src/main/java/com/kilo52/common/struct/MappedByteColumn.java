@@ -0,0 +1,179 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.struct;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * ByteColumn backed by one or more ByteBuffers, for example views over a 
+ * memory-mapped file.<br>
+ * The buffers hold consecutive segments of the entries of this column, so a column
+ * can hold more entries than a single mapping of a file is able to address.
+ * Entries are read directly from the underlying buffers, which are never written to.
+ * As soon as this column is structurally modified, an entry is set or the internal
+ * array is requested, all entries are copied to the heap once and this column behaves
+ * like a regular <code>ByteColumn</code> from then on.<br>
+ * This implementation <b>DOES NOT</b> support null values.
+ * 
+ * @see ByteColumn
+ *
+ */
+public class MappedByteColumn extends ByteColumn {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private transient ByteBuffer[] buffers;
+	private transient int[] offsets;
+	
+	/**
+	 * Constructs a new <code>MappedByteColumn</code> which reads its entries from
+	 * the specified buffers. Each buffer holds the entries from index zero up to its
+	 * limit, following the entries of the preceding buffer. The capacity of this
+	 * column is equal to the sum of the limits of all given buffers
+	 * 
+	 * @param buffers The buffers holding the entries of the column to be constructed,
+	 *                in order. Must not be null
+	 */
+	public MappedByteColumn(final ByteBuffer... buffers){
+		super(new byte[0]);
+		this.offsets = MappedSegments.offsets(buffers);
+		this.buffers = buffers.clone();
+	}
+	
+	/**
+	 * Indicates whether this column still reads its entries from the underlying buffers
+	 * 
+	 * @return True if the entries of this column have not been copied to the heap
+	 */
+	public boolean isMapped(){
+		return (buffers != null);
+	}
+	
+	@Override
+	public byte get(final int index){
+		if(buffers != null){
+			final int i = MappedSegments.find(offsets, index);
+			return buffers[i].get(index-offsets[i]);
+		}
+		return super.get(index);
+	}
+	
+	@Override
+	public void set(final int index, final byte value){
+		detach();
+		super.set(index, value);
+	}
+	
+	/**
+	 * Returns a reference to the internal array of this column.<br>
+	 * If this column is still mapped, all entries are copied to the heap first
+	 * 
+	 * @return The internal byte array
+	 */
+	@Override
+	public byte[] asArray(){
+		detach();
+		return super.asArray();
+	}
+	
+	@Override
+	public Object clone(){
+		if(buffers != null){
+			final ByteBuffer[] copies = new ByteBuffer[buffers.length];
+			for(int i=0; i<buffers.length; ++i){
+				copies[i] = buffers[i].duplicate();
+			}
+			return new MappedByteColumn(copies);
+		}
+		return super.clone();
+	}
+	
+	@Override
+	public Object getValueAt(int index){
+		return get(index);
+	}
+	
+	@Override
+	public void setValueAt(int index, Object value){
+		detach();
+		super.setValueAt(index, value);
+	}
+	
+	@Override
+	protected int capacity(){
+		return (buffers != null ? offsets[offsets.length-1] : super.capacity());
+	}
+	
+	@Override
+	protected void insertValueAt(int index, int next, Object value){
+		detach();
+		super.insertValueAt(index, next, value);
+	}
+	
+	@Override
+	protected void resize(){
+		detach();
+		super.resize();
+	}
+	
+	@Override
+	protected void remove(int from, int to, int next){
+		detach();
+		super.remove(from, to, next);
+	}
+	
+	@Override
+	protected void copyFrom(Column source, int from, int index, int length){
+		detach();
+		super.copyFrom(source, from, index, length);
+	}
+	
+	@Override
+	protected void matchLength(int length){
+		if((buffers != null) && (length == offsets[offsets.length-1])){
+			return;
+		}
+		detach();
+		super.matchLength(length);
+	}
+	
+	/**
+	 * Copies all entries from the underlying buffers to the heap
+	 */
+	private void detach(){
+		if(buffers != null){
+			final ByteBuffer[] sources = buffers;
+			final int[] starts = offsets;
+			this.buffers = null;
+			this.offsets = null;
+			super.matchLength(starts[sources.length]);
+			final byte[] entries = super.asArray();
+			for(int i=0; i<sources.length; ++i){
+				final ByteBuffer source = sources[i].duplicate();
+				source.rewind();
+				source.get(entries, starts[i], source.limit());
+			}
+		}
+	}
+	
+	private void writeObject(final ObjectOutputStream out) throws IOException{
+		detach();
+		out.defaultWriteObject();
+	}
+}
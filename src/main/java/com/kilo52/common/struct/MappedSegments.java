@@ -0,0 +1,87 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.struct;
+
+import java.nio.Buffer;
+
+/**
+ * Utility methods for managing the segments of all mapped column implementations.<br>
+ * A mapped column reads its entries from one or more buffers, each of which holds a
+ * consecutive segment of the entries of the column from index zero up to its limit.
+ * The segments are located through an array of offsets holding the index of the first
+ * entry of each segment, followed by the total number of entries of all segments.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ * 
+ */
+final class MappedSegments {
+	
+	private MappedSegments(){ }
+	
+	/**
+	 * Computes the offsets of the given segments
+	 * 
+	 * @param buffers The buffers holding the segments. Must not be null
+	 * @return The offsets of the given segments. The last element holds the
+	 *         total number of entries of all segments
+	 * @throws IllegalArgumentException If the given array or any of its elements
+	 *                                  is null, or if all segments together hold
+	 *                                  more entries than a column can address
+	 */
+	static int[] offsets(final Buffer[] buffers){
+		if(buffers == null){
+			throw new IllegalArgumentException("Arg must not be null");
+		}
+		final int[] offsets = new int[buffers.length+1];
+		long total = 0;
+		for(int i=0; i<buffers.length; ++i){
+			if(buffers[i] == null){
+				throw new IllegalArgumentException("Arg must not contain null");
+			}
+			offsets[i] = (int)total;
+			total += buffers[i].limit();
+			if(total > Integer.MAX_VALUE){
+				throw new IllegalArgumentException("Too many entries: "+total);
+			}
+		}
+		offsets[buffers.length] = (int)total;
+		return offsets;
+	}
+	
+	/**
+	 * Finds the segment holding the entry at the specified index
+	 * 
+	 * @param offsets The offsets of the segments
+	 * @param index The index of the entry to find
+	 * @return The index of the segment holding the specified entry. If the
+	 *         index is out of bounds, the first or last segment is returned
+	 */
+	static int find(final int[] offsets, final int index){
+		int low = 0;
+		int high = offsets.length-2;
+		while(low < high){
+			final int mid = (low+high+1) >>> 1;
+			if(offsets[mid] <= index){
+				low = mid;
+			}else{
+				high = mid-1;
+			}
+		}
+		return low;
+	}
+}
@@ -29,6 +29,16 @@ public abstract class NullableColumn extends Column implements Cloneable, Serial
 	public abstract Object getValueAt(int index);
 
 	public abstract void setValueAt(int index, Object value);
+	
+	/**
+	 * Indicates whether the entry at the specified index is null
+	 * 
+	 * @param index The index of the entry to check
+	 * @return True if the entry at the specified index is null, false otherwise
+	 */
+	public boolean isNull(int index){
+		return (getValueAt(index) == null);
+	}
 
 	public abstract Object clone();
 
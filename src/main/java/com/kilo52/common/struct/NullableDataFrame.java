@@ -49,6 +49,7 @@ public class NullableDataFrame implements DataFrame {
 	private Column[] columns;
 	private Map<String, Integer> names;
 	private int next;
+	private GrowthPolicy policy = GrowthPolicy.DEFAULT;
 
 	/**
 	 * Constructs an empty <code>NullableDataFrame</code> without any columns set.
@@ -592,6 +593,390 @@ public class NullableDataFrame implements DataFrame {
 		}
 		((NullableBooleanColumn)columns[col]).set(row, value);
 	}
+	
+	public byte byteAt(final int col, final int row){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableByteColumn)){
+			throw new DataFrameException("Is not NullableByteColumn");
+		}
+		return ((NullableByteColumn)columns[col]).getByte(row);
+	}
+	
+	public byte byteAt(final String colName, final int row){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableByteColumn)){
+			throw new DataFrameException("Is not NullableByteColumn");
+		}
+		return ((NullableByteColumn)columns[col]).getByte(row);
+	}
+	
+	public void setByteAt(final int col, final int row, final byte value){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableByteColumn)){
+			throw new DataFrameException("Is not NullableByteColumn");
+		}
+		((NullableByteColumn)columns[col]).setByte(row, value);
+	}
+	
+	public void setByteAt(final String colName, final int row, final byte value){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableByteColumn)){
+			throw new DataFrameException("Is not NullableByteColumn");
+		}
+		((NullableByteColumn)columns[col]).setByte(row, value);
+	}
+	
+	public short shortAt(final int col, final int row){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableShortColumn)){
+			throw new DataFrameException("Is not NullableShortColumn");
+		}
+		return ((NullableShortColumn)columns[col]).getShort(row);
+	}
+	
+	public short shortAt(final String colName, final int row){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableShortColumn)){
+			throw new DataFrameException("Is not NullableShortColumn");
+		}
+		return ((NullableShortColumn)columns[col]).getShort(row);
+	}
+	
+	public void setShortAt(final int col, final int row, final short value){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableShortColumn)){
+			throw new DataFrameException("Is not NullableShortColumn");
+		}
+		((NullableShortColumn)columns[col]).setShort(row, value);
+	}
+	
+	public void setShortAt(final String colName, final int row, final short value){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableShortColumn)){
+			throw new DataFrameException("Is not NullableShortColumn");
+		}
+		((NullableShortColumn)columns[col]).setShort(row, value);
+	}
+	
+	public int intAt(final int col, final int row){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableIntColumn)){
+			throw new DataFrameException("Is not NullableIntColumn");
+		}
+		return ((NullableIntColumn)columns[col]).getInt(row);
+	}
+	
+	public int intAt(final String colName, final int row){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableIntColumn)){
+			throw new DataFrameException("Is not NullableIntColumn");
+		}
+		return ((NullableIntColumn)columns[col]).getInt(row);
+	}
+	
+	public void setIntAt(final int col, final int row, final int value){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableIntColumn)){
+			throw new DataFrameException("Is not NullableIntColumn");
+		}
+		((NullableIntColumn)columns[col]).setInt(row, value);
+	}
+	
+	public void setIntAt(final String colName, final int row, final int value){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableIntColumn)){
+			throw new DataFrameException("Is not NullableIntColumn");
+		}
+		((NullableIntColumn)columns[col]).setInt(row, value);
+	}
+	
+	public long longAt(final int col, final int row){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableLongColumn)){
+			throw new DataFrameException("Is not NullableLongColumn");
+		}
+		return ((NullableLongColumn)columns[col]).getLong(row);
+	}
+	
+	public long longAt(final String colName, final int row){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableLongColumn)){
+			throw new DataFrameException("Is not NullableLongColumn");
+		}
+		return ((NullableLongColumn)columns[col]).getLong(row);
+	}
+	
+	public void setLongAt(final int col, final int row, final long value){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableLongColumn)){
+			throw new DataFrameException("Is not NullableLongColumn");
+		}
+		((NullableLongColumn)columns[col]).setLong(row, value);
+	}
+	
+	public void setLongAt(final String colName, final int row, final long value){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableLongColumn)){
+			throw new DataFrameException("Is not NullableLongColumn");
+		}
+		((NullableLongColumn)columns[col]).setLong(row, value);
+	}
+	
+	public float floatAt(final int col, final int row){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableFloatColumn)){
+			throw new DataFrameException("Is not NullableFloatColumn");
+		}
+		return ((NullableFloatColumn)columns[col]).getFloat(row);
+	}
+	
+	public float floatAt(final String colName, final int row){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableFloatColumn)){
+			throw new DataFrameException("Is not NullableFloatColumn");
+		}
+		return ((NullableFloatColumn)columns[col]).getFloat(row);
+	}
+	
+	public void setFloatAt(final int col, final int row, final float value){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableFloatColumn)){
+			throw new DataFrameException("Is not NullableFloatColumn");
+		}
+		((NullableFloatColumn)columns[col]).setFloat(row, value);
+	}
+	
+	public void setFloatAt(final String colName, final int row, final float value){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableFloatColumn)){
+			throw new DataFrameException("Is not NullableFloatColumn");
+		}
+		((NullableFloatColumn)columns[col]).setFloat(row, value);
+	}
+	
+	public double doubleAt(final int col, final int row){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableDoubleColumn)){
+			throw new DataFrameException("Is not NullableDoubleColumn");
+		}
+		return ((NullableDoubleColumn)columns[col]).getDouble(row);
+	}
+	
+	public double doubleAt(final String colName, final int row){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableDoubleColumn)){
+			throw new DataFrameException("Is not NullableDoubleColumn");
+		}
+		return ((NullableDoubleColumn)columns[col]).getDouble(row);
+	}
+	
+	public void setDoubleAt(final int col, final int row, final double value){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableDoubleColumn)){
+			throw new DataFrameException("Is not NullableDoubleColumn");
+		}
+		((NullableDoubleColumn)columns[col]).setDouble(row, value);
+	}
+	
+	public void setDoubleAt(final String colName, final int row, final double value){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableDoubleColumn)){
+			throw new DataFrameException("Is not NullableDoubleColumn");
+		}
+		((NullableDoubleColumn)columns[col]).setDouble(row, value);
+	}
+	
+	public char charAt(final int col, final int row){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableCharColumn)){
+			throw new DataFrameException("Is not NullableCharColumn");
+		}
+		return ((NullableCharColumn)columns[col]).getChar(row);
+	}
+	
+	public char charAt(final String colName, final int row){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableCharColumn)){
+			throw new DataFrameException("Is not NullableCharColumn");
+		}
+		return ((NullableCharColumn)columns[col]).getChar(row);
+	}
+	
+	public void setCharAt(final int col, final int row, final char value){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableCharColumn)){
+			throw new DataFrameException("Is not NullableCharColumn");
+		}
+		((NullableCharColumn)columns[col]).setChar(row, value);
+	}
+	
+	public void setCharAt(final String colName, final int row, final char value){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableCharColumn)){
+			throw new DataFrameException("Is not NullableCharColumn");
+		}
+		((NullableCharColumn)columns[col]).setChar(row, value);
+	}
+	
+	public boolean booleanAt(final int col, final int row){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableBooleanColumn)){
+			throw new DataFrameException("Is not NullableBooleanColumn");
+		}
+		return ((NullableBooleanColumn)columns[col]).getBoolean(row);
+	}
+	
+	public boolean booleanAt(final String colName, final int row){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableBooleanColumn)){
+			throw new DataFrameException("Is not NullableBooleanColumn");
+		}
+		return ((NullableBooleanColumn)columns[col]).getBoolean(row);
+	}
+	
+	public void setBooleanAt(final int col, final int row, final boolean value){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableBooleanColumn)){
+			throw new DataFrameException("Is not NullableBooleanColumn");
+		}
+		((NullableBooleanColumn)columns[col]).setBoolean(row, value);
+	}
+	
+	public void setBooleanAt(final String colName, final int row, final boolean value){
+		final int col = enforceName(colName);
+		if((row < 0) || (row >= next)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		if(!(columns[col] instanceof NullableBooleanColumn)){
+			throw new DataFrameException("Is not NullableBooleanColumn");
+		}
+		((NullableBooleanColumn)columns[col]).setBoolean(row, value);
+	}
 
 	public String[] getColumnNames(){
 		if(names != null){
@@ -741,7 +1126,7 @@ public class NullableDataFrame implements DataFrame {
 	public void addRow(final Object[] row){
 		enforceTypes(row);
 		if(next >= columns[0].capacity()){
-			resize();
+			resize(next+1);
 		}
 		for(int i=0; i<columns.length; ++i){
 			columns[i].setValueAt(next, row[i]);
@@ -755,7 +1140,7 @@ public class NullableDataFrame implements DataFrame {
 					+ "to use row annotation feature");
 		}
 		if(next >= columns[0].capacity()){
-			resize();
+			resize(next+1);
 		}
 		final Object[] items = itemsByAnnotations(row);
 		for(int i=0; i<items.length; ++i){
@@ -763,6 +1148,27 @@ public class NullableDataFrame implements DataFrame {
 		}
 		++next;
 	}
+	
+	public void addRows(final int rows, final Column... cols){
+		if(cols == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		if(rows < 0){
+			throw new DataFrameException("Invalid number of rows: "+rows);
+		}
+		appendAll(cols, rows);
+	}
+	
+	public void addRows(final DataFrame df){
+		if(df == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		final Column[] cols = new Column[df.columns()];
+		for(int i=0; i<cols.length; ++i){
+			cols[i] = df.getColumnAt(i);
+		}
+		appendAll(cols, df.rows());
+	}
 
 	public void insertRowAt(final int index, final Object[] row){
 		if((index > next) || (index < 0)){
@@ -774,7 +1180,7 @@ public class NullableDataFrame implements DataFrame {
 		}
 		enforceTypes(row);
 		if(next >= columns[0].capacity()){
-			resize();
+			resize(next+1);
 		}
 		for(int i=0; i<columns.length; ++i){
 			columns[i].insertValueAt(index, next, row[i]);
@@ -796,7 +1202,7 @@ public class NullableDataFrame implements DataFrame {
 		}
 		final Object[] items = itemsByAnnotations(row);
 		if(next >= columns[0].capacity()){
-			resize();
+			resize(next+1);
 		}
 		for(int i=0; i<items.length; ++i){
 			columns[i].insertValueAt(index, next, items[i]);
@@ -812,9 +1218,7 @@ public class NullableDataFrame implements DataFrame {
 			col.remove(index, index+1, next);
 		}
 		--next;
-		if((next*3) < columns[0].capacity()){
-			flushAll(4);
-		}
+		shrink();
 	}
 
 	public void removeRows(final int from, final int to){
@@ -829,9 +1233,7 @@ public class NullableDataFrame implements DataFrame {
 			col.remove(from, to, next);
 		}
 		next-=(to-from);
-		if((next*3) < columns[0].capacity()){
-			flushAll(4);
-		}
+		shrink();
 	}
 
 	public void addColumn(final Column col){
@@ -1074,6 +1476,25 @@ public class NullableDataFrame implements DataFrame {
 			flushAll(0);
 		}
 	}
+	
+	public void ensureCapacity(final int rows){
+		if((next != -1) && (rows > columns[0].capacity())){
+			for(final Column col : columns){
+				col.matchLength(rows);
+			}
+		}
+	}
+	
+	public GrowthPolicy getGrowthPolicy(){
+		return (policy != null ? policy : GrowthPolicy.DEFAULT);
+	}
+	
+	public void setGrowthPolicy(final GrowthPolicy policy){
+		if(policy == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		this.policy = policy;
+	}
 
 	public Column getColumnAt(final int col){
 		if((next == -1) || (col < 0) || (col >= columns.length)){
@@ -1112,6 +1533,9 @@ public class NullableDataFrame implements DataFrame {
 		}
 		final Column c = columns[col];
 		final Pattern p = Pattern.compile(regex);//cache
+		if(c instanceof DictionaryColumn){
+			return StringDictionary.indexOf((DictionaryColumn)c, p, 0, next);
+		}
 		for(int i=0; i<next; ++i){
 			if(p.matcher(String.valueOf(c.getValueAt(i))).matches()){
 				return i;
@@ -1136,6 +1560,9 @@ public class NullableDataFrame implements DataFrame {
 		}
 		final Column c = columns[col];
 		final Pattern p = Pattern.compile(regex);//cache
+		if(c instanceof DictionaryColumn){
+			return StringDictionary.indexOf((DictionaryColumn)c, p, startFrom, next);
+		}
 		for(int i=startFrom; i<next; ++i){
 			if(p.matcher(String.valueOf(c.getValueAt(i))).matches()){
 				return i;
@@ -1157,6 +1584,9 @@ public class NullableDataFrame implements DataFrame {
 		}
 		final Column c = columns[col];
 		final Pattern p = Pattern.compile(regex);//cache
+		if(c instanceof DictionaryColumn){
+			return StringDictionary.indexOfAll((DictionaryColumn)c, p, next);
+		}
 		int[] res = new int[16];
 		int hits = 0;
 		for(int i=0; i<next; ++i){
@@ -1192,28 +1622,98 @@ public class NullableDataFrame implements DataFrame {
 		if((regex == null) || (regex.isEmpty())){
 			throw new DataFrameException("Arg must not be null or empty");
 		}
-		final int[] indices = indexOfAll(col, regex);
-		final DataFrame df = new NullableDataFrame();
-		try{
-			for(final Column c : columns){
-				df.addColumn(c.getClass().newInstance());
-			}
-		}catch(InstantiationException | IllegalAccessException ex){
-			throw new DataFrameException("Unable to instantiate columns");
+		return copyRows(indexOfAll(col, regex));
+	}
+	
+	public DataFrame filter(final String colName, final String regex){
+		return filter(enforceName(colName), regex);
+	}
+	
+	public int indexOf(final int col, final ColumnPredicate predicate){
+		return indexOf(col, 0, predicate);
+	}
+	
+	public int indexOf(final String colName, final ColumnPredicate predicate){
+		return indexOf(enforceName(colName), 0, predicate);
+	}
+	
+	public int indexOf(final int col, final int startFrom, final ColumnPredicate predicate){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
 		}
-		if(indices != null){
-			for(int i=0; i<indices.length; ++i){
-				df.addRow(getRowAt(indices[i]));
-			}
+		if(predicate == null){
+			throw new DataFrameException("Arg must not be null");
 		}
-		if(names != null){
-			df.setColumnNames(getColumnNames());
+		if((startFrom < 0) || (startFrom >= next)){
+			throw new DataFrameException("Invalid start argument: "+startFrom);
 		}
-		return df;
+		return predicate.indexOf(columns[col], startFrom, next);
 	}
 	
-	public DataFrame filter(final String colName, final String regex){
-		return filter(enforceName(colName), regex);
+	public int indexOf(final String colName, final int startFrom, final ColumnPredicate predicate){
+		return indexOf(enforceName(colName), startFrom, predicate);
+	}
+	
+	public int[] indexOfAll(final int col, final ColumnPredicate predicate){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if(predicate == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		return predicate.indexOfAll(columns[col], 0, next);
+	}
+	
+	public int[] indexOfAll(final String colName, final ColumnPredicate predicate){
+		return indexOfAll(enforceName(colName), predicate);
+	}
+	
+	public DataFrame filter(final int col, final ColumnPredicate predicate){
+		return filter(where(col, predicate));
+	}
+	
+	public DataFrame filter(final String colName, final ColumnPredicate predicate){
+		return filter(enforceName(colName), predicate);
+	}
+	
+	public RowSelection where(final int col, final ColumnPredicate predicate){
+		if((next == -1) || (col < 0) || (col >= columns.length)){
+			throw new DataFrameException("Invalid column index: "+col);
+		}
+		if(predicate == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		return new RowSelection(predicate.evaluate(columns[col], 0, next), next);
+	}
+	
+	public RowSelection where(final String colName, final ColumnPredicate predicate){
+		return where(enforceName(colName), predicate);
+	}
+	
+	public DataFrame filter(final RowSelection selection){
+		if(selection == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		if(selection.rows() != rows()){
+			throw new DataFrameException("Selection does not match the number of rows: "
+					+ selection.rows());
+		}
+		return copyRows(selection.indices());
+	}
+	
+	public GroupBy groupBy(final int... cols){
+		return new GroupBy(this, cols);
+	}
+	
+	public GroupBy groupBy(final String... colNames){
+		if((colNames == null) || (colNames.length == 0)){
+			throw new DataFrameException("Arg must not be null or empty");
+		}
+		final int[] cols = new int[colNames.length];
+		for(int i=0; i<cols.length; ++i){
+			cols[i] = enforceName(colNames[i]);
+		}
+		return groupBy(cols);
 	}
 	
 	public double average(final int col){
@@ -1224,67 +1724,7 @@ public class NullableDataFrame implements DataFrame {
 		if(isNaN(c) || (next == 0)){
 			throw new DataFrameException("Unable to compute average. Column consists of NaNs");
 		}
-		double avg = 0;
-		int total = 0;
-		switch(c.memberClass().getSimpleName()){
-		case "Float":
-			final NullableFloatColumn columnFloat = ((NullableFloatColumn)c);
-			for(int i=0; i<next; ++i){
-				if(columnFloat.get(i) != null){
-					avg+=columnFloat.get(i);
-					++total;
-				}
-			}
-			break;
-		case "Double":
-			final NullableDoubleColumn columnDouble = ((NullableDoubleColumn)c);
-			for(int i=0; i<next; ++i){
-				if(columnDouble.get(i) != null){
-					avg+=columnDouble.get(i);
-					++total;
-				}
-			}
-			break;
-		case "Byte":
-			final NullableByteColumn columnByte = ((NullableByteColumn)c);
-			for(int i=0; i<next; ++i){
-				if(columnByte.get(i) != null){
-					avg+=columnByte.get(i);
-					++total;
-				}
-			}
-			break;
-		case "Short":
-			final NullableShortColumn columnShort = ((NullableShortColumn)c);
-			for(int i=0; i<next; ++i){
-				if(columnShort.get(i) != null){
-					avg+=columnShort.get(i);
-					++total;
-				}
-			}
-			break;
-		case "Integer":
-			final NullableIntColumn columnInt = ((NullableIntColumn)c);
-			for(int i=0; i<next; ++i){
-				if(columnInt.get(i) != null){
-					avg+=columnInt.get(i);
-					++total;
-				}
-			}
-			break;
-		case "Long":
-			final NullableLongColumn columnLong = ((NullableLongColumn)c);
-			for(int i=0; i<next; ++i){
-				if(columnLong.get(i) != null){
-					avg+=columnLong.get(i);
-					++total;
-				}
-			}
-			break;
-		default:
-			throw new DataFrameException("Unrecognized column type");
-		}
-		return (avg/total);
+		return ColumnStats.of(c, 0, next).average();
 	}
 	
 	public double average(final String colName){
@@ -1299,72 +1739,7 @@ public class NullableDataFrame implements DataFrame {
 		if(isNaN(c) || (next == 0)){
 			throw new DataFrameException("Unable to compute minimum. Column consists of NaNs");
 		}
-		Double min = 0.0;
-		switch(c.memberClass().getSimpleName()){
-		case "Float":
-			float minFloat = Float.MAX_VALUE;
-			final NullableFloatColumn columnFloat = ((NullableFloatColumn)c);
-			for(int i=0; i<next; ++i){
-				if((columnFloat.get(i) != null) && (columnFloat.get(i)<minFloat)){
-					minFloat = columnFloat.get(i);
-				}
-			}
-			min = (double)minFloat;
-			break;
-		case "Double":
-			double minDouble = Double.MAX_VALUE;
-			final NullableDoubleColumn columnDouble = ((NullableDoubleColumn)c);
-			for(int i=0; i<next; ++i){
-				if((columnDouble.get(i) != null) && (columnDouble.get(i)<minDouble)){
-					minDouble = columnDouble.get(i);
-				}
-			}
-			min = minDouble;
-			break;
-		case "Byte":
-			byte minByte = Byte.MAX_VALUE;
-			final NullableByteColumn columnByte = ((NullableByteColumn)c);
-			for(int i=0; i<next; ++i){
-				if((columnByte.get(i) != null) && (columnByte.get(i)<minByte)){
-					minByte = columnByte.get(i);
-				}
-			}
-			min = (double)minByte;
-			break;
-		case "Short":
-			short minShort = Short.MAX_VALUE;
-			final NullableShortColumn columnShort = ((NullableShortColumn)c);
-			for(int i=0; i<next; ++i){
-				if((columnShort.get(i) != null) && (columnShort.get(i)<minShort)){
-					minShort = columnShort.get(i);
-				}
-			}
-			min = (double)minShort;
-			break;
-		case "Integer":
-			int minInt = Integer.MAX_VALUE;
-			final NullableIntColumn columnInt = ((NullableIntColumn)c);
-			for(int i=0; i<next; ++i){
-				if((columnInt.get(i) != null) && (columnInt.get(i)<minInt)){
-					minInt = columnInt.get(i);
-				}
-			}
-			min = (double)minInt;
-			break;
-		case "Long":
-			long minLong = Long.MAX_VALUE;
-			final NullableLongColumn columnLong = ((NullableLongColumn)c);
-			for(int i=0; i<next; ++i){
-				if((columnLong.get(i) != null) && (columnLong.get(i)<minLong)){
-					minLong = columnLong.get(i);
-				}
-			}
-			min = (double)minLong;
-			break;
-		default:
-			throw new DataFrameException("Unrecognized column type");
-		}
-		return min;
+		return ColumnStats.of(c, 0, next).minimum();
 	}
 	
 	public double minimum(final String colName){
@@ -1379,72 +1754,7 @@ public class NullableDataFrame implements DataFrame {
 		if(isNaN(c) || (next == 0)){
 			throw new DataFrameException("Unable to compute maximum. Column consists of NaNs");
 		}
-		Double max = 0.0;
-		switch(c.memberClass().getSimpleName()){
-		case "Float":
-			float maxFloat = Float.MIN_VALUE;
-			final NullableFloatColumn columnFloat = ((NullableFloatColumn)c);
-			for(int i=0; i<next; ++i){
-				if((columnFloat.get(i) != null) && (columnFloat.get(i)>maxFloat)){
-					maxFloat = columnFloat.get(i);
-				}
-			}
-			max = (double)maxFloat;
-			break;
-		case "Double":
-			double maxDouble = Double.MIN_VALUE;
-			final NullableDoubleColumn columnDouble = ((NullableDoubleColumn)c);
-			for(int i=0; i<next; ++i){
-				if((columnDouble.get(i) != null) && (columnDouble.get(i)>maxDouble)){
-					maxDouble = columnDouble.get(i);
-				}
-			}
-			max = maxDouble;
-			break;
-		case "Byte":
-			byte maxByte = Byte.MIN_VALUE;
-			final NullableByteColumn columnByte = ((NullableByteColumn)c);
-			for(int i=0; i<next; ++i){
-				if((columnByte.get(i) != null) && (columnByte.get(i)>maxByte)){
-					maxByte = columnByte.get(i);
-				}
-			}
-			max = (double)maxByte;
-			break;
-		case "Short":
-			short maxShort = Short.MIN_VALUE;
-			final NullableShortColumn columnShort = ((NullableShortColumn)c);
-			for(int i=0; i<next; ++i){
-				if((columnShort.get(i) != null) && (columnShort.get(i)>maxShort)){
-					maxShort = columnShort.get(i);
-				}
-			}
-			max = (double)maxShort;
-			break;
-		case "Integer":
-			int maxInt = Integer.MIN_VALUE;
-			final NullableIntColumn columnInt = ((NullableIntColumn)c);
-			for(int i=0; i<next; ++i){
-				if((columnInt.get(i) != null) && (columnInt.get(i)>maxInt)){
-					maxInt = columnInt.get(i);
-				}
-			}
-			max = (double)maxInt;
-			break;
-		case "Long":
-			long maxLong = Long.MIN_VALUE;
-			final NullableLongColumn columnLong = ((NullableLongColumn)c);
-			for(int i=0; i<next; ++i){
-				if((columnLong.get(i) != null) && (columnLong.get(i)>maxLong)){
-					maxLong = columnLong.get(i);
-				}
-			}
-			max = (double)maxLong;
-			break;
-		default:
-			throw new DataFrameException("Unrecognized column type");
-		}
-		return max;
+		return ColumnStats.of(c, 0, next).maximum();
 	}
 	
 	public double maximum(final String colName){
@@ -1463,6 +1773,22 @@ public class NullableDataFrame implements DataFrame {
 		NullableDataFrame.QuickSort.sort(columns[col], columns, next);
 	}
 	
+	public DataFrame slice(final int from, final int to){
+		return new DataFrameView(this).slice(from, to);
+	}
+	
+	public DataFrame select(final int... cols){
+		return new DataFrameView(this).select(cols);
+	}
+	
+	public DataFrame select(final String... colNames){
+		return new DataFrameView(this).select(colNames);
+	}
+	
+	public DataFrame freeze(){
+		return new ImmutableDataFrame(DataFrame.copyOf(this));
+	}
+	
 	public Object[][] asArray(){
 		if(next == -1){
 			return null;
@@ -1558,14 +1884,77 @@ public class NullableDataFrame implements DataFrame {
 	}
 	
 	/**
-	 * Resizes all columns sequentially
+	 * Resizes all columns sequentially according to the growth policy of this DataFrame
+	 * 
+	 * @param rows The number of rows the resized columns must be able to hold
+	 * @throws DataFrameException If the growth policy does not grow the capacity
+	 *                            to at least the specified number of rows
 	 */
-	private void resize(){
+	private void resize(final int rows){
+		final int capacity = columns[0].capacity();
+		final int length = getGrowthPolicy().grow(capacity, rows);
+		if((length < rows) || (length <= capacity)){
+			throw new DataFrameException("Invalid capacity returned by growth policy: "+length);
+		}
 		for(final Column col : columns){
-			col.resize();
+			col.matchLength(length);
 		}
 	}
 	
+	/**
+	 * Shrinks all columns sequentially if the growth policy of this DataFrame
+	 * demands it after rows have been removed
+	 * 
+	 * @throws DataFrameException If the growth policy shrinks the capacity
+	 *                            below the number of rows
+	 */
+	private void shrink(){
+		final int length = getGrowthPolicy().shrink(columns[0].capacity(), next);
+		if(length < next){
+			throw new DataFrameException("Invalid capacity returned by growth policy: "+length);
+		}
+		if(length != columns[0].capacity()){
+			flushAll(length-next);
+		}
+	}
+	
+	/**
+	 * Appends the first <code>rows</code> entries of each of the provided columns
+	 * to the corresponding column in this DataFrame
+	 * 
+	 * @param cols The columns holding the entries to append
+	 * @param rows The number of entries to append from each column
+	 */
+	private void appendAll(final Column[] cols, final int rows){
+		if((next == -1) || (cols.length != columns.length)){
+			throw new DataFrameException("Length does not match number of columns: "+cols.length);
+		}
+		for(int i=0; i<columns.length; ++i){
+			if(cols[i] == null){
+				throw new DataFrameException("Arg must not be null");
+			}
+			if(!(cols[i] instanceof NullableColumn)){
+				throw new DataFrameException("NullableDataFrame must use NullableColumn instance");
+			}
+			if(cols[i].capacity() < rows){
+				throw new DataFrameException("Invalid column length. Must be of length "+rows);
+			}
+			if(!columns[i].memberClass().equals(cols[i].memberClass())){
+				throw new DataFrameException(String.format(
+						"Type missmatch at column %s. Expected %s but found %s",
+						i, columns[i].memberClass().getSimpleName(),
+						cols[i].memberClass().getSimpleName()));
+			}
+		}
+		if(next+rows > columns[0].capacity()){
+			resize(next+rows);
+		}
+		for(int i=0; i<columns.length; ++i){
+			columns[i].copyFrom(cols[i], 0, next, rows);
+		}
+		next += rows;
+	}
+	
 	/**
 	 * Enforces that all entries in the given row adhere to the column types in this DataFrame
 	 * 
@@ -1588,6 +1977,30 @@ public class NullableDataFrame implements DataFrame {
 		}
 	}
 	
+	/**
+	 * Creates a new DataFrame holding copies of the rows at the specified indices.
+	 * The entries are gathered column by column into typed arrays
+	 * 
+	 * @param indices The indices of the rows to copy, in the order to copy them in.
+	 *                May be null
+	 * @return A DataFrame holding copies of the specified rows
+	 */
+	private DataFrame copyRows(final int[] indices){
+		if(next == -1){
+			return new NullableDataFrame();
+		}
+		final int[] selected = (indices != null ? indices : new int[0]);
+		final Column[] cols = new Column[columns.length];
+		for(int i=0; i<cols.length; ++i){
+			cols[i] = RowSelection.gather(columns[i], selected, 0);
+		}
+		final DataFrame df = new NullableDataFrame(cols);
+		if(names != null){
+			df.setColumnNames(getColumnNames());
+		}
+		return df;
+	}
+	
 	/**
 	 * Enforces that all requirements are met in order to access a column by its name.
 	 * Throws an exception in the case of failure or returns the index of the column in
@@ -1721,47 +2134,54 @@ public class NullableDataFrame implements DataFrame {
 			
 			switch(col.memberClass().getSimpleName()){
 			case "Byte":
-				sort(((NullableByteColumn)col).asArray(), cols, 0, 
-						presort(((NullableByteColumn)col).asArray(), cols, next));
+				sort(((NullableByteColumn)col).asPrimitiveArray(), cols, 0, 
+						presort((NullableColumn)col, cols, next));
 				break;
 			case "Short":
-				sort(((NullableShortColumn)col).asArray(), cols, 0,
-						presort(((NullableShortColumn)col).asArray(), cols, next));
+				sort(((NullableShortColumn)col).asPrimitiveArray(), cols, 0,
+						presort((NullableColumn)col, cols, next));
 				break;
 			case "Integer":
-				sort(((NullableIntColumn)col).asArray(), cols, 0, 
-						presort(((NullableIntColumn)col).asArray(), cols, next));
+				sort(((NullableIntColumn)col).asPrimitiveArray(), cols, 0, 
+						presort((NullableColumn)col, cols, next));
 				break;
 			case "Long":
-				sort(((NullableLongColumn)col).asArray(), cols, 0, 
-						presort(((NullableLongColumn)col).asArray(), cols, next));
+				sort(((NullableLongColumn)col).asPrimitiveArray(), cols, 0, 
+						presort((NullableColumn)col, cols, next));
 				break;
 			case "String":
+				if(col instanceof DictionaryColumn){
+					//sort by codes once they follow the order of their values
+					((DictionaryColumn)col).sortDictionary();
+					sort(((DictionaryColumn)col).asCodeArray(), cols, 0, 
+							presort((NullableColumn)col, cols, next));
+					break;
+				}
 				sort(((NullableStringColumn)col).asArray(), cols, 0, 
-						presort(((NullableStringColumn)col).asArray(), cols, next));
+						presort((NullableColumn)col, cols, next));
 				break;
 			case "Float":
-				sort(((NullableFloatColumn)col).asArray(), cols, 0, 
-						presort(((NullableFloatColumn)col).asArray(), cols, next));
+				sort(((NullableFloatColumn)col).asPrimitiveArray(), cols, 0, 
+						presort((NullableColumn)col, cols, next));
 				break;
 			case "Double":
-				sort(((NullableDoubleColumn)col).asArray(), cols, 0, 
-						presort(((NullableDoubleColumn)col).asArray(), cols, next));
+				sort(((NullableDoubleColumn)col).asPrimitiveArray(), cols, 0, 
+						presort((NullableColumn)col, cols, next));
 				break;
 			case "Character":
-				sort(((NullableCharColumn)col).asArray(), cols, 0, 
-						presort(((NullableCharColumn)col).asArray(), cols, next));
+				sort(((NullableCharColumn)col).asPrimitiveArray(), cols, 0, 
+						presort((NullableColumn)col, cols, next));
 				break;
 			case "Boolean":
-				sort(((NullableBooleanColumn)col).asArray(), cols, 0, 
-						presort(((NullableBooleanColumn)col).asArray(), cols, next));
+				sort(((NullableBooleanColumn)col).asPrimitiveArray(), cols, 0, 
+						presort((NullableColumn)col, cols, next));
 				break;
 			default:
 				//undefined
 			}
 		}	
 		
-	    private static void sort(Byte[] list, Column[] cols, int left, int right){
+	    private static void sort(byte[] list, Column[] cols, int left, int right){
 	    	if(right <= -1){
 	    		return;
 	    	}
@@ -1783,7 +2203,7 @@ public class NullableDataFrame implements DataFrame {
 	        }
 	    }
 	    
-	    private static void sort(Short[] list, Column[] cols, int left, int right){
+	    private static void sort(short[] list, Column[] cols, int left, int right){
 	    	if(right <= -1){
 	    		return;
 	    	}
@@ -1805,7 +2225,7 @@ public class NullableDataFrame implements DataFrame {
 	        }
 	    }
 		
-	    private static void sort(Integer[] list, Column[] cols, int left, int right){
+	    private static void sort(int[] list, Column[] cols, int left, int right){
 	    	if(right <= -1){
 	    		return;
 	    	}
@@ -1827,7 +2247,7 @@ public class NullableDataFrame implements DataFrame {
 	        }
 	    }
 	    
-	    private static void sort(Long[] list, Column[] cols, int left, int right){
+	    private static void sort(long[] list, Column[] cols, int left, int right){
 	    	if(right <= -1){
 	    		return;
 	    	}
@@ -1871,7 +2291,7 @@ public class NullableDataFrame implements DataFrame {
 	        }
 	    }
 	    
-	    private static void sort(Float[] list, Column[] cols, int left, int right){
+	    private static void sort(float[] list, Column[] cols, int left, int right){
 	    	if(right <= -1){
 	    		return;
 	    	}
@@ -1893,7 +2313,7 @@ public class NullableDataFrame implements DataFrame {
 	        }
 	    }
 	    
-	    private static void sort(Double[] list, Column[] cols, int left, int right){
+	    private static void sort(double[] list, Column[] cols, int left, int right){
 	    	if(right <= -1){
 	    		return;
 	    	}
@@ -1915,7 +2335,7 @@ public class NullableDataFrame implements DataFrame {
 	        }
 	    }
 	    
-	    private static void sort(Character[] list, Column[] cols, int left, int right){
+	    private static void sort(char[] list, Column[] cols, int left, int right){
 	    	if(right <= -1){
 	    		return;
 	    	}
@@ -1937,16 +2357,16 @@ public class NullableDataFrame implements DataFrame {
 	        }
 	    }
 	    
-	    private static void sort(Boolean[] list, Column[] cols, int left, int right){
+	    private static void sort(boolean[] list, Column[] cols, int left, int right){
 	    	if(right <= -1){
 	    		return;
 	    	}
-	        final Boolean MID = list[(left+right)/2];
+	        final boolean MID = list[(left+right)/2];
 	        int l = left;
 	        int r = right;
 	        while(l < r){
-	            while(new Boolean(list[l]).compareTo(MID)<0){ ++l; }
-	            while(new Boolean(list[r]).compareTo(MID)>0){ --r; }
+	            while(Boolean.compare(list[l], MID) < 0){ ++l; }
+	            while(Boolean.compare(list[r], MID) > 0){ --r; }
 	            if(l <= r){
 	                swap(cols, l++, r--);
 	            }
@@ -1967,17 +2387,17 @@ public class NullableDataFrame implements DataFrame {
 	    	}
 	    }
 	    
-	    private static int presort(Object[] list, Column[] cols, int next){
+	    private static int presort(NullableColumn col, Column[] cols, int next){
 	    	int ptr = next-1;
 	    	for(int i=0; i<ptr; ++i){
-	    		while(list[i] == null){
+	    		while(col.isNull(i)){
 	    			if(i == ptr){
 	    				break;
 	    			}
 	    			swap(cols, i, ptr--);
 	    		}
 	    	}
-	    	return (list[ptr] != null ? ptr : ptr-1);
+	    	return (!col.isNull(ptr) ? ptr : ptr-1);
 	    }
 	}
 
@@ -17,45 +17,48 @@
 package com.kilo52.common.struct;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
 /**
  * Column holding nullable float values.<br>
- * Any values not explicitly set are considered null. This class uses the primitive 
- * wrapper object as the underlying data structure.
+ * Any values not explicitly set are considered null. This class uses a primitive
+ * float array together with a bitmap indicating which entries are not null as the
+ * underlying data structure, so entries are never boxed unless requested as
+ * objects.
  * 
  * @see FloatColumn
  *
  */
 public class NullableFloatColumn extends NullableColumn implements Cloneable, Serializable {
 
-	private static final long serialVersionUID = 1L;
+	private static final long serialVersionUID = 2L;
 	
-	private Float[] entries;
+	private float[] entries;
+	/** Bit i is set if the entry at index i is not null **/
+	private long[] bitmap;
 	
 	/**
 	 * 	Constructs an empty <code>NullableFloatColumn</code>.
 	 */
 	public NullableFloatColumn(){
-		this.entries = new Float[0];
+		this.entries = new float[0];
+		this.bitmap = Bitmap.create(0);
 	}
 
 	/**
 	 * Constructs a new <code>NullableFloatColumn</code> composed of the content of 
 	 * the specified float array 
-	 *
+	 * 
 	 * @param column The entries of the column to be constructed. Must not be null
 	 */
 	public NullableFloatColumn(final float[] column){
 		if(column == null){
 			throw new IllegalArgumentException("Arg must not be null");
 		}
-		Float[] obj = new Float[column.length];
-		for(int i=0; i<column.length; ++i){
-			obj[i] = column[i];
-		}
-		this.entries = obj;
+		this.entries = column;
+		this.bitmap = Bitmap.filled(column.length);
 	}
 	
 	/**
@@ -68,7 +71,14 @@ public class NullableFloatColumn extends NullableColumn implements Cloneable, Se
 		if(column == null){
 			throw new IllegalArgumentException("Arg must not be null");
 		}
-		this.entries = column;
+		this.entries = new float[column.length];
+		this.bitmap = Bitmap.create(column.length);
+		for(int i=0; i<column.length; ++i){
+			if(column[i] != null){
+				entries[i] = column[i];
+				Bitmap.set(bitmap, i, true);
+			}
+		}
 	}
 	
 	/**
@@ -81,13 +91,18 @@ public class NullableFloatColumn extends NullableColumn implements Cloneable, Se
 		if((list == null) || (list.isEmpty())){
 			throw new IllegalArgumentException("Arg must not be null or empty");
 		}
-		Float[] tmp = new Float[list.size()];
+		this.entries = new float[list.size()];
+		this.bitmap = Bitmap.create(list.size());
 		Iterator<Float> iter = list.iterator();
 		int i=0;
 		while(iter.hasNext()){
-			tmp[i++] = iter.next();
+			final Float value = iter.next();
+			if(value != null){
+				entries[i] = value;
+				Bitmap.set(bitmap, i, true);
+			}
+			++i;
 		}
-		this.entries = tmp;
 	}
 	
 	/**
@@ -97,7 +112,7 @@ public class NullableFloatColumn extends NullableColumn implements Cloneable, Se
 	 * @return The Float value at the specified index. May be null
 	 */
 	public Float get(final int index){
-		return entries[index];
+		return (Bitmap.get(bitmap, index) ? entries[index] : null);
 	}
 	
 	/**
@@ -108,32 +123,101 @@ public class NullableFloatColumn extends NullableColumn implements Cloneable, Se
 	 * @param value The Float value to set the entry to. May be null
 	 */
 	public void set(final int index, final Float value){
+		if(value != null){
+			entries[index] = value;
+			Bitmap.set(bitmap, index, true);
+		}else{
+			entries[index] = 0;
+			Bitmap.set(bitmap, index, false);
+		}
+	}
+	
+	/**
+	 * Gets the entry of this column at the specified index as a primitive
+	 * without boxing it
+	 * 
+	 * @param index The index of the entry to get
+	 * @return The float value at the specified index, or 0 if the entry is null
+	 * @see #isNull(int)
+	 */
+	public float getFloat(final int index){
+		return entries[index];
+	}
+	
+	/**
+	 * Sets the entry of this column at the specified index
+	 * to the given primitive value
+	 * 
+	 * @param index The index of the entry to set
+	 * @param value The float value to set the entry to
+	 */
+	public void setFloat(final int index, final float value){
 		entries[index] = value;
+		Bitmap.set(bitmap, index, true);
+	}
+	
+	@Override
+	public boolean isNull(final int index){
+		return !Bitmap.get(bitmap, index);
 	}
 	
 	/**
-	 * Returns a reference to the internal array of this column
+	 * Sets which entries of the specified range of this column are not null according
+	 * to the given bitmap, without changing the entries themselves. Bit <code>i</code>
+	 * of the bitmap is stored in bit <code>i % 64</code> of the long at index
+	 * <code>i / 64</code> and is set if the entry at <code>index+i</code> is not null.<br>
+	 * This method may be called concurrently for disjoint ranges of this column
 	 * 
-	 * @return The internal Float array
+	 * @param bits The bitmap indicating which entries are not null
+	 * @param index The index of the first entry to set
+	 * @param length The number of entries to set
+	 */
+	public void setNonNull(final long[] bits, final int index, final int length){
+		Bitmap.merge(bitmap, index, bits, length);
+	}
+	
+	/**
+	 * Returns a copy of the entries of this column as an array of boxed values.<br>
+	 * Changes to the returned array are not reflected in this column
+	 * 
+	 * @return A Float array holding the entries of this column
+	 * @see #asPrimitiveArray()
 	 */
 	public Float[] asArray(){
+		final Float[] array = new Float[entries.length];
+		for(int i=0; i<entries.length; ++i){
+			if(Bitmap.get(bitmap, i)){
+				array[i] = entries[i];
+			}
+		}
+		return array;
+	}
+	
+	/**
+	 * Returns a reference to the internal primitive array of this column.<br>
+	 * Entries which are null hold 0 in the returned array. Use {@link #isNull(int)}
+	 * to distinguish them from actual values
+	 * 
+	 * @return The internal float array
+	 */
+	public float[] asPrimitiveArray(){
 		return this.entries;
 	}
 	
 	public Object clone(){
-		final Float[] clone = new Float[entries.length];
-		for(int i=0; i<entries.length; ++i){
-			clone[i] = (entries[i] != null ? new Float(entries[i]) : null);
-		}
-		return new NullableFloatColumn(clone);
+		final NullableFloatColumn clone = new NullableFloatColumn(
+				Arrays.copyOf(entries, entries.length));
+		
+		clone.bitmap = Arrays.copyOf(bitmap, bitmap.length);
+		return clone;
 	}
 
 	public Object getValueAt(int index){
-		return entries[index];
+		return get(index);
 	}
 
 	public void setValueAt(int index, Object value){
-		entries[index] = (Float)value;
+		set(index, (Float)value);
 	}
 	
 	protected int capacity(){
@@ -141,10 +225,9 @@ public class NullableFloatColumn extends NullableColumn implements Cloneable, Se
 	}
 	
 	protected void insertValueAt(int index, int next, Object value){
-		for(int i=next; i>index; --i){
-			entries[i] = entries[i-1];
-		}
-		entries[index] = (Float)value;
+		System.arraycopy(entries, index, entries, index+1, next-index);
+		Bitmap.shiftUp(bitmap, index, next);
+		set(index, (Float)value);
 	}
 
 	protected Class<?> memberClass(){
@@ -152,33 +235,27 @@ public class NullableFloatColumn extends NullableColumn implements Cloneable, Se
 	}
 
 	protected void resize(){
-		Float[] newEntries = new Float[(entries.length > 0 ? entries.length*2 : 2)];
-		for(int i=0; i<entries.length; ++i){
-			newEntries[i] = entries[i];
-		}
-		this.entries = newEntries;
+		final int length = (entries.length > 0 ? entries.length*2 : 2);
+		this.entries = Arrays.copyOf(entries, length);
+		this.bitmap = Bitmap.copyOf(bitmap, length);
 	}
 	
 	protected void remove(int from, int to, int next){
-		for(int i=from, j=0; j<(next-to); ++i, ++j){
-			entries[i] = entries[(to-from)+i];
-		}
-		for(int i=next-1, j=0; j<(to-from); --i, ++j){
-			entries[i] = null;
-		}
+		System.arraycopy(entries, to, entries, from, next-to);
+		Arrays.fill(entries, next-(to-from), next, 0);
+		Bitmap.shiftDown(bitmap, to, next, to-from);
 	}
 
+	protected void copyFrom(Column source, int from, int index, int length){
+		final NullableFloatColumn column = (NullableFloatColumn)source;
+		System.arraycopy(column.entries, from, entries, index, length);
+		Bitmap.copy(column.bitmap, from, bitmap, index, length);
+	}
+	
 	protected void matchLength(int length){
 		if(length != entries.length){
-			final Float[] tmp = new Float[length];
-			for(int i=0; i<length; ++i){
-				if(i < entries.length){
-					tmp[i] = entries[i];
-				}else{
-					break;
-				}
-			}
-			this.entries = tmp;
+			this.entries = Arrays.copyOf(entries, length);
+			this.bitmap = Bitmap.copyOf(bitmap, length);
 		}
 	}
 }
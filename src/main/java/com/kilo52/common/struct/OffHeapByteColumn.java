@@ -0,0 +1,234 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kilo52.common.struct;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * ByteColumn whose entries are stored outside of the Java heap in a direct 
+ * ByteBuffer.<br>
+ * The entries of this column do not count against the maximum heap size and are
+ * never scanned or moved by the garbage collector. The native memory held by this
+ * column is released as soon as {@link #close()} is called. A closed column must
+ * not be used anymore. If a column is never closed, its memory is released after
+ * the column has been garbage collected.<br>
+ * Since the entries are not held by a byte array, {@link #asArray()} returns
+ * a copy of all entries.<br>
+ * This implementation <b>DOES NOT</b> support null values.
+ * 
+ * @author Phil Gaiser
+ * @see ByteColumn
+ * @since 2.1.0
+ *
+ */
+public class OffHeapByteColumn extends ByteColumn implements OffHeapColumn {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private transient ByteBuffer memory;
+	
+	/**
+	 * Constructs an empty <code>OffHeapByteColumn</code>.
+	 */
+	public OffHeapByteColumn(){
+		this(0);
+	}
+	
+	/**
+	 * Constructs a new <code>OffHeapByteColumn</code> with the specified capacity.
+	 * All entries are initialized to 0
+	 * 
+	 * @param capacity The capacity of the column to be constructed
+	 */
+	public OffHeapByteColumn(final int capacity){
+		super(new byte[0]);
+		if(capacity < 0){
+			throw new IllegalArgumentException("Capacity must not be negative");
+		}
+		this.memory = DirectMemory.allocate(capacity, 1);
+	}
+	
+	/**
+	 * Constructs a new <code>OffHeapByteColumn</code> composed of a copy of 
+	 * the content of the specified byte array 
+	 * 
+	 * @param column The entries of the column to be constructed. Must not be null
+	 */
+	public OffHeapByteColumn(final byte[] column){
+		super(new byte[0]);
+		if(column == null){
+			throw new IllegalArgumentException("Arg must not be null");
+		}
+		this.memory = DirectMemory.allocate(column.length, 1);
+		this.memory.duplicate().put(column);
+	}
+	
+	private OffHeapByteColumn(final ByteBuffer memory){
+		super(new byte[0]);
+		this.memory = memory;
+	}
+	
+	@Override
+	public byte get(final int index){
+		return memory().get(index);
+	}
+	
+	@Override
+	public void set(final int index, final byte value){
+		memory().put(index, value);
+	}
+	
+	/**
+	 * Returns a copy of all entries of this column. Changes to the returned 
+	 * array are not reflected by this column
+	 * 
+	 * @return A byte array holding all entries of this column
+	 */
+	@Override
+	public byte[] asArray(){
+		final byte[] array = new byte[capacity()];
+		memory().duplicate().get(array);
+		return array;
+	}
+	
+	@Override
+	public ByteBuffer asBuffer(){
+		return DirectMemory.view(memory());
+	}
+	
+	@Override
+	public ByteColumn toHeap(){
+		return new ByteColumn(asArray());
+	}
+	
+	@Override
+	public boolean isClosed(){
+		return (memory == null);
+	}
+	
+	@Override
+	public void close(){
+		if(memory != null){
+			DirectMemory.free(memory);
+			this.memory = null;
+		}
+	}
+	
+	@Override
+	public Object clone(){
+		return new OffHeapByteColumn(DirectMemory.copy(memory(), capacity(), 1));
+	}
+	
+	@Override
+	public Object getValueAt(int index){
+		return get(index);
+	}
+	
+	@Override
+	public void setValueAt(int index, Object value){
+		set(index, (Byte)value);
+	}
+	
+	@Override
+	protected int capacity(){
+		return memory().capacity();
+	}
+	
+	@Override
+	protected void insertValueAt(int index, int next, Object value){
+		final ByteBuffer memory = memory();
+		DirectMemory.move(memory, index, next, index+1);
+		memory.put(index, (Byte)value);
+	}
+	
+	@Override
+	protected void resize(){
+		reallocate(DirectMemory.grow(capacity(), 1));
+	}
+	
+	@Override
+	protected void remove(int from, int to, int next){
+		final ByteBuffer memory = memory();
+		DirectMemory.move(memory, to, next, from);
+		DirectMemory.clear(memory, next-(to-from), next);
+	}
+	
+	@Override
+	protected void copyFrom(Column source, int from, int index, int length){
+		final ByteColumn column = (ByteColumn)source;
+		final ByteBuffer memory = memory();
+		if(column.getClass() == ByteColumn.class){
+			final ByteBuffer target = memory.duplicate();
+			target.position(index);
+			target.put(column.asArray(), from, length);
+		}else{
+			for(int i=0; i<length; ++i){
+				memory.put(index+i, column.get(from+i));
+			}
+		}
+	}
+	
+	@Override
+	protected void matchLength(int length){
+		if(length != capacity()){
+			reallocate(length);
+		}
+	}
+	
+	/**
+	 * Replaces the memory of this column by a copy with the specified capacity.
+	 * The replaced memory is not released explicitly, since buffers previously
+	 * returned by {@link #asBuffer()} may still refer to it. It is released
+	 * after it has been garbage collected
+	 * 
+	 * @param capacity The capacity of the new memory
+	 */
+	private void reallocate(final int capacity){
+		this.memory = DirectMemory.copy(memory(), capacity, 1);
+	}
+	
+	/**
+	 * Returns the memory holding the entries of this column
+	 * 
+	 * @return The ByteBuffer holding all entries
+	 * @throws IllegalStateException If this column has been closed
+	 */
+	private ByteBuffer memory(){
+		if(memory == null){
+			throw new IllegalStateException("Column has been closed");
+		}
+		return memory;
+	}
+	
+	private void writeObject(final ObjectOutputStream out) throws IOException{
+		out.defaultWriteObject();
+		out.writeObject(asArray());
+	}
+	
+	private void readObject(final ObjectInputStream in) 
+			throws IOException, ClassNotFoundException{
+		
+		in.defaultReadObject();
+		final byte[] column = (byte[])in.readObject();
+		this.memory = DirectMemory.allocate(column.length, 1);
+		this.memory.duplicate().put(column);
+	}
+}
@@ -0,0 +1,76 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kilo52.common.struct;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+
+/**
+ * Interface implemented by all columns whose entries are stored outside of the 
+ * Java heap.<br>
+ * Such columns hold native memory which should be released explicitly by calling
+ * {@link #close()} as soon as the column is not needed anymore. Any access to
+ * a column after it has been closed results in an <code>IllegalStateException</code>.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ * 
+ */
+public interface OffHeapColumn extends Closeable {
+	
+	/**
+	 * Returns a read-only view of the memory holding all entries of this column.<br>
+	 * Entries are stored with a fixed width in little-endian byte order. 
+	 * Boolean values are stored as a single byte which is either 0 or 1.
+	 * The capacity of the returned buffer is the capacity of this column times 
+	 * the width of each entry.<br>
+	 * The returned buffer is a view of the memory this column holds at the time of
+	 * the call. Any change of the capacity of this column, for example when rows are
+	 * added to a full column or when a DataFrame is flushed, moves all entries to new
+	 * memory. The returned buffer then remains readable but no longer reflects the
+	 * entries of this column. The returned buffer must not be used after this
+	 * column has been closed
+	 * 
+	 * @return A read-only ByteBuffer holding all entries of this column
+	 */
+	public ByteBuffer asBuffer();
+	
+	/**
+	 * Returns a copy of this column whose entries are stored on the Java heap
+	 * 
+	 * @return A Column holding a copy of all entries of this column
+	 */
+	public Column toHeap();
+	
+	/**
+	 * Indicates whether this column has been closed
+	 * 
+	 * @return True if the memory of this column has been released
+	 */
+	public boolean isClosed();
+	
+	/**
+	 * Releases the native memory held by this column. Calling this method on a
+	 * column which has already been closed has no effect.<br>
+	 * This method must not be called while any other thread reads or writes this
+	 * column, for example while the DataFrame holding it is aggregated in parallel
+	 */
+	@Override
+	public void close();
+
+}
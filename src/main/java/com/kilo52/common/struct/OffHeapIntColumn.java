@@ -0,0 +1,235 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kilo52.common.struct;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * IntColumn whose entries are stored outside of the Java heap in a direct 
+ * ByteBuffer.<br>
+ * The entries of this column do not count against the maximum heap size and are
+ * never scanned or moved by the garbage collector. The native memory held by this
+ * column is released as soon as {@link #close()} is called. A closed column must
+ * not be used anymore. If a column is never closed, its memory is released after
+ * the column has been garbage collected.<br>
+ * Since the entries are not held by an int array, {@link #asArray()} returns
+ * a copy of all entries.<br>
+ * This implementation <b>DOES NOT</b> support null values.
+ * 
+ * @author Phil Gaiser
+ * @see IntColumn
+ * @since 2.1.0
+ *
+ */
+public class OffHeapIntColumn extends IntColumn implements OffHeapColumn {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private transient ByteBuffer memory;
+	
+	/**
+	 * Constructs an empty <code>OffHeapIntColumn</code>.
+	 */
+	public OffHeapIntColumn(){
+		this(0);
+	}
+	
+	/**
+	 * Constructs a new <code>OffHeapIntColumn</code> with the specified capacity.
+	 * All entries are initialized to 0
+	 * 
+	 * @param capacity The capacity of the column to be constructed
+	 */
+	public OffHeapIntColumn(final int capacity){
+		super(new int[0]);
+		if(capacity < 0){
+			throw new IllegalArgumentException("Capacity must not be negative");
+		}
+		this.memory = DirectMemory.allocate(capacity, 4);
+	}
+	
+	/**
+	 * Constructs a new <code>OffHeapIntColumn</code> composed of a copy of 
+	 * the content of the specified int array 
+	 * 
+	 * @param column The entries of the column to be constructed. Must not be null
+	 */
+	public OffHeapIntColumn(final int[] column){
+		super(new int[0]);
+		if(column == null){
+			throw new IllegalArgumentException("Arg must not be null");
+		}
+		this.memory = DirectMemory.allocate(column.length, 4);
+		this.memory.asIntBuffer().put(column);
+	}
+	
+	private OffHeapIntColumn(final ByteBuffer memory){
+		super(new int[0]);
+		this.memory = memory;
+	}
+	
+	@Override
+	public int get(final int index){
+		return memory().getInt(index << 2);
+	}
+	
+	@Override
+	public void set(final int index, final int value){
+		memory().putInt(index << 2, value);
+	}
+	
+	/**
+	 * Returns a copy of all entries of this column. Changes to the returned 
+	 * array are not reflected by this column
+	 * 
+	 * @return A int array holding all entries of this column
+	 */
+	@Override
+	public int[] asArray(){
+		final int[] array = new int[capacity()];
+		memory().asIntBuffer().get(array);
+		return array;
+	}
+	
+	@Override
+	public ByteBuffer asBuffer(){
+		return DirectMemory.view(memory());
+	}
+	
+	@Override
+	public IntColumn toHeap(){
+		return new IntColumn(asArray());
+	}
+	
+	@Override
+	public boolean isClosed(){
+		return (memory == null);
+	}
+	
+	@Override
+	public void close(){
+		if(memory != null){
+			DirectMemory.free(memory);
+			this.memory = null;
+		}
+	}
+	
+	@Override
+	public Object clone(){
+		return new OffHeapIntColumn(DirectMemory.copy(memory(), capacity(), 4));
+	}
+	
+	@Override
+	public Object getValueAt(int index){
+		return get(index);
+	}
+	
+	@Override
+	public void setValueAt(int index, Object value){
+		set(index, (Integer)value);
+	}
+	
+	@Override
+	protected int capacity(){
+		return (memory().capacity() >>> 2);
+	}
+	
+	@Override
+	protected void insertValueAt(int index, int next, Object value){
+		final ByteBuffer memory = memory();
+		DirectMemory.move(memory, index << 2, next << 2, (index+1) << 2);
+		memory.putInt(index << 2, (Integer)value);
+	}
+	
+	@Override
+	protected void resize(){
+		reallocate(DirectMemory.grow(capacity(), 4));
+	}
+	
+	@Override
+	protected void remove(int from, int to, int next){
+		final ByteBuffer memory = memory();
+		DirectMemory.move(memory, to << 2, next << 2, from << 2);
+		DirectMemory.clear(memory, (next-(to-from)) << 2, next << 2);
+	}
+	
+	@Override
+	protected void copyFrom(Column source, int from, int index, int length){
+		final IntColumn column = (IntColumn)source;
+		final ByteBuffer memory = memory();
+		if(column.getClass() == IntColumn.class){
+			final IntBuffer target = memory.asIntBuffer();
+			target.position(index);
+			target.put(column.asArray(), from, length);
+		}else{
+			for(int i=0; i<length; ++i){
+				memory.putInt((index+i) << 2, column.get(from+i));
+			}
+		}
+	}
+	
+	@Override
+	protected void matchLength(int length){
+		if(length != capacity()){
+			reallocate(length);
+		}
+	}
+	
+	/**
+	 * Replaces the memory of this column by a copy with the specified capacity.
+	 * The replaced memory is not released explicitly, since buffers previously
+	 * returned by {@link #asBuffer()} may still refer to it. It is released
+	 * after it has been garbage collected
+	 * 
+	 * @param capacity The capacity of the new memory
+	 */
+	private void reallocate(final int capacity){
+		this.memory = DirectMemory.copy(memory(), capacity, 4);
+	}
+	
+	/**
+	 * Returns the memory holding the entries of this column
+	 * 
+	 * @return The ByteBuffer holding all entries
+	 * @throws IllegalStateException If this column has been closed
+	 */
+	private ByteBuffer memory(){
+		if(memory == null){
+			throw new IllegalStateException("Column has been closed");
+		}
+		return memory;
+	}
+	
+	private void writeObject(final ObjectOutputStream out) throws IOException{
+		out.defaultWriteObject();
+		out.writeObject(asArray());
+	}
+	
+	private void readObject(final ObjectInputStream in) 
+			throws IOException, ClassNotFoundException{
+		
+		in.defaultReadObject();
+		final int[] column = (int[])in.readObject();
+		this.memory = DirectMemory.allocate(column.length, 4);
+		this.memory.asIntBuffer().put(column);
+	}
+}
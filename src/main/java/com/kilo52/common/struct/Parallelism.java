@@ -0,0 +1,183 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.struct;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Controls the parallel execution of aggregations.<br>
+ * Operations which aggregate all rows of a column, namely <code>average()</code>,
+ * <code>minimum()</code> and <code>maximum()</code> of all DataFrame implementations
+ * as well as {@link DataFrame#groupBy(String...)} and {@link GroupBy#aggregate(Aggregation...)},
+ * split the row range of a DataFrame into partitions if it holds at least
+ * {@link #getThreshold()} rows. A partial result is computed for each partition on a
+ * <code>ForkJoinPool</code> and all partial results are merged afterwards. DataFrames
+ * with fewer rows are processed by the calling thread only.
+ * 
+ * <p>The threshold and the pool are shared by all DataFrames. By default, the common
+ * <code>ForkJoinPool</code> is used. Parallel execution can be disabled by setting the
+ * threshold to <code>Integer.MAX_VALUE</code>. A DataFrame must not be changed while
+ * it is aggregated in parallel.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ * 
+ */
+public final class Parallelism {
+	
+	/** The default minimum number of rows to aggregate in parallel **/
+	public static final int DEFAULT_THRESHOLD = 1 << 20;
+	
+	/** The minimum number of rows of a single partition **/
+	private static final int MIN_PARTITION_SIZE = 1 << 14;
+	
+	private static volatile int threshold = DEFAULT_THRESHOLD;
+	private static volatile ForkJoinPool pool;
+	
+	private Parallelism(){ }
+	
+	/**
+	 * Returns the minimum number of rows a DataFrame must hold in order
+	 * to be aggregated in parallel
+	 * 
+	 * @return The parallelism threshold
+	 */
+	public static int getThreshold(){
+		return threshold;
+	}
+	
+	/**
+	 * Sets the minimum number of rows a DataFrame must hold in order to be
+	 * aggregated in parallel. Use <code>Integer.MAX_VALUE</code> to disable
+	 * parallel execution
+	 * 
+	 * @param rows The parallelism threshold. Must be positive
+	 */
+	public static void setThreshold(final int rows){
+		if(rows < 1){
+			throw new DataFrameException("Threshold must be positive: "+rows);
+		}
+		threshold = rows;
+	}
+	
+	/**
+	 * Returns the pool parallel aggregations are executed on
+	 * 
+	 * @return The ForkJoinPool used for parallel aggregations
+	 */
+	public static ForkJoinPool getPool(){
+		final ForkJoinPool p = pool;
+		return (p != null ? p : ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Sets the pool parallel aggregations are executed on. The number of partitions
+	 * of a DataFrame depends on the parallelism of the pool
+	 * 
+	 * @param pool The ForkJoinPool to use, or null to use the common pool
+	 */
+	public static void setPool(final ForkJoinPool pool){
+		Parallelism.pool = pool;
+	}
+	
+	/**
+	 * Computes the partial results of the specified computation for partitions of the
+	 * specified row range and merges them. If the range holds fewer rows than the
+	 * parallelism threshold, the computation is executed for the entire range by the
+	 * calling thread
+	 * 
+	 * @param <T> The type of the partial results
+	 * @param partial The computation to execute
+	 * @param from The index of the first row to include
+	 * @param to The index of the last row to include, exclusive
+	 * @return The merged result of all partitions
+	 */
+	static <T> T execute(final Partial<T> partial, final int from, final int to){
+		final ForkJoinPool p = getPool();
+		final int n = to-from;
+		final int parallelism = p.getParallelism();
+		if((n < threshold) || (parallelism < 2)){
+			return partial.compute(from, to);
+		}
+		final int size = Math.max(MIN_PARTITION_SIZE, (int)(((long)n+parallelism-1)/parallelism));
+		return p.invoke(new Task<T>(partial, from, to, size));
+	}
+	
+	/**
+	 * Computation over a range of rows whose result can be merged with the
+	 * result of an adjacent range. Implementations must not change any state
+	 * shared between partitions
+	 * 
+	 * @param <T> The type of the partial results
+	 */
+	abstract static class Partial<T> {
+		
+		/**
+		 * Computes the partial result of the specified row range
+		 * 
+		 * @param from The index of the first row to include
+		 * @param to The index of the last row to include, exclusive
+		 * @return The partial result
+		 */
+		abstract T compute(int from, int to);
+		
+		/**
+		 * Merges the partial results of two adjacent row ranges. The left
+		 * result may be changed and returned
+		 * 
+		 * @param left The partial result of the preceding range
+		 * @param right The partial result of the subsequent range
+		 * @return The merged result
+		 */
+		abstract T merge(T left, T right);
+	}
+	
+	/**
+	 * Task splitting a row range in halves until the partition size is reached
+	 * 
+	 * @param <T> The type of the partial results
+	 */
+	private static final class Task<T> extends RecursiveTask<T> {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final Partial<T> partial;
+		private final int from;
+		private final int to;
+		private final int size;
+		
+		Task(final Partial<T> partial, final int from, final int to, final int size){
+			this.partial = partial;
+			this.from = from;
+			this.to = to;
+			this.size = size;
+		}
+		
+		@Override
+		protected T compute(){
+			if((to-from) <= size){
+				return partial.compute(from, to);
+			}
+			final int mid = (from+((to-from)/2));
+			final Task<T> left = new Task<T>(partial, from, mid, size);
+			left.fork();
+			final T right = new Task<T>(partial, mid, to, size).compute();
+			return partial.merge(left.join(), right);
+		}
+	}
+}
@@ -0,0 +1,434 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.struct;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of selected rows of a DataFrame, stored as a bitmap with one bit per row.<br>
+ * Selections are returned by {@link DataFrame#where(int, ColumnPredicate)} and can be
+ * combined across several columns by {@link #and(RowSelection)}, {@link #or(RowSelection)}
+ * and {@link #not()} without touching the entries of the DataFrame again. All combined
+ * selections must refer to the same number of rows.
+ * 
+ * <p>The selected rows are copied in a single step by {@link DataFrame#filter(RowSelection)},
+ * which gathers the entries column by column into typed arrays.<br>
+ * Example:<br>
+ * <code>
+ * DataFrame res = df.filter(df.where("price", ColumnPredicate.gt(100))
+ * .and(df.where("symbol", ColumnPredicate.in("A", "B"))));
+ * </code>
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ * 
+ */
+public final class RowSelection {
+	
+	private final long[] bitmap;
+	private final int rows;
+	
+	/**
+	 * Constructs a new <code>RowSelection</code> from the specified bitmap.
+	 * The bitmap must not be referenced by any other object
+	 * 
+	 * @param bitmap The bitmap in which each set bit denotes a selected row
+	 * @param rows The total number of rows
+	 */
+	RowSelection(final long[] bitmap, final int rows){
+		this.bitmap = bitmap;
+		this.rows = rows;
+	}
+	
+	/**
+	 * Returns a selection of all rows
+	 * 
+	 * @param rows The total number of rows
+	 * @return A RowSelection in which all rows are selected
+	 */
+	public static RowSelection all(final int rows){
+		if(rows < 0){
+			throw new DataFrameException("Invalid number of rows: "+rows);
+		}
+		return new RowSelection(Bitmap.filled(rows), rows);
+	}
+	
+	/**
+	 * Returns a selection of no rows
+	 * 
+	 * @param rows The total number of rows
+	 * @return A RowSelection in which no row is selected
+	 */
+	public static RowSelection none(final int rows){
+		if(rows < 0){
+			throw new DataFrameException("Invalid number of rows: "+rows);
+		}
+		return new RowSelection(Bitmap.create(rows), rows);
+	}
+	
+	/**
+	 * Returns a selection of the rows at the specified indices
+	 * 
+	 * @param rows The total number of rows
+	 * @param indices The indices of the selected rows, in any order
+	 * @return A RowSelection in which the specified rows are selected
+	 */
+	public static RowSelection of(final int rows, final int... indices){
+		if(indices == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		final RowSelection selection = none(rows);
+		for(final int index : indices){
+			if((index < 0) || (index >= rows)){
+				throw new DataFrameException("Invalid row index: "+index);
+			}
+			Bitmap.set(selection.bitmap, index, true);
+		}
+		return selection;
+	}
+	
+	/**
+	 * Returns the total number of rows this selection refers to
+	 * 
+	 * @return The total number of rows
+	 */
+	public int rows(){
+		return this.rows;
+	}
+	
+	/**
+	 * Returns the number of selected rows
+	 * 
+	 * @return The number of selected rows
+	 */
+	public int count(){
+		return Bitmap.count(bitmap, rows);
+	}
+	
+	/**
+	 * Indicates whether no row is selected
+	 * 
+	 * @return True if no row is selected
+	 */
+	public boolean isEmpty(){
+		for(final long word : bitmap){
+			if(word != 0){
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Indicates whether the row at the specified index is selected
+	 * 
+	 * @param row The index of the row
+	 * @return True if the specified row is selected
+	 */
+	public boolean isSelected(final int row){
+		if((row < 0) || (row >= rows)){
+			throw new DataFrameException("Invalid row index: "+row);
+		}
+		return Bitmap.get(bitmap, row);
+	}
+	
+	/**
+	 * Returns the indices of all selected rows
+	 * 
+	 * @return The indices of all selected rows in ascending order
+	 */
+	public int[] indices(){
+		return Bitmap.indices(bitmap, rows);
+	}
+	
+	/**
+	 * Returns a selection of all rows which are selected by both this selection
+	 * and the specified selection
+	 * 
+	 * @param other The other selection
+	 * @return A RowSelection representing the intersection of both selections
+	 */
+	public RowSelection and(final RowSelection other){
+		final long[] res = Arrays.copyOf(bitmap, bitmap.length);
+		final long[] words = check(other).bitmap;
+		for(int i=0; i<res.length; ++i){
+			res[i] &= words[i];
+		}
+		return new RowSelection(res, rows);
+	}
+	
+	/**
+	 * Returns a selection of all rows which are selected by this selection
+	 * or the specified selection
+	 * 
+	 * @param other The other selection
+	 * @return A RowSelection representing the union of both selections
+	 */
+	public RowSelection or(final RowSelection other){
+		final long[] res = Arrays.copyOf(bitmap, bitmap.length);
+		final long[] words = check(other).bitmap;
+		for(int i=0; i<res.length; ++i){
+			res[i] |= words[i];
+		}
+		return new RowSelection(res, rows);
+	}
+	
+	/**
+	 * Returns a selection of all rows which are not selected by this selection
+	 * 
+	 * @return A RowSelection representing the complement of this selection
+	 */
+	public RowSelection not(){
+		final long[] res = new long[bitmap.length];
+		for(int i=0; i<res.length; ++i){
+			res[i] = ~bitmap[i];
+		}
+		//clear bits beyond the last row
+		return new RowSelection(Bitmap.copyOf(res, rows), rows);
+	}
+	
+	@Override
+	public boolean equals(final Object obj){
+		if(this == obj){
+			return true;
+		}
+		if(!(obj instanceof RowSelection)){
+			return false;
+		}
+		final RowSelection other = (RowSelection)obj;
+		return ((rows == other.rows) && Arrays.equals(bitmap, other.bitmap));
+	}
+	
+	@Override
+	public int hashCode(){
+		return (31*rows)+Arrays.hashCode(bitmap);
+	}
+	
+	@Override
+	public String toString(){
+		return "RowSelection [rows=" + rows + ", selected=" + count() + "]";
+	}
+	
+	/**
+	 * Ensures that the specified selection can be combined with this selection
+	 * 
+	 * @param other The selection to check
+	 * @return The specified selection
+	 */
+	private RowSelection check(final RowSelection other){
+		if(other == null){
+			throw new DataFrameException("Arg must not be null");
+		}
+		if(other.rows != rows){
+			throw new DataFrameException("Selections refer to different numbers of rows: "
+					+ rows+" and "+other.rows);
+		}
+		return other;
+	}
+	
+	/**
+	 * Copies the entries of the given column at the specified indices into a new column.<br>
+	 * The entries are gathered into a typed array which is then passed to the constructor
+	 * of the class of the given column, so for example off-heap and chunked columns
+	 * produce columns of the same kind. Columns which cannot be constructed from an array,
+	 * like memory-mapped columns, produce the corresponding heap column
+	 * 
+	 * @param c The Column to copy the entries from
+	 * @param indices The indices of the entries to copy, in the order to copy them in
+	 * @param offset The value to add to each index
+	 * @return A new Column holding the specified entries
+	 */
+	static Column gather(final Column c, final int[] indices, final int offset){
+		final int n = indices.length;
+		final boolean nullable = (c instanceof NullableColumn);
+		final Object array;
+		final Class<? extends Column> fallback;
+		switch(c.memberClass().getSimpleName()){
+		case "Byte":
+			final byte[] bytes = new byte[n];
+			if(nullable){
+				final byte[] src = ((NullableByteColumn)c).asPrimitiveArray();
+				for(int i=0; i<n; ++i){
+					bytes[i] = src[offset+indices[i]];
+				}
+			}else{
+				final ByteColumn col = (ByteColumn)c;
+				for(int i=0; i<n; ++i){
+					bytes[i] = col.get(offset+indices[i]);
+				}
+			}
+			array = bytes;
+			fallback = (nullable ? NullableByteColumn.class : ByteColumn.class);
+			break;
+		case "Short":
+			final short[] shorts = new short[n];
+			if(nullable){
+				final short[] src = ((NullableShortColumn)c).asPrimitiveArray();
+				for(int i=0; i<n; ++i){
+					shorts[i] = src[offset+indices[i]];
+				}
+			}else{
+				final ShortColumn col = (ShortColumn)c;
+				for(int i=0; i<n; ++i){
+					shorts[i] = col.get(offset+indices[i]);
+				}
+			}
+			array = shorts;
+			fallback = (nullable ? NullableShortColumn.class : ShortColumn.class);
+			break;
+		case "Integer":
+			final int[] ints = new int[n];
+			if(nullable){
+				final int[] src = ((NullableIntColumn)c).asPrimitiveArray();
+				for(int i=0; i<n; ++i){
+					ints[i] = src[offset+indices[i]];
+				}
+			}else{
+				final IntColumn col = (IntColumn)c;
+				for(int i=0; i<n; ++i){
+					ints[i] = col.get(offset+indices[i]);
+				}
+			}
+			array = ints;
+			fallback = (nullable ? NullableIntColumn.class : IntColumn.class);
+			break;
+		case "Long":
+			final long[] longs = new long[n];
+			if(nullable){
+				final long[] src = ((NullableLongColumn)c).asPrimitiveArray();
+				for(int i=0; i<n; ++i){
+					longs[i] = src[offset+indices[i]];
+				}
+			}else{
+				final LongColumn col = (LongColumn)c;
+				for(int i=0; i<n; ++i){
+					longs[i] = col.get(offset+indices[i]);
+				}
+			}
+			array = longs;
+			fallback = (nullable ? NullableLongColumn.class : LongColumn.class);
+			break;
+		case "Float":
+			final float[] floats = new float[n];
+			if(nullable){
+				final float[] src = ((NullableFloatColumn)c).asPrimitiveArray();
+				for(int i=0; i<n; ++i){
+					floats[i] = src[offset+indices[i]];
+				}
+			}else{
+				final FloatColumn col = (FloatColumn)c;
+				for(int i=0; i<n; ++i){
+					floats[i] = col.get(offset+indices[i]);
+				}
+			}
+			array = floats;
+			fallback = (nullable ? NullableFloatColumn.class : FloatColumn.class);
+			break;
+		case "Double":
+			final double[] doubles = new double[n];
+			if(nullable){
+				final double[] src = ((NullableDoubleColumn)c).asPrimitiveArray();
+				for(int i=0; i<n; ++i){
+					doubles[i] = src[offset+indices[i]];
+				}
+			}else{
+				final DoubleColumn col = (DoubleColumn)c;
+				for(int i=0; i<n; ++i){
+					doubles[i] = col.get(offset+indices[i]);
+				}
+			}
+			array = doubles;
+			fallback = (nullable ? NullableDoubleColumn.class : DoubleColumn.class);
+			break;
+		case "Character":
+			final char[] chars = new char[n];
+			if(nullable){
+				final char[] src = ((NullableCharColumn)c).asPrimitiveArray();
+				for(int i=0; i<n; ++i){
+					chars[i] = src[offset+indices[i]];
+				}
+			}else{
+				final CharColumn col = (CharColumn)c;
+				for(int i=0; i<n; ++i){
+					chars[i] = col.get(offset+indices[i]);
+				}
+			}
+			array = chars;
+			fallback = (nullable ? NullableCharColumn.class : CharColumn.class);
+			break;
+		case "Boolean":
+			final boolean[] booleans = new boolean[n];
+			if(nullable){
+				final boolean[] src = ((NullableBooleanColumn)c).asPrimitiveArray();
+				for(int i=0; i<n; ++i){
+					booleans[i] = src[offset+indices[i]];
+				}
+			}else{
+				final BooleanColumn col = (BooleanColumn)c;
+				for(int i=0; i<n; ++i){
+					booleans[i] = col.get(offset+indices[i]);
+				}
+			}
+			array = booleans;
+			fallback = (nullable ? NullableBooleanColumn.class : BooleanColumn.class);
+			break;
+		case "String":
+			final String[] strings = new String[n];
+			for(int i=0; i<n; ++i){
+				strings[i] = (String)c.getValueAt(offset+indices[i]);
+			}
+			//string arrays already hold null values
+			return construct(c.getClass(), strings,
+					(nullable ? NullableStringColumn.class : StringColumn.class));
+		default:
+			throw new DataFrameException("Unrecognized column type");
+		}
+		final Column res = construct(c.getClass(), array, fallback);
+		if(nullable){
+			final NullableColumn col = (NullableColumn)c;
+			for(int i=0; i<n; ++i){
+				if(col.isNull(offset+indices[i])){
+					res.setValueAt(i, null);
+				}
+			}
+		}
+		return res;
+	}
+	
+	/**
+	 * Constructs a column of the specified type from the given array
+	 * 
+	 * @param type The type of the column to construct
+	 * @param array The array holding the entries of the column
+	 * @param fallback The type of the column to construct if the specified type
+	 *                 cannot be constructed from an array
+	 * @return A new Column holding the entries of the given array
+	 */
+	private static Column construct(final Class<? extends Column> type, final Object array,
+			final Class<? extends Column> fallback){
+		
+		try{
+			try{
+				return type.getConstructor(array.getClass()).newInstance(array);
+			}catch(NoSuchMethodException ex){
+				return fallback.getConstructor(array.getClass()).newInstance(array);
+			}
+		}catch(ReflectiveOperationException ex){
+			throw new DataFrameException("Unable to instantiate columns");
+		}
+	}
+}
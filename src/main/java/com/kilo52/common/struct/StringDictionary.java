@@ -0,0 +1,212 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kilo52.common.struct;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Dictionary of distinct strings used by dictionary-encoded columns.<br>
+ * Each distinct string is assigned a code in the order in which it is added.
+ * Code 0 is reserved for null.
+ * 
+ * @author Phil Gaiser
+ * @since 2.1.0
+ * @see DictionaryColumn
+ * 
+ */
+final class StringDictionary implements Cloneable, Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private String[] values;
+	private Map<String, Integer> codes;
+	private int size;
+	private boolean sorted;
+	
+	/**
+	 * Constructs a new empty <code>StringDictionary</code>
+	 */
+	StringDictionary(){
+		this.values = new String[16];
+		this.codes = new HashMap<String, Integer>();
+		this.size = 1;
+		this.sorted = true;
+	}
+	
+	/**
+	 * Returns the code of the specified value, adding the value if necessary
+	 * 
+	 * @param value The value to get the code for. May be null
+	 * @return The code of the specified value
+	 */
+	int encode(final String value){
+		if(value == null){
+			return 0;
+		}
+		final Integer code = codes.get(value);
+		if(code != null){
+			return code;
+		}
+		if(size == values.length){
+			this.values = Arrays.copyOf(values, values.length*2);
+		}
+		if(sorted && size > 1 && values[size-1].compareTo(value) > 0){
+			this.sorted = false;
+		}
+		values[size] = value;
+		codes.put(value, size);
+		return size++;
+	}
+	
+	/**
+	 * Returns the code of the specified value
+	 * 
+	 * @param value The value to get the code for. May be null
+	 * @return The code of the specified value, or -1 if it is not in this dictionary
+	 */
+	int codeOf(final String value){
+		if(value == null){
+			return 0;
+		}
+		final Integer code = codes.get(value);
+		return (code != null ? code : -1);
+	}
+	
+	/**
+	 * Returns the value of the specified code
+	 * 
+	 * @param code The code to get the value for
+	 * @return The value of the specified code
+	 */
+	String valueOf(final int code){
+		if(code >= size){
+			throw new ArrayIndexOutOfBoundsException(code);
+		}
+		return values[code];
+	}
+	
+	/**
+	 * Returns the number of distinct values in this dictionary
+	 * 
+	 * @return The number of distinct values, excluding null
+	 */
+	int cardinality(){
+		return size-1;
+	}
+	
+	/**
+	 * Reorders this dictionary so that the order of all codes matches the 
+	 * lexicographic order of their values
+	 * 
+	 * @return An array mapping each old code to its new code, 
+	 *         or null if all codes were already in order
+	 */
+	int[] sort(){
+		if(sorted){
+			return null;
+		}
+		final String[] ordered = Arrays.copyOfRange(values, 1, size);
+		Arrays.sort(ordered);
+		final int[] recode = new int[size];
+		for(int i=0; i<ordered.length; ++i){
+			final int code = i+1;
+			recode[codes.put(ordered[i], code)] = code;
+			values[code] = ordered[i];
+		}
+		this.sorted = true;
+		return recode;
+	}
+	
+	@Override
+	public StringDictionary clone(){
+		final StringDictionary clone = new StringDictionary();
+		clone.values = Arrays.copyOf(values, values.length);
+		clone.codes = new HashMap<String, Integer>(codes);
+		clone.size = size;
+		clone.sorted = sorted;
+		return clone;
+	}
+	
+	/**
+	 * Evaluates the specified pattern once for each code of the given column
+	 * 
+	 * @param col The DictionaryColumn to match the values of
+	 * @param p The Pattern to match
+	 * @return An array indicating for each code whether its value matches.
+	 *         Null values are matched as the string "null"
+	 */
+	static boolean[] matches(final DictionaryColumn col, final Pattern p){
+		final boolean[] matches = new boolean[col.cardinality()+1];
+		for(int i=0; i<matches.length; ++i){
+			matches[i] = p.matcher(String.valueOf(col.getDictionaryValue(i))).matches();
+		}
+		return matches;
+	}
+	
+	/**
+	 * Returns the index of the first entry of the given column within the specified
+	 * range which matches the specified pattern
+	 * 
+	 * @param col The DictionaryColumn to search
+	 * @param p The Pattern to match
+	 * @param from The index to start searching from (inclusive)
+	 * @param to The index to search to (exclusive)
+	 * @return The index of the first matching entry, or -1 if no entry matches
+	 */
+	static int indexOf(final DictionaryColumn col, final Pattern p, final int from,
+			final int to){
+		
+		final boolean[] matches = matches(col, p);
+		final int[] codes = col.asCodeArray();
+		for(int i=from; i<to; ++i){
+			if(matches[codes[i]]){
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Returns the indices of all entries of the given column which match the
+	 * specified pattern
+	 * 
+	 * @param col The DictionaryColumn to search
+	 * @param p The Pattern to match
+	 * @param to The index to search to (exclusive)
+	 * @return The indices of all matching entries, or null if no entry matches
+	 */
+	static int[] indexOfAll(final DictionaryColumn col, final Pattern p, final int to){
+		final boolean[] matches = matches(col, p);
+		final int[] codes = col.asCodeArray();
+		int[] res = new int[16];
+		int hits = 0;
+		for(int i=0; i<to; ++i){
+			if(matches[codes[i]]){
+				if(hits == res.length){
+					res = Arrays.copyOf(res, res.length*2);
+				}
+				res[hits++] = i;
+			}
+		}
+		return (hits == 0 ? null : Arrays.copyOf(res, hits));
+	}
+}
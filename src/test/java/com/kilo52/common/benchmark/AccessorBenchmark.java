@@ -0,0 +1,113 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.kilo52.common.benchmark;
+
+import java.lang.management.ManagementFactory;
+
+import com.kilo52.common.struct.DataFrame;
+import com.kilo52.common.struct.DefaultDataFrame;
+import com.kilo52.common.struct.DoubleColumn;
+import com.kilo52.common.struct.IntColumn;
+import com.kilo52.common.util.Chronometer;
+
+/**
+ * Compares the boxed and the primitive accessors of the DataFrame API.<br>
+ * For each accessor, all entries of an int and a double column are summed up 
+ * in a tight loop. The throughput is reported in million entries per second
+ * together with the number of bytes allocated by the summation loop. The primitive
+ * accessors are expected to allocate nothing.
+ * 
+ * <p>Escape analysis can remove the boxing from a loop as simple as this one, but
+ * not from loops where the JIT fails to inline the accessors. Add
+ * <code>-XX:-DoEscapeAnalysis</code> to observe the boxed accessors without it.
+ * 
+ * <p>Run with: <code>java AccessorBenchmark [rows] [iterations]</code>
+ * 
+ * @author Phil Gaiser
+ * 
+ */
+public class AccessorBenchmark {
+	
+	private static final com.sun.management.ThreadMXBean THREADS = 
+			(com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+	
+	/** Prevents the JIT from eliminating the summation loops **/
+	private static double sink;
+	
+	public static void main(String[] args){
+		final int rows = (args.length > 0 ? Integer.parseInt(args[0]) : 1000000);
+		final int iterations = (args.length > 1 ? Integer.parseInt(args[1]) : 20);
+		final DataFrame df = createDataFrame(rows);
+		System.out.println(String.format("%d rows, %d iterations", rows, iterations));
+		System.out.println(String.format("%-10s %12s %16s",
+				"accessor", "M entries/s", "bytes allocated"));
+		
+		for(int pass=0; pass<2; ++pass){//first pass warms up
+			for(final boolean primitive : new boolean[]{false, true}){
+				final Chronometer chrono = new Chronometer().start();
+				final long allocated = allocatedBytes();
+				for(int i=0; i<iterations; ++i){
+					sink += (primitive ? sumPrimitive(df) : sumBoxed(df));
+				}
+				final long bytes = allocatedBytes()-allocated;
+				chrono.stop();
+				if(pass > 0){
+					System.out.println(String.format("%-10s %12.1f %16d",
+							(primitive ? "primitive" : "boxed"),
+							(2.0*rows*iterations/1e6) / (Math.max(1, chrono.elapsedMillis())/1e3),
+							bytes));
+				}
+			}
+		}
+	}
+	
+	private static double sumBoxed(final DataFrame df){
+		double sum = 0;
+		for(int i=0; i<df.rows(); ++i){
+			sum += df.getInt(0, i);
+			sum += df.getDouble(1, i);
+		}
+		return sum;
+	}
+	
+	private static double sumPrimitive(final DataFrame df){
+		double sum = 0;
+		for(int i=0; i<df.rows(); ++i){
+			sum += df.intAt(0, i);
+			sum += df.doubleAt(1, i);
+		}
+		return sum;
+	}
+	
+	private static long allocatedBytes(){
+		return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+	
+	private static DataFrame createDataFrame(final int rows){
+		final int[] ids = new int[rows];
+		final double[] prices = new double[rows];
+		for(int i=0; i<rows; ++i){
+			ids[i] = i;
+			prices[i] = 100.0 + (i % 1000)*0.01;
+		}
+		return new DefaultDataFrame(
+				new String[]{"id", "price"},
+				new IntColumn(ids),
+				new DoubleColumn(prices));
+	}
+}
@@ -0,0 +1,127 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import com.kilo52.common.io.Codec;
+import com.kilo52.common.io.DataFrameSerializer;
+import com.kilo52.common.io.DeflateCodec;
+import com.kilo52.common.io.LZCodec;
+import com.kilo52.common.struct.BooleanColumn;
+import com.kilo52.common.struct.DataFrame;
+import com.kilo52.common.struct.DefaultDataFrame;
+import com.kilo52.common.struct.DoubleColumn;
+import com.kilo52.common.struct.IntColumn;
+import com.kilo52.common.struct.LongColumn;
+import com.kilo52.common.struct.StringColumn;
+import com.kilo52.common.util.Chronometer;
+
+/**
+ * Compares the codecs available to the DataFrameSerializer.<br>
+ * For each codec, a DataFrame is repeatedly encoded to and decoded from memory.
+ * The encode and decode throughput is reported in MB/s of uncompressed data
+ * together with the compression ratio.
+ * 
+ * <p>Run with: <code>java CodecBenchmark [rows] [iterations]</code>
+ * 
+ * @author Phil Gaiser
+ *
+ */
+public class CodecBenchmark {
+	
+	public static void main(String[] args) throws IOException{
+		final int rows = (args.length > 0 ? Integer.parseInt(args[0]) : 1000000);
+		final int iterations = (args.length > 1 ? Integer.parseInt(args[1]) : 5);
+		final DataFrame df = createDataFrame(rows);
+		final String[] names = new String[]{
+				"none", "deflate(1)", "deflate(6)", "deflate(9)", "lz"};
+		
+		final Codec[] codecs = new Codec[]{
+				null, new DeflateCodec(1), new DeflateCodec(6), new DeflateCodec(9), new LZCodec()};
+		
+		final long raw = encode(new DataFrameSerializer().useCodec(null), df).length;
+		System.out.println(String.format("%d rows, %.1f MB uncompressed, %d iterations",
+				rows, raw/1e6, iterations));
+		
+		System.out.println(String.format("%-12s %12s %12s %8s",
+				"codec", "encode MB/s", "decode MB/s", "ratio"));
+		
+		for(int i=0; i<codecs.length; ++i){
+			final DataFrameSerializer serializer = new DataFrameSerializer().useCodec(codecs[i]);
+			//warm up
+			byte[] bytes = encode(serializer, df);
+			serializer.readFrom(new ByteArrayInputStream(bytes));
+			
+			final Chronometer encoding = new Chronometer().start();
+			for(int j=0; j<iterations; ++j){
+				bytes = encode(serializer, df);
+			}
+			encoding.stop();
+			final Chronometer decoding = new Chronometer().start();
+			for(int j=0; j<iterations; ++j){
+				serializer.readFrom(new ByteArrayInputStream(bytes));
+			}
+			decoding.stop();
+			System.out.println(String.format("%-12s %12.1f %12.1f %8.2f", names[i],
+					throughput(raw*iterations, encoding),
+					throughput(raw*iterations, decoding),
+					(double)raw/bytes.length));
+		}
+	}
+	
+	private static byte[] encode(final DataFrameSerializer serializer, final DataFrame df)
+			throws IOException{
+		
+		final ByteArrayOutputStream os = new ByteArrayOutputStream();
+		serializer.writeTo(os, df);
+		return os.toByteArray();
+	}
+	
+	private static double throughput(final long bytes, final Chronometer chrono){
+		return (bytes/1e6) / (Math.max(1, chrono.elapsedMillis())/1e3);
+	}
+	
+	private static DataFrame createDataFrame(final int rows){
+		final Random random = new Random(42);
+		final long[] timestamps = new long[rows];
+		final int[] ids = new int[rows];
+		final double[] prices = new double[rows];
+		final String[] symbols = new String[rows];
+		final boolean[] flags = new boolean[rows];
+		final String[] dictionary = new String[]{"AAPL", "AMZN", "GOOG", "MSFT", "NFLX"};
+		long ts = 1546300800000l;
+		for(int i=0; i<rows; ++i){
+			ts += random.nextInt(1000);
+			timestamps[i] = ts;
+			ids[i] = random.nextInt(10000);
+			prices[i] = 100.0 + random.nextGaussian();
+			symbols[i] = dictionary[random.nextInt(dictionary.length)];
+			flags[i] = ((i/1000) % 2 == 0);
+		}
+		return new DefaultDataFrame(
+				new String[]{"timestamp", "id", "price", "symbol", "flag"},
+				new LongColumn(timestamps),
+				new IntColumn(ids),
+				new DoubleColumn(prices),
+				new StringColumn(symbols),
+				new BooleanColumn(flags));
+	}
+}
@@ -0,0 +1,119 @@
+/* 
+ * Copyright (C) 2019 Phil Gaiser
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.kilo52.common.io;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests for Codec implementations.
+ * 
+ * @author Phil Gaiser
+ *
+ */
+public class CodecTest {
+	
+	static byte[][] inputs;
+
+	@BeforeClass
+	public static void setUpBeforeClass(){
+		final Random random = new Random(42);
+		final byte[] randomBytes = new byte[100000];
+		random.nextBytes(randomBytes);
+		final byte[] repetitive = new byte[100000];
+		for(int i=0; i<repetitive.length; ++i){
+			repetitive[i] = (byte)((i/1000) % 7);
+		}
+		final byte[] text = new byte[50000];
+		final byte[] words = "the quick brown fox jumps over the lazy dog ".getBytes();
+		for(int i=0; i<text.length; ++i){
+			text[i] = words[(i*7 + random.nextInt(3)) % words.length];
+		}
+		final byte[] zeros = new byte[70000];
+		inputs = new byte[][]{new byte[0], new byte[]{1}, new byte[]{1,2,3,4,5,6,7,8,9},
+			randomBytes, repetitive, text, zeros};
+	}
+	
+	@Test
+	public void testDeflateCodec() throws Exception{
+		for(int level : new int[]{-1, 0, 1, 9}){
+			final Codec codec = new DeflateCodec(level);
+			assertTrue("Codec id should be 1", codec.getId() == 1);
+			for(final byte[] input : inputs){
+				assertArrayEquals("Decompressed bytes do not match", 
+						input, codec.decompress(codec.compress(input)));
+			}
+		}
+	}
+	
+	@Test
+	public void testLZCodec() throws Exception{
+		final Codec codec = new LZCodec();
+		assertTrue("Codec id should be 2", codec.getId() == 2);
+		for(final byte[] input : inputs){
+			assertArrayEquals("Decompressed bytes do not match", 
+					input, codec.decompress(codec.compress(input)));
+		}
+	}
+	
+	@Test
+	public void testLZCodecCompresses() throws Exception{
+		final Codec codec = new LZCodec();
+		assertTrue("Repetitive data should be compressed", 
+				codec.compress(inputs[4]).length < inputs[4].length/10);
+		
+		assertTrue("Zeros should be compressed", 
+				codec.compress(inputs[6]).length < inputs[6].length/100);
+	}
+	
+	@Test(expected=IOException.class)
+	public void testLZCodecInvalidData() throws Exception{
+		final Codec codec = new LZCodec();
+		final byte[] compressed = codec.compress(inputs[5]);
+		new LZCodec().decompress(Arrays.copyOf(compressed, compressed.length/2));
+	}
+	
+	@Test(expected=IOException.class)
+	public void testLZCodecInvalidLength() throws Exception{
+		final byte[] compressed = new LZCodec().compress(inputs[5]);
+		//claim a decompressed length the remaining bytes can never expand to
+		compressed[0] = (byte)0xFF;
+		compressed[1] = (byte)0xFF;
+		compressed[2] = (byte)0xFF;
+		compressed[3] = (byte)0x7F;
+		new LZCodec().decompress(compressed);
+	}
+	
+	@Test(expected=IOException.class)
+	public void testDeflateCodecInvalidData() throws Exception{
+		final Codec codec = new DeflateCodec();
+		final byte[] compressed = codec.compress(inputs[5]);
+		codec.decompress(Arrays.copyOf(compressed, compressed.length/2));
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testDeflateCodecInvalidLevel(){
+		new DeflateCodec(10);
+	}
+
+}
@@ -18,6 +18,24 @@ package com.kilo52.common.io;
 
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -27,22 +45,33 @@ import org.junit.Test;
 import com.kilo52.common.struct.BooleanColumn;
 import com.kilo52.common.struct.ByteColumn;
 import com.kilo52.common.struct.CharColumn;
+import com.kilo52.common.struct.ChunkedBooleanColumn;
+import com.kilo52.common.struct.ChunkedDoubleColumn;
+import com.kilo52.common.struct.ChunkedLongColumn;
 import com.kilo52.common.struct.DataFrame;
 import com.kilo52.common.struct.DefaultDataFrame;
 import com.kilo52.common.struct.DoubleColumn;
 import com.kilo52.common.struct.FloatColumn;
 import com.kilo52.common.struct.IntColumn;
+import com.kilo52.common.struct.LargeDataFrame;
 import com.kilo52.common.struct.LongColumn;
+import com.kilo52.common.struct.MappedBooleanColumn;
+import com.kilo52.common.struct.MappedIntColumn;
 import com.kilo52.common.struct.NullableBooleanColumn;
 import com.kilo52.common.struct.NullableByteColumn;
 import com.kilo52.common.struct.NullableCharColumn;
 import com.kilo52.common.struct.NullableDataFrame;
+import com.kilo52.common.struct.NullableDictionaryStringColumn;
 import com.kilo52.common.struct.NullableDoubleColumn;
 import com.kilo52.common.struct.NullableFloatColumn;
 import com.kilo52.common.struct.NullableIntColumn;
 import com.kilo52.common.struct.NullableLongColumn;
 import com.kilo52.common.struct.NullableShortColumn;
 import com.kilo52.common.struct.NullableStringColumn;
+import com.kilo52.common.struct.OffHeapBooleanColumn;
+import com.kilo52.common.struct.OffHeapColumn;
+import com.kilo52.common.struct.OffHeapDoubleColumn;
+import com.kilo52.common.struct.OffHeapLongColumn;
 import com.kilo52.common.struct.ShortColumn;
 import com.kilo52.common.struct.StringColumn;
 
@@ -376,5 +405,1021 @@ public class DataFrameSerializerTest {
 		assertTrue("DataFrame should have column names set", res.hasColumnNames());
 		assertTrue("DataFrame should be of type NullableDataFrame", res instanceof NullableDataFrame);
 	}
+	
+	@Test
+	public void testWriteReadFile() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer();
+			serializer.writeFile(file, df);
+			DataFrame res = serializer.readFile(file);
+			assertTrue("DataFrame should be of type DefaultDataFrame", res instanceof DefaultDataFrame);
+			assertArrayEquals("Column names do not match", columnNames, res.getColumnNames());
+			assertFramesEqual(df, res);
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testWriteReadFileNullable() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer();
+			serializer.writeFile(file, dfEscapedNullable);
+			DataFrame res = serializer.readFile(file);
+			assertTrue("DataFrame should be of type NullableDataFrame", res instanceof NullableDataFrame);
+			assertArrayEquals("Column names do not match", 
+					columnNamesEscapedNullable, res.getColumnNames());
+			
+			assertFramesEqual(dfEscapedNullable, res);
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testWriteFileUsesBinaryEncoding() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			new DataFrameSerializer().writeFile(file, df);
+			byte[] bytes = Files.readAllBytes(file.toPath());
+			assertArrayEquals("File should start with binary encoding magic bytes",
+					new byte[]{0x64, 0x66, 0x76, 0x32}, Arrays.copyOf(bytes, 4));
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testReadFileVersion1() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			FileOutputStream os = new FileOutputStream(file);
+			os.write(Base64.getDecoder().decode(truthBase64));
+			os.close();
+			DataFrame res = new DataFrameSerializer().readFile(file);
+			assertTrue("DataFrame should be of type NullableDataFrame", res instanceof NullableDataFrame);
+			assertFramesEqual(dfEscapedNullable, res);
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testWriteReadFileEmpty() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer();
+			serializer.writeFile(file, new DefaultDataFrame());
+			DataFrame res = serializer.readFile(file);
+			assertTrue("DataFrame should be empty", res.isEmpty());
+			assertTrue("DataFrame column count should be 0", res.columns() == 0);
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testReadMapped() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer().useCompression(false);
+			serializer.writeFile(file, df);
+			DataFrame res = serializer.readMapped(file);
+			assertTrue("DataFrame should be of type DefaultDataFrame", res instanceof DefaultDataFrame);
+			assertArrayEquals("Column names do not match", columnNames, res.getColumnNames());
+			assertTrue("Column should be mapped", res.getColumn("intCol") instanceof MappedIntColumn);
+			assertTrue("Column should be mapped", 
+					((MappedIntColumn)res.getColumn("intCol")).isMapped());
+			
+			assertTrue("Column should be mapped", 
+					res.getColumn("booleanCol") instanceof MappedBooleanColumn);
+			
+			assertFramesEqual(df, res);
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testReadMappedRowGroups() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer()
+					.useCompression(false)
+					.useRowGroupSize(2);
+			
+			serializer.writeFile(file, df);
+			DataFrame res = serializer.readMapped(file);
+			assertTrue("Column should be mapped", 
+					((MappedIntColumn)res.getColumn("intCol")).isMapped());
+			
+			assertFramesEqual(df, res);
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testReadMappedLarge() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			final int[] values = new int[1500000];
+			for(int i=0; i<values.length; ++i){
+				values[i] = i*3;
+			}
+			DataFrameSerializer serializer = new DataFrameSerializer().useCompression(false);
+			serializer.writeFile(file, new DefaultDataFrame(new IntColumn(values)));
+			DataFrame res = serializer.readMapped(file);
+			assertTrue("Column should be mapped", 
+					((MappedIntColumn)res.getColumnAt(0)).isMapped());
+			
+			assertTrue("DataFrame row count should be 1500000", res.rows() == values.length);
+			for(int i=0; i<values.length; ++i){
+				assertTrue("Value does not match", res.getInt(0, i) == values[i]);
+			}
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testReadMappedModification() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer().useCompression(false);
+			serializer.writeFile(file, df);
+			DataFrame res = serializer.readMapped(file);
+			res.setInt("intCol", 0, 42);
+			res.addRow(new Object[]{(byte)60,(short)61,62,63l,"60",'f',60.6f,61.6,false});
+			assertFalse("Column should not be mapped", 
+					((MappedIntColumn)res.getColumn("intCol")).isMapped());
+			
+			assertTrue("DataFrame row count should be 6", res.rows() == 6);
+			assertTrue("Value should be 42", res.getInt("intCol", 0) == 42);
+			assertTrue("Value should be 62", res.getInt("intCol", 5) == 62);
+			assertTrue("Value should be 22", res.getInt("intCol", 1) == 22);
+			res.removeRow(0);
+			assertTrue("Value should be 22", res.getInt("intCol", 0) == 22);
+			assertFramesEqual(df, serializer.readMapped(file));
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testReadMappedNullable() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer().useCompression(false);
+			serializer.writeFile(file, dfEscapedNullable);
+			DataFrame res = serializer.readMapped(file);
+			assertTrue("DataFrame should be of type NullableDataFrame", res instanceof NullableDataFrame);
+			assertFramesEqual(dfEscapedNullable, res);
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testReadMappedCompressed() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer();
+			serializer.writeFile(file, df);
+			DataFrame res = serializer.readMapped(file);
+			assertFalse("Column should not be mapped", res.getColumn("intCol") instanceof MappedIntColumn);
+			assertFramesEqual(df, res);
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testReadFileProjectionByName() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer();
+			serializer.writeFile(file, df);
+			DataFrame res = serializer.readFile(file, "doubleCol", "stringCol");
+			assertTrue("DataFrame should be of type DefaultDataFrame", res instanceof DefaultDataFrame);
+			assertTrue("DataFrame row count should be 5", res.rows() == 5);
+			assertTrue("DataFrame column count should be 2", res.columns() == 2);
+			assertArrayEquals("Column names do not match", 
+					new String[]{"doubleCol", "stringCol"}, res.getColumnNames());
+			
+			for(int i=0; i<5; ++i){
+				assertEquals("Value does not match", df.getDouble("doubleCol", i), 
+						res.getDouble("doubleCol", i), 0.0);
+				
+				assertEquals("Value does not match", df.getString("stringCol", i), 
+						res.getString("stringCol", i));
+			}
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testReadFileProjectionByIndex() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer();
+			serializer.writeFile(file, dfEscapedNullable);
+			DataFrame res = serializer.readFile(file, 8, 2);
+			assertTrue("DataFrame should be of type NullableDataFrame", res instanceof NullableDataFrame);
+			assertTrue("DataFrame column count should be 2", res.columns() == 2);
+			assertArrayEquals("Column names do not match", 
+					new String[]{columnNamesEscapedNullable[8], columnNamesEscapedNullable[2]},
+					res.getColumnNames());
+			
+			for(int i=0; i<3; ++i){
+				assertEquals("Value does not match", dfEscapedNullable.getBoolean(8, i), 
+						res.getBoolean(0, i));
+				
+				assertEquals("Value does not match", dfEscapedNullable.getInt(2, i), 
+						res.getInt(1, i));
+			}
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testReadFileProjectionVersion1() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			FileOutputStream os = new FileOutputStream(file);
+			os.write(Base64.getDecoder().decode(truthBase64));
+			os.close();
+			DataFrame res = new DataFrameSerializer().readFile(file, 2);
+			assertTrue("DataFrame column count should be 1", res.columns() == 1);
+			assertTrue("DataFrame row count should be 3", res.rows() == 3);
+			assertEquals("Value does not match", dfEscapedNullable.getInt(2, 2), res.getInt(0, 2));
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test(expected=IOException.class)
+	public void testReadFileProjectionInvalidName() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer();
+			serializer.writeFile(file, df);
+			serializer.readFile(file, "intCol", "nonExistentCol");
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testWriteToReadFrom() throws Exception{
+		DataFrameSerializer serializer = new DataFrameSerializer();
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		serializer.writeTo(os, df);
+		serializer.writeTo(os, dfEscapedNullable);
+		ByteArrayInputStream is = new ByteArrayInputStream(os.toByteArray());
+		DataFrame res1 = serializer.readFrom(is);
+		DataFrame res2 = serializer.readFrom(is);
+		assertTrue("Stream should be fully consumed", is.read() == -1);
+		assertArrayEquals("Column names do not match", columnNames, res1.getColumnNames());
+		assertFramesEqual(df, res1);
+		assertTrue("DataFrame should be of type NullableDataFrame", res2 instanceof NullableDataFrame);
+		assertFramesEqual(dfEscapedNullable, res2);
+	}
+	
+	@Test
+	public void testWriteToReadFromChunked() throws Exception{
+		for(boolean compress : new boolean[]{true, false}){
+			DataFrameSerializer serializer = new DataFrameSerializer()
+					.useCompression(compress)
+					.useChunkSize(2);
+			
+			ByteArrayOutputStream os = new ByteArrayOutputStream();
+			serializer.writeTo(os, df);
+			serializer.writeTo(os, dfEscapedNullable);
+			ByteArrayInputStream is = new ByteArrayInputStream(os.toByteArray());
+			assertFramesEqual(df, serializer.readFrom(is));
+			assertFramesEqual(dfEscapedNullable, serializer.readFrom(is));
+			assertTrue("Stream should be fully consumed", is.read() == -1);
+		}
+	}
+	
+	@Test
+	public void testReadFromVersion1() throws Exception{
+		DataFrame res = new DataFrameSerializer().readFrom(
+				new ByteArrayInputStream(Base64.getDecoder().decode(truthBase64)));
+		
+		assertTrue("DataFrame should be of type NullableDataFrame", res instanceof NullableDataFrame);
+		assertFramesEqual(dfEscapedNullable, res);
+	}
+	
+	@Test
+	public void testReadFileChunked() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			for(boolean compress : new boolean[]{true, false}){
+				DataFrameSerializer serializer = new DataFrameSerializer()
+						.useCompression(compress)
+						.useChunkSize(2);
+				
+				serializer.writeFile(file, dfEscapedNullable);
+				assertFramesEqual(dfEscapedNullable, serializer.readFile(file));
+				serializer.writeFile(file, df);
+				assertFramesEqual(df, serializer.readFile(file));
+				assertFramesEqual(df, serializer.readMapped(file));
+				assertTrue("Value does not match", 
+						serializer.readFile(file, "longCol").getLong(0, 4) == 53l);
+			}
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testParallelChunks() throws Exception{
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer()
+					.useExecutor(executor)
+					.useChunkSize(1);
+			
+			for(DataFrame frame : new DataFrame[]{df, dfEscapedNullable}){
+				serializer.writeFile(file, frame);
+				assertFramesEqual(frame, serializer.readFile(file));
+				ByteArrayOutputStream os = new ByteArrayOutputStream();
+				serializer.writeTo(os, frame);
+				assertFramesEqual(frame, serializer.readFrom(
+						new ByteArrayInputStream(os.toByteArray())));
+				
+				DataFrame res = new DataFrameSerializer().useExecutor(null).readFile(file);
+				assertFramesEqual(frame, res);
+			}
+		}finally{
+			executor.shutdown();
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testParallelChunksFromPoolWorker() throws Exception{
+		final ForkJoinPool pool = new ForkJoinPool(1);
+		final File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			final DataFrameSerializer serializer = new DataFrameSerializer()
+					.useExecutor(pool)
+					.useChunkSize(1);
+			
+			//the only worker of the pool waits for chunks queued in the same pool
+			DataFrame res = pool.submit(new Callable<DataFrame>(){
+				@Override
+				public DataFrame call() throws Exception{
+					serializer.writeFile(file, dfEscapedNullable);
+					return serializer.readFile(file);
+				}
+			}).get(60, TimeUnit.SECONDS);
+			
+			assertFramesEqual(dfEscapedNullable, res);
+		}finally{
+			pool.shutdownNow();
+			file.delete();
+		}
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testChunkSizeTooLarge(){
+		new DataFrameSerializer().useChunkSize(Integer.MAX_VALUE / 8);
+	}
+	
+	@Test
+	public void testParallelNullableChunks() throws Exception{
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			final Random random = new Random(42);
+			final DataFrame[] parts = new DataFrame[]{
+					nullableFrame(random, 20000),
+					nullableFrame(random, 777),
+					nullableFrame(random, 1333)};
+			
+			final DataFrame expected = (DataFrame)parts[0].clone();
+			expected.addRows(parts[1]);
+			expected.addRows(parts[2]);
+			for(boolean compression : new boolean[]{true, false}){
+				DataFrameSerializer serializer = new DataFrameSerializer()
+						.useCompression(compression)
+						.useExecutor(executor)
+						.useChunkSize(1000);
+				
+				serializer.writeFile(file, parts[0]);
+				serializer.append(file, parts[1]);
+				serializer.append(file, parts[2]);
+				for(int i=0; i<10; ++i){
+					assertFramesEqual(expected, serializer.readFile(file));
+				}
+				assertFramesEqual(expected, serializer.readFrom(
+						new ByteArrayInputStream(Files.readAllBytes(file.toPath()))));
+			}
+		}finally{
+			executor.shutdown();
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testCodecs() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			Codec[] codecs = new Codec[]{
+					null, new DeflateCodec(1), new DeflateCodec(9), new LZCodec()};
+			
+			for(Codec codec : codecs){
+				DataFrameSerializer serializer = new DataFrameSerializer()
+						.useCodec(codec)
+						.useChunkSize(2);
+				
+				serializer.writeFile(file, dfEscapedNullable);
+				byte[] bytes = Files.readAllBytes(file.toPath());
+				assertTrue("Header should record codec id", 
+						bytes[4] == (codec != null ? codec.getId() : 0));
+				
+				assertFramesEqual(dfEscapedNullable, new DataFrameSerializer().readFile(file));
+				serializer.writeFile(file, df);
+				assertFramesEqual(df, new DataFrameSerializer().readFile(file));
+			}
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testCustomCodec() throws Exception{
+		Codec reverse = new Codec(){
+			@Override
+			public byte getId(){
+				return 42;
+			}
+			@Override
+			public byte[] compress(byte[] bytes){
+				byte[] res = new byte[bytes.length];
+				for(int i=0; i<bytes.length; ++i){
+					res[i] = bytes[bytes.length-1-i];
+				}
+				return res;
+			}
+			@Override
+			public byte[] decompress(byte[] bytes){
+				return compress(bytes);
+			}
+		};
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer().useCodec(reverse);
+			serializer.writeFile(file, df);
+			assertFramesEqual(df, serializer.readFile(file));
+			try{
+				new DataFrameSerializer().readFile(file);
+				fail("Reading a file with an unknown codec should fail");
+			}catch(IOException ex){ }
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testEncodings() throws Exception{
+		Codec identity = new Codec(){
+			@Override
+			public byte getId(){
+				return 43;
+			}
+			@Override
+			public byte[] compress(byte[] bytes){
+				return bytes;
+			}
+			@Override
+			public byte[] decompress(byte[] bytes){
+				return bytes;
+			}
+		};
+		int rows = 1000;
+		long[] sorted = new long[rows];
+		int[] runs = new int[rows];
+		byte[] deltas = new byte[rows];
+		boolean[] booleans = new boolean[rows];
+		String[] strings = new String[rows];
+		for(int i=0; i<rows; ++i){
+			sorted[i] = 1000000000000L+i*3;
+			runs[i] = i/100;
+			deltas[i] = (byte)(i%2 == 0 ? -i : i);
+			booleans[i] = (i%3 == 0);
+			strings[i] = "category"+(i%4);
+		}
+		DataFrame dfEncoded = new DefaultDataFrame(
+				new String[]{"sorted", "runs", "deltas", "booleans", "strings"},
+				new LongColumn(sorted),
+				new IntColumn(runs),
+				new ByteColumn(deltas),
+				new BooleanColumn(booleans),
+				new StringColumn(strings));
+		
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer()
+					.useCodec(identity)
+					.useChunkSize(300);
+			
+			serializer.useEncodings(false).writeFile(file, dfEncoded);
+			long plain = file.length();
+			assertFramesEqual(dfEncoded, serializer.readFile(file));
+			serializer.useEncodings(true).writeFile(file, dfEncoded);
+			assertTrue("Encoded file should be smaller", file.length() < plain/2);
+			assertFramesEqual(dfEncoded, serializer.readFile(file));
+			assertFramesEqual(dfEncoded, serializer.readFrom(
+					new ByteArrayInputStream(Files.readAllBytes(file.toPath()))));
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testOffHeapColumns() throws Exception{
+		int rows = 1000;
+		long[] longs = new long[rows];
+		double[] doubles = new double[rows];
+		boolean[] booleans = new boolean[rows];
+		for(int i=0; i<rows; ++i){
+			longs[i] = i/10;
+			doubles[i] = i*0.5;
+			booleans[i] = (i%3 == 0);
+		}
+		DataFrame dfHeap = new DefaultDataFrame(
+				new LongColumn(longs),
+				new DoubleColumn(doubles),
+				new BooleanColumn(booleans));
+		
+		DataFrame dfOffHeap = new DefaultDataFrame(
+				new OffHeapLongColumn(longs),
+				new OffHeapDoubleColumn(doubles),
+				new OffHeapBooleanColumn(booleans));
+		
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer()
+					.useChunkSize(300)
+					.useRowGroupSize(400);
+			
+			serializer.useCompression(false).writeFile(file, dfOffHeap);
+			assertFramesEqual(dfHeap, serializer.readFile(file));
+			serializer.useCompression(true).writeFile(file, dfOffHeap);
+			assertFramesEqual(dfHeap, serializer.readFile(file));
+		}finally{
+			file.delete();
+			for(int i=0; i<dfOffHeap.columns(); ++i){
+				((OffHeapColumn)dfOffHeap.getColumnAt(i)).close();
+			}
+		}
+	}
+	
+	@Test
+	public void testChunkedColumns() throws Exception{
+		int rows = 1000;
+		long[] longs = new long[rows];
+		double[] doubles = new double[rows];
+		boolean[] booleans = new boolean[rows];
+		for(int i=0; i<rows; ++i){
+			longs[i] = i/10;
+			doubles[i] = i*0.5;
+			booleans[i] = (i%3 == 0);
+		}
+		DataFrame dfHeap = new DefaultDataFrame(
+				new LongColumn(longs),
+				new DoubleColumn(doubles),
+				new BooleanColumn(booleans));
+		
+		DataFrame dfChunked = new DefaultDataFrame(
+				new ChunkedLongColumn(longs),
+				new ChunkedDoubleColumn(doubles),
+				new ChunkedBooleanColumn(booleans));
+		
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer()
+					.useChunkSize(300)
+					.useRowGroupSize(400);
+			
+			serializer.useCompression(false).writeFile(file, dfChunked);
+			assertFramesEqual(dfHeap, serializer.readFile(file));
+			serializer.useCompression(true).writeFile(file, dfChunked);
+			assertFramesEqual(dfHeap, serializer.readFile(file));
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testDictionaryColumns() throws Exception{
+		int rows = 1000;
+		String[] strings = new String[rows];
+		for(int i=0; i<rows; ++i){
+			strings[i] = (i%7 == 0 ? null : "status"+(i%3));
+		}
+		DataFrame dfDictionary = new NullableDataFrame(
+				new NullableDictionaryStringColumn(strings),
+				new NullableStringColumn(strings));
+		
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer().useChunkSize(300);
+			serializer.writeFile(file, dfDictionary);
+			assertTrue("Schema should report a dictionary-encoded column", 
+					serializer.readSchema(file).getColumnType(0) 
+					== NullableDictionaryStringColumn.class);
+			
+			for(DataFrame res : new DataFrame[]{
+					serializer.readFile(file),
+					serializer.readFrom(new ByteArrayInputStream(
+							Files.readAllBytes(file.toPath())))}){
+				
+				assertFramesEqual(dfDictionary, res);
+				assertTrue("Column should be dictionary encoded", 
+						res.getColumnAt(1) instanceof NullableDictionaryStringColumn);
+				assertTrue("Cardinality should be 3", 
+						((NullableDictionaryStringColumn)res.getColumnAt(0)).cardinality() == 3);
+			}
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testEncodingsNullable() throws Exception{
+		String[] strings = new String[]{
+				"a", null, "a", "b", null, "a", "b", "b", "a", null, "\u00e9", "a"};
+		
+		DataFrame dfEncoded = new NullableDataFrame(
+				new NullableStringColumn(strings),
+				new NullableIntColumn(new Integer[]{
+						1, 1, null, 1, 1, 1, 2, 2, 2, null, 2, 2}));
+		
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer().useChunkSize(5);
+			serializer.writeFile(file, dfEncoded);
+			assertFramesEqual(dfEncoded, serializer.readFile(file));
+			serializer.useCompression(false).writeFile(file, dfEncoded);
+			assertFramesEqual(dfEncoded, serializer.readMapped(file));
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testReadRange() throws Exception{
+		int rows = 10000;
+		long[] ts = new long[rows];
+		String[] names = new String[rows];
+		for(int i=0; i<rows; ++i){
+			ts[i] = 1000000L+i;
+			names[i] = "name"+i;
+		}
+		DataFrame dfRange = new DefaultDataFrame(
+				new String[]{"ts", "name"},
+				new LongColumn(ts),
+				new StringColumn(names));
+		
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer()
+					.useRowGroupSize(1000)
+					.useChunkSize(300);
+			
+			serializer.writeFile(file, dfRange);
+			assertFramesEqual(dfRange, serializer.readFile(file));
+			DataFrame res = serializer.readRange(file, "ts", 1002500L, 1003499);
+			assertTrue("DataFrame should have 1000 rows", res.rows() == 1000);
+			assertTrue("DataFrame should have 2 columns", res.columns() == 2);
+			for(int i=0; i<res.rows(); ++i){
+				assertEquals("Row does not match", 1002500L+i, res.getLong("ts", i).longValue());
+				assertEquals("Row does not match", "name"+(2500+i), res.getString("name", i));
+			}
+			res = serializer.readRange(file, "ts", null, 1000009.5);
+			assertTrue("DataFrame should have 10 rows", res.rows() == 10);
+			res = serializer.readRange(file, "ts", 2000000, null);
+			assertTrue("DataFrame should be empty", res.rows() == 0);
+			res = serializer.readRange(file, "name", "name9998", "name9999");
+			assertTrue("DataFrame should have 2 rows", res.rows() == 2);
+			
+			//corrupt the first row group which must be skipped by range reads
+			byte[] bytes = Files.readAllBytes(file.toPath());
+			int start = 9+ByteBuffer.wrap(bytes, 5, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+			for(int i=start+4+12; i<start+4+12+40; ++i){
+				bytes[i] = (byte)0xFF;
+			}
+			Files.write(file.toPath(), bytes);
+			try{
+				serializer.readFile(file);
+				fail("Reading a corrupt row group should fail");
+			}catch(IOException ex){ }
+			res = serializer.readRange(file, "ts", 1005000L, 1005999L);
+			assertTrue("DataFrame should have 1000 rows", res.rows() == 1000);
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testReadRangeNullable() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer().useRowGroupSize(2);
+			serializer.writeFile(file, dfEscapedNullable);
+			DataFrame res = serializer.readRange(file, "intC,ol", 2, 5);
+			assertTrue("DataFrame should be of type NullableDataFrame", res instanceof NullableDataFrame);
+			assertTrue("DataFrame should have 1 row", res.rows() == 1);
+			assertArrayEquals("Row does not match", dfEscapedNullable.getRowAt(2), res.getRowAt(0));
+			res = serializer.readRange(file, "intC,ol", null, null);
+			assertTrue("DataFrame should have 2 rows", res.rows() == 2);
+			
+			FileOutputStream os = new FileOutputStream(file);
+			os.write(Base64.getDecoder().decode(truthBase64));
+			os.close();
+			res = serializer.readRange(file, "intC,ol", 0, 1);
+			assertTrue("DataFrame should have 1 row", res.rows() == 1);
+			assertArrayEquals("Row does not match", dfEscapedNullable.getRowAt(0), res.getRowAt(0));
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testReadRangeInvalidBound() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			new DataFrameSerializer().writeFile(file, dfEscapedNullable);
+			new DataFrameSerializer().readRange(file, "intC,ol", "a", null);
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testRowGroups() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer()
+					.useCompression(false)
+					.useRowGroupSize(2);
+			
+			serializer.writeFile(file, dfEscapedNullable);
+			assertFramesEqual(dfEscapedNullable, serializer.readFile(file));
+			serializer.writeFile(file, df);
+			assertFramesEqual(df, serializer.readMapped(file));
+			ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			serializer.useCompression(true).writeTo(baos, df);
+			baos.write(42);
+			ByteArrayInputStream is = new ByteArrayInputStream(baos.toByteArray());
+			assertFramesEqual(df, serializer.readFrom(is));
+			assertTrue("Stream should be positioned after the DataFrame", is.read() == 42);
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testAppend() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			for(boolean compression : new boolean[]{true, false}){
+				DataFrameSerializer serializer = new DataFrameSerializer()
+						.useCompression(compression)
+						.useChunkSize(2);
+				
+				serializer.writeFile(file, dfEscapedNullable);
+				byte[] before = Files.readAllBytes(file.toPath());
+				serializer.append(file, dfEscapedNullable);
+				serializer.append(file, dfEscapedNullable);
+				byte[] after = Files.readAllBytes(file.toPath());
+				int index = (int)ByteBuffer.wrap(before, before.length-8, 8)
+						.order(ByteOrder.LITTLE_ENDIAN).getLong();
+				
+				for(int i=13; i<index; ++i){
+					assertTrue("Existing rows should not be rewritten", before[i] == after[i]);
+				}
+				DataFrame res = serializer.readFile(file);
+				assertTrue("DataFrame should have 9 rows", res.rows() == 9);
+				for(int i=0; i<res.rows(); ++i){
+					assertArrayEquals("Row does not match", 
+							dfEscapedNullable.getRowAt(i%3), res.getRowAt(i));
+				}
+				res = serializer.readRange(file, "intC,ol", 3, 3);
+				assertTrue("DataFrame should have 3 rows", res.rows() == 3);
+				assertFramesEqual(serializer.readFile(file), serializer.readFrom(
+						new ByteArrayInputStream(Files.readAllBytes(file.toPath()))));
+			}
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testAppendNewFile() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		file.delete();
+		try{
+			new DataFrameSerializer().append(file, df);
+			assertFramesEqual(df, new DataFrameSerializer().readFile(file));
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testAppendFailure() throws Exception{
+		final boolean[] failing = new boolean[1];
+		Codec codec = new Codec(){
+			private int calls;
+			@Override
+			public byte getId(){
+				return 44;
+			}
+			@Override
+			public byte[] compress(byte[] bytes){
+				if(failing[0] && ++calls > 50){
+					throw new IllegalStateException("Injected failure");
+				}
+				return bytes.clone();
+			}
+			@Override
+			public byte[] decompress(byte[] bytes){
+				return bytes.clone();
+			}
+		};
+		final int[] values = new int[100000];
+		for(int i=0; i<values.length; ++i){
+			values[i] = i*7919 ^ 0x5bd1e995;
+		}
+		DataFrame large = new DefaultDataFrame(new IntColumn(values));
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer()
+					.useCodec(codec)
+					.useChunkSize(1024)
+					.useExecutor(null);
+			
+			serializer.writeFile(file, large);
+			serializer.append(file, large);
+			byte[] before = Files.readAllBytes(file.toPath());
+			failing[0] = true;
+			try{
+				serializer.append(file, large);
+				fail("Append should fail");
+			}catch(IOException | IllegalStateException ex){ }
+			assertArrayEquals("File should be restored", 
+					before, Files.readAllBytes(file.toPath()));
+			
+			DataFrame res = serializer.readFile(file);
+			assertTrue("DataFrame should have 200000 rows", res.rows() == 200000);
+			for(int i=0; i<res.rows(); ++i){
+				assertTrue("Value does not match", res.getInt(0, i) == values[i%100000]);
+			}
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testAppendInvalid() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer();
+			serializer.writeFile(file, dfEscapedNullable);
+			try{
+				serializer.append(file, df);
+				fail("Appending a DataFrame with different column types should fail");
+			}catch(IOException ex){ }
+			assertFramesEqual(dfEscapedNullable, serializer.readFile(file));
+			FileOutputStream os = new FileOutputStream(file);
+			os.write(Base64.getDecoder().decode(truthBase64));
+			os.close();
+			try{
+				serializer.append(file, dfEscapedNullable);
+				fail("Appending to a version 1 file should fail");
+			}catch(IOException ex){ }
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testReadSchema() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer();
+			serializer.writeFile(file, dfEscapedNullable);
+			DataFrameSchema schema = serializer.readSchema(file);
+			assertTrue("Schema should be nullable", schema.isNullable());
+			assertTrue("Schema should have 3 rows", schema.rows() == 3);
+			assertTrue("Schema should have 9 columns", schema.columns() == 9);
+			assertArrayEquals("Column names do not match",
+					dfEscapedNullable.getColumnNames(), schema.getColumnNames());
+			
+			for(int i=0; i<schema.columns(); ++i){
+				assertEquals("Column type does not match",
+						dfEscapedNullable.getColumnAt(i).getClass(), schema.getColumnType(i));
+			}
+			
+			//corrupt everything after the header
+			byte[] bytes = Files.readAllBytes(file.toPath());
+			int start = 9+ByteBuffer.wrap(bytes, 5, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+			Files.write(file.toPath(), Arrays.copyOf(bytes, start));
+			schema = serializer.readSchema(file);
+			assertTrue("Schema should have 3 rows", schema.rows() == 3);
+			
+			serializer.writeFile(file, new DefaultDataFrame());
+			schema = serializer.readSchema(file);
+			assertFalse("Schema should not be nullable", schema.isNullable());
+			assertTrue("Schema should have 0 columns", schema.columns() == 0);
+			assertFalse("Schema should not have column names", schema.hasColumnNames());
+			
+			FileOutputStream os = new FileOutputStream(file);
+			os.write(Base64.getDecoder().decode(truthBase64));
+			os.close();
+			schema = serializer.readSchema(file);
+			assertTrue("Schema should have 9 columns", schema.columns() == 9);
+			assertArrayEquals("Column names do not match",
+					dfEscapedNullable.getColumnNames(), schema.getColumnNames());
+		}finally{
+			file.delete();
+		}
+	}
+	
+	@Test
+	public void testLargeDataFrame() throws Exception{
+		File file = File.createTempFile("claymore", DataFrameSerializer.DF_FILE_EXTENSION);
+		try{
+			DataFrameSerializer serializer = new DataFrameSerializer().useRowGroupSize(2);
+			LargeDataFrame large = new LargeDataFrame(2, dfEscapedNullable);
+			large.addRows(dfEscapedNullable);
+			large.addRows(dfEscapedNullable);
+			serializer.writeFile(file, large);
+			LargeDataFrame res = serializer.readLarge(file);
+			assertTrue("Row count should be 6", res.rows() == 6);
+			assertArrayEquals("Column names do not match",
+					dfEscapedNullable.getColumnNames(), res.getColumnNames());
+			
+			for(long i=0; i<res.rows(); ++i){
+				assertArrayEquals("Row does not match", large.getRowAt(i), res.getRowAt(i));
+			}
+			assertFramesEqual(serializer.readFile(file), res.slice(0, res.rows()));
+			
+			//pretend the file holds more rows than a DataFrame can
+			RandomAccessFile raf = new RandomAccessFile(file, "rw");
+			raf.seek(10);
+			raf.write(ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN)
+					.putLong(3000000000l).array());
+			
+			raf.close();
+			assertTrue("Schema should have 3000000000 rows",
+					serializer.readSchema(file).rows() == 3000000000l);
+			
+			try{
+				serializer.readFile(file);
+				fail("Reading more than Integer.MAX_VALUE rows into a DataFrame should fail");
+			}catch(IOException ex){ }
+		}finally{
+			file.delete();
+		}
+	}
+	
+	private static DataFrame nullableFrame(final Random random, final int rows){
+		final Integer[] ints = new Integer[rows];
+		final Double[] doubles = new Double[rows];
+		final Boolean[] booleans = new Boolean[rows];
+		for(int i=0; i<rows; ++i){
+			ints[i] = (random.nextInt(3) == 0 ? null : random.nextInt());
+			doubles[i] = (random.nextInt(3) == 0 ? null : random.nextDouble());
+			booleans[i] = (random.nextInt(3) == 0 ? null : random.nextBoolean());
+		}
+		return new NullableDataFrame(
+				new NullableIntColumn(ints),
+				new NullableDoubleColumn(doubles),
+				new NullableBooleanColumn(booleans));
+	}
+	
+	private static void assertFramesEqual(DataFrame expected, DataFrame actual){
+		assertTrue("DataFrame row count does not match", expected.rows() == actual.rows());
+		assertTrue("DataFrame column count does not match", expected.columns() == actual.columns());
+		for(int i=0; i<expected.columns(); ++i){
+			assertTrue("Column types do not match", 
+					expected.getColumnAt(i).getClass().isInstance(actual.getColumnAt(i)));
+		}
+		for(int i=0; i<expected.rows(); ++i){
+			assertArrayEquals("Row does not match", expected.getRowAt(i), actual.getRowAt(i));
+		}
+	}
 
 }
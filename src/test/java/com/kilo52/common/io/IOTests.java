@@ -21,7 +21,7 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({DataFrameSerializerTest.class})
+@SuiteClasses({DataFrameSerializerTest.class, CodecTest.class})
 public class IOTests {
 
 }
@@ -16,6 +16,10 @@
 
 package com.kilo52.common.struct;
 
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.concurrent.ForkJoinPool;
+
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -499,6 +503,66 @@ public class DefaultDataFrameTest {
 				row);
 	}
 	
+	@Test
+	public void testAddRows(){
+		df.addRows(2,
+				new ByteColumn(new byte[]{60,70}),
+				new ShortColumn(new short[]{61,71}),
+				new IntColumn(new int[]{62,72}),
+				new LongColumn(new long[]{63l,73l}),
+				new StringColumn(new String[]{"60","70"}),
+				new CharColumn(new char[]{'f','g'}),
+				new FloatColumn(new float[]{60.1f,70.1f}),
+				new DoubleColumn(new double[]{60.1,70.1}),
+				new BooleanColumn(new boolean[]{true,false}));
+		
+		assertTrue("Row count should be 7", df.rows() == 7);
+		assertArrayEquals("Row does not match added values", 
+				new Object[]{(byte)70,(short)71,72,73l,"70",'g',70.1f,70.1d,false}, 
+				df.getRowAt(6));
+		
+		final DataFrame copy = (DataFrame)df.clone();
+		df.addRows(df);
+		assertTrue("Row count should be 14", df.rows() == 14);
+		for(int i=0; i<copy.rows(); ++i){
+			assertArrayEquals("Row does not match appended row", 
+					copy.getRowAt(i), df.getRowAt(i+7));
+		}
+		df.addRow(new Object[]{(byte)42,(short)42,42,42l,"42",'A',42.2f,42.2d,true});
+		assertTrue("Row count should be 15", df.rows() == 15);
+	}
+	
+	@Test(expected=DataFrameException.class)
+	public void testAddRowsTypeMissmatch(){
+		df.addRows(1,
+				new ByteColumn(new byte[]{60}),
+				new ShortColumn(new short[]{61}),
+				new LongColumn(new long[]{62l}),
+				new LongColumn(new long[]{63l}),
+				new StringColumn(new String[]{"60"}),
+				new CharColumn(new char[]{'f'}),
+				new FloatColumn(new float[]{60.1f}),
+				new DoubleColumn(new double[]{60.1}),
+				new BooleanColumn(new boolean[]{true}));
+	}
+	
+	@Test
+	public void testAddRowsSpareCapacity(){
+		final DataFrame source = new DefaultDataFrame(new IntColumn(new int[]{1,2}));
+		source.addRow(new Object[]{3});
+		final DataFrame frame = new DefaultDataFrame(new IntColumn(new int[]{0}));
+		frame.addRows(source.rows(), source.getColumnAt(0));
+		assertTrue("Row count should be 4", frame.rows() == 4);
+		for(int i=0; i<frame.rows(); ++i){
+			assertTrue("Value does not match", frame.getInt(0, i) == i);
+		}
+		try{
+			frame.addRows(3, new IntColumn(new int[]{4,5}));
+			fail("Adding more rows than a column holds should fail");
+		}catch(DataFrameException ex){ }
+		assertTrue("Row count should be 4", frame.rows() == 4);
+	}
+	
 	@Test
 	public void testInsertRowAt(){
 		df.insertRowAt(2, new Object[]{(byte)42,(short)42,42,42l,"42",'A',42.2f,42.2d,true});
@@ -927,6 +991,322 @@ public class DefaultDataFrameTest {
 		assertTrue("Returned DataFrame should have 9 columns", filtered.columns() == 9);
 	}
 	
+	@Test
+	public void testIndexOfPredicate(){
+		assertTrue("Index should be 2", df.indexOf("intCol", ColumnPredicate.gt(30)) == 2);
+		assertTrue("Index should be 3", df.indexOf(2, 3, ColumnPredicate.ge(12)) == 3);
+		assertTrue("Index should be -1", df.indexOf("doubleCol", ColumnPredicate.lt(0)) == -1);
+	}
+	
+	@Test
+	public void testIndexOfAllPredicate(){
+		assertArrayEquals("Indices do not match", new int[]{1,2,3},
+				df.indexOfAll("doubleCol", ColumnPredicate.between(20, 42)));
+		assertArrayEquals("Indices do not match", new int[]{0,4},
+				df.indexOfAll("stringCol", ColumnPredicate.in("10","50")));
+		assertArrayEquals("Indices do not match", new int[]{2,3,4},
+				df.indexOfAll("charCol", ColumnPredicate.ge('c')));
+		assertArrayEquals("Indices do not match", new int[]{0,2,4},
+				df.indexOfAll("booleanCol", ColumnPredicate.eq(true)));
+		assertArrayEquals("Indices do not match", new int[]{0,2,4},
+				df.indexOfAll("longCol", ColumnPredicate.ofLong(v -> v % 20 == 13)));
+		assertArrayEquals("Indices do not match", new int[]{1,3},
+				df.indexOfAll("byteCol", ColumnPredicate.ofInt(v -> v % 20 == 0)));
+		assertArrayEquals("Indices do not match", new int[]{3,4},
+				df.indexOfAll("floatCol", ColumnPredicate.ofDouble(v -> v > 40.0)));
+		assertArrayEquals("Indices do not match", new int[]{0,4},
+				df.indexOfAll("shortCol", ColumnPredicate.lt(20).or(ColumnPredicate.eq(51))));
+		assertArrayEquals("Indices do not match", new int[]{1,2,3},
+				df.indexOfAll("intCol", ColumnPredicate.in(12, 52.0).negate()));
+		assertArrayEquals("Indices do not match", new int[]{2,3},
+				df.slice(1, 5).indexOfAll("intCol", ColumnPredicate.gt(40)));
+		assertNull("Indices should be null", df.indexOfAll("intCol", ColumnPredicate.eq(13)));
+		
+		final DataFrame dict = new DefaultDataFrame(
+				new DictionaryStringColumn(new String[]{"a","b","a","c"}));
+		
+		assertArrayEquals("Indices do not match", new int[]{0,2},
+				dict.indexOfAll(0, ColumnPredicate.eq("a")));
+		assertArrayEquals("Indices do not match", new int[]{1,3},
+				dict.indexOfAll(0, ColumnPredicate.of(v -> !"a".equals(v))));
+	}
+	
+	@Test
+	public void testFilterPredicate(){
+		DataFrame filtered = df.filter("intCol", ColumnPredicate.gt(30).and(ColumnPredicate.lt(50)));
+		assertTrue("Returned DataFrame should be of type DefaultDataFrame", 
+				filtered instanceof DefaultDataFrame);
+		
+		assertTrue("Returned DataFrame should have 2 rows", filtered.rows() == 2);
+		assertArrayEquals("Row does not match expected values", df.getRowAt(3), filtered.getRowAt(1));
+		filtered = df.slice(1, 5).filter(2, ColumnPredicate.ge(32));
+		assertTrue("Returned DataFrame should have 3 rows", filtered.rows() == 3);
+		assertTrue("Returned DataFrame should have 0 rows",
+				df.filter(2, ColumnPredicate.gt(100)).rows() == 0);
+	}
+	
+	@Test(expected=DataFrameException.class)
+	public void testPredicateTypeMismatch(){
+		df.indexOfAll("intCol", ColumnPredicate.lt("abc"));
+	}
+	
+	@Test
+	public void testWhere(){
+		final RowSelection selection = df.where("intCol", ColumnPredicate.gt(20))
+				.and(df.where("stringCol", ColumnPredicate.in("20","40","50")));
+		
+		assertTrue("Selection should refer to 5 rows", selection.rows() == 5);
+		assertTrue("Selection should select 3 rows", selection.count() == 3);
+		assertArrayEquals("Indices do not match", new int[]{1,3,4}, selection.indices());
+		assertTrue("Row 3 should be selected", selection.isSelected(3));
+		assertArrayEquals("Indices do not match", new int[]{0,2}, selection.not().indices());
+		assertArrayEquals("Indices do not match", new int[]{0,1,3,4},
+				selection.or(RowSelection.of(5, 0)).indices());
+		
+		assertTrue("Selection should be empty", selection.and(selection.not()).isEmpty());
+		assertEquals("Selections should be equal", RowSelection.all(5), selection.or(selection.not()));
+		
+		final DataFrame filtered = df.filter(selection);
+		assertTrue("Returned DataFrame should be of type DefaultDataFrame", 
+				filtered instanceof DefaultDataFrame);
+		
+		assertTrue("Returned DataFrame should have 3 rows", filtered.rows() == 3);
+		assertArrayEquals("Column names do not match", columnNames, filtered.getColumnNames());
+		for(int i=0; i<filtered.rows(); ++i){
+			assertArrayEquals("Row does not match expected values",
+					df.getRowAt(selection.indices()[i]), filtered.getRowAt(i));
+		}
+		assertTrue("Returned DataFrame should have 0 rows", df.filter(RowSelection.none(5)).rows() == 0);
+		
+		final DataFrame view = df.slice(1, 4);
+		assertArrayEquals("Row does not match expected values", df.getRowAt(3),
+				view.filter(view.where(2, ColumnPredicate.ge(42))).getRowAt(0));
+		
+		final DataFrame chunked = chunked(df).filter(2, ColumnPredicate.lt(40));
+		assertTrue("Gathered column should be chunked",
+				chunked.getColumn("intCol") instanceof ChunkedIntColumn);
+		
+		assertArrayEquals("Column does not match", new int[]{12,22,32},
+				((ChunkedIntColumn)chunked.getColumn("intCol")).asArray());
+	}
+	
+	@Test(expected=DataFrameException.class)
+	public void testWhereSizeMismatch(){
+		df.filter(RowSelection.all(4));
+	}
+	
+	//************************************************//
+	//                    GroupBy                     //
+	//************************************************//
+	
+	@Test
+	public void testGroupBy(){
+		final DataFrame sales = new DefaultDataFrame(
+				new String[]{"customer", "region", "amount", "price"},
+				new StringColumn(new String[]{"b","a","b","c","a","b"}),
+				new DictionaryStringColumn(new String[]{"x","x","y","x","x","y"}),
+				new IntColumn(new int[]{5,3,2,7,1,4}),
+				new DoubleColumn(new double[]{1.5,2.0,0.5,3.0,4.0,2.5}));
+		
+		final GroupBy groups = sales.groupBy("customer");
+		assertTrue("There should be 3 groups", groups.groups() == 3);
+		final DataFrame res = groups.aggregate(Aggregation.count(), Aggregation.sum("amount"),
+				Aggregation.mean("price"), Aggregation.min("amount"), Aggregation.max("price"),
+				Aggregation.first("region"), Aggregation.last("amount").as("lastAmount"));
+		
+		assertTrue("Returned DataFrame should be of type DefaultDataFrame",
+				res instanceof DefaultDataFrame);
+		
+		assertArrayEquals("Column names do not match", new String[]{"customer", "count",
+				"sum(amount)", "mean(price)", "min(amount)", "max(price)", "first(region)",
+				"lastAmount"}, res.getColumnNames());
+		
+		assertTrue("Sum should be a long column", res.getColumn("sum(amount)") instanceof LongColumn);
+		assertTrue("Minimum should keep the column type", res.getColumn("min(amount)") instanceof IntColumn);
+		assertTrue("First should keep the column type",
+				res.getColumn("first(region)") instanceof DictionaryStringColumn);
+		
+		assertArrayEquals("Row does not match expected values",
+				new Object[]{"b", 3, 11l, 1.5, 2, 2.5, "x", 4}, res.getRowAt(0));
+		assertArrayEquals("Row does not match expected values",
+				new Object[]{"a", 2, 4l, 3.0, 1, 4.0, "x", 1}, res.getRowAt(1));
+		assertArrayEquals("Row does not match expected values",
+				new Object[]{"c", 1, 7l, 3.0, 7, 3.0, "x", 7}, res.getRowAt(2));
+		
+		final DataFrame multi = sales.groupBy("region", "customer").aggregate(Aggregation.sum(2));
+		assertTrue("Returned DataFrame should have 4 rows", multi.rows() == 4);
+		assertArrayEquals("Row does not match expected values",
+				new Object[]{"y", "b", 6l}, multi.getRowAt(2));
+		
+		final DataFrame byInt = chunked(df).groupBy(2).aggregate(Aggregation.sum(7));
+		assertTrue("Returned DataFrame should have 5 rows", byInt.rows() == 5);
+		assertTrue("Key column should be chunked", byInt.getColumnAt(0) instanceof ChunkedIntColumn);
+		assertTrue("Sum should be a double column", byInt.getColumnAt(1) instanceof DoubleColumn);
+		
+		final DataFrame view = df.slice(1, 4).groupBy("booleanCol").aggregate(Aggregation.count());
+		assertArrayEquals("Row does not match expected values", new Object[]{false, 2}, view.getRowAt(0));
+		assertArrayEquals("Row does not match expected values", new Object[]{true, 1}, view.getRowAt(1));
+	}
+	
+	@Test
+	public void testGroupByLarge(){
+		final int n = 100000;
+		final long[] keys = new long[n];
+		final int[] values = new int[n];
+		for(int i=0; i<n; ++i){
+			keys[i] = (i % 5000) * 1000003l;
+			values[i] = i;
+		}
+		final DataFrame res = new DefaultDataFrame(new LongColumn(keys), new IntColumn(values))
+				.groupBy(0).aggregate(Aggregation.count(), Aggregation.max(1));
+		
+		assertTrue("Returned DataFrame should have 5000 rows", res.rows() == 5000);
+		for(int i=0; i<res.rows(); ++i){
+			assertTrue("Key does not match", res.getLong(0, i) == i * 1000003l);
+			assertTrue("Count does not match", res.getInt(1, i) == 20);
+			assertTrue("Maximum does not match", res.getInt(2, i) == n - 5000 + i);
+		}
+	}
+	
+	@Test(expected=DataFrameException.class)
+	public void testGroupBySumNonNumeric(){
+		df.groupBy("intCol").aggregate(Aggregation.sum("stringCol"));
+	}
+	
+	@Test
+	public void testParallelAggregation(){
+		final int n = 200000;
+		final long[] keys = new long[n];
+		final String[] names = new String[n];
+		final int[] values = new int[n];
+		final double[] prices = new double[n];
+		for(int i=0; i<n; ++i){
+			keys[i] = ((i * 7919l) % 3001) - 1500;
+			names[i] = "k" + (i % 37);
+			values[i] = -(i % 1013) - 1;
+			prices[i] = (i % 101) * 0.5;
+		}
+		final DataFrame frame = new DefaultDataFrame(new String[]{"key", "name", "value", "price"},
+				new LongColumn(keys), new StringColumn(names), new IntColumn(values),
+				new DoubleColumn(prices));
+		
+		final Aggregation[] aggs = new Aggregation[]{Aggregation.count(), Aggregation.sum("value"),
+				Aggregation.mean("price"), Aggregation.min("value"), Aggregation.max("name"),
+				Aggregation.first("price"), Aggregation.last("value")};
+		
+		Parallelism.setThreshold(Integer.MAX_VALUE);
+		final DataFrame expected = frame.groupBy("key").aggregate(aggs);
+		final DataFrame expectedMulti = frame.groupBy("name", "key").aggregate(aggs);
+		final double average = frame.average("price");
+		final double maximum = frame.maximum("value");
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try{
+			Parallelism.setPool(pool);
+			Parallelism.setThreshold(1000);
+			final GroupBy groups = frame.groupBy("key");
+			assertTrue("There should be 3001 groups", groups.groups() == 3001);
+			final DataFrame actual = groups.aggregate(aggs);
+			final DataFrame actualMulti = frame.groupBy("name", "key").aggregate(aggs);
+			assertTrue("Returned DataFrames should have the same size",
+					(actual.rows() == expected.rows()) && (actualMulti.rows() == expectedMulti.rows()));
+			
+			for(int i=0; i<expected.rows(); ++i){
+				assertArrayEquals("Row does not match expected values",
+						expected.getRowAt(i), actual.getRowAt(i));
+			}
+			for(int i=0; i<expectedMulti.rows(); ++i){
+				assertArrayEquals("Row does not match expected values",
+						expectedMulti.getRowAt(i), actualMulti.getRowAt(i));
+			}
+			assertEquals("Average does not match", average, frame.average("price"), 0.000001);
+			assertTrue("Maximum should be -1", frame.maximum("value") == -1.0);
+			assertTrue("Maximum does not match", frame.maximum("value") == maximum);
+			assertTrue("Minimum should be -1013", frame.minimum("value") == -1013.0);
+		}finally{
+			Parallelism.setThreshold(Parallelism.DEFAULT_THRESHOLD);
+			Parallelism.setPool(null);
+			pool.shutdown();
+		}
+	}
+	
+	@Test(expected=DataFrameException.class)
+	public void testParallelismInvalidThreshold(){
+		Parallelism.setThreshold(0);
+	}
+	
+	//************************************************//
+	//                      Join                      //
+	//************************************************//
+	
+	@Test
+	public void testJoin(){
+		final DataFrame events = new DefaultDataFrame(
+				new String[]{"customer", "day", "amount"},
+				new IntColumn(new int[]{2,1,3,2,4}),
+				new StringColumn(new String[]{"mo","tu","tu","we","th"}),
+				new DoubleColumn(new double[]{1.5,2.5,3.5,4.5,5.5}));
+		
+		final DataFrame customers = new DefaultDataFrame(
+				new String[]{"customer", "name", "day"},
+				new LongColumn(new long[]{1l,2l,3l,3l}),
+				new DictionaryStringColumn(new String[]{"a","b","c","d"}),
+				new StringColumn(new String[]{"mo","mo","tu","we"}));
+		
+		final DataFrame inner = DataFrame.join(events, customers, Join.inner("customer"));
+		assertTrue("Returned DataFrame should be of type DefaultDataFrame",
+				inner instanceof DefaultDataFrame);
+		
+		assertArrayEquals("Column names do not match",
+				new String[]{"customer", "day", "amount", "name", "day_right"},
+				inner.getColumnNames());
+		
+		assertTrue("Returned DataFrame should have 5 rows", inner.rows() == 5);
+		assertArrayEquals("Row does not match expected values",
+				new Object[]{2, "mo", 1.5, "b", "mo"}, inner.getRowAt(0));
+		assertArrayEquals("Row does not match expected values",
+				new Object[]{3, "tu", 3.5, "c", "tu"}, inner.getRowAt(2));
+		assertArrayEquals("Row does not match expected values",
+				new Object[]{3, "tu", 3.5, "d", "we"}, inner.getRowAt(3));
+		assertTrue("Gathered column should be dictionary encoded",
+				inner.getColumn("name") instanceof DictionaryStringColumn);
+		
+		final DataFrame left = DataFrame.join(events, customers, Join.left("customer"));
+		assertTrue("Returned DataFrame should have 6 rows", left.rows() == 6);
+		assertArrayEquals("Row does not match expected values",
+				new Object[]{4, "th", 5.5, "n/a", "n/a"}, left.getRowAt(5));
+		
+		final DataFrame multi = DataFrame.join(events, customers, Join.inner("customer", "day"));
+		assertTrue("Returned DataFrame should have 2 rows", multi.rows() == 2);
+		assertArrayEquals("Column names do not match",
+				new String[]{"customer", "day", "amount", "name"}, multi.getColumnNames());
+		
+		assertArrayEquals("Row does not match expected values",
+				new Object[]{3, "tu", 3.5, "c"}, multi.getRowAt(1));
+		
+		final DataFrame semi = DataFrame.join(events, customers, Join.semi("customer"));
+		assertTrue("Returned DataFrame should have 4 rows", semi.rows() == 4);
+		assertTrue("Returned DataFrame should have 3 columns", semi.columns() == 3);
+		final DataFrame anti = DataFrame.join(events, customers, Join.anti("customer"));
+		assertArrayEquals("Row does not match expected values", events.getRowAt(4), anti.getRowAt(0));
+		
+		final DataFrame byIndex = DataFrame.join(events.slice(0, 2), customers,
+				Join.inner(new int[]{1}, new int[]{2}));
+		
+		assertTrue("Returned DataFrame should have 3 rows", byIndex.rows() == 3);
+		assertArrayEquals("Row does not match expected values",
+				new Object[]{2, "mo", 1.5, 1l, "a"}, byIndex.getRowAt(0));
+		
+		assertTrue("Returned DataFrame should have 5 rows",
+				DataFrame.join(events, new DefaultDataFrame(new String[]{"customer", "x"},
+						new IntColumn(new int[0]), new ByteColumn(new byte[0])),
+						Join.left("customer")).rows() == 5);
+	}
+	
+	@Test(expected=DataFrameException.class)
+	public void testJoinTypeMismatch(){
+		DataFrame.join(df, df, Join.inner(new int[]{2}, new int[]{4}));
+	}
+	
 	//************************************************//
 	//           Minimum, Maximum, Average            //
 	//************************************************//
@@ -1078,6 +1458,264 @@ public class DefaultDataFrameTest {
 				toBeSorted.getBoolean("booleanCol", 4));
 	}
 	
+	@Test
+	public void testDictionaryColumn(){
+		final DictionaryStringColumn col = new DictionaryStringColumn(new String[]{
+				"DE","US","DE",null,"FR","US","DE"});
+		
+		assertTrue("Cardinality should be 4", col.cardinality() == 4);
+		assertEquals("Null entry should be replaced", "n/a", col.get(3));
+		assertTrue("Equal values should share a code", col.getCode(0) == col.getCode(6));
+		assertTrue("Unknown value should have no code", col.getDictionaryCode("IT") == -1);
+		final DefaultDataFrame test = new DefaultDataFrame(
+				new String[]{"country","id"}, col, 
+				new IntColumn(new int[]{0,1,2,3,4,5,6}));
+		
+		assertTrue("Index does not match expected value", test.indexOf("country", "FR") == 4);
+		assertTrue("Index does not match expected value", test.indexOf("country", 1, "D.") == 2);
+		assertArrayEquals("Indices do not match expected values", 
+				new int[]{1,5}, test.indexOfAll("country", "U[A-Z]"));
+		assertNull("Indices should be null", test.indexOfAll("country", "IT"));
+		final DataFrame filtered = test.filter("country", "DE|FR");
+		assertTrue("Row count should be 4", filtered.rows() == 4);
+		assertTrue("Filtered column should be dictionary encoded", 
+				filtered.getColumn("country") instanceof DictionaryStringColumn);
+		
+		test.addRow(new Object[]{"AT",7});
+		test.sortBy("country");
+		final String[] expected = new String[]{"AT","DE","DE","DE","FR","US","US","n/a"};
+		for(int i=0; i<expected.length; ++i){
+			assertEquals("DataFrame is not sorted correctly", expected[i], 
+					test.getString("country", i));
+		}
+		assertTrue("Rows should be swapped along with the key", test.getInt("id", 0) == 7);
+		assertTrue("Rows should be swapped along with the key", test.getInt("id", 7) == 3);
+		test.removeRow(0);
+		assertEquals("Entry does not match expected value", "DE", test.getString("country", 0));
+	}
+	
+	@Test
+	public void testPrimitiveAccessors(){
+		assertTrue("Value does not match expected value", df.byteAt(0, 1) == 20);
+		assertTrue("Value does not match expected value", df.shortAt("shortCol", 1) == 21);
+		assertTrue("Value does not match expected value", df.intAt(2, 1) == 22);
+		assertTrue("Value does not match expected value", df.longAt("longCol", 1) == 23l);
+		assertTrue("Value does not match expected value", df.charAt(5, 1) == 'b');
+		assertTrue("Value does not match expected value", df.floatAt("floatCol", 1) == 20.2f);
+		assertTrue("Value does not match expected value", df.doubleAt(7, 1) == 21.2);
+		assertFalse("Value does not match expected value", df.booleanAt("booleanCol", 1));
+		df.setByteAt(0, 2, (byte)42);
+		df.setShortAt("shortCol", 2, (short)42);
+		df.setIntAt(2, 2, 42);
+		df.setLongAt("longCol", 2, 42l);
+		df.setCharAt(5, 2, 'A');
+		df.setFloatAt("floatCol", 2, 42.2f);
+		df.setDoubleAt(7, 2, 42.2);
+		df.setBooleanAt("booleanCol", 2, false);
+		assertArrayEquals("Row does not match expected values", 
+				new Object[]{(byte)42,(short)42,42,42l,"30",'A',42.2f,42.2d,false}, 
+				df.getRowAt(2));
+		try{
+			df.intAt(3, 0);
+			fail("Accessing a LongColumn as int should throw a DataFrameException");
+		}catch(DataFrameException ex){ }
+	}
+	
+	@Test
+	public void testSortByOffHeap(){
+		toBeSorted = offHeap(toBeSorted);
+		toBeSorted.sortBy("intCol");
+		testDataFrameIsSorted();
+		toBeSorted.sortBy("doubleCol");
+		testDataFrameIsSorted();
+	}
+	
+	@Test
+	public void testOffHeapColumns(){
+		df = offHeap(df);
+		for(int i=0; i<6; ++i){//trigger resizing
+			df.addRow(new Object[]{(byte)42,(short)42,42,42l,"42",'A',42.2f,42.2d,true});
+		}
+		df.insertRowAt(1, new Object[]{(byte)7,(short)7,7,7l,"7",'x',7.7f,7.7d,false});
+		df.removeRows(3, 5);
+		assertTrue("Row count should be 10", df.rows() == 10);
+		assertArrayEquals("Row does not match expected values", 
+				new Object[]{(byte)10,(short)11,12,13l,"10",'a',10.1f,11.1d,true}, 
+				df.getRowAt(0));
+		assertArrayEquals("Row does not match inserted values", 
+				new Object[]{(byte)7,(short)7,7,7l,"7",'x',7.7f,7.7d,false}, 
+				df.getRowAt(1));
+		assertArrayEquals("Row does not match expected values after removal point", 
+				new Object[]{(byte)50,(short)51,52,53l,"50",'e',50.5f,51.5d,true}, 
+				df.getRowAt(3));
+		assertArrayEquals("Row does not match added values", 
+				new Object[]{(byte)42,(short)42,42,42l,"42",'A',42.2f,42.2d,true}, 
+				df.getRowAt(9));
+		df.flush();
+		assertTrue("Capacity should be 10", df.capacity() == 10);
+		final OffHeapIntColumn col = (OffHeapIntColumn)df.getColumn("intCol");
+		assertArrayEquals("Array does not match expected values", 
+				new int[]{12,7,22,52,42,42,42,42,42,42}, col.asArray());
+		assertTrue("Buffer does not match expected value", col.asBuffer().getInt(4) == 7);
+		assertTrue("Heap copy does not match expected values", col.toHeap().get(3) == 52);
+	}
+	
+	@Test
+	public void testSortByChunked(){
+		toBeSorted = chunked(toBeSorted);
+		toBeSorted.sortBy("intCol");
+		testDataFrameIsSorted();
+		toBeSorted.sortBy("doubleCol");
+		testDataFrameIsSorted();
+	}
+	
+	@Test
+	public void testChunkedColumns(){
+		df = chunked(df);
+		for(int i=0; i<6; ++i){//trigger resizing
+			df.addRow(new Object[]{(byte)42,(short)42,42,42l,"42",'A',42.2f,42.2d,true});
+		}
+		df.insertRowAt(1, new Object[]{(byte)7,(short)7,7,7l,"7",'x',7.7f,7.7d,false});
+		df.removeRows(3, 5);
+		assertTrue("Row count should be 10", df.rows() == 10);
+		assertArrayEquals("Row does not match inserted values", 
+				new Object[]{(byte)7,(short)7,7,7l,"7",'x',7.7f,7.7d,false}, 
+				df.getRowAt(1));
+		assertArrayEquals("Row does not match expected values after removal point", 
+				new Object[]{(byte)50,(short)51,52,53l,"50",'e',50.5f,51.5d,true}, 
+				df.getRowAt(3));
+		df.flush();
+		assertTrue("Capacity should be 10", df.capacity() == 10);
+		final ChunkedIntColumn col = (ChunkedIntColumn)df.getColumn("intCol");
+		assertArrayEquals("Array does not match expected values", 
+				new int[]{12,7,22,52,42,42,42,42,42,42}, col.asArray());
+		assertArrayEquals("Heap copy does not match expected values",
+				new int[]{22,52}, col.toHeap(2, 4).asArray());
+	}
+	
+	@Test
+	public void testChunkedColumnAcrossChunks(){
+		final int n = (3*Chunks.SIZE)+7;
+		final long[] values = new long[n];
+		for(int i=0; i<n; ++i){
+			values[i] = i;
+		}
+		final DataFrame chunked = new DefaultDataFrame(new ChunkedLongColumn(values));
+		final DataFrame heap = new DefaultDataFrame(new LongColumn(values));
+		for(final DataFrame frame : new DataFrame[]{chunked, heap}){
+			frame.insertRowAt(5, new Object[]{-1l});
+			frame.insertRowAt(Chunks.SIZE-1, new Object[]{-2l});
+			frame.addRow(new Object[]{-3l});
+			frame.removeRows(Chunks.SIZE-10, (2*Chunks.SIZE)+3);
+			frame.removeRow(0);
+			frame.addRows(frame);
+		}
+		assertTrue("Row count does not match", chunked.rows() == heap.rows());
+		assertArrayEquals("Entries do not match", ((LongColumn)heap.getColumnAt(0)).asArray(),
+				((LongColumn)chunked.getColumnAt(0)).asArray());
+		final ChunkedLongColumn clone = (ChunkedLongColumn)chunked.getColumnAt(0).clone();
+		chunked.setLong(0, 0, 42l);
+		assertTrue("Clone should not be affected by changes", clone.get(0) != 42l);
+	}
+	
+	@Test
+	public void testOffHeapInsertAndAddRows(){
+		final DefaultDataFrame offHeap = offHeap(df);
+		final DefaultDataFrame heap = (DefaultDataFrame)df.clone();
+		for(final DataFrame frame : new DataFrame[]{offHeap, heap}){
+			frame.insertRowAt(0, new Object[]{(byte)1,(short)1,1,1l,"1",'b',1.1f,1.1d,false});
+			frame.insertRowAt(3, new Object[]{(byte)3,(short)3,3,3l,"3",'c',3.3f,3.3d,true});
+			frame.insertRowAt(frame.rows()-1, 
+					new Object[]{(byte)9,(short)9,9,9l,"9",'d',9.9f,9.9d,false});
+			
+			frame.addRows(df);
+			frame.addRows(df);
+		}
+		assertTrue("Row count does not match", offHeap.rows() == heap.rows());
+		for(int i=0; i<heap.rows(); ++i){
+			assertArrayEquals("Row does not match", heap.getRowAt(i), offHeap.getRowAt(i));
+		}
+	}
+	
+	@Test
+	public void testOffHeapColumnClose(){
+		final OffHeapLongColumn col = new OffHeapLongColumn(new long[]{1l,2l,3l});
+		final OffHeapLongColumn clone = (OffHeapLongColumn)col.clone();
+		assertFalse("Column should not be closed", col.isClosed());
+		col.close();
+		col.close();
+		assertTrue("Column should be closed", col.isClosed());
+		assertTrue("Clone should not be affected by close()", clone.get(2) == 3l);
+		try{
+			col.get(0);
+			fail("Closed column should throw an IllegalStateException");
+		}catch(IllegalStateException ex){ }
+		clone.close();
+	}
+	
+	@Test
+	public void testOffHeapBufferAfterResize(){
+		final DataFrame frame = new DefaultDataFrame(new OffHeapIntColumn(new int[]{1,2,3,4}));
+		final OffHeapIntColumn col = (OffHeapIntColumn)frame.getColumnAt(0);
+		final ByteBuffer view = col.asBuffer();
+		for(int i=0; i<100; ++i){
+			frame.addRow(new Object[]{i});
+		}
+		assertTrue("Old view should still hold the original entries",
+				(view.getInt(0) == 1) && (view.getInt(4) == 2) && (view.getInt(12) == 4));
+		
+		assertTrue("Column should hold the added entries", col.get(103) == 99);
+		col.close();
+	}
+	
+	@Test
+	public void testMappedColumnSegments(){
+		final MappedIntColumn col = new MappedIntColumn(IntBuffer.wrap(new int[]{1,2,3}),
+				IntBuffer.wrap(new int[0]), IntBuffer.wrap(new int[]{4,5}));
+		
+		final DataFrame frame = new DefaultDataFrame(col);
+		assertTrue("DataFrame row count should be 5", frame.rows() == 5);
+		for(int i=0; i<5; ++i){
+			assertTrue("Value does not match", frame.getInt(0, i) == i+1);
+		}
+		assertTrue("Clone should read all segments",
+				((MappedIntColumn)col.clone()).get(4) == 5);
+		
+		frame.addRow(new Object[]{6});
+		assertFalse("Column should not be mapped", col.isMapped());
+		for(int i=0; i<6; ++i){
+			assertTrue("Value does not match", frame.getInt(0, i) == i+1);
+		}
+	}
+	
+	private static DefaultDataFrame offHeap(final DefaultDataFrame df){
+		return new DefaultDataFrame(
+				df.getColumnNames(),
+				new OffHeapByteColumn(((ByteColumn)df.getColumn("byteCol")).asArray()),
+				new OffHeapShortColumn(((ShortColumn)df.getColumn("shortCol")).asArray()),
+				new OffHeapIntColumn(((IntColumn)df.getColumn("intCol")).asArray()),
+				new OffHeapLongColumn(((LongColumn)df.getColumn("longCol")).asArray()),
+				df.getColumn("stringCol"),
+				new OffHeapCharColumn(((CharColumn)df.getColumn("charCol")).asArray()),
+				new OffHeapFloatColumn(((FloatColumn)df.getColumn("floatCol")).asArray()),
+				new OffHeapDoubleColumn(((DoubleColumn)df.getColumn("doubleCol")).asArray()),
+				new OffHeapBooleanColumn(((BooleanColumn)df.getColumn("booleanCol")).asArray()));
+	}
+	
+	private static DefaultDataFrame chunked(final DefaultDataFrame df){
+		return new DefaultDataFrame(
+				df.getColumnNames(),
+				new ChunkedByteColumn(((ByteColumn)df.getColumn("byteCol")).asArray()),
+				new ChunkedShortColumn(((ShortColumn)df.getColumn("shortCol")).asArray()),
+				new ChunkedIntColumn(((IntColumn)df.getColumn("intCol")).asArray()),
+				new ChunkedLongColumn(((LongColumn)df.getColumn("longCol")).asArray()),
+				df.getColumn("stringCol"),
+				new ChunkedCharColumn(((CharColumn)df.getColumn("charCol")).asArray()),
+				new ChunkedFloatColumn(((FloatColumn)df.getColumn("floatCol")).asArray()),
+				new ChunkedDoubleColumn(((DoubleColumn)df.getColumn("doubleCol")).asArray()),
+				new ChunkedBooleanColumn(((BooleanColumn)df.getColumn("booleanCol")).asArray()));
+	}
+	
 	public void testDataFrameIsSorted(){
 		assertArrayEquals(
 				"Row does not match expected values at row index 0. DataFrame is not sorted correctly", 
@@ -1105,6 +1743,142 @@ public class DefaultDataFrameTest {
 				toBeSorted.getRowAt(4));
 	}
 	
+	//*************************//
+	//          Views          //
+	//*************************//
+	
+	@Test
+	public void testSlice(){
+		final DataFrame view = df.slice(1, 4);
+		assertTrue("Row count should be 3", view.rows() == 3);
+		assertTrue("Column count should be 9", view.columns() == 9);
+		assertArrayEquals("Column names do not match", columnNames, view.getColumnNames());
+		for(int i=0; i<view.rows(); ++i){
+			assertArrayEquals("Row does not match the row of the source DataFrame", 
+					df.getRowAt(i+1), view.getRowAt(i));
+		}
+		assertTrue("Entry does not match", view.intAt("intCol", 2) == 42);
+		assertTrue("Average should be 32", view.average("intCol") == 32.0);
+		assertTrue("Minimum should be 22", view.minimum("intCol") == 22.0);
+		assertTrue("Maximum should be 42", view.maximum("intCol") == 42.0);
+		assertTrue("Index should be 2", view.indexOf("stringCol", "40") == 2);
+		assertArrayEquals("Indices do not match", new int[]{0,2}, view.indexOfAll("stringCol", "[24]0"));
+		assertTrue("Filtered DataFrame should have 2 rows", view.filter("stringCol", "[23]0").rows() == 2);
+		assertArrayEquals("Column does not match", new int[]{22,32,42},
+				((IntColumn)view.getColumn("intCol")).asArray());
+		
+		final DataFrame nested = view.slice(1, 3);
+		assertArrayEquals("Row does not match the row of the source DataFrame", 
+				df.getRowAt(3), nested.getRowAt(1));
+		df.setInt("intCol", 3, 99);
+		assertTrue("View should reflect changes of the source DataFrame",
+				nested.getInt("intCol", 1) == 99);
+		
+		final DataFrame copy = DataFrame.copyOf(view);
+		assertTrue("Copy should be a DefaultDataFrame", copy instanceof DefaultDataFrame);
+		assertTrue("Row count should be 3", copy.rows() == 3);
+		assertArrayEquals("Row does not match the row of the view", view.getRowAt(2), copy.getRowAt(2));
+	}
+	
+	@Test
+	public void testSelect(){
+		final DataFrame view = df.select("longCol", "byteCol");
+		assertTrue("Row count should be 5", view.rows() == 5);
+		assertTrue("Column count should be 2", view.columns() == 2);
+		assertArrayEquals("Column names do not match",
+				new String[]{"longCol","byteCol"}, view.getColumnNames());
+		assertArrayEquals("Row does not match selected values",
+				new Object[]{13l,(byte)10}, view.getRowAt(0));
+		assertTrue("Entry does not match", view.getByte(1, 4) == 50);
+		assertTrue("Column name should be byteCol", view.select(1).getColumnName(0).equals("byteCol"));
+		assertTrue("Entry does not match",
+				df.slice(0, 5).select("doubleCol").slice(1, 2).doubleAt(0, 0) == 21.2);
+	}
+	
+	@Test(expected=DataFrameException.class)
+	public void testViewIsReadOnly(){
+		df.slice(0, 2).addRow(new Object[]{(byte)42,(short)42,42,42l,"42",'A',42.2f,42.2d,true});
+	}
+	
+	@Test
+	public void testFreeze(){
+		df.addRow(new Object[]{(byte)42,(short)42,42,42l,"42",'A',42.2f,42.2d,true});
+		final DataFrame frozen = df.freeze();
+		assertTrue("Frozen DataFrame should be immutable", frozen instanceof ImmutableDataFrame);
+		assertTrue("Row count should be 6", frozen.rows() == 6);
+		assertTrue("Capacity should be 6", frozen.capacity() == 6);
+		assertTrue("Frozen DataFrame should be not nullable", !frozen.isNullable());
+		assertArrayEquals("Column names do not match", columnNames, frozen.getColumnNames());
+		for(int i=0; i<frozen.rows(); ++i){
+			assertArrayEquals("Row does not match the row of the source DataFrame", 
+					df.getRowAt(i), frozen.getRowAt(i));
+		}
+		df.setInt("intCol", 0, 99);
+		assertTrue("Frozen DataFrame should not reflect changes", frozen.getInt("intCol", 0) == 12);
+		assertTrue("Freezing twice should return the same instance", frozen.freeze() == frozen);
+		assertArrayEquals("Slice should share the frozen entries",
+				df.getRowAt(5), frozen.slice(5, 6).getRowAt(0));
+		try{
+			frozen.setInt("intCol", 0, 42);
+			fail("Frozen DataFrame should reject modifications");
+		}catch(DataFrameException ex){ }
+		try{
+			frozen.removeRow(0);
+			fail("Frozen DataFrame should reject modifications");
+		}catch(DataFrameException ex){ }
+	}
+	
+	@Test
+	public void testLargeDataFrame(){
+		final LargeDataFrame large = new LargeDataFrame(4, chunked(df));
+		large.addRows(df);
+		large.addRows(df);
+		large.addRow(new Object[]{(byte)42,(short)42,42,42l,"42",'A',42.2f,42.2d,true});
+		assertTrue("Row count should be 11", large.rows() == 11);
+		assertTrue("Partition count should be 3", large.partitions() == 3);
+		assertTrue("Partition offset should be 8", large.getPartitionOffset(2) == 8);
+		assertArrayEquals("Column names do not match", columnNames, large.getColumnNames());
+		for(long i=0; i<10; ++i){
+			assertArrayEquals("Row does not match the row of the source DataFrame",
+					df.getRowAt((int)(i%5)), large.getRowAt(i));
+		}
+		assertTrue("Entry does not match", large.intAt(2, 10l) == 42);
+		assertTrue("Entry does not match", large.getString(4, 6l).equals("20"));
+		assertTrue("Entry does not match", large.doubleAt(7, 3l) == 41.4);
+		
+		final DataFrame within = large.slice(5l, 7l);
+		assertTrue("Row count should be 2", within.rows() == 2);
+		assertArrayEquals("Row does not match", df.getRowAt(1), within.getRowAt(1));
+		final DataFrame across = large.slice(2l, 11l);
+		assertTrue("Row count should be 9", across.rows() == 9);
+		for(int i=0; i<across.rows(); ++i){
+			assertArrayEquals("Row does not match", large.getRowAt(i+2l), across.getRowAt(i));
+		}
+		int rows = 0;
+		for(final DataFrame partition : large){
+			rows += partition.rows();
+		}
+		assertTrue("Partitions should hold 11 rows", rows == 11);
+		
+		large.addPartition(DataFrame.copyOf(df));
+		large.addRow(new Object[]{(byte)42,(short)42,42,42l,"42",'A',42.2f,42.2d,true});
+		assertTrue("Row count should be 17", large.rows() == 17);
+		assertTrue("Partition count should be 5", large.partitions() == 5);
+		assertArrayEquals("Row does not match", df.getRowAt(4), large.getRowAt(15l));
+		try{
+			large.getPartition(0).setInt(2, 0, 99);
+			fail("Partitions should be read-only");
+		}catch(DataFrameException ex){ }
+		try{
+			large.getRowAt(17l);
+			fail("Invalid row index should be rejected");
+		}catch(DataFrameException ex){ }
+		try{
+			large.addPartition(df.select("intCol"));
+			fail("Partition with a different structure should be rejected");
+		}catch(DataFrameException ex){ }
+	}
+	
 	//***************************************//
 	//         Resizing and Flushing         //
 	//***************************************//
@@ -1150,5 +1924,64 @@ public class DefaultDataFrameTest {
 		assertTrue("Row count should be 8", df.rows() == 8);
 		assertTrue("Capacity should be 14", df.capacity() == 14);
 	}
+	
+	@Test
+	public void testGrowthPolicy(){
+		assertTrue("Default policy should be used", df.getGrowthPolicy() == GrowthPolicy.DEFAULT);
+		df.ensureCapacity(100);
+		assertTrue("Row count should be 5", df.rows() == 5);
+		assertTrue("Capacity should be 100", df.capacity() == 100);
+		for(int i=0; i<95; ++i){
+			df.addRow(new Object[]{(byte)42,(short)42,42,42l,"42",'A',42.2f,42.2d,true});
+		}
+		assertTrue("Capacity should be 100", df.capacity() == 100);
+		
+		df.setGrowthPolicy(GrowthPolicy.noShrink(1.5));
+		df.addRow(new Object[]{(byte)42,(short)42,42,42l,"42",'A',42.2f,42.2d,true});
+		assertTrue("Capacity should be 150", df.capacity() == 150);
+		df.removeRows(0, 100);
+		assertTrue("Row count should be 1", df.rows() == 1);
+		assertTrue("Capacity should be 150", df.capacity() == 150);
+		
+		df.setGrowthPolicy(GrowthPolicy.of(2.0, 8, 0));
+		df.removeRow(0);
+		assertTrue("Capacity should be 0", df.capacity() == 0);
+		df.addRow(new Object[]{(byte)42,(short)42,42,42l,"42",'A',42.2f,42.2d,true});
+		assertTrue("Capacity should be 2", df.capacity() == 2);
+		
+		final DataFrame copy = (DataFrame)df.clone();
+		assertTrue("Policy should be copied", copy.getGrowthPolicy() == df.getGrowthPolicy());
+	}
+	
+	@Test(expected=DataFrameException.class)
+	public void testGrowthPolicyInvalidFactor(){
+		df.setGrowthPolicy(GrowthPolicy.of(1.0, 3, 4));
+	}
+	
+	@Test
+	public void testGrowthPolicyInvalidCapacity(){
+		df.setGrowthPolicy(new GrowthPolicy(){
+			private static final long serialVersionUID = 1L;
+			@Override
+			public int grow(int capacity, int rows){
+				return capacity;
+			}
+			@Override
+			public int shrink(int capacity, int rows){
+				return rows-1;
+			}
+		});
+		df.flush();
+		try{
+			df.addRow(new Object[]{(byte)42,(short)42,42,42l,"42",'A',42.2f,42.2d,true});
+			fail("Growth policy returning the current capacity should be rejected");
+		}catch(DataFrameException ex){ }
+		assertTrue("Row count should be 5", df.rows() == 5);
+		try{
+			df.removeRow(0);
+			fail("Growth policy returning less than the row count should be rejected");
+		}catch(DataFrameException ex){ }
+		assertTrue("Row count should be 4", df.rows() == 4);
+	}
 
 }
@@ -18,6 +18,9 @@ package com.kilo52.common.struct;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -499,6 +502,50 @@ public class NullableDataFrameTest {
 				row);
 	}
 	
+	@Test
+	public void testAddRows(){
+		df.addRows(2,
+				new NullableByteColumn(new Byte[]{null,70}),
+				new NullableShortColumn(new Short[]{61,null}),
+				new NullableIntColumn(new Integer[]{null,72}),
+				new NullableLongColumn(new Long[]{63l,null}),
+				new NullableStringColumn(new String[]{null,"70"}),
+				new NullableCharColumn(new Character[]{'f',null}),
+				new NullableFloatColumn(new Float[]{null,70.1f}),
+				new NullableDoubleColumn(new Double[]{60.1,null}),
+				new NullableBooleanColumn(new Boolean[]{null,false}));
+		
+		assertTrue("Row count should be 7", df.rows() == 7);
+		assertArrayEquals("Row does not match added values", 
+				new Object[]{null,(short)61,null,63l,null,'f',null,60.1d,null}, 
+				df.getRowAt(5));
+		assertArrayEquals("Row does not match added values", 
+				new Object[]{(byte)70,null,72,null,"70",null,70.1f,null,false}, 
+				df.getRowAt(6));
+		
+		final DataFrame copy = (DataFrame)df.clone();
+		df.addRows(df);
+		assertTrue("Row count should be 14", df.rows() == 14);
+		for(int i=0; i<copy.rows(); ++i){
+			assertArrayEquals("Row does not match appended row", 
+					copy.getRowAt(i), df.getRowAt(i+7));
+		}
+	}
+	
+	@Test(expected=DataFrameException.class)
+	public void testAddRowsNonNullableColumn(){
+		df.addRows(1,
+				new NullableByteColumn(new Byte[]{60}),
+				new NullableShortColumn(new Short[]{61}),
+				new IntColumn(new int[]{62}),
+				new NullableLongColumn(new Long[]{63l}),
+				new NullableStringColumn(new String[]{"60"}),
+				new NullableCharColumn(new Character[]{'f'}),
+				new NullableFloatColumn(new Float[]{60.1f}),
+				new NullableDoubleColumn(new Double[]{60.1}),
+				new NullableBooleanColumn(new Boolean[]{true}));
+	}
+	
 	@Test
 	public void testInsertRowAt(){
 		df.insertRowAt(2, new Object[]{(byte)42,(short)42,null,42l,"42",'A',42.2f,null,true});
@@ -555,6 +602,74 @@ public class NullableDataFrameTest {
 		
 	}
 	
+	@Test
+	public void testNullBitmap(){
+		final NullableIntColumn col = (NullableIntColumn)df.getColumn("intCol");
+		assertTrue("Entry should be null", col.isNull(1));
+		assertFalse("Entry should not be null", col.isNull(2));
+		assertTrue("Primitive entry does not match expected value", col.getInt(2) == 32);
+		assertTrue("Null entry should be zero in primitive array", col.asPrimitiveArray()[1] == 0);
+		col.setInt(1, 21);
+		assertFalse("Entry should not be null after setInt()", col.isNull(1));
+		assertEquals("Entry does not match expected value", Integer.valueOf(21), col.get(1));
+		col.set(2, null);
+		assertTrue("Entry should be null after set(null)", col.isNull(2));
+		assertNull("Entry should be null", col.get(2));
+	}
+	
+	@Test
+	public void testNullBitmapAfterInsertAndRemove(){
+		df.insertRowAt(0, new Object[]{null,null,null,null,null,null,null,null,null});
+		df.removeRow(2);
+		final Object[] expected = new Object[]{null,12,32,null,52};
+		for(int i=0; i<expected.length; ++i){
+			assertEquals("Entry does not match expected value", expected[i], df.getInt(2, i));
+		}
+		final NullableIntColumn clone = (NullableIntColumn)df.getColumnAt(2).clone();
+		clone.set(1, null);
+		assertNotNull("Clone should not share the bitmap", df.getInt(2, 1));
+	}
+	
+	@Test
+	public void testPrimitiveAccessors(){
+		assertTrue("Value does not match expected value", df.intAt(2, 2) == 32);
+		assertTrue("Value does not match expected value", df.doubleAt("doubleCol", 2) == 31.3);
+		assertTrue("Null entry should be returned as zero", df.longAt(3, 1) == 0l);
+		assertFalse("Null entry should be returned as false", df.booleanAt("booleanCol", 1));
+		df.setIntAt("intCol", 1, 21);
+		df.setCharAt(5, 1, 'b');
+		assertEquals("Entry does not match expected value", Integer.valueOf(21), df.getInt(2, 1));
+		assertEquals("Entry does not match expected value", Character.valueOf('b'), 
+				df.getChar("charCol", 1));
+		assertNull("Entry should still be null", df.getShort(1, 1));
+	}
+	
+	@Test
+	public void testDictionaryColumn(){
+		final NullableDataFrame test = new NullableDataFrame(
+				new String[]{"status","id"},
+				new NullableDictionaryStringColumn(new String[]{
+						"open",null,"closed","open",null,"pending"}),
+				new NullableIntColumn(new Integer[]{0,1,2,3,4,5}));
+		
+		assertTrue("Index does not match expected value", test.indexOf("status", "null") == 1);
+		assertArrayEquals("Indices do not match expected values", 
+				new int[]{0,3}, test.indexOfAll("status", "op.*"));
+		test.sortBy("status");
+		final String[] expected = new String[]{"closed","open","open","pending",null,null};
+		for(int i=0; i<expected.length; ++i){
+			assertEquals("DataFrame is not sorted correctly", expected[i], 
+					test.getString("status", i));
+		}
+		assertTrue("Rows should be swapped along with the key", test.getInt("id", 0) == 2);
+		final NullableDictionaryStringColumn col = 
+				(NullableDictionaryStringColumn)test.getColumn("status");
+		assertTrue("Entry should be null", col.isNull(5));
+		assertTrue("Null entries should have code 0", col.getCode(4) == 0);
+		assertTrue("Codes should follow the order of their values", 
+				col.getCode(0) < col.getCode(1) && col.getCode(2) < col.getCode(3));
+	}
+	
 	@Test
 	public void testGetRowAtAnnotated(){
 		NullableDataFrame test = new NullableDataFrame(
@@ -933,6 +1048,127 @@ public class NullableDataFrameTest {
 		assertTrue("Returned DataFrame should have 9 columns", filtered.columns() == 9);
 	}
 	
+	@Test
+	public void testIndexOfAllPredicate(){
+		assertArrayEquals("Indices do not match", new int[]{0,2,4},
+				df.indexOfAll("intCol", ColumnPredicate.gt(0)));
+		assertArrayEquals("Indices do not match", new int[]{1,3},
+				df.indexOfAll("doubleCol", ColumnPredicate.isNull()));
+		assertArrayEquals("Indices do not match", new int[]{1,3},
+				df.indexOfAll("stringCol", ColumnPredicate.eq(null)));
+		assertArrayEquals("Indices do not match", new int[]{0,1,3},
+				df.indexOfAll("longCol", ColumnPredicate.in(13, null)));
+		assertArrayEquals("Indices do not match", new int[]{0,1,3},
+				df.indexOfAll("charCol", ColumnPredicate.ge('c').negate()));
+		assertArrayEquals("Indices do not match", new int[]{2,4},
+				df.indexOfAll("floatCol", ColumnPredicate.ofDouble(v -> v > 20.0)));
+		assertArrayEquals("Indices do not match", new int[]{1,2,3},
+				df.indexOfAll("byteCol", ColumnPredicate.of(v -> v == null || (Byte)v == 30)));
+		
+		assertTrue("Index should be 3", df.indexOf("shortCol", 2, ColumnPredicate.isNull()) == 3);
+	}
+	
+	@Test
+	public void testFilterPredicate(){
+		final DataFrame filtered = df.filter("booleanCol", ColumnPredicate.isNull());
+		assertTrue("Returned DataFrame should be of type NullableDataFrame", 
+				filtered instanceof NullableDataFrame);
+		
+		assertTrue("Returned DataFrame should have 2 rows", filtered.rows() == 2);
+		assertArrayEquals("Row does not match expected values",
+				new Object[]{null,null,null,null,null,null,null,null,null}, filtered.getRowAt(0));
+	}
+	
+	@Test
+	public void testWhere(){
+		final RowSelection selection = df.where("intCol", ColumnPredicate.isNull())
+				.or(df.where("stringCol", ColumnPredicate.eq("50")));
+		
+		assertArrayEquals("Indices do not match", new int[]{1,3,4}, selection.indices());
+		assertArrayEquals("Indices do not match", new int[]{0,2}, selection.not().indices());
+		final DataFrame filtered = df.filter(selection);
+		assertTrue("Returned DataFrame should be of type NullableDataFrame", 
+				filtered instanceof NullableDataFrame);
+		
+		assertTrue("Returned DataFrame should have 3 rows", filtered.rows() == 3);
+		assertArrayEquals("Row does not match expected values",
+				new Object[]{null,null,null,null,null,null,null,null,null}, filtered.getRowAt(1));
+		assertArrayEquals("Row does not match expected values", df.getRowAt(4), filtered.getRowAt(2));
+	}
+	
+	//************************************************//
+	//                    GroupBy                     //
+	//************************************************//
+	
+	@Test
+	public void testGroupBy(){
+		final DataFrame sales = new NullableDataFrame(
+				new String[]{"customer", "amount"},
+				new NullableDictionaryStringColumn(new String[]{"b",null,"b","a",null,"a"}),
+				new NullableIntColumn(new Integer[]{5,3,null,null,1,null}));
+		
+		final DataFrame res = sales.groupBy("customer").aggregate(Aggregation.count(),
+				Aggregation.sum("amount"), Aggregation.mean("amount"), Aggregation.min("amount"));
+		
+		assertTrue("Returned DataFrame should be of type NullableDataFrame",
+				res instanceof NullableDataFrame);
+		
+		assertTrue("Returned DataFrame should have 3 rows", res.rows() == 3);
+		assertArrayEquals("Row does not match expected values",
+				new Object[]{"b", 2, 5l, 5.0, 5}, res.getRowAt(0));
+		assertArrayEquals("Row does not match expected values",
+				new Object[]{null, 2, 4l, 2.0, 1}, res.getRowAt(1));
+		assertArrayEquals("Row does not match expected values",
+				new Object[]{"a", 2, null, null, null}, res.getRowAt(2));
+		
+		final DataFrame byInt = df.groupBy("intCol").aggregate(Aggregation.count().as("n"));
+		assertArrayEquals("Column names do not match", new String[]{"intCol", "n"},
+				byInt.getColumnNames());
+		
+		assertTrue("Returned DataFrame should have 4 rows", byInt.rows() == 4);
+		assertArrayEquals("Row does not match expected values", new Object[]{null, 2}, byInt.getRowAt(1));
+	}
+	
+	//************************************************//
+	//                      Join                      //
+	//************************************************//
+	
+	@Test
+	public void testJoin(){
+		final DataFrame events = new NullableDataFrame(
+				new String[]{"customer", "amount"},
+				new NullableStringColumn(new String[]{"b",null,"a","c"}),
+				new NullableIntColumn(new Integer[]{1,2,3,4}));
+		
+		final DataFrame customers = new NullableDataFrame(
+				new String[]{"customer", "name"},
+				new NullableDictionaryStringColumn(new String[]{"a",null,"b"}),
+				new NullableStringColumn(new String[]{"A","N","B"}));
+		
+		final DataFrame left = DataFrame.join(events, customers, Join.left("customer"));
+		assertTrue("Returned DataFrame should be of type NullableDataFrame",
+				left instanceof NullableDataFrame);
+		
+		assertTrue("Returned DataFrame should have 4 rows", left.rows() == 4);
+		assertArrayEquals("Row does not match expected values",
+				new Object[]{"b", 1, "B"}, left.getRowAt(0));
+		assertArrayEquals("Row does not match expected values",
+				new Object[]{null, 2, null}, left.getRowAt(1));
+		assertArrayEquals("Row does not match expected values",
+				new Object[]{"c", 4, null}, left.getRowAt(3));
+		
+		final DataFrame anti = DataFrame.join(events, customers, Join.anti("customer"));
+		assertTrue("Returned DataFrame should have 2 rows", anti.rows() == 2);
+		assertArrayEquals("Row does not match expected values",
+				new Object[]{null, 2}, anti.getRowAt(0));
+	}
+	
+	@Test(expected=DataFrameException.class)
+	public void testJoinTypeMismatch(){
+		DataFrame.join(df, new DefaultDataFrame(new String[]{"intCol"},
+				new IntColumn(new int[]{1})), Join.inner("intCol"));
+	}
+	
 	//************************************************//
 	//           Minimum, Maximum, Average            //
 	//************************************************//
@@ -1115,6 +1351,107 @@ public class NullableDataFrameTest {
 				toBeSorted.getRowAt(4));
 	}
 	
+	//*************************//
+	//          Views          //
+	//*************************//
+	
+	@Test
+	public void testNullsAcrossBitmapWords(){
+		final List<Integer> expected = new ArrayList<Integer>();
+		final Integer[] values = new Integer[200];
+		for(int i=0; i<values.length; ++i){
+			values[i] = (i % 3 == 0 || i % 7 == 0 ? null : i);
+			expected.add(values[i]);
+		}
+		final DataFrame frame = new NullableDataFrame(new NullableIntColumn(values));
+		frame.insertRowAt(3, new Object[]{null});
+		expected.add(3, null);
+		frame.insertRowAt(70, new Object[]{-1});
+		expected.add(70, -1);
+		frame.removeRows(5, 140);
+		expected.subList(5, 140).clear();
+		frame.addRows(frame);
+		expected.addAll(new ArrayList<Integer>(expected));
+		frame.removeRows(0, 64);
+		expected.subList(0, 64).clear();
+		assertTrue("Row count does not match", frame.rows() == expected.size());
+		for(int i=0; i<frame.rows(); ++i){
+			assertEquals("Value does not match at row "+i, expected.get(i), frame.getInt(0, i));
+		}
+	}
+	
+	@Test
+	public void testSlice(){
+		final DataFrame view = df.slice(1, 4);
+		assertTrue("Row count should be 3", view.rows() == 3);
+		assertTrue("Column count should be 9", view.columns() == 9);
+		assertTrue("View should be nullable", view.isNullable());
+		assertArrayEquals("Column names do not match", columnNames, view.getColumnNames());
+		for(int i=0; i<view.rows(); ++i){
+			assertArrayEquals("Row does not match the row of the source DataFrame", 
+					df.getRowAt(i+1), view.getRowAt(i));
+		}
+		assertTrue("Entry should be null", view.getInt("intCol", 0) == null);
+		assertTrue("Average should be 32", view.average("intCol") == 32.0);
+		assertTrue("Minimum should be 32", view.minimum("intCol") == 32.0);
+		assertTrue("Maximum should be 32", view.maximum("intCol") == 32.0);
+		assertArrayEquals("Indices do not match", new int[]{0,2}, view.indexOfAll("stringCol", "null"));
+		
+		df.setInt("intCol", 3, 99);
+		assertTrue("View should reflect changes of the source DataFrame",
+				view.getInt("intCol", 2) == 99);
+		
+		final DataFrame copy = DataFrame.copyOf(view);
+		assertTrue("Copy should be a NullableDataFrame", copy instanceof NullableDataFrame);
+		assertTrue("Row count should be 3", copy.rows() == 3);
+		assertArrayEquals("Row does not match the row of the view", view.getRowAt(2), copy.getRowAt(2));
+	}
+	
+	@Test
+	public void testSelect(){
+		final DataFrame view = df.select("longCol", "byteCol").slice(1, 3);
+		assertTrue("Row count should be 2", view.rows() == 2);
+		assertArrayEquals("Column names do not match",
+				new String[]{"longCol","byteCol"}, view.getColumnNames());
+		assertArrayEquals("Row does not match selected values",
+				new Object[]{null,null}, view.getRowAt(0));
+		assertArrayEquals("Row does not match selected values",
+				new Object[]{33l,(byte)30}, view.getRowAt(1));
+	}
+	
+	@Test(expected=DataFrameException.class)
+	public void testViewIsReadOnly(){
+		df.slice(0, 2).setInt("intCol", 0, 42);
+	}
+	
+	@Test
+	public void testFreeze(){
+		df.addRow(new Object[]{(byte)42,(short)42,null,42l,"42",'A',42.2f,null,true});
+		final DataFrame frozen = df.freeze();
+		assertTrue("Frozen DataFrame should be immutable", frozen instanceof ImmutableDataFrame);
+		assertTrue("Row count should be 6", frozen.rows() == 6);
+		assertTrue("Capacity should be 6", frozen.capacity() == 6);
+		assertTrue("Frozen DataFrame should be nullable", frozen.isNullable());
+		assertArrayEquals("Column names do not match", columnNames, frozen.getColumnNames());
+		for(int i=0; i<frozen.rows(); ++i){
+			assertArrayEquals("Row does not match the row of the source DataFrame", 
+					df.getRowAt(i), frozen.getRowAt(i));
+		}
+		df.setInt("intCol", 0, 99);
+		assertTrue("Frozen DataFrame should not reflect changes", frozen.getInt("intCol", 0) == 12);
+		assertTrue("Freezing twice should return the same instance", frozen.freeze() == frozen);
+		assertArrayEquals("Slice should share the frozen entries",
+				df.getRowAt(5), frozen.slice(5, 6).getRowAt(0));
+		try{
+			frozen.setInt("intCol", 0, 42);
+			fail("Frozen DataFrame should reject modifications");
+		}catch(DataFrameException ex){ }
+		try{
+			frozen.removeRow(0);
+			fail("Frozen DataFrame should reject modifications");
+		}catch(DataFrameException ex){ }
+	}
+	
 	//***************************************//
 	//         Resizing and Flushing         //
 	//***************************************//
@@ -1160,5 +1497,64 @@ public class NullableDataFrameTest {
 		assertTrue("Row count should be 8", df.rows() == 8);
 		assertTrue("Capacity should be 14", df.capacity() == 14);
 	}
+	
+	@Test
+	public void testGrowthPolicy(){
+		assertTrue("Default policy should be used", df.getGrowthPolicy() == GrowthPolicy.DEFAULT);
+		df.ensureCapacity(100);
+		assertTrue("Row count should be 5", df.rows() == 5);
+		assertTrue("Capacity should be 100", df.capacity() == 100);
+		for(int i=0; i<95; ++i){
+			df.addRow(new Object[]{(byte)42,(short)42,null,42l,"42",'A',42.2f,null,true});
+		}
+		assertTrue("Capacity should be 100", df.capacity() == 100);
+		
+		df.setGrowthPolicy(GrowthPolicy.noShrink(1.5));
+		df.addRow(new Object[]{(byte)42,(short)42,null,42l,"42",'A',42.2f,null,true});
+		assertTrue("Capacity should be 150", df.capacity() == 150);
+		df.removeRows(0, 100);
+		assertTrue("Row count should be 1", df.rows() == 1);
+		assertTrue("Capacity should be 150", df.capacity() == 150);
+		
+		df.setGrowthPolicy(GrowthPolicy.of(2.0, 8, 0));
+		df.removeRow(0);
+		assertTrue("Capacity should be 0", df.capacity() == 0);
+		df.addRow(new Object[]{(byte)42,(short)42,null,42l,"42",'A',42.2f,null,true});
+		assertTrue("Capacity should be 2", df.capacity() == 2);
+		
+		final DataFrame copy = (DataFrame)df.clone();
+		assertTrue("Policy should be copied", copy.getGrowthPolicy() == df.getGrowthPolicy());
+	}
+	
+	@Test(expected=DataFrameException.class)
+	public void testGrowthPolicyInvalidFactor(){
+		df.setGrowthPolicy(GrowthPolicy.of(1.0, 3, 4));
+	}
+	
+	@Test
+	public void testGrowthPolicyInvalidCapacity(){
+		df.setGrowthPolicy(new GrowthPolicy(){
+			private static final long serialVersionUID = 1L;
+			@Override
+			public int grow(int capacity, int rows){
+				return capacity;
+			}
+			@Override
+			public int shrink(int capacity, int rows){
+				return rows-1;
+			}
+		});
+		df.flush();
+		try{
+			df.addRow(new Object[]{(byte)42,(short)42,null,42l,"42",'A',42.2f,null,true});
+			fail("Growth policy returning the current capacity should be rejected");
+		}catch(DataFrameException ex){ }
+		assertTrue("Row count should be 5", df.rows() == 5);
+		try{
+			df.removeRow(0);
+			fail("Growth policy returning less than the row count should be rejected");
+		}catch(DataFrameException ex){ }
+		assertTrue("Row count should be 4", df.rows() == 4);
+	}
 
 }